@@ -28,6 +28,8 @@ public class AdminEmployeeController {
           @PathVariable Integer userId,
           @RequestBody AdminEmployeeUpdateRequest request) {
 
+    // not retried: re-applying the edit over another admin's change would
+    // silently discard it, so a version conflict is answered with 409
     return ResponseEntity.ok(
             employeeService.adminUpdateUser(userId, request)
     );
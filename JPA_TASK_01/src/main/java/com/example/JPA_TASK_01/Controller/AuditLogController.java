@@ -0,0 +1,38 @@
+package com.example.JPA_TASK_01.Controller;
+
+import com.example.JPA_TASK_01.DTO.Audit.AuditLogResponse;
+import com.example.JPA_TASK_01.Service.AuditLogService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/audit")
+@PreAuthorize("hasRole('ADMIN')")
+public class AuditLogController {
+
+    private final AuditLogService auditLogService;
+
+    public AuditLogController(AuditLogService auditLogService) {
+        this.auditLogService = auditLogService;
+    }
+
+    // ===============================
+    // HISTORY OF ONE LEAVE / USER (ADMIN)
+    // ===============================
+    // e.g. ?entityType=LEAVE&entityId=42&from=2026-01-01T00:00:00
+    @GetMapping
+    public ResponseEntity<List<AuditLogResponse>> getHistory(
+            @RequestParam String entityType,
+            @RequestParam Integer entityId,
+            @RequestParam(required = false) LocalDateTime from,
+            @RequestParam(required = false) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(
+                auditLogService.getHistory(entityType, entityId, from, to, limit));
+    }
+}
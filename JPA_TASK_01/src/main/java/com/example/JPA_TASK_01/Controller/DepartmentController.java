@@ -1,8 +1,10 @@
 package com.example.JPA_TASK_01.Controller;
 
+import com.example.JPA_TASK_01.DTO.Department.DepartmentAbsenceResponse;
 import com.example.JPA_TASK_01.DTO.Department.DepartmentResponse;
 import com.example.JPA_TASK_01.DTO.Employee.EmployeeResponse;
 import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Service.DepartmentAbsenceService;
 import com.example.JPA_TASK_01.Service.DepartmentService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,9 +17,13 @@ import java.util.List;
 public class DepartmentController {
 
   private final DepartmentService departmentService;
+  private final DepartmentAbsenceService departmentAbsenceService;
 
-  public DepartmentController(DepartmentService departmentService) {
+  public DepartmentController(
+          DepartmentService departmentService,
+          DepartmentAbsenceService departmentAbsenceService) {
     this.departmentService = departmentService;
+    this.departmentAbsenceService = departmentAbsenceService;
   }
 
   // ===============================
@@ -71,6 +77,21 @@ public class DepartmentController {
 
     return ResponseEntity.ok(employees);
   }
+
+  // ===============================
+  // ABSENCE CALENDAR (ADMIN)
+  // who is on approved leave each day of the month
+  // ===============================
+  @GetMapping("/{deptId}/absences")
+  public ResponseEntity<DepartmentAbsenceResponse> getAbsences(
+          @PathVariable Integer deptId,
+          @RequestParam int year,
+          @RequestParam int month) {
+
+    return ResponseEntity.ok(
+            departmentAbsenceService.getAbsences(deptId, year, month));
+  }
+
   @DeleteMapping("/{deptId}")
   public ResponseEntity<String> deleteDepartment(
           @PathVariable Integer deptId) {
@@ -0,0 +1,46 @@
+package com.example.JPA_TASK_01.Controller;
+
+import com.example.JPA_TASK_01.DTO.LeaveAnalytics.LeaveRollupResponse;
+import com.example.JPA_TASK_01.Service.LeaveRollupService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/leave-analytics")
+@PreAuthorize("hasRole('ADMIN')")
+public class LeaveAnalyticsController {
+
+    private final LeaveRollupService leaveRollupService;
+
+    public LeaveAnalyticsController(LeaveRollupService leaveRollupService) {
+        this.leaveRollupService = leaveRollupService;
+    }
+
+    // ===============================
+    // ROLLUP SLICE (ADMIN)
+    // ===============================
+    // leave count and days per department x type x start month x status,
+    // e.g. ?year=2026&deptId=3&status=APPROVED
+    @GetMapping
+    public ResponseEntity<LeaveRollupResponse> getRollup(
+            @RequestParam int year,
+            @RequestParam(required = false) Integer deptId,
+            @RequestParam(required = false) String leaveType,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) String status) {
+
+        return ResponseEntity.ok(
+                leaveRollupService.getRollup(year, deptId, leaveType, month, status));
+    }
+
+    // ===============================
+    // REBUILD ROLLUP FROM leave_request (ADMIN)
+    // ===============================
+    @PostMapping("/rebuild")
+    public ResponseEntity<String> rebuild() {
+
+        int cells = leaveRollupService.rebuild();
+        return ResponseEntity.ok("Leave analytics rollup rebuilt (" + cells + " cells)");
+    }
+}
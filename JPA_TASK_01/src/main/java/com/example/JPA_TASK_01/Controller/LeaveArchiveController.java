@@ -0,0 +1,40 @@
+package com.example.JPA_TASK_01.Controller;
+
+import com.example.JPA_TASK_01.DTO.LeaveArchive.LeaveArchiveSegmentResponse;
+import com.example.JPA_TASK_01.Service.LeaveArchiveService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/leave-archive")
+@PreAuthorize("hasRole('ADMIN')")
+public class LeaveArchiveController {
+
+    private final LeaveArchiveService leaveArchiveService;
+
+    public LeaveArchiveController(LeaveArchiveService leaveArchiveService) {
+        this.leaveArchiveService = leaveArchiveService;
+    }
+
+    // ===============================
+    // SEGMENT CATALOGUE (ADMIN)
+    // ===============================
+    @GetMapping("/segments")
+    public ResponseEntity<List<LeaveArchiveSegmentResponse>> getSegments() {
+
+        return ResponseEntity.ok(leaveArchiveService.getSegments());
+    }
+
+    // ===============================
+    // RUN THE ARCHIVE JOB NOW (ADMIN)
+    // ===============================
+    // otherwise nightly (leave.archive.cron)
+    @PostMapping("/run")
+    public ResponseEntity<List<LeaveArchiveSegmentResponse>> archive() {
+
+        return ResponseEntity.ok(leaveArchiveService.archive());
+    }
+}
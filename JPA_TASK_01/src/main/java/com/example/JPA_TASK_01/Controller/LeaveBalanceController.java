@@ -0,0 +1,65 @@
+package com.example.JPA_TASK_01.Controller;
+
+import com.example.JPA_TASK_01.DTO.LeaveJob.LeaveJobRunResponse;
+import com.example.JPA_TASK_01.Service.LeaveAccrualService;
+import com.example.JPA_TASK_01.Service.LeaveBalanceService;
+import com.example.JPA_TASK_01.Service.LeaveYearEndService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/leave-balances")
+@PreAuthorize("hasRole('ADMIN')")
+public class LeaveBalanceController {
+
+    private final LeaveBalanceService leaveBalanceService;
+    private final LeaveAccrualService leaveAccrualService;
+    private final LeaveYearEndService leaveYearEndService;
+
+    public LeaveBalanceController(
+            LeaveBalanceService leaveBalanceService,
+            LeaveAccrualService leaveAccrualService,
+            LeaveYearEndService leaveYearEndService) {
+        this.leaveBalanceService = leaveBalanceService;
+        this.leaveAccrualService = leaveAccrualService;
+        this.leaveYearEndService = leaveYearEndService;
+    }
+
+    // ===============================
+    // REBUILD LEDGER FROM leave_request (ADMIN)
+    // ===============================
+    @PostMapping("/rebuild")
+    public ResponseEntity<String> rebuildLedger() {
+
+        int rows = leaveBalanceService.rebuildFromLeaves();
+        return ResponseEntity.ok("Leave balance ledger rebuilt (" + rows + " balances)");
+    }
+
+    // ===============================
+    // RUN / RESUME MONTHLY ACCRUAL (ADMIN)
+    // ===============================
+    // period defaults to the current month, e.g. ?period=2026-03
+    @PostMapping("/accrual")
+    public ResponseEntity<LeaveJobRunResponse> runAccrual(
+            @RequestParam(required = false) YearMonth period) {
+
+        return ResponseEntity.ok(
+                leaveAccrualService.runAccrual(period != null ? period : YearMonth.now())
+        );
+    }
+
+    // ===============================
+    // YEAR-END CARRY FORWARD / LAPSE (ADMIN)
+    // ===============================
+    @PostMapping("/year-end")
+    public ResponseEntity<List<LeaveJobRunResponse>> closeYear(@RequestParam int year) {
+
+        return ResponseEntity.ok(
+                leaveYearEndService.closeYear(year)
+        );
+    }
+}
@@ -1,24 +1,47 @@
 package com.example.JPA_TASK_01.Controller;
 
 import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionResult;
 import com.example.JPA_TASK_01.DTO.LeaveRequest.EditLeaveRequest;
 import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchPage;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveTextSearchPage;
+import com.example.JPA_TASK_01.Event.LeaveEventBroadcaster;
+import com.example.JPA_TASK_01.Service.LeaveExportService;
 import com.example.JPA_TASK_01.Service.LeaveService;
+import com.example.JPA_TASK_01.Service.LeaveTextSearchService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/leaves")
 public class LeaveController {
 
     private final LeaveService leaveService;
-
-    public LeaveController(LeaveService leaveService) {
+    private final LeaveEventBroadcaster leaveEventBroadcaster;
+    private final LeaveExportService leaveExportService;
+    private final LeaveTextSearchService leaveTextSearchService;
+
+    public LeaveController(
+            LeaveService leaveService,
+            LeaveEventBroadcaster leaveEventBroadcaster,
+            LeaveExportService leaveExportService,
+            LeaveTextSearchService leaveTextSearchService) {
         this.leaveService = leaveService;
+        this.leaveEventBroadcaster = leaveEventBroadcaster;
+        this.leaveExportService = leaveExportService;
+        this.leaveTextSearchService = leaveTextSearchService;
     }
 
     // EMPLOYEE: APPLY LEAVE
@@ -32,13 +55,14 @@ public class LeaveController {
         );
     }
 
-    // EMPLOYEE: VIEW OWN LEAVES
+    // EMPLOYEE: VIEW OWN LEAVES (?includeArchived=true for archived years too)
     @GetMapping("/my")
     @PreAuthorize("hasRole('EMPLOYEE')")
-    public ResponseEntity<List<LeaveResponse>> getMyLeaves() {
+    public ResponseEntity<List<LeaveResponse>> getMyLeaves(
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
 
         return ResponseEntity.ok(
-                leaveService.getMyLeaves()
+                leaveService.getMyLeaves(includeArchived)
         );
     }
 
@@ -64,6 +88,22 @@ public class LeaveController {
         );
     }
 
+    // ADMIN: LIVE PENDING QUEUE (SSE)
+    // reconnecting clients send Last-Event-ID and receive only what they missed;
+    // a "resync" event means the gap is too old and /pending must be reloaded.
+    // Single node: only changes committed on this instance are pushed (needs
+    // sticky sessions behind a load balancer, see LeaveEventBroadcaster)
+    @GetMapping(value = "/pending/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamLeaveEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+
+        return leaveEventBroadcaster.subscribe(
+                lastEventId != null ? lastEventId : lastEventIdParam
+        );
+    }
+
     // ADMIN: APPROVE / REJECT LEAVE
     @PutMapping("/{leaveId}/decision")
     @PreAuthorize("hasRole('ADMIN')")
@@ -76,6 +116,17 @@ public class LeaveController {
         );
     }
 
+    // ADMIN: APPROVE / REJECT MANY LEAVES IN ONE CALL
+    @PutMapping("/bulk/decision")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BulkLeaveDecisionResult>> decideLeaves(
+            @RequestBody BulkLeaveDecisionRequest request) {
+
+        return ResponseEntity.ok(
+                leaveService.decideLeaves(request.getDecisions())
+        );
+    }
+
     // ===============================
 // ADMIN: REVOKE APPROVED LEAVE
 // ===============================
@@ -104,15 +155,100 @@ public class LeaveController {
             @RequestParam(required = false) String leaveType,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) LocalDate fromDate,
-            @RequestParam(required = false) LocalDate toDate
+            @RequestParam(required = false) LocalDate toDate,
+            @RequestParam(defaultValue = "false") boolean includeArchived
     ) {
         return ResponseEntity.ok(
                 leaveService.filterLeavesForAdmin(
-                        empId, status, leaveType, year, fromDate, toDate
+                        empId, status, leaveType, year, fromDate, toDate, includeArchived
+                )
+        );
+    }
+
+    // ADMIN: SEARCH, ONE KEYSET PAGE AT A TIME
+    @GetMapping("/admin/search/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LeaveSearchPage> searchLeavesPageForAdmin(
+            @RequestParam(required = false) Integer empId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String leaveType,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "DESC") String sort
+    ) {
+        return ResponseEntity.ok(
+                leaveService.searchLeavesForAdmin(
+                        empId, status, leaveType, year, fromDate, toDate,
+                        cursor, size, sort
                 )
         );
     }
 
+    // ADMIN: FULL-TEXT SEARCH OVER REASONS AND EMPLOYEE NAMES, RANKED
+    @GetMapping("/admin/search/text")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LeaveTextSearchPage> searchLeavesByTextForAdmin(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer empId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String leaveType,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ResponseEntity.ok(
+                leaveTextSearchService.searchLeaves(
+                        q, empId, status, leaveType, year, fromDate, toDate, page, size
+                )
+        );
+    }
 
-}
+    // ADMIN: EXPORT SEARCH RESULTS (CSV / NDJSON), STREAMED FROM A DB CURSOR
+    // gzip-compressed on the fly when the client accepts it
+    @GetMapping("/admin/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportLeavesForAdmin(
+            @RequestParam(required = false) Integer empId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String leaveType,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate,
+            @RequestParam(defaultValue = "CSV") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        LeaveExportService.Format exportFormat = LeaveExportService.Format.from(format);
+        boolean gzip = acceptEncoding != null
+                && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                leaveExportService.exportLeavesForAdmin(
+                        empId, status, leaveType, year, fromDate, toDate, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                leaveExportService.exportLeavesForAdmin(
+                        empId, status, leaveType, year, fromDate, toDate, exportFormat, out);
+            }
+        };
+
+        String fileName = "leaves-" + (year != null ? year : "all") + "." + exportFormat.getExtension();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
 
+
+}
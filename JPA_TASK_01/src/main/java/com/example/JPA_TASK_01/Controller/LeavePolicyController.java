@@ -0,0 +1,41 @@
+package com.example.JPA_TASK_01.Controller;
+
+import com.example.JPA_TASK_01.DTO.LeavePolicy.LeavePolicyRequest;
+import com.example.JPA_TASK_01.DTO.LeavePolicy.LeavePolicyResponse;
+import com.example.JPA_TASK_01.Service.LeavePolicyService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/leave-policies")
+@PreAuthorize("hasRole('ADMIN')")
+public class LeavePolicyController {
+
+    private final LeavePolicyService leavePolicyService;
+
+    public LeavePolicyController(LeavePolicyService leavePolicyService) {
+        this.leavePolicyService = leavePolicyService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<LeavePolicyResponse>> getAllPolicies() {
+        return ResponseEntity.ok(leavePolicyService.getAllPolicies());
+    }
+
+    // create or replace the limit for (leaveType, deptId?, year?)
+    @PutMapping
+    public ResponseEntity<LeavePolicyResponse> savePolicy(
+            @RequestBody LeavePolicyRequest request) {
+
+        return ResponseEntity.ok(leavePolicyService.savePolicy(request));
+    }
+
+    @DeleteMapping("/{policyId}")
+    public ResponseEntity<Void> deletePolicy(@PathVariable Integer policyId) {
+        leavePolicyService.deletePolicy(policyId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.JPA_TASK_01.DTO.Audit;
+
+import java.time.LocalDateTime;
+
+public class AuditLogResponse {
+
+    private Long auditId;
+    private String entityType;
+    private Integer entityId;
+    private String action;
+    private String actor;
+    private LocalDateTime occurredAt;
+    private String details; // JSON {"before": ..., "after": ...}
+
+    public AuditLogResponse(
+            Long auditId,
+            String entityType,
+            Integer entityId,
+            String action,
+            String actor,
+            LocalDateTime occurredAt,
+            String details) {
+        this.auditId = auditId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.action = action;
+        this.actor = actor;
+        this.occurredAt = occurredAt;
+        this.details = details;
+    }
+
+    public Long getAuditId() {
+        return auditId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getDetails() {
+        return details;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.JPA_TASK_01.DTO.Department;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class DepartmentAbsenceResponse {
+
+    private Integer deptId;
+    private Integer year;
+    private Integer month;
+    private List<Day> days; // one entry per calendar day of the month
+
+    public DepartmentAbsenceResponse(Integer deptId, Integer year, Integer month, List<Day> days) {
+        this.deptId = deptId;
+        this.year = year;
+        this.month = month;
+        this.days = days;
+    }
+
+    public Integer getDeptId() {
+        return deptId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public List<Day> getDays() {
+        return days;
+    }
+
+    public static class Day {
+
+        private LocalDate date;
+        private boolean workingDay;
+        private int count;
+        private List<Absentee> absentees;
+
+        public Day(LocalDate date, boolean workingDay, List<Absentee> absentees) {
+            this.date = date;
+            this.workingDay = workingDay;
+            this.count = absentees.size();
+            this.absentees = absentees;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public boolean isWorkingDay() {
+            return workingDay;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public List<Absentee> getAbsentees() {
+            return absentees;
+        }
+    }
+
+    public static class Absentee {
+
+        private Integer empId;
+        private String employeeName;
+        private Integer leaveId;
+        private String leaveType;
+
+        public Absentee(Integer empId, String employeeName, Integer leaveId, String leaveType) {
+            this.empId = empId;
+            this.employeeName = employeeName;
+            this.leaveId = leaveId;
+            this.leaveType = leaveType;
+        }
+
+        public Integer getEmpId() {
+            return empId;
+        }
+
+        public String getEmployeeName() {
+            return employeeName;
+        }
+
+        public Integer getLeaveId() {
+            return leaveId;
+        }
+
+        public String getLeaveType() {
+            return leaveType;
+        }
+    }
+}
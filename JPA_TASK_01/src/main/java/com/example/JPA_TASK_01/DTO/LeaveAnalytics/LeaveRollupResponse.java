@@ -0,0 +1,91 @@
+package com.example.JPA_TASK_01.DTO.LeaveAnalytics;
+
+import java.util.List;
+import java.util.Map;
+
+public class LeaveRollupResponse {
+
+    private Integer year;
+    private List<Cell> cells;                // matching department x type x month x status cells
+    private Map<String, Totals> byStatus;    // the slice summed per status
+
+    public LeaveRollupResponse(Integer year, List<Cell> cells, Map<String, Totals> byStatus) {
+        this.year = year;
+        this.cells = cells;
+        this.byStatus = byStatus;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public List<Cell> getCells() {
+        return cells;
+    }
+
+    public Map<String, Totals> getByStatus() {
+        return byStatus;
+    }
+
+    public static class Cell {
+
+        private Integer deptId;
+        private String leaveType;
+        private Integer month;
+        private String status;
+        private int leaveCount;
+        private int totalDays;
+
+        public Cell(Integer deptId, String leaveType, Integer month, String status, int leaveCount, int totalDays) {
+            this.deptId = deptId;
+            this.leaveType = leaveType;
+            this.month = month;
+            this.status = status;
+            this.leaveCount = leaveCount;
+            this.totalDays = totalDays;
+        }
+
+        public Integer getDeptId() {
+            return deptId;
+        }
+
+        public String getLeaveType() {
+            return leaveType;
+        }
+
+        public Integer getMonth() {
+            return month;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public int getLeaveCount() {
+            return leaveCount;
+        }
+
+        public int getTotalDays() {
+            return totalDays;
+        }
+    }
+
+    public static class Totals {
+
+        private int leaveCount;
+        private int totalDays;
+
+        public Totals(int leaveCount, int totalDays) {
+            this.leaveCount = leaveCount;
+            this.totalDays = totalDays;
+        }
+
+        public int getLeaveCount() {
+            return leaveCount;
+        }
+
+        public int getTotalDays() {
+            return totalDays;
+        }
+    }
+}
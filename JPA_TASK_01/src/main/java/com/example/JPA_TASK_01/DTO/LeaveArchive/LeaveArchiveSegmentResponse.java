@@ -0,0 +1,52 @@
+package com.example.JPA_TASK_01.DTO.LeaveArchive;
+
+import java.time.LocalDateTime;
+
+public class LeaveArchiveSegmentResponse {
+
+    private Integer segmentId;
+    private Integer year;
+    private String fileName;
+    private Integer rowCount;
+    private Long byteSize;
+    private LocalDateTime createdAt;
+
+    public LeaveArchiveSegmentResponse(
+            Integer segmentId,
+            Integer year,
+            String fileName,
+            Integer rowCount,
+            Long byteSize,
+            LocalDateTime createdAt) {
+        this.segmentId = segmentId;
+        this.year = year;
+        this.fileName = fileName;
+        this.rowCount = rowCount;
+        this.byteSize = byteSize;
+        this.createdAt = createdAt;
+    }
+
+    public Integer getSegmentId() {
+        return segmentId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public Integer getRowCount() {
+        return rowCount;
+    }
+
+    public Long getByteSize() {
+        return byteSize;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
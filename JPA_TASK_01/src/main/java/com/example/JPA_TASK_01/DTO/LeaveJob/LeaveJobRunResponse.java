@@ -0,0 +1,66 @@
+package com.example.JPA_TASK_01.DTO.LeaveJob;
+
+import java.time.LocalDateTime;
+
+public class LeaveJobRunResponse {
+
+    private Integer runId;
+    private String jobName;
+    private String runKey;
+    private String status;
+    private Integer lastEmpId;
+    private Integer processed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public LeaveJobRunResponse(
+            Integer runId,
+            String jobName,
+            String runKey,
+            String status,
+            Integer lastEmpId,
+            Integer processed,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt) {
+        this.runId = runId;
+        this.jobName = jobName;
+        this.runKey = runKey;
+        this.status = status;
+        this.lastEmpId = lastEmpId;
+        this.processed = processed;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public Integer getRunId() {
+        return runId;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public String getRunKey() {
+        return runKey;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getLastEmpId() {
+        return lastEmpId;
+    }
+
+    public Integer getProcessed() {
+        return processed;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
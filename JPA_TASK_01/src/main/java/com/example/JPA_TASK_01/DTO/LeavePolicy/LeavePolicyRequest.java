@@ -0,0 +1,46 @@
+package com.example.JPA_TASK_01.DTO.LeavePolicy;
+
+public class LeavePolicyRequest {
+
+    private String leaveType;
+
+    // optional: null = all departments
+    private Integer deptId;
+
+    // optional: null = all years
+    private Integer year;
+
+    private Integer yearlyLimit;
+
+    public String getLeaveType() {
+        return leaveType;
+    }
+
+    public void setLeaveType(String leaveType) {
+        this.leaveType = leaveType;
+    }
+
+    public Integer getDeptId() {
+        return deptId;
+    }
+
+    public void setDeptId(Integer deptId) {
+        this.deptId = deptId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public Integer getYearlyLimit() {
+        return yearlyLimit;
+    }
+
+    public void setYearlyLimit(Integer yearlyLimit) {
+        this.yearlyLimit = yearlyLimit;
+    }
+}
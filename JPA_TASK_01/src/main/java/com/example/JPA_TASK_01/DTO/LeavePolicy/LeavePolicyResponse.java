@@ -0,0 +1,52 @@
+package com.example.JPA_TASK_01.DTO.LeavePolicy;
+
+import java.time.LocalDateTime;
+
+public class LeavePolicyResponse {
+
+    private Integer policyId;
+    private String leaveType;
+    private Integer deptId;
+    private Integer year;
+    private Integer yearlyLimit;
+    private LocalDateTime updatedAt;
+
+    public LeavePolicyResponse(
+            Integer policyId,
+            String leaveType,
+            Integer deptId,
+            Integer year,
+            Integer yearlyLimit,
+            LocalDateTime updatedAt) {
+        this.policyId = policyId;
+        this.leaveType = leaveType;
+        this.deptId = deptId;
+        this.year = year;
+        this.yearlyLimit = yearlyLimit;
+        this.updatedAt = updatedAt;
+    }
+
+    public Integer getPolicyId() {
+        return policyId;
+    }
+
+    public String getLeaveType() {
+        return leaveType;
+    }
+
+    public Integer getDeptId() {
+        return deptId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public Integer getYearlyLimit() {
+        return yearlyLimit;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.JPA_TASK_01.DTO.LeaveRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkLeaveDecisionRequest {
+
+    private List<Item> decisions = new ArrayList<>();
+
+    public List<Item> getDecisions() {
+        return decisions;
+    }
+
+    public void setDecisions(List<Item> decisions) {
+        this.decisions = decisions;
+    }
+
+    public static class Item {
+
+        private Integer leaveId;
+        private String decision; // APPROVED / REJECTED
+
+        public Integer getLeaveId() {
+            return leaveId;
+        }
+
+        public void setLeaveId(Integer leaveId) {
+            this.leaveId = leaveId;
+        }
+
+        public String getDecision() {
+            return decision;
+        }
+
+        public void setDecision(String decision) {
+            this.decision = decision;
+        }
+    }
+}
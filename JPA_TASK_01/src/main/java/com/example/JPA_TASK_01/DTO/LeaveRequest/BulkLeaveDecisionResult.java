@@ -0,0 +1,40 @@
+package com.example.JPA_TASK_01.DTO.LeaveRequest;
+
+public class BulkLeaveDecisionResult {
+
+    private Integer leaveId;
+    private boolean success;
+    private String status;  // new status when success
+    private String message; // reason when not
+
+    public BulkLeaveDecisionResult(Integer leaveId, boolean success, String status, String message) {
+        this.leaveId = leaveId;
+        this.success = success;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BulkLeaveDecisionResult ok(Integer leaveId, String status) {
+        return new BulkLeaveDecisionResult(leaveId, true, status, null);
+    }
+
+    public static BulkLeaveDecisionResult failed(Integer leaveId, String message) {
+        return new BulkLeaveDecisionResult(leaveId, false, null, message);
+    }
+
+    public Integer getLeaveId() {
+        return leaveId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.JPA_TASK_01.DTO.LeaveRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset position: the (appliedAt, leaveId) of the last row served.
+// appliedAt is null for legacy rows that never had one.
+public class LeaveSearchCursor {
+
+    private final LocalDateTime appliedAt;
+    private final Integer leaveId;
+
+    public LeaveSearchCursor(LocalDateTime appliedAt, Integer leaveId) {
+        this.appliedAt = appliedAt;
+        this.leaveId = leaveId;
+    }
+
+    public String encode() {
+        String raw = (appliedAt == null ? "" : appliedAt.toString()) + "|" + leaveId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LeaveSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new LeaveSearchCursor(
+                    sep == 0 ? null : LocalDateTime.parse(raw.substring(0, sep)),
+                    Integer.valueOf(raw.substring(sep + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public LocalDateTime getAppliedAt() {
+        return appliedAt;
+    }
+
+    public Integer getLeaveId() {
+        return leaveId;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.JPA_TASK_01.DTO.LeaveRequest;
+
+import java.util.List;
+
+public class LeaveSearchPage {
+
+    private List<LeaveResponse> items;
+    private String nextCursor; // null on the last page
+    private boolean hasMore;
+
+    public LeaveSearchPage(List<LeaveResponse> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<LeaveResponse> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.JPA_TASK_01.DTO.LeaveRequest;
+
+import java.util.List;
+
+public class LeaveTextSearchPage {
+
+    private List<Hit> items; // best match first
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public LeaveTextSearchPage(List<Hit> items, int page, int size, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    public List<Hit> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public static class Hit {
+
+        private LeaveResponse leave;
+        private double rank;
+
+        public Hit(LeaveResponse leave, double rank) {
+            this.leave = leave;
+            this.rank = rank;
+        }
+
+        public LeaveResponse getLeave() {
+            return leave;
+        }
+
+        public double getRank() {
+            return rank;
+        }
+    }
+}
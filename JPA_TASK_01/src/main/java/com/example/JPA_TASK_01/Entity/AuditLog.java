@@ -0,0 +1,79 @@
+package com.example.JPA_TASK_01.Entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Append-only history of leave and user-approval changes. Rows are written
+// in batches by AuditLogWriter and never updated or deleted.
+@Entity
+@Immutable
+@Table(
+        name = "audit_log",
+        indexes = {
+                // history of one entity over a time range
+                @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id, occurred_at")
+        }
+)
+public class AuditLog {
+
+  public static final String LEAVE = "LEAVE";
+  public static final String USER = "USER";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "audit_id")
+  private Long auditId;
+
+  @Column(name = "entity_type", nullable = false, length = 20)
+  private String entityType;
+
+  @Column(name = "entity_id", nullable = false)
+  private Integer entityId;
+
+  // APPLIED, EDITED, APPROVED, REJECTED, REVOKED, DELETED, REOPENED
+  @Column(name = "action", nullable = false, length = 20)
+  private String action;
+
+  // email of the user who made the change
+  @Column(name = "actor", length = 100)
+  private String actor;
+
+  @Column(name = "occurred_at", nullable = false)
+  private LocalDateTime occurredAt;
+
+  // JSON: {"before": ..., "after": ...}
+  @Column(name = "details", columnDefinition = "TEXT")
+  private String details;
+
+  public AuditLog() {}
+
+  public Long getAuditId() {
+    return auditId;
+  }
+
+  public String getEntityType() {
+    return entityType;
+  }
+
+  public Integer getEntityId() {
+    return entityId;
+  }
+
+  public String getAction() {
+    return action;
+  }
+
+  public String getActor() {
+    return actor;
+  }
+
+  public LocalDateTime getOccurredAt() {
+    return occurredAt;
+  }
+
+  public String getDetails() {
+    return details;
+  }
+}
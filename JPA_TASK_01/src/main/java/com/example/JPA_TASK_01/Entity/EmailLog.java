@@ -8,10 +8,11 @@ import java.time.LocalDateTime;
 public class EmailLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_log_email_id_seq")
+    @SequenceGenerator(name = "email_log_email_id_seq", sequenceName = "email_log_email_id_seq", allocationSize = 50)
     private Integer emailId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -2,33 +2,61 @@
 package com.example.JPA_TASK_01.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employee")
+@Table(
+        name = "employee",
+        indexes = {
+                // department absence calendar: employees of one department
+                @Index(name = "idx_employee_dept", columnList = "dept_id")
+        }
+)
+// Fetch plans per use case; every association is LAZY otherwise.
+@NamedEntityGraphs({
+        // directory listings (paged directory, department roster)
+        @NamedEntityGraph(name = "Employee.directory", attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode("department")
+        }),
+        // one employee's profile, with the user's images
+        @NamedEntityGraph(name = "Employee.profile", attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "user.images"),
+                @NamedAttributeNode("department")
+        }, subgraphs = @NamedSubgraph(name = "user.images", attributeNodes = @NamedAttributeNode("images"))),
+        // admin user views: the user row is already loaded
+        @NamedEntityGraph(name = "Employee.adminDetail", attributeNodes = @NamedAttributeNode("department"))
+})
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_emp_id_seq")
+    @SequenceGenerator(name = "employee_emp_id_seq", sequenceName = "employee_emp_id_seq", allocationSize = 50)
     @Column(name = "emp_id")
     private Integer empId;
 
     // One user becomes exactly one employee after approval
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
 
     // Many employees -> one department
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "dept_id", nullable = false)
     private Department department;
 
     @Column(name = "joining_date")
     private LocalDate joiningDate = LocalDate.now();
 
-    @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @OneToMany(mappedBy = "employee", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Images> images = new ArrayList<>();
 
     // getters & setters
@@ -36,6 +64,10 @@ public class Employee {
         return empId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public User getUser() {
         return user;
     }
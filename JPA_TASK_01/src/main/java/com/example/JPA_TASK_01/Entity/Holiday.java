@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class Holiday {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "holiday_holiday_id_seq")
+    @SequenceGenerator(name = "holiday_holiday_id_seq", sequenceName = "holiday_holiday_id_seq", allocationSize = 50)
     private Integer holidayId;
 
     @Column(nullable = false)
@@ -5,11 +5,18 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "images")
+@Table(
+        name = "images",
+        indexes = {
+                @Index(name = "idx_images_user", columnList = "user_id"),
+                @Index(name = "idx_images_file_name", columnList = "file_name")
+        }
+)
 public class Images {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "images_image_id_seq")
+  @SequenceGenerator(name = "images_image_id_seq", sequenceName = "images_image_id_seq", allocationSize = 50)
   private Long imageId;
 
   private String fileName;
@@ -0,0 +1,76 @@
+package com.example.JPA_TASK_01.Entity;
+
+import jakarta.persistence.*;
+
+// Sparse index entry: one gzip block of a segment, its emp_id range and
+// its byte range in the file. Rows in a segment are sorted by emp_id, so
+// an employee's archived leaves are in one or two adjacent blocks.
+@Entity
+@Table(
+        name = "leave_archive_block",
+        indexes = {
+                @Index(name = "idx_leave_archive_block_emp", columnList = "year, first_emp_id, last_emp_id")
+        }
+)
+public class LeaveArchiveBlock {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "block_id")
+  private Integer blockId;
+
+  @Column(name = "segment_id", nullable = false)
+  private Integer segmentId;
+
+  @Column(name = "year", nullable = false)
+  private Integer year;
+
+  @Column(name = "first_emp_id", nullable = false)
+  private Integer firstEmpId;
+
+  @Column(name = "last_emp_id", nullable = false)
+  private Integer lastEmpId;
+
+  @Column(name = "byte_offset", nullable = false)
+  private Long byteOffset;
+
+  @Column(name = "byte_length", nullable = false)
+  private Integer byteLength;
+
+  @Column(name = "row_count", nullable = false)
+  private Integer rowCount;
+
+  public LeaveArchiveBlock() {}
+
+  public Integer getBlockId() {
+    return blockId;
+  }
+
+  public Integer getSegmentId() {
+    return segmentId;
+  }
+
+  public Integer getYear() {
+    return year;
+  }
+
+  public Integer getFirstEmpId() {
+    return firstEmpId;
+  }
+
+  public Integer getLastEmpId() {
+    return lastEmpId;
+  }
+
+  public Long getByteOffset() {
+    return byteOffset;
+  }
+
+  public Integer getByteLength() {
+    return byteLength;
+  }
+
+  public Integer getRowCount() {
+    return rowCount;
+  }
+}
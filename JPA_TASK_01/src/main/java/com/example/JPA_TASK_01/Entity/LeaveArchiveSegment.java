@@ -0,0 +1,58 @@
+package com.example.JPA_TASK_01.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One gzip segment file of archived leaves, all of the same year. Written
+// by LeaveArchiveStore, catalogued here; the file itself is immutable.
+@Entity
+@Table(name = "leave_archive_segment")
+public class LeaveArchiveSegment {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "segment_id")
+  private Integer segmentId;
+
+  @Column(name = "year", nullable = false)
+  private Integer year;
+
+  @Column(name = "file_name", nullable = false, unique = true)
+  private String fileName;
+
+  @Column(name = "row_count", nullable = false)
+  private Integer rowCount = 0;
+
+  @Column(name = "byte_size", nullable = false)
+  private Long byteSize = 0L;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt = LocalDateTime.now();
+
+  public LeaveArchiveSegment() {}
+
+  public Integer getSegmentId() {
+    return segmentId;
+  }
+
+  public Integer getYear() {
+    return year;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public Integer getRowCount() {
+    return rowCount;
+  }
+
+  public Long getByteSize() {
+    return byteSize;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+}
@@ -0,0 +1,150 @@
+package com.example.JPA_TASK_01.Entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
+
+// One ledger row per (employee, leave type, year).
+// used_days    = paid days of APPROVED leaves
+// pending_days = paid days reserved by PENDING leaves
+// carried_forward_days = unused days brought in from the previous year
+// lapsed_days  = unused days dropped when this year was closed
+@Entity
+@DynamicUpdate
+@Table(
+        name = "leave_balance",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_leave_balance_emp_type_year",
+                        columnNames = {"emp_id", "leave_type", "year"})
+        }
+)
+public class LeaveBalance {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "balance_id")
+  private Integer balanceId;
+
+  @JoinColumn(name = "emp_id", nullable = false)
+  @ManyToOne(fetch = FetchType.LAZY)
+  private Employee employee;
+
+  @Column(name = "leave_type", nullable = false)
+  private String leaveType;
+
+  @Column(name = "year", nullable = false)
+  private Integer year;
+
+  @Column(name = "entitled_days", nullable = false)
+  private Integer entitledDays = 0;
+
+  @Column(name = "used_days", nullable = false)
+  private Integer usedDays = 0;
+
+  @Column(name = "pending_days", nullable = false)
+  private Integer pendingDays = 0;
+
+  @ColumnDefault("0")
+  @Column(name = "carried_forward_days", nullable = false)
+  private Integer carriedForwardDays = 0;
+
+  @ColumnDefault("0")
+  @Column(name = "lapsed_days", nullable = false)
+  private Integer lapsedDays = 0;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt = LocalDateTime.now();
+
+  public LeaveBalance() {}
+
+  public LeaveBalance(Employee employee, String leaveType, Integer year, Integer entitledDays) {
+    this.employee = employee;
+    this.leaveType = leaveType;
+    this.year = year;
+    this.entitledDays = entitledDays;
+  }
+
+  // paid days still available to new applications
+  public int getRemainingDays() {
+    return Math.max(0, entitledDays + carriedForwardDays - usedDays - pendingDays);
+  }
+
+  public Integer getBalanceId() {
+    return balanceId;
+  }
+
+  public Employee getEmployee() {
+    return employee;
+  }
+
+  public void setEmployee(Employee employee) {
+    this.employee = employee;
+  }
+
+  public String getLeaveType() {
+    return leaveType;
+  }
+
+  public void setLeaveType(String leaveType) {
+    this.leaveType = leaveType;
+  }
+
+  public Integer getYear() {
+    return year;
+  }
+
+  public void setYear(Integer year) {
+    this.year = year;
+  }
+
+  public Integer getEntitledDays() {
+    return entitledDays;
+  }
+
+  public void setEntitledDays(Integer entitledDays) {
+    this.entitledDays = entitledDays;
+  }
+
+  public Integer getUsedDays() {
+    return usedDays;
+  }
+
+  public void setUsedDays(Integer usedDays) {
+    this.usedDays = usedDays;
+  }
+
+  public Integer getPendingDays() {
+    return pendingDays;
+  }
+
+  public void setPendingDays(Integer pendingDays) {
+    this.pendingDays = pendingDays;
+  }
+
+  public Integer getCarriedForwardDays() {
+    return carriedForwardDays;
+  }
+
+  public void setCarriedForwardDays(Integer carriedForwardDays) {
+    this.carriedForwardDays = carriedForwardDays;
+  }
+
+  public Integer getLapsedDays() {
+    return lapsedDays;
+  }
+
+  public void setLapsedDays(Integer lapsedDays) {
+    this.lapsedDays = lapsedDays;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
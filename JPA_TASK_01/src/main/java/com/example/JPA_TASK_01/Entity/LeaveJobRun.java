@@ -0,0 +1,104 @@
+package com.example.JPA_TASK_01.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Progress record of a chunked ledger job, committed together with each chunk.
+// A restarted run continues after lastEmpId instead of starting over.
+@Entity
+@Table(
+        name = "leave_job_run",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_leave_job_run_key",
+                        columnNames = {"job_name", "run_key"})
+        }
+)
+public class LeaveJobRun {
+
+  public static final String RUNNING = "RUNNING";
+  public static final String COMPLETED = "COMPLETED";
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "run_id")
+  private Integer runId;
+
+  @Column(name = "job_name", nullable = false, length = 50)
+  private String jobName;
+
+  // accrual period "2026-03", year-end partition "2025#0"
+  @Column(name = "run_key", nullable = false, length = 50)
+  private String runKey;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status = RUNNING;
+
+  @Column(name = "last_emp_id", nullable = false)
+  private Integer lastEmpId = 0;
+
+  @Column(name = "processed", nullable = false)
+  private Integer processed = 0;
+
+  @Column(name = "started_at", nullable = false)
+  private LocalDateTime startedAt = LocalDateTime.now();
+
+  @Column(name = "finished_at")
+  private LocalDateTime finishedAt;
+
+  public LeaveJobRun() {}
+
+  public LeaveJobRun(String jobName, String runKey) {
+    this.jobName = jobName;
+    this.runKey = runKey;
+  }
+
+  public Integer getRunId() {
+    return runId;
+  }
+
+  public String getJobName() {
+    return jobName;
+  }
+
+  public String getRunKey() {
+    return runKey;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public Integer getLastEmpId() {
+    return lastEmpId;
+  }
+
+  public void setLastEmpId(Integer lastEmpId) {
+    this.lastEmpId = lastEmpId;
+  }
+
+  public Integer getProcessed() {
+    return processed;
+  }
+
+  public void setProcessed(Integer processed) {
+    this.processed = processed;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(LocalDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.JPA_TASK_01.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Yearly paid-day limit for a leave type.
+// department == null -> applies to every department
+// year == null       -> applies to every year
+@Entity
+@Table(
+        name = "leave_policy",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_leave_policy_scope",
+                        columnNames = {"leave_type", "dept_id", "year"})
+        }
+)
+public class LeavePolicy {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "policy_id")
+  private Integer policyId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "leave_type", nullable = false)
+  private LeaveType leaveType;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "dept_id")
+  private Department department;
+
+  @Column(name = "year")
+  private Integer year;
+
+  @Column(name = "yearly_limit", nullable = false)
+  private Integer yearlyLimit;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt = LocalDateTime.now();
+
+  public Integer getPolicyId() {
+    return policyId;
+  }
+
+  public LeaveType getLeaveType() {
+    return leaveType;
+  }
+
+  public void setLeaveType(LeaveType leaveType) {
+    this.leaveType = leaveType;
+  }
+
+  public Department getDepartment() {
+    return department;
+  }
+
+  public void setDepartment(Department department) {
+    this.department = department;
+  }
+
+  public Integer getYear() {
+    return year;
+  }
+
+  public void setYear(Integer year) {
+    this.year = year;
+  }
+
+  public Integer getYearlyLimit() {
+    return yearlyLimit;
+  }
+
+  public void setYearlyLimit(Integer yearlyLimit) {
+    this.yearlyLimit = yearlyLimit;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
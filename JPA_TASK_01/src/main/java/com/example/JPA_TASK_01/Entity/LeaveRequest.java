@@ -1,16 +1,37 @@
 package com.example.JPA_TASK_01.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_request")
+@Table(
+        name = "leave_request",
+        indexes = {
+                // overlap probe: equality on emp_id, range on end_date
+                @Index(name = "idx_leave_request_emp_end", columnList = "emp_id, end_date"),
+                // keyset pagination of the admin search
+                @Index(name = "idx_leave_request_applied", columnList = "applied_at, leave_id"),
+                // LeaveBalanceRepository.aggregatePaidDaysFromLeaves for one key, the
+                // ledger's first-touch seed (PostgreSQL also INCLUDEs paid_days, see V2)
+                @Index(name = "idx_leave_request_used_paid", columnList = "emp_id, leave_type, year, status"),
+                // pending queue
+                @Index(name = "idx_leave_request_status_applied", columnList = "status, applied_at")
+        }
+)
+// LeaveMapper.toResponse reads the owner's name and the approver's name
+@NamedEntityGraph(name = "LeaveRequest.mapping", attributeNodes = {
+        @NamedAttributeNode(value = "employee", subgraph = "employee.user"),
+        @NamedAttributeNode("approvedBy")
+}, subgraphs = @NamedSubgraph(name = "employee.user", attributeNodes = @NamedAttributeNode("user")))
 public class LeaveRequest {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  // pooled: one nextval hands out 50 ids, so Hibernate can batch the INSERTs (see V6)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leave_request_leave_id_seq")
+  @SequenceGenerator(name = "leave_request_leave_id_seq", sequenceName = "leave_request_leave_id_seq", allocationSize = 50)
   @Column(name = "leave_id")
   private Integer leaveId;
 
@@ -55,6 +76,12 @@ public class LeaveRequest {
   @Column(name = "applied_at", nullable = false)
   private LocalDateTime appliedAt;
 
+  // optimistic lock: concurrent decisions on the same leave fail with 409
+  @Version
+  @ColumnDefault("0")
+  @Column(name = "version", nullable = false)
+  private Long version;
+
   public LeaveRequest(
       Employee employee,
       String leaveType,
@@ -173,6 +200,10 @@ public LeaveRequest()
     return appliedAt;
   }
 
+  public Long getVersion() {
+    return version;
+  }
+
   public void setAppliedAt(LocalDateTime appliedAt) {
     this.appliedAt = appliedAt;
   }
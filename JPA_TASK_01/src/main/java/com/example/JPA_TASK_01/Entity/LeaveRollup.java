@@ -0,0 +1,87 @@
+package com.example.JPA_TASK_01.Entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One analytics cell: leaves of a department, type and status whose start
+// date falls in (year, month). Maintained by LeaveRollupRecorder in the
+// transaction that changes the leave; rebuilt from leave_request on demand.
+@Entity
+@Table(
+        name = "leave_rollup",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_leave_rollup_cell",
+                        columnNames = {"year", "dept_id", "leave_type", "month", "status"})
+        }
+)
+public class LeaveRollup {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "rollup_id")
+  private Integer rollupId;
+
+  @Column(name = "year", nullable = false)
+  private Integer year;
+
+  @Column(name = "dept_id", nullable = false)
+  private Integer deptId;
+
+  @Column(name = "leave_type", nullable = false, length = 20)
+  private String leaveType;
+
+  @Column(name = "month", nullable = false)
+  private Integer month;
+
+  @Column(name = "status", nullable = false, length = 20)
+  private String status;
+
+  @Column(name = "leave_count", nullable = false)
+  private Integer leaveCount = 0;
+
+  @Column(name = "total_days", nullable = false)
+  private Integer totalDays = 0;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt = LocalDateTime.now();
+
+  public LeaveRollup() {}
+
+  public Integer getRollupId() {
+    return rollupId;
+  }
+
+  public Integer getYear() {
+    return year;
+  }
+
+  public Integer getDeptId() {
+    return deptId;
+  }
+
+  public String getLeaveType() {
+    return leaveType;
+  }
+
+  public Integer getMonth() {
+    return month;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public Integer getLeaveCount() {
+    return leaveCount;
+  }
+
+  public Integer getTotalDays() {
+    return totalDays;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+}
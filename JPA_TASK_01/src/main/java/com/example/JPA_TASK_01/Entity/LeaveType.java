@@ -0,0 +1,41 @@
+package com.example.JPA_TASK_01.Entity;
+
+// Leave types accepted by leave_request.leave_type.
+// The ordinal is used as an array index by the in-memory policy table.
+// Accruing types earn 1/12 of the yearly limit per month of service;
+// the others are granted in full at the start of the year.
+public enum LeaveType {
+
+    SICK(8, false),
+    CASUAL(6, false),
+    EARNED(12, true),
+    OPTIONAL(3, false),
+    UNPAID(0, false);
+
+    private final int defaultYearlyLimit;
+    private final boolean accruing;
+
+    LeaveType(int defaultYearlyLimit, boolean accruing) {
+        this.defaultYearlyLimit = defaultYearlyLimit;
+        this.accruing = accruing;
+    }
+
+    public int getDefaultYearlyLimit() {
+        return defaultYearlyLimit;
+    }
+
+    public boolean isAccruing() {
+        return accruing;
+    }
+
+    public static LeaveType from(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Leave type is required");
+        }
+        try {
+            return LeaveType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid leave type");
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.example.JPA_TASK_01.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "users")
+// admin user views: the user with its images
+@NamedEntityGraph(name = "User.adminDetail", attributeNodes = @NamedAttributeNode("images"))
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_user_id_seq")
+    @SequenceGenerator(name = "users_user_id_seq", sequenceName = "users_user_id_seq", allocationSize = 50)
     private Integer userId;
 
     @Column(nullable = false)
@@ -34,6 +38,11 @@ public class User {
     @Column(nullable = false)
     private boolean enabled = false;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
   @OneToMany(
       mappedBy = "user",
       cascade = CascadeType.ALL,
@@ -56,6 +65,10 @@ public class User {
         return userId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setUserId(Integer userId) {
         this.userId = userId;
     }
@@ -0,0 +1,213 @@
+package com.example.JPA_TASK_01.Event;
+
+import com.example.JPA_TASK_01.Entity.AuditLog;
+import com.example.JPA_TASK_01.Repo.AuditLogBatchRepository;
+import com.example.JPA_TASK_01.Repo.AuditLogBatchRepository.AuditRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Audit trail of committed leave and user-approval changes. The request
+// thread only offers an entry to a bounded in-memory queue after commit;
+// a scheduled flush serializes and inserts whatever has queued up in
+// batches. A unwritten batch is kept and retried on the next flush, up to
+// leave.audit.max-attempts times; then its rows are written one by one and
+// the ones that still fail are logged and dropped, so a bad row cannot
+// hold up the rest of the trail.
+@Component
+public class AuditLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private record Entry(
+            String entityType,
+            Integer entityId,
+            String action,
+            String actor,
+            LocalDateTime occurredAt,
+            Object before,
+            Object after) {}
+
+    private final AuditLogBatchRepository auditLogBatchRepository;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final int maxAttempts;
+
+    private final BlockingQueue<Entry> queue;
+    private final List<AuditRow> unwritten = new ArrayList<>();
+    private int failedAttempts;
+
+    public AuditLogWriter(
+            AuditLogBatchRepository auditLogBatchRepository,
+            ObjectMapper objectMapper,
+            @Value("${leave.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${leave.audit.batch-size:500}") int batchSize,
+            @Value("${leave.audit.offer-timeout-ms:100}") long offerTimeoutMs,
+            @Value("${leave.audit.max-attempts:3}") int maxAttempts) {
+        this.auditLogBatchRepository = auditLogBatchRepository;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    // ===============================
+    // ENQUEUE (after commit only)
+    // ===============================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLeaveChanged(LeaveChangedEvent event) {
+
+        String action = switch (event.getType()) {
+            case CREATED -> "APPLIED";
+            case EDITED -> "EDITED";
+            case DECIDED -> event.getAfter() != null ? event.getAfter().getStatus() : "DECIDED";
+            case REVOKED -> "REVOKED";
+            case DELETED -> "DELETED";
+        };
+
+        enqueue(new Entry(
+                AuditLog.LEAVE,
+                event.getLeaveId(),
+                action,
+                event.getActor(),
+                event.getOccurredAt(),
+                event.getBefore(),
+                event.getAfter()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserApproval(UserApprovalEvent event) {
+
+        Map<String, Object> after = new LinkedHashMap<>();
+        after.put("status", switch (event.getType()) {
+            case APPROVED -> "APPROVED";
+            case REJECTED -> "REJECTED";
+            case REOPENED -> "PENDING";
+        });
+        if (event.getDeptId() != null) {
+            after.put("deptId", event.getDeptId());
+        }
+
+        enqueue(new Entry(
+                AuditLog.USER,
+                event.getUserId(),
+                event.getType().name(),
+                event.getActor(),
+                event.getOccurredAt(),
+                Map.of("status", String.valueOf(event.getStatusBefore())),
+                after));
+    }
+
+    private void enqueue(Entry entry) {
+
+        boolean queued = queue.offer(entry);
+        if (!queued) {
+            try {
+                queued = queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // the change itself is committed; keep at least a log line of it
+        if (!queued) {
+            log.error("Audit queue full, dropped {} {} {} by {} at {}",
+                    entry.entityType(), entry.entityId(), entry.action(), entry.actor(), entry.occurredAt());
+        }
+    }
+
+    // ===============================
+    // BATCHED FLUSH
+    // ===============================
+    @Scheduled(fixedDelayString = "${leave.audit.flush-interval-ms:500}")
+    public synchronized void flush() {
+
+        while (true) {
+            if (unwritten.isEmpty()) {
+                List<Entry> drained = new ArrayList<>(batchSize);
+                queue.drainTo(drained, batchSize);
+                if (drained.isEmpty()) {
+                    return;
+                }
+                for (Entry entry : drained) {
+                    unwritten.add(toRow(entry));
+                }
+            }
+
+            try {
+                auditLogBatchRepository.insertAll(unwritten);
+            } catch (RuntimeException ex) {
+                if (++failedAttempts < maxAttempts) {
+                    log.warn("Could not write {} audit rows (attempt {} of {}), retrying on next flush",
+                            unwritten.size(), failedAttempts, maxAttempts, ex);
+                    return;
+                }
+                log.warn("Could not write {} audit rows after {} attempts, writing them one by one",
+                        unwritten.size(), failedAttempts, ex);
+                insertOneByOne();
+            }
+            unwritten.clear();
+            failedAttempts = 0;
+        }
+    }
+
+    // isolates the rows that fail on their own; those are logged in full
+    // (the change itself is committed) and dropped
+    private void insertOneByOne() {
+
+        for (AuditRow row : unwritten) {
+            try {
+                auditLogBatchRepository.insertAll(List.of(row));
+            } catch (RuntimeException ex) {
+                log.error("Dropped audit row {} {} {} by {} at {}: {}",
+                        row.entityType(), row.entityId(), row.action(), row.actor(), row.occurredAt(),
+                        row.details(), ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private AuditRow toRow(Entry entry) {
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("before", entry.before());
+        details.put("after", entry.after());
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException ex) {
+            json = null;
+        }
+
+        return new AuditRow(
+                entry.entityType(),
+                entry.entityId(),
+                entry.action(),
+                entry.actor(),
+                entry.occurredAt(),
+                json);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.JPA_TASK_01.Event;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+
+import java.time.LocalDateTime;
+
+// Published by LeaveServiceImpl inside the transaction that changed the leave.
+// before is null for CREATED, after is null for DELETED.
+public class LeaveChangedEvent {
+
+    public enum Type {
+        CREATED,
+        EDITED,
+        DECIDED,
+        REVOKED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Integer leaveId;
+    private final Integer deptId;
+    private final String actor; // email of the user who made the change
+    private final LeaveResponse before;
+    private final LeaveResponse after;
+    private final LocalDateTime occurredAt;
+
+    public LeaveChangedEvent(
+            Type type,
+            Integer leaveId,
+            Integer deptId,
+            String actor,
+            LeaveResponse before,
+            LeaveResponse after) {
+        this.type = type;
+        this.leaveId = leaveId;
+        this.deptId = deptId;
+        this.actor = actor;
+        this.before = before;
+        this.after = after;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Integer getLeaveId() {
+        return leaveId;
+    }
+
+    public Integer getDeptId() {
+        return deptId;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public LeaveResponse getBefore() {
+        return before;
+    }
+
+    public LeaveResponse getAfter() {
+        return after;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
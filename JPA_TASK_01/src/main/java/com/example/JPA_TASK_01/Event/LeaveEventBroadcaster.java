@@ -0,0 +1,244 @@
+package com.example.JPA_TASK_01.Event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes committed leave changes to connected admin clients over SSE.
+// Recent events are kept in a bounded ring buffer so a reconnecting client
+// (Last-Event-ID) receives only what it missed.
+//
+// Publishing numbers the event, appends it to the buffer and offers it to
+// every subscriber's bounded queue, under one lock and without I/O. Each
+// subscriber has its own sender thread draining its queue in order, so a
+// slow client delays nobody else. One that falls a whole queue behind is
+// dropped; its EventSource reconnects and resumes from the buffer.
+//
+// Single node: the sequence and buffer live in this instance's memory and
+// only changes committed through it are pushed. Behind a load balancer the
+// stream needs sticky sessions; a client that lands on another instance
+// presents another boot id's token and is told to resync.
+@Component
+public class LeaveEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveEventBroadcaster.class);
+
+    // ids are "<boot>-<seq>": a token from before a restart forces a resync
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final int bufferSize;
+    private final int queueSize;
+    private final long emitterTimeoutMs;
+
+    // guarded by this
+    private final ArrayDeque<Entry> buffer = new ArrayDeque<>();
+    private long sequence;
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    private final AtomicInteger senderThreads = new AtomicInteger();
+
+    public LeaveEventBroadcaster(
+            @Value("${leave.events.buffer-size:1000}") int bufferSize,
+            @Value("${leave.events.subscriber-queue-size:256}") int queueSize,
+            @Value("${leave.events.sse-timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.bufferSize = bufferSize;
+        this.queueSize = queueSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    // ===============================
+    // PUBLISH (after commit only)
+    // ===============================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onLeaveChanged(LeaveChangedEvent event) {
+        Entry entry = new Entry(++sequence, event);
+        buffer.addLast(entry);
+        if (buffer.size() > bufferSize) {
+            buffer.removeFirst();
+        }
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.offer(entry);
+        }
+    }
+
+    // ===============================
+    // SUBSCRIBE / RESUME
+    // ===============================
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(new SseEmitter(emitterTimeoutMs), lastEventId);
+    }
+
+    // the buffered entries are read and the subscriber registered under the
+    // same lock as publishing, so nothing is missed or sent twice
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+
+        Subscriber subscriber = new Subscriber(emitter);
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> emitter.complete());
+
+        List<Object> backlog = new ArrayList<>();
+        synchronized (this) {
+            long resumeFrom = resumePoint(lastEventId);
+
+            if (resumeFrom < 0) {
+                // token unknown or older than the buffer: client must reload the queue
+                backlog.add(Control.RESYNC);
+            } else {
+                for (Entry entry : buffer) {
+                    if (entry.seq > resumeFrom) {
+                        backlog.add(entry);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        subscriber.start(backlog);
+        return emitter;
+    }
+
+    // keeps idle connections open through proxies and prunes dead clients
+    @Scheduled(fixedDelayString = "${leave.events.heartbeat-ms:15000}")
+    public synchronized void heartbeat() {
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            subscriber.offer(Control.KEEP_ALIVE);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Subscriber> open;
+        synchronized (this) {
+            open = List.copyOf(subscribers);
+        }
+        open.forEach(Subscriber::close);
+    }
+
+    // last delivered sequence number, 0 for a fresh client, -1 when events were lost
+    private long resumePoint(String lastEventId) {
+
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+
+        int sep = lastEventId.lastIndexOf('-');
+        if (sep < 0 || !lastEventId.substring(0, sep).equals(bootId)) {
+            return -1;
+        }
+
+        long seen;
+        try {
+            seen = Long.parseLong(lastEventId.substring(sep + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+
+        long oldest = buffer.isEmpty() ? sequence + 1 : buffer.peekFirst().seq;
+        if (seen > sequence || seen < oldest - 1) {
+            return -1;
+        }
+        return seen;
+    }
+
+    // CREATED -> leave-created
+    private static String eventName(LeaveChangedEvent.Type type) {
+        return "leave-" + type.name().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long seq, LeaveChangedEvent event) {}
+
+    private enum Control {
+        RESYNC,
+        KEEP_ALIVE
+    }
+
+    // one client: its queue of entries and controls, and the thread that
+    // sends them. A sender blocked on a stalled socket holds the emitter's
+    // monitor, so only this thread ever completes the emitter.
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueSize);
+        private volatile Thread sender;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void start(List<Object> backlog) {
+            sender = Thread.ofPlatform()
+                    .name("leave-sse-" + senderThreads.incrementAndGet())
+                    .daemon()
+                    .start(() -> run(backlog));
+            if (closed) {
+                sender.interrupt();
+            }
+        }
+
+        // called under the broadcaster's lock; never blocks
+        void offer(Object item) {
+            if (!queue.offer(item)) {
+                log.debug("Dropping leave event subscriber {} events behind", queueSize);
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            synchronized (LeaveEventBroadcaster.this) {
+                subscribers.remove(this);
+            }
+            Thread thread = sender;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+
+        private void run(List<Object> backlog) {
+            try {
+                for (Object item : backlog) {
+                    send(item);
+                }
+                while (!closed) {
+                    send(queue.take());
+                }
+            } catch (InterruptedException | IOException | IllegalStateException ex) {
+                // dropped, shut down, or the client went away
+            } finally {
+                close();
+                emitter.complete();
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            if (item instanceof Entry entry) {
+                emitter.send(SseEmitter.event()
+                        .id(bootId + "-" + entry.seq)
+                        .name(eventName(entry.event.getType()))
+                        .data(entry.event));
+            } else if (item == Control.RESYNC) {
+                emitter.send(SseEmitter.event().name("resync").data(""));
+            } else {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+}
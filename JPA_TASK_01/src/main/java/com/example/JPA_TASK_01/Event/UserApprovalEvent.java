@@ -0,0 +1,54 @@
+package com.example.JPA_TASK_01.Event;
+
+import java.time.LocalDateTime;
+
+// Published by ApprovalServiceImpl inside the transaction that changed the
+// user's registration status.
+public class UserApprovalEvent {
+
+    public enum Type {
+        APPROVED,
+        REJECTED,
+        REOPENED
+    }
+
+    private final Type type;
+    private final Integer userId;
+    private final Integer deptId; // department assigned on approval, else null
+    private final String actor;
+    private final String statusBefore;
+    private final LocalDateTime occurredAt;
+
+    public UserApprovalEvent(Type type, Integer userId, Integer deptId, String actor, String statusBefore) {
+        this.type = type;
+        this.userId = userId;
+        this.deptId = deptId;
+        this.actor = actor;
+        this.statusBefore = statusBefore;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public Integer getDeptId() {
+        return deptId;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public String getStatusBefore() {
+        return statusBefore;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
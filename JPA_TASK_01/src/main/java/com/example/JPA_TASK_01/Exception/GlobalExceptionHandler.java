@@ -1,4 +1,8 @@
 package com.example.JPA_TASK_01.Exception;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,6 +27,70 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(error, HttpStatus.CONFLICT);
   }
 
+  // ===============================
+  // OVERLAPPING LEAVE
+  // ===============================
+  @ExceptionHandler(LeaveOverlapException.class)
+  public ResponseEntity<ApiError> handleLeaveOverlap(
+          LeaveOverlapException ex) {
+
+    ApiError error = new ApiError(
+            HttpStatus.CONFLICT.value(),
+            HttpStatus.CONFLICT.getReasonPhrase(),
+            ex.getMessage()
+    );
+
+    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+  }
+
+  // ===============================
+  // CONCURRENT MODIFICATION (@Version)
+  // ===============================
+  @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+  public ResponseEntity<ApiError> handleOptimisticLock(
+          RuntimeException ex) {
+
+    ApiError error = new ApiError(
+            HttpStatus.CONFLICT.value(),
+            HttpStatus.CONFLICT.getReasonPhrase(),
+            "The record was changed by someone else, reload and try again"
+    );
+
+    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+  }
+
+  // ===============================
+  // LOCK WAIT TIMED OUT
+  // ===============================
+  @ExceptionHandler(PessimisticLockingFailureException.class)
+  public ResponseEntity<ApiError> handleLockFailure(
+          PessimisticLockingFailureException ex) {
+
+    ApiError error = new ApiError(
+            HttpStatus.CONFLICT.value(),
+            HttpStatus.CONFLICT.getReasonPhrase(),
+            "Another request for the same record is in progress, try again"
+    );
+
+    return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+  }
+
+  // ===============================
+  // DB CONSTRAINTS
+  // ===============================
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ApiError> handleDataIntegrity(
+          DataIntegrityViolationException ex) {
+
+    // a concurrent apply that slipped past the overlap probe
+    if (String.valueOf(ex.getMessage()).contains("excl_leave_request_no_overlap")) {
+      return handleLeaveOverlap(new LeaveOverlapException(
+              "Leave overlaps an existing pending or approved leave"));
+    }
+
+    return handleGeneric(ex);
+  }
+
   // ===============================
   // RESOURCE NOT FOUND
   // ===============================
@@ -0,0 +1,7 @@
+package com.example.JPA_TASK_01.Exception;
+
+public class LeaveOverlapException extends RuntimeException {
+  public LeaveOverlapException(String message) {
+    super(message);
+  }
+}
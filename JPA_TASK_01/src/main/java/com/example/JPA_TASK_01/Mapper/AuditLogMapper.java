@@ -0,0 +1,22 @@
+package com.example.JPA_TASK_01.Mapper;
+
+import com.example.JPA_TASK_01.DTO.Audit.AuditLogResponse;
+import com.example.JPA_TASK_01.Entity.AuditLog;
+
+public class AuditLogMapper {
+
+    private AuditLogMapper() {}
+
+    public static AuditLogResponse toResponse(AuditLog entry) {
+
+        return new AuditLogResponse(
+                entry.getAuditId(),
+                entry.getEntityType(),
+                entry.getEntityId(),
+                entry.getAction(),
+                entry.getActor(),
+                entry.getOccurredAt(),
+                entry.getDetails()
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.example.JPA_TASK_01.Mapper;
 import com.example.JPA_TASK_01.DTO.Employee.EmployeeResponse;
 import com.example.JPA_TASK_01.DTO.Image.ImageResponse;
 import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.Images;
 
 import java.util.List;
 
@@ -10,10 +11,11 @@ public class EmployeeMapper {
 
     private EmployeeMapper() {}
 
-    public static EmployeeResponse toResponse(Employee emp) {
+    // images: the employee's own images, loaded by the caller
+    public static EmployeeResponse toResponse(Employee emp, List<Images> employeeImages) {
 
         List<ImageResponse> images =
-                emp.getImages()
+                employeeImages
                         .stream()
                         .map(img -> new ImageResponse(
                                 img.getImageId(),
@@ -0,0 +1,21 @@
+package com.example.JPA_TASK_01.Mapper;
+
+import com.example.JPA_TASK_01.DTO.LeaveArchive.LeaveArchiveSegmentResponse;
+import com.example.JPA_TASK_01.Repo.LeaveArchiveRepository.Segment;
+
+public class LeaveArchiveMapper {
+
+    private LeaveArchiveMapper() {}
+
+    public static LeaveArchiveSegmentResponse toResponse(Segment segment) {
+
+        return new LeaveArchiveSegmentResponse(
+                segment.segmentId(),
+                segment.year(),
+                segment.fileName(),
+                segment.rowCount(),
+                segment.byteSize(),
+                segment.createdAt()
+        );
+    }
+}
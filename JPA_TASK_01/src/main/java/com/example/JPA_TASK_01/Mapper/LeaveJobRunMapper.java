@@ -0,0 +1,23 @@
+package com.example.JPA_TASK_01.Mapper;
+
+import com.example.JPA_TASK_01.DTO.LeaveJob.LeaveJobRunResponse;
+import com.example.JPA_TASK_01.Entity.LeaveJobRun;
+
+public class LeaveJobRunMapper {
+
+    private LeaveJobRunMapper() {}
+
+    public static LeaveJobRunResponse toResponse(LeaveJobRun run) {
+
+        return new LeaveJobRunResponse(
+                run.getRunId(),
+                run.getJobName(),
+                run.getRunKey(),
+                run.getStatus(),
+                run.getLastEmpId(),
+                run.getProcessed(),
+                run.getStartedAt(),
+                run.getFinishedAt()
+        );
+    }
+}
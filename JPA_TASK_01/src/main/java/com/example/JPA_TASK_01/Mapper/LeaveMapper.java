@@ -3,6 +3,8 @@ package com.example.JPA_TASK_01.Mapper;
 import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
 import com.example.JPA_TASK_01.Entity.LeaveRequest;
 
+import java.time.LocalDateTime;
+
 public class LeaveMapper {
 
     private LeaveMapper() {}
@@ -39,4 +41,30 @@ public class LeaveMapper {
 
         return response;
     }
+
+    // copy of a pending leave's response carrying a decision made elsewhere
+    public static LeaveResponse withDecision(
+            LeaveResponse pending,
+            String status,
+            LocalDateTime decidedAt,
+            String decidedBy) {
+
+        return new LeaveResponse(
+                pending.getLeaveId(),
+                pending.getEmpId(),
+                pending.getEmployeeName(),
+                pending.getLeaveType(),
+                pending.getStartDate(),
+                pending.getEndDate(),
+                pending.getTotalDays(),
+                pending.getPaidDays(),
+                pending.getUnpaidDays(),
+                pending.getYear(),
+                status,
+                pending.getReason(),
+                pending.getAppliedAt(),
+                decidedAt,
+                decidedBy
+        );
+    }
 }
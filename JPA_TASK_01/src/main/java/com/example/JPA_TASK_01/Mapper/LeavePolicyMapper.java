@@ -0,0 +1,21 @@
+package com.example.JPA_TASK_01.Mapper;
+
+import com.example.JPA_TASK_01.DTO.LeavePolicy.LeavePolicyResponse;
+import com.example.JPA_TASK_01.Entity.LeavePolicy;
+
+public class LeavePolicyMapper {
+
+    private LeavePolicyMapper() {}
+
+    public static LeavePolicyResponse toResponse(LeavePolicy policy) {
+
+        return new LeavePolicyResponse(
+                policy.getPolicyId(),
+                policy.getLeaveType().name(),
+                policy.getDepartment() != null ? policy.getDepartment().getDeptId() : null,
+                policy.getYear(),
+                policy.getYearlyLimit(),
+                policy.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.JPA_TASK_01.Repo;
+
+import jakarta.transaction.Transactional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Multi-row inserts into audit_log for the background writer.
+@Repository
+public class AuditLogBatchRepository {
+
+  private static final int BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public AuditLogBatchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public record AuditRow(
+          String entityType,
+          Integer entityId,
+          String action,
+          String actor,
+          LocalDateTime occurredAt,
+          String details) {}
+
+  // all rows or none: JdbcTemplate sends more than BATCH_SIZE rows as
+  // several batches, and a retry after a partial write would duplicate them
+  @Transactional
+  public void insertAll(List<AuditRow> rows) {
+
+    if (rows.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.batchUpdate(
+            "INSERT INTO audit_log (entity_type, entity_id, action, actor, occurred_at, details) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)",
+            rows,
+            BATCH_SIZE,
+            (ps, r) -> {
+              ps.setString(1, r.entityType());
+              ps.setObject(2, r.entityId(), Types.INTEGER);
+              ps.setString(3, r.action());
+              ps.setString(4, r.actor());
+              ps.setTimestamp(5, Timestamp.valueOf(r.occurredAt()));
+              ps.setString(6, r.details());
+            });
+  }
+}
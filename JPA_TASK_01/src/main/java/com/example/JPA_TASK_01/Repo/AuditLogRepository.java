@@ -0,0 +1,31 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.Entity.AuditLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+
+  // served by idx_audit_log_entity (entity_type, entity_id, occurred_at)
+  @Query("""
+      SELECT a FROM AuditLog a
+       WHERE a.entityType = :entityType
+         AND a.entityId = :entityId
+         AND a.occurredAt >= :from
+         AND a.occurredAt < :to
+       ORDER BY a.occurredAt, a.auditId
+      """)
+  List<AuditLog> findHistory(
+          String entityType,
+          Integer entityId,
+          LocalDateTime from,
+          LocalDateTime to,
+          Pageable limit
+  );
+}
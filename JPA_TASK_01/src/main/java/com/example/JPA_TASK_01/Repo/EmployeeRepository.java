@@ -2,25 +2,49 @@ package com.example.JPA_TASK_01.Repo;
 
 import com.example.JPA_TASK_01.Entity.Employee;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+// The fetch plans are the named graphs on Employee: directory (user and
+// department; to-one joins only, so paging stays in SQL), profile (plus
+// the user's images) and adminDetail (department).
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
 
     Optional<Employee> findByUser_UserId(Integer userId);
 
+    @EntityGraph("Employee.directory")
+    @Query(value = "SELECT e FROM Employee e", countQuery = "SELECT COUNT(e) FROM Employee e")
+    Page<Employee> findDirectory(Pageable pageable);
+
+    @EntityGraph("Employee.directory")
     Page<Employee> findByUser_NameContainingIgnoreCaseOrUser_EmailContainingIgnoreCase(
             String name, String email, Pageable pageable);
 
+    @EntityGraph("Employee.directory")
     List<Employee> findByDepartment_DeptId(Integer deptId);
 
     Optional<Employee> findByUser_Email(String email);
 
     long countByDepartment_DeptId(Integer deptId);
 
+    @EntityGraph("Employee.profile")
+    Optional<Employee> findProfileByEmpId(Integer empId);
+
+    @EntityGraph("Employee.profile")
+    Optional<Employee> findProfileByUser_Email(String email);
+
+    @EntityGraph("Employee.adminDetail")
+    Optional<Employee> findWithDepartmentByUser_UserId(Integer userId);
+
+    @EntityGraph("Employee.adminDetail")
+    List<Employee> findWithDepartmentByUser_UserIdIn(Collection<Integer> userIds);
+
 }
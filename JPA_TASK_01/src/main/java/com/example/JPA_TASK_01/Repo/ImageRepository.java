@@ -4,6 +4,7 @@ import com.example.JPA_TASK_01.Entity.Images;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +17,9 @@ public interface ImageRepository extends JpaRepository<Images, Long> {
   Optional<Images> findByImageId(Long imageId);
 
   Optional<Images> findByFileName(String fileName);
+
+  // listings: the images of a whole page of users / employees at once
+  List<Images> findAllByUser_UserIdIn(Collection<Integer> userIds);
+
+  List<Images> findAllByEmployee_EmpIdIn(Collection<Integer> empIds);
 }
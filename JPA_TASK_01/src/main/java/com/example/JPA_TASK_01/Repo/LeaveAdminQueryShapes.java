@@ -0,0 +1,169 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchCursor;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminFilter;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminOrder;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Admin leave listings come in a handful of shapes: which of the optional
+// filters are present, whether a keyset cursor is given, and the order.
+// Each shape is a bitmask that indexes one parameterized JPQL string,
+// written once and reused. Because the string is identical on every call,
+// Hibernate's query plan cache serves the parsed and translated query; a
+// Criteria tree built from Specifications is re-interpreted every time.
+// The admin search, its pages, the export and the H2 text index rebuild
+// all read through here, so a filter is defined in one place.
+final class LeaveAdminQueryShapes {
+
+  static final int EMP_ID = 1;
+  static final int STATUS = 1 << 1;
+  static final int LEAVE_TYPE = 1 << 2;
+  static final int YEAR = 1 << 3;
+  static final int FROM_DATE = 1 << 4;
+  static final int TO_DATE = 1 << 5;
+  static final int LEAVE_IDS = 1 << 6;
+  static final int AFTER = 1 << 7;
+  static final int AFTER_UNDATED = 1 << 8;
+  static final int UNDATED = 1 << 9;
+  static final int DATED = 1 << 10;
+
+  // AdminOrder ordinal in the bits above the filters
+  private static final int ORDER_SHIFT = 11;
+
+  private static final AtomicReferenceArray<String> JPQL =
+          new AtomicReferenceArray<>(AdminOrder.values().length << ORDER_SHIFT);
+
+  private static final String SELECT = """
+      SELECT new com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse(
+             l.leaveId, e.empId, u.name, l.leaveType, l.startDate, l.endDate,
+             l.totalDays, l.paidDays, l.unpaidDays, l.year, l.status, l.reason,
+             l.appliedAt, l.approvedAt, a.name)
+        FROM LeaveRequest l
+        JOIN l.employee e
+        JOIN e.user u
+        LEFT JOIN l.approvedBy a
+      """;
+
+  private LeaveAdminQueryShapes() {
+  }
+
+  // dated: null = any row, TRUE/FALSE = only rows with/without applied_at
+  static int shape(
+          AdminFilter filter,
+          Collection<Integer> leaveIds,
+          LeaveSearchCursor after,
+          Boolean dated,
+          AdminOrder order) {
+
+    if (after != null && order == AdminOrder.NONE) {
+      throw new IllegalArgumentException("A cursor needs an ordered listing");
+    }
+
+    int shape = order.ordinal() << ORDER_SHIFT;
+    if (filter.empId() != null) shape |= EMP_ID;
+    if (filter.status() != null) shape |= STATUS;
+    if (filter.leaveType() != null) shape |= LEAVE_TYPE;
+    if (filter.year() != null) shape |= YEAR;
+    if (filter.fromDate() != null) shape |= FROM_DATE;
+    if (filter.toDate() != null) shape |= TO_DATE;
+    if (leaveIds != null) shape |= LEAVE_IDS;
+    if (after != null) shape |= after.getAppliedAt() != null ? AFTER : AFTER_UNDATED;
+    if (Boolean.TRUE.equals(dated)) shape |= DATED;
+    if (Boolean.FALSE.equals(dated)) shape |= UNDATED;
+    return shape;
+  }
+
+  static String jpql(int shape) {
+
+    String jpql = JPQL.get(shape);
+    if (jpql == null) {
+      // racing builders produce the same string; keep the first
+      JPQL.compareAndSet(shape, null, build(shape));
+      jpql = JPQL.get(shape);
+    }
+    return jpql;
+  }
+
+  static void bind(
+          TypedQuery<LeaveResponse> query,
+          int shape,
+          AdminFilter filter,
+          Collection<Integer> leaveIds,
+          LeaveSearchCursor after) {
+
+    if ((shape & EMP_ID) != 0) query.setParameter("empId", filter.empId());
+    if ((shape & STATUS) != 0) query.setParameter("status", filter.status());
+    if ((shape & LEAVE_TYPE) != 0) query.setParameter("leaveType", filter.leaveType());
+    if ((shape & YEAR) != 0) query.setParameter("year", filter.year());
+    if ((shape & FROM_DATE) != 0) {
+      query.setParameter("fromDate", filter.fromDate());
+      query.setParameter("fromYear", filter.fromDate().getYear());
+    }
+    if ((shape & TO_DATE) != 0) {
+      query.setParameter("toDate", filter.toDate());
+      query.setParameter("toYear", filter.toDate().getYear());
+    }
+    if ((shape & LEAVE_IDS) != 0) query.setParameter("leaveIds", leaveIds);
+    if ((shape & AFTER) != 0) {
+      query.setParameter("afterAppliedAt", after.getAppliedAt());
+      query.setParameter("afterLeaveId", after.getLeaveId());
+    }
+    if ((shape & AFTER_UNDATED) != 0) query.setParameter("afterLeaveId", after.getLeaveId());
+  }
+
+  private static String build(int shape) {
+
+    AdminOrder order = AdminOrder.values()[shape >>> ORDER_SHIFT];
+    boolean descending = order == AdminOrder.APPLIED_DESC;
+
+    StringJoiner where = new StringJoiner("\n   AND ", " WHERE ", "\n");
+    where.setEmptyValue("");
+
+    if ((shape & EMP_ID) != 0) where.add("l.employee.empId = :empId");
+    if ((shape & STATUS) != 0) where.add("l.status = :status");
+    if ((shape & LEAVE_TYPE) != 0) where.add("l.leaveType = :leaveType");
+    if ((shape & YEAR) != 0) where.add("l.year = :year");
+    // year is the start date's year, so the date bounds imply these; they
+    // let PostgreSQL skip the leave_request partitions of other years
+    if ((shape & FROM_DATE) != 0) {
+      where.add("l.startDate >= :fromDate");
+      where.add("l.year >= :fromYear");
+    }
+    if ((shape & TO_DATE) != 0) {
+      where.add("l.endDate <= :toDate");
+      where.add("l.year <= :toYear");
+    }
+    if ((shape & LEAVE_IDS) != 0) where.add("l.leaveId IN :leaveIds");
+    if ((shape & AFTER) != 0) {
+      // the leading range bound lets the (applied_at, leave_id) index seek
+      // straight to the cursor instead of scanning earlier pages
+      String cmp = descending ? "<" : ">";
+      where.add("l.appliedAt " + cmp + "= :afterAppliedAt");
+      where.add("(l.appliedAt " + cmp + " :afterAppliedAt"
+              + " OR (l.appliedAt = :afterAppliedAt AND l.leaveId " + cmp + " :afterLeaveId))");
+    }
+    // legacy rows may lack applied_at (the column is nullable, see V1);
+    // past an undated cursor only undated rows are compared, by id
+    if ((shape & AFTER_UNDATED) != 0) {
+      where.add("l.appliedAt IS NULL");
+      where.add("l.leaveId " + (descending ? "<" : ">") + " :afterLeaveId");
+    }
+    if ((shape & UNDATED) != 0) where.add("l.appliedAt IS NULL");
+    if ((shape & DATED) != 0) where.add("l.appliedAt IS NOT NULL");
+
+    // NULLS LAST ascending and FIRST descending is how the btree stores
+    // them, so the index still serves the order
+    String orderBy = switch (order) {
+      case NONE -> "";
+      case APPLIED_ASC -> "ORDER BY l.appliedAt ASC NULLS LAST, l.leaveId ASC";
+      case APPLIED_DESC -> "ORDER BY l.appliedAt DESC NULLS FIRST, l.leaveId DESC";
+    };
+
+    return SELECT + where + orderBy;
+  }
+}
@@ -0,0 +1,122 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// The apply-leave write path in two round trips (PostgreSQL only): resolve
+// the employee, lock, probe and read the ledger in one call, then reserve
+// the paid days and insert the leave in one statement. See the V5 migration.
+@Repository
+public class LeaveApplyRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManager entityManager;
+
+  public LeaveApplyRepository(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.entityManager = entityManager;
+  }
+
+  // the ledger fields are null when the employee has no row for the key yet
+  public record ApplyContext(
+          int empId,
+          int deptId,
+          LocalDate joiningDate,
+          String employeeName,
+          boolean overlapping,
+          Integer balanceId,
+          Integer entitledDays,
+          Integer carriedForwardDays,
+          Integer usedDays,
+          Integer pendingDays) {}
+
+  // holds the (employee, start year) lock until the transaction ends
+  public Optional<ApplyContext> resolve(String email, String leaveType, LocalDate startDate, LocalDate endDate) {
+
+    List<ApplyContext> rows = jdbcTemplate.query(
+            "SELECT * FROM leave_apply_context(?, ?, ?, ?)",
+            (rs, rowNum) -> new ApplyContext(
+                    rs.getInt("emp_id"),
+                    rs.getInt("dept_id"),
+                    toLocalDate(rs.getDate("joining_date")),
+                    rs.getString("employee_name"),
+                    rs.getBoolean("overlapping"),
+                    getInteger(rs, "balance_id"),
+                    getInteger(rs, "entitled_days"),
+                    getInteger(rs, "carried_forward_days"),
+                    getInteger(rs, "used_days"),
+                    getInteger(rs, "pending_days")),
+            email, leaveType, Date.valueOf(startDate), Date.valueOf(endDate));
+
+    return rows.stream().findFirst();
+  }
+
+  // adds paidDays to the ledger row's pending days (refreshing its
+  // entitlement) and inserts the PENDING leave; returns its id
+  public int reserveAndInsert(
+          int balanceId,
+          int entitledDays,
+          int empId,
+          String leaveType,
+          LocalDate startDate,
+          LocalDate endDate,
+          int totalDays,
+          int paidDays,
+          int unpaidDays,
+          String reason,
+          LocalDateTime appliedAt) {
+
+    int leaveId = nextLeaveId();
+
+    jdbcTemplate.update("""
+        WITH reserve AS (
+            UPDATE leave_balance
+               SET entitled_days = ?,
+                   pending_days = pending_days + ?,
+                   updated_at = CURRENT_TIMESTAMP
+             WHERE balance_id = ?)
+        INSERT INTO leave_request (leave_id, emp_id, leave_type, start_date, end_date, total_days,
+                                   paid_days, unpaid_days, reason, status, applied_at, year, version)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'PENDING', ?, ?, 0)
+        """,
+            entitledDays, paidDays, balanceId,
+            leaveId, empId, leaveType, Date.valueOf(startDate), Date.valueOf(endDate), totalDays,
+            paidDays, unpaidDays, reason, Timestamp.valueOf(appliedAt), startDate.getYear());
+
+    return leaveId;
+  }
+
+  // the next id of LeaveRequest's pooled generator, as a persist would get
+  // it: 49 of 50 applies need no nextval. The column DEFAULT would call
+  // nextval every time, and each call skips a block of 50 ids.
+  private int nextLeaveId() {
+    SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+    IdentifierGenerator generator = (IdentifierGenerator) session.getFactory()
+            .getMappingMetamodel()
+            .getEntityDescriptor(LeaveRequest.class)
+            .getGenerator();
+    return ((Number) generator.generate(session, null)).intValue();
+  }
+
+  private static Integer getInteger(ResultSet rs, String column) throws SQLException {
+    int value = rs.getInt(column);
+    return rs.wasNull() ? null : value;
+  }
+
+  private static LocalDate toLocalDate(Date date) {
+    return date == null ? null : date.toLocalDate();
+  }
+}
@@ -0,0 +1,237 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Moving closed leaves out of leave_request, and the catalogue of the
+// segment files they went to (leave_archive_segment / leave_archive_block).
+@Repository
+public class LeaveArchiveRepository {
+
+  private static final int BATCH_SIZE = 500;
+
+  // closed for good: nothing can change them any more
+  private static final String ARCHIVABLE =
+          "(l.status IN ('REJECTED', 'REVOKED') OR (l.status = 'APPROVED' AND l.end_date < ?))";
+
+  private static final String SELECT_ARCHIVABLE =
+          "SELECT l.leave_id, l.emp_id, u.name AS employee_name, l.leave_type, "
+                  + "l.start_date, l.end_date, l.total_days, l.paid_days, l.unpaid_days, "
+                  + "l.year, l.status, l.reason, l.applied_at, l.approved_at, "
+                  + "a.name AS approved_by, l.version "
+                  + "FROM leave_request l "
+                  + "JOIN employee e ON e.emp_id = l.emp_id "
+                  + "JOIN users u ON u.user_id = e.user_id "
+                  + "LEFT JOIN users a ON a.user_id = l.approved_by "
+                  + "WHERE l.year = ? AND " + ARCHIVABLE + " "
+                  + "AND (l.emp_id > ? OR (l.emp_id = ? AND l.leave_id > ?)) "
+                  + "ORDER BY l.emp_id, l.leave_id "
+                  + "LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public LeaveArchiveRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  // a leave as it is archived, with the version it was read at
+  public record ArchivedLeave(LeaveResponse leave, long version) {}
+
+  public record Segment(
+          Integer segmentId,
+          Integer year,
+          String fileName,
+          Integer rowCount,
+          Long byteSize,
+          LocalDateTime createdAt) {}
+
+  public record Block(
+          Integer segmentId,
+          Integer year,
+          String fileName,
+          int firstEmpId,
+          int lastEmpId,
+          long byteOffset,
+          int byteLength,
+          int rowCount) {}
+
+  // ===============================
+  // CANDIDATES (leave_request)
+  // ===============================
+  public List<Integer> findArchivableYears(int throughYear, LocalDate today) {
+    return jdbcTemplate.queryForList(
+            "SELECT DISTINCT l.year FROM leave_request l WHERE l.year <= ? AND " + ARCHIVABLE
+                    + " ORDER BY l.year",
+            Integer.class,
+            throughYear, Date.valueOf(today));
+  }
+
+  // the next chunk of a year's archivable leaves in (emp_id, leave_id)
+  // order, after the given position (0, 0 for the first)
+  public List<ArchivedLeave> findArchivable(
+          int year, LocalDate today, int afterEmpId, int afterLeaveId, int limit) {
+    return jdbcTemplate.query(
+            SELECT_ARCHIVABLE,
+            (rs, rowNum) -> new ArchivedLeave(toResponse(rs), rs.getLong("version")),
+            year, Date.valueOf(today), afterEmpId, afterEmpId, afterLeaveId, limit);
+  }
+
+  // false if any of them changed since it was read; the caller rolls back
+  public boolean deleteUnchanged(List<ArchivedLeave> leaves) {
+
+    int[][] deleted = jdbcTemplate.batchUpdate(
+            "DELETE FROM leave_request WHERE leave_id = ? AND year = ? AND version = ?",
+            leaves,
+            BATCH_SIZE,
+            (ps, a) -> {
+              ps.setInt(1, a.leave().getLeaveId());
+              ps.setInt(2, a.leave().getYear());
+              ps.setLong(3, a.version());
+            });
+
+    return Arrays.stream(deleted)
+            .flatMapToInt(Arrays::stream)
+            .allMatch(count -> count == 1 || count == Statement.SUCCESS_NO_INFO);
+  }
+
+  // ===============================
+  // CATALOGUE
+  // ===============================
+  public Segment insertSegment(int year, String fileName, int rowCount, long byteSize) {
+
+    LocalDateTime createdAt = LocalDateTime.now();
+
+    KeyHolder keys = new GeneratedKeyHolder();
+    jdbcTemplate.update(con -> {
+      PreparedStatement ps = con.prepareStatement(
+              "INSERT INTO leave_archive_segment (year, file_name, row_count, byte_size, created_at) "
+                      + "VALUES (?, ?, ?, ?, ?)",
+              new String[] {"segment_id"});
+      ps.setInt(1, year);
+      ps.setString(2, fileName);
+      ps.setInt(3, rowCount);
+      ps.setLong(4, byteSize);
+      ps.setTimestamp(5, Timestamp.valueOf(createdAt));
+      return ps;
+    }, keys);
+    return new Segment(keys.getKey().intValue(), year, fileName, rowCount, byteSize, createdAt);
+  }
+
+  public void insertBlocks(int segmentId, List<Block> blocks) {
+    jdbcTemplate.batchUpdate(
+            "INSERT INTO leave_archive_block (segment_id, year, first_emp_id, last_emp_id, "
+                    + "byte_offset, byte_length, row_count) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            blocks,
+            BATCH_SIZE,
+            (ps, b) -> {
+              ps.setInt(1, segmentId);
+              ps.setInt(2, b.year());
+              ps.setInt(3, b.firstEmpId());
+              ps.setInt(4, b.lastEmpId());
+              ps.setLong(5, b.byteOffset());
+              ps.setInt(6, b.byteLength());
+              ps.setInt(7, b.rowCount());
+            });
+  }
+
+  public List<Segment> findSegments() {
+    return jdbcTemplate.query(
+            "SELECT segment_id, year, file_name, row_count, byte_size, created_at "
+                    + "FROM leave_archive_segment ORDER BY year, segment_id",
+            (rs, rowNum) -> new Segment(
+                    rs.getInt("segment_id"),
+                    rs.getInt("year"),
+                    rs.getString("file_name"),
+                    rs.getInt("row_count"),
+                    rs.getLong("byte_size"),
+                    rs.getTimestamp("created_at").toLocalDateTime()));
+  }
+
+  // years up to and including this one may have rows only in the archive;
+  // 0 when nothing was archived yet
+  public int findArchivedThroughYear() {
+    Integer year = jdbcTemplate.queryForObject(
+            "SELECT MAX(year) FROM leave_archive_segment", Integer.class);
+    return year == null ? 0 : year;
+  }
+
+  // the blocks that can hold leaves of empId (any employee if null) in
+  // [fromYear, toYear] (open ends if null), in file order
+  public List<Block> findBlocks(Integer empId, Integer fromYear, Integer toYear) {
+
+    StringBuilder sql = new StringBuilder("""
+        SELECT b.segment_id, b.year, s.file_name, b.first_emp_id, b.last_emp_id,
+               b.byte_offset, b.byte_length, b.row_count
+          FROM leave_archive_block b
+          JOIN leave_archive_segment s ON s.segment_id = b.segment_id
+         WHERE 1 = 1
+        """);
+    List<Object> args = new ArrayList<>();
+
+    if (fromYear != null) {
+      sql.append(" AND b.year >= ?");
+      args.add(fromYear);
+    }
+    if (toYear != null) {
+      sql.append(" AND b.year <= ?");
+      args.add(toYear);
+    }
+    if (empId != null) {
+      sql.append(" AND b.first_emp_id <= ? AND b.last_emp_id >= ?");
+      args.add(empId);
+      args.add(empId);
+    }
+    sql.append(" ORDER BY b.segment_id, b.byte_offset");
+
+    return jdbcTemplate.query(
+            sql.toString(),
+            (rs, rowNum) -> new Block(
+                    rs.getInt("segment_id"),
+                    rs.getInt("year"),
+                    rs.getString("file_name"),
+                    rs.getInt("first_emp_id"),
+                    rs.getInt("last_emp_id"),
+                    rs.getLong("byte_offset"),
+                    rs.getInt("byte_length"),
+                    rs.getInt("row_count")),
+            args.toArray());
+  }
+
+  private static LeaveResponse toResponse(ResultSet rs) throws SQLException {
+    return new LeaveResponse(
+            rs.getInt("leave_id"),
+            rs.getInt("emp_id"),
+            rs.getString("employee_name"),
+            rs.getString("leave_type"),
+            rs.getDate("start_date").toLocalDate(),
+            rs.getDate("end_date").toLocalDate(),
+            rs.getInt("total_days"),
+            rs.getInt("paid_days"),
+            rs.getInt("unpaid_days"),
+            rs.getInt("year"),
+            rs.getString("status"),
+            rs.getString("reason"),
+            toLocalDateTime(rs.getTimestamp("applied_at")),
+            toLocalDateTime(rs.getTimestamp("approved_at")),
+            rs.getString("approved_by"));
+  }
+
+  private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toLocalDateTime();
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.Entity.LeaveBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Integer> {
+
+  Optional<LeaveBalance> findByEmployee_EmpIdAndLeaveTypeAndYear(
+          Integer empId,
+          String leaveType,
+          Integer year
+  );
+
+  // atomic counter update, safe against concurrent decisions on the same row
+  @Modifying(flushAutomatically = true)
+  @Query("""
+      UPDATE LeaveBalance b
+         SET b.usedDays = CASE WHEN b.usedDays + :usedDelta < 0 THEN 0
+                               ELSE b.usedDays + :usedDelta END,
+             b.pendingDays = CASE WHEN b.pendingDays + :pendingDelta < 0 THEN 0
+                                  ELSE b.pendingDays + :pendingDelta END,
+             b.updatedAt = CURRENT_TIMESTAMP
+       WHERE b.employee.empId = :empId
+         AND b.leaveType = :leaveType
+         AND b.year = :year
+      """)
+  int adjust(
+          Integer empId,
+          String leaveType,
+          Integer year,
+          int usedDelta,
+          int pendingDelta
+  );
+
+  // years up to and including archivedThroughYear are left alone: their
+  // leaves may be in the cold archive, out of reach of a recount
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      UPDATE LeaveBalance b SET b.usedDays = 0, b.pendingDays = 0, b.updatedAt = CURRENT_TIMESTAMP
+       WHERE b.year > :archivedThroughYear
+      """)
+  int resetCounters(int archivedThroughYear);
+
+  // [empId, leaveType, year, approvedPaidDays, pendingPaidDays]
+  @Query("""
+      SELECT l.employee.empId, l.leaveType, l.year,
+             SUM(CASE WHEN l.status = 'APPROVED' THEN l.paidDays ELSE 0 END),
+             SUM(CASE WHEN l.status = 'PENDING' THEN l.paidDays ELSE 0 END)
+        FROM LeaveRequest l
+       WHERE l.year > :archivedThroughYear
+       GROUP BY l.employee.empId, l.leaveType, l.year
+      """)
+  List<Object[]> aggregatePaidDaysFromLeaves(int archivedThroughYear);
+
+  // [approvedPaidDays, pendingPaidDays] for a single key
+  @Query("""
+      SELECT COALESCE(SUM(CASE WHEN l.status = 'APPROVED' THEN l.paidDays ELSE 0 END), 0),
+             COALESCE(SUM(CASE WHEN l.status = 'PENDING' THEN l.paidDays ELSE 0 END), 0)
+        FROM LeaveRequest l
+       WHERE l.employee.empId = :empId
+         AND l.leaveType = :leaveType
+         AND l.year = :year
+      """)
+  List<Object[]> aggregatePaidDaysFromLeaves(
+          Integer empId,
+          String leaveType,
+          Integer year
+  );
+}
@@ -0,0 +1,278 @@
+package com.example.JPA_TASK_01.Repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Plain JDBC batches for bulk leave paths where one JPA save per row would
+// mean one round trip per row.
+@Repository
+public class LeaveBatchRepository {
+
+  private static final int BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public LeaveBatchRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public record Decision(Integer leaveId, String status) {}
+
+  public record BalanceDelta(Integer empId, String leaveType, Integer year, int usedDelta, int pendingDelta) {}
+
+  public record EmployeeRow(Integer empId, Integer deptId, LocalDate joiningDate) {}
+
+  public record Entitlement(Integer empId, String leaveType, Integer year, int entitledDays) {}
+
+  // returns the update count per decision (0 = no longer PENDING)
+  public int[] applyDecisions(List<Decision> decisions, Integer adminUserId, LocalDateTime decidedAt) {
+
+    Timestamp at = Timestamp.valueOf(decidedAt);
+
+    int[][] counts = jdbcTemplate.batchUpdate(
+            "UPDATE leave_request SET status = ?, approved_at = ?, approved_by = ?, "
+                    + "version = version + 1 "
+                    + "WHERE leave_id = ? AND status = 'PENDING'",
+            decisions,
+            BATCH_SIZE,
+            (ps, d) -> {
+              ps.setString(1, d.status());
+              ps.setTimestamp(2, at);
+              ps.setInt(3, adminUserId);
+              ps.setInt(4, d.leaveId());
+            });
+
+    return flatten(counts);
+  }
+
+  // returns the update count per delta (0 = ledger row missing)
+  public int[] adjustBalances(List<BalanceDelta> deltas) {
+
+    int[][] counts = jdbcTemplate.batchUpdate(
+            "UPDATE leave_balance SET "
+                    + "used_days = CASE WHEN used_days + ? < 0 THEN 0 ELSE used_days + ? END, "
+                    + "pending_days = CASE WHEN pending_days + ? < 0 THEN 0 ELSE pending_days + ? END, "
+                    + "updated_at = CURRENT_TIMESTAMP "
+                    + "WHERE emp_id = ? AND leave_type = ? AND year = ?",
+            deltas,
+            BATCH_SIZE,
+            (ps, d) -> {
+              ps.setInt(1, d.usedDelta());
+              ps.setInt(2, d.usedDelta());
+              ps.setInt(3, d.pendingDelta());
+              ps.setInt(4, d.pendingDelta());
+              ps.setInt(5, d.empId());
+              ps.setString(6, d.leaveType());
+              ps.setInt(7, d.year());
+            });
+
+    return flatten(counts);
+  }
+
+  // ===============================
+  // CHUNKED LEDGER JOBS
+  // ===============================
+
+  // keyset walk over the primary key: every chunk is an index range scan
+  public List<EmployeeRow> findEmployeesAfter(int afterEmpId, int limit) {
+    return jdbcTemplate.query(
+            "SELECT emp_id, dept_id, joining_date FROM employee "
+                    + "WHERE emp_id > ? ORDER BY emp_id LIMIT ?",
+            (rs, rowNum) -> new EmployeeRow(
+                    rs.getInt("emp_id"),
+                    (Integer) rs.getObject("dept_id"),
+                    rs.getObject("joining_date", LocalDate.class)),
+            afterEmpId, limit);
+  }
+
+  // sets entitled_days on existing ledger rows; missing rows are inserted,
+  // seeded from leave_request like LeaveBalanceService.getOrCreate
+  public void upsertEntitlements(List<Entitlement> entitlements, LocalDateTime now) {
+
+    if (entitlements.isEmpty()) {
+      return;
+    }
+
+    Timestamp at = Timestamp.valueOf(now);
+
+    int[] updated = flatten(jdbcTemplate.batchUpdate(
+            "UPDATE leave_balance SET entitled_days = ?, updated_at = ? "
+                    + "WHERE emp_id = ? AND leave_type = ? AND year = ?",
+            entitlements,
+            BATCH_SIZE,
+            (ps, e) -> {
+              ps.setInt(1, e.entitledDays());
+              ps.setTimestamp(2, at);
+              ps.setInt(3, e.empId());
+              ps.setString(4, e.leaveType());
+              ps.setInt(5, e.year());
+            }));
+
+    List<BalanceRow> missing = new ArrayList<>();
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        Entitlement e = entitlements.get(i);
+        missing.add(new BalanceRow(e.empId(), e.leaveType(), e.year(), e.entitledDays(), 0, 0));
+      }
+    }
+
+    insertMissing(missing, at);
+  }
+
+  // ===============================
+  // YEAR-END (one emp_id range per call)
+  // ===============================
+  public record PaidTotals(Integer empId, String leaveType, int approvedDays, int pendingDays) {}
+
+  public record BalanceRow(
+          Integer empId,
+          String leaveType,
+          Integer year,
+          int entitledDays,
+          int carriedForwardDays,
+          int lapsedDays) {}
+
+  public int findMaxEmpId() {
+    Integer max = jdbcTemplate.queryForObject("SELECT MAX(emp_id) FROM employee", Integer.class);
+    return max == null ? 0 : max;
+  }
+
+  public List<EmployeeRow> findEmployeesBetween(int fromEmpId, int toEmpId) {
+    return jdbcTemplate.query(
+            "SELECT emp_id, dept_id, joining_date FROM employee "
+                    + "WHERE emp_id BETWEEN ? AND ? ORDER BY emp_id",
+            (rs, rowNum) -> new EmployeeRow(
+                    rs.getInt("emp_id"),
+                    (Integer) rs.getObject("dept_id"),
+                    rs.getObject("joining_date", LocalDate.class)),
+            fromEmpId, toEmpId);
+  }
+
+  // paid days per (employee, type) of one year, for a whole emp_id range
+  public List<PaidTotals> aggregatePaidDays(int fromEmpId, int toEmpId, int year) {
+    return jdbcTemplate.query(
+            "SELECT emp_id, leave_type, "
+                    + "COALESCE(SUM(CASE WHEN status = 'APPROVED' THEN paid_days ELSE 0 END), 0) AS approved, "
+                    + "COALESCE(SUM(CASE WHEN status = 'PENDING' THEN paid_days ELSE 0 END), 0) AS pending "
+                    + "FROM leave_request "
+                    + "WHERE emp_id BETWEEN ? AND ? AND year = ? "
+                    + "GROUP BY emp_id, leave_type",
+            (rs, rowNum) -> new PaidTotals(
+                    rs.getInt("emp_id"),
+                    rs.getString("leave_type"),
+                    rs.getInt("approved"),
+                    rs.getInt("pending")),
+            fromEmpId, toEmpId, year);
+  }
+
+  // [empId -> carried_forward_days] of one type and year, for a whole emp_id range
+  public Map<Integer, Integer> findCarriedForward(int fromEmpId, int toEmpId, String leaveType, int year) {
+    Map<Integer, Integer> carried = new HashMap<>();
+    jdbcTemplate.query(
+            "SELECT emp_id, carried_forward_days FROM leave_balance "
+                    + "WHERE emp_id BETWEEN ? AND ? AND leave_type = ? AND year = ? "
+                    + "AND carried_forward_days > 0",
+            (RowCallbackHandler) rs -> carried.put(rs.getInt("emp_id"), rs.getInt("carried_forward_days")),
+            fromEmpId, toEmpId, leaveType, year);
+    return carried;
+  }
+
+  // closing year: record lapsed days; opening year: set carried-forward days.
+  // Both are absolute values, so re-running a range is harmless.
+  public void applyYearEnd(List<BalanceRow> closing, List<BalanceRow> opening, LocalDateTime now) {
+
+    Timestamp at = Timestamp.valueOf(now);
+
+    int[] closed = flatten(jdbcTemplate.batchUpdate(
+            "UPDATE leave_balance SET lapsed_days = ?, updated_at = ? "
+                    + "WHERE emp_id = ? AND leave_type = ? AND year = ?",
+            closing,
+            BATCH_SIZE,
+            (ps, r) -> {
+              ps.setInt(1, r.lapsedDays());
+              ps.setTimestamp(2, at);
+              ps.setInt(3, r.empId());
+              ps.setString(4, r.leaveType());
+              ps.setInt(5, r.year());
+            }));
+
+    int[] opened = flatten(jdbcTemplate.batchUpdate(
+            "UPDATE leave_balance SET carried_forward_days = ?, updated_at = ? "
+                    + "WHERE emp_id = ? AND leave_type = ? AND year = ?",
+            opening,
+            BATCH_SIZE,
+            (ps, r) -> {
+              ps.setInt(1, r.carriedForwardDays());
+              ps.setTimestamp(2, at);
+              ps.setInt(3, r.empId());
+              ps.setString(4, r.leaveType());
+              ps.setInt(5, r.year());
+            }));
+
+    List<BalanceRow> missing = new ArrayList<>();
+    for (int i = 0; i < closed.length; i++) {
+      if (closed[i] == 0) {
+        missing.add(closing.get(i));
+      }
+    }
+    for (int i = 0; i < opened.length; i++) {
+      if (opened[i] == 0) {
+        missing.add(opening.get(i));
+      }
+    }
+
+    insertMissing(missing, at);
+  }
+
+  // used/pending are seeded from leave_request; HAVING NOT EXISTS skips a row
+  // another transaction created meanwhile
+  private void insertMissing(List<BalanceRow> rows, Timestamp at) {
+
+    if (rows.isEmpty()) {
+      return;
+    }
+
+    jdbcTemplate.batchUpdate(
+            "INSERT INTO leave_balance "
+                    + "(emp_id, leave_type, year, entitled_days, carried_forward_days, lapsed_days, "
+                    + "used_days, pending_days, updated_at) "
+                    + "SELECT ?, ?, ?, ?, ?, ?, "
+                    + "COALESCE(SUM(CASE WHEN l.status = 'APPROVED' THEN l.paid_days ELSE 0 END), 0), "
+                    + "COALESCE(SUM(CASE WHEN l.status = 'PENDING' THEN l.paid_days ELSE 0 END), 0), ? "
+                    + "FROM leave_request l "
+                    + "WHERE l.emp_id = ? AND l.leave_type = ? AND l.year = ? "
+                    + "HAVING NOT EXISTS (SELECT 1 FROM leave_balance b "
+                    + "WHERE b.emp_id = ? AND b.leave_type = ? AND b.year = ?)",
+            rows,
+            BATCH_SIZE,
+            (ps, r) -> {
+              ps.setInt(1, r.empId());
+              ps.setString(2, r.leaveType());
+              ps.setInt(3, r.year());
+              ps.setInt(4, r.entitledDays());
+              ps.setInt(5, r.carriedForwardDays());
+              ps.setInt(6, r.lapsedDays());
+              ps.setTimestamp(7, at);
+              ps.setInt(8, r.empId());
+              ps.setString(9, r.leaveType());
+              ps.setInt(10, r.year());
+              ps.setInt(11, r.empId());
+              ps.setString(12, r.leaveType());
+              ps.setInt(13, r.year());
+            });
+  }
+
+  private int[] flatten(int[][] counts) {
+    return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.Entity.LeaveJobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LeaveJobRunRepository extends JpaRepository<LeaveJobRun, Integer> {
+
+  Optional<LeaveJobRun> findByJobNameAndRunKey(String jobName, String runKey);
+}
@@ -0,0 +1,60 @@
+package com.example.JPA_TASK_01.Repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Year partitions of leave_request (PostgreSQL only, see the V3 migration).
+// The DDL lives in the database function so the migration and the
+// application create partitions the same way.
+@Repository
+public class LeavePartitionRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public LeavePartitionRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  // true if the partition was created, false if it already existed
+  public boolean ensureYear(int year) {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+            "SELECT leave_request_ensure_partition(?)", Boolean.class, year));
+  }
+
+  // years with a partition of their own, ascending
+  public List<Integer> findPartitionYears() {
+    return jdbcTemplate.queryForList("""
+        SELECT CAST(substring(c.relname FROM 'leave_request_y(\\d+)') AS INT) AS y
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+         WHERE i.inhparent = 'leave_request'::regclass
+           AND c.relname ~ '^leave_request_y\\d+$'
+         ORDER BY y
+        """, Integer.class);
+  }
+
+  // drops a year's partition once archiving has emptied it, so its dead
+  // tuples and index pages go back to the filesystem. Call in a transaction:
+  // the lock keeps new rows out between the check and the drop, and gives up
+  // after lock_timeout instead of queueing every leave query behind it.
+  // True if dropped.
+  public boolean dropYearIfEmpty(int year) {
+
+    String partition = "leave_request_y" + year;
+    if (!findPartitionYears().contains(year)) {
+      return false;
+    }
+
+    jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+    jdbcTemplate.execute("LOCK TABLE leave_request, " + partition + " IN ACCESS EXCLUSIVE MODE");
+
+    if (!jdbcTemplate.queryForList("SELECT 1 FROM " + partition + " LIMIT 1").isEmpty()) {
+      return false;
+    }
+
+    jdbcTemplate.execute("DROP TABLE " + partition);
+    return true;
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.Entity.LeavePolicy;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeavePolicyRepository extends JpaRepository<LeavePolicy, Integer> {
+
+  // null-safe match on the (type, dept, year) scope
+  @Query("""
+      SELECT p FROM LeavePolicy p
+        LEFT JOIN p.department d
+       WHERE p.leaveType = :leaveType
+         AND ((:deptId IS NULL AND d IS NULL) OR d.deptId = :deptId)
+         AND ((:year IS NULL AND p.year IS NULL) OR p.year = :year)
+      """)
+  Optional<LeavePolicy> findByScope(LeaveType leaveType, Integer deptId, Integer year);
+
+  // [leaveType, deptId, year, yearlyLimit] - everything the in-memory table needs
+  @Query("""
+      SELECT p.leaveType, d.deptId, p.year, p.yearlyLimit
+        FROM LeavePolicy p
+        LEFT JOIN p.department d
+      """)
+  List<Object[]> findAllRules();
+
+  // together with count(): cheap change stamp used by every node to detect edits made elsewhere
+  @Query("SELECT MAX(p.updatedAt) FROM LeavePolicy p")
+  LocalDateTime findLastUpdatedAt();
+}
@@ -1,27 +1,110 @@
 package com.example.JPA_TASK_01.Repo;
 
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
 import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LeaveRequestRepository extends  JpaRepository<LeaveRequest, Integer>,
-        JpaSpecificationExecutor<LeaveRequest> {
+        LeaveRequestRepositoryCustom {
 
-  @Query(
-      "SELECT COALESCE( SUM(l.paidDays),0) FROM LeaveRequest l WHERE l.employee.empId=:empId AND l.leaveType=:leaveType AND l.year=:year AND l.status='APPROVED'")
-  Integer getUsedPaidDays(
+  // any PENDING/APPROVED leave of the employee sharing at least one day
+  // with [startDate, endDate]; excludeLeaveId skips the leave being edited.
+  // [fromYear, toYear] must cover the start year of any such leave; it
+  // limits the probe to those year partitions (see LeaveServiceImpl.rejectOverlap)
+  @Query("""
+      SELECT COUNT(l) > 0 FROM LeaveRequest l
+       WHERE l.employee.empId = :empId
+         AND l.endDate >= :startDate
+         AND l.startDate <= :endDate
+         AND l.year BETWEEN :fromYear AND :toYear
+         AND l.status IN ('PENDING', 'APPROVED')
+         AND l.leaveId <> :excludeLeaveId
+      """)
+  boolean existsOverlapping(
           Integer empId,
-          String leaveType,
-          Integer year
+          LocalDate startDate,
+          LocalDate endDate,
+          Integer fromYear,
+          Integer toYear,
+          Integer excludeLeaveId
   );
 
+  // single-leave operations and bulk decisions: the leave with what
+  // LeaveMapper reads (owner, owner's user, approver) in one statement
+  @EntityGraph("LeaveRequest.mapping")
+  Optional<LeaveRequest> findWithEmployeeByLeaveId(Integer leaveId);
+
+  @EntityGraph("LeaveRequest.mapping")
+  @Query("SELECT l FROM LeaveRequest l WHERE l.leaveId IN :leaveIds")
+  List<LeaveRequest> findAllWithEmployeeByIdIn(Collection<Integer> leaveIds);
+
   List<LeaveRequest> findByEmployee_EmpId(Integer empId);
   List<LeaveRequest> findByStatus(String status);
+  long countByStatus(String status);
+
+  // ===============================
+  // LISTINGS AS DTO PROJECTIONS (one joined query, no lazy loads)
+  // ===============================
+  @Query("""
+      SELECT new com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse(
+             l.leaveId, e.empId, u.name, l.leaveType, l.startDate, l.endDate,
+             l.totalDays, l.paidDays, l.unpaidDays, l.year, l.status, l.reason,
+             l.appliedAt, l.approvedAt, a.name)
+        FROM LeaveRequest l
+        JOIN l.employee e
+        JOIN e.user u
+        LEFT JOIN l.approvedBy a
+       WHERE u.email = :email
+      """)
+  List<LeaveResponse> findResponsesByUserEmail(String email);
+
+  @Query("""
+      SELECT new com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse(
+             l.leaveId, e.empId, u.name, l.leaveType, l.startDate, l.endDate,
+             l.totalDays, l.paidDays, l.unpaidDays, l.year, l.status, l.reason,
+             l.appliedAt, l.approvedAt, a.name)
+        FROM LeaveRequest l
+        JOIN l.employee e
+        JOIN e.user u
+        LEFT JOIN l.approvedBy a
+       WHERE l.status = :status
+      """)
+  List<LeaveResponse> findResponsesByStatus(String status);
+
+  // department absence calendar: APPROVED leaves of the department's
+  // employees sharing at least one day with [fromDate, toDate];
+  // [fromYear, toYear] covers their start years, as for existsOverlapping
+  @Query("""
+      SELECT new com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse(
+             l.leaveId, e.empId, u.name, l.leaveType, l.startDate, l.endDate,
+             l.totalDays, l.paidDays, l.unpaidDays, l.year, l.status, l.reason,
+             l.appliedAt, l.approvedAt, a.name)
+        FROM LeaveRequest l
+        JOIN l.employee e
+        JOIN e.user u
+        LEFT JOIN l.approvedBy a
+       WHERE e.department.deptId = :deptId
+         AND l.status = 'APPROVED'
+         AND l.endDate >= :fromDate
+         AND l.startDate <= :toDate
+         AND l.year BETWEEN :fromYear AND :toYear
+      """)
+  List<LeaveResponse> findApprovedResponsesInDepartment(
+          Integer deptId,
+          LocalDate fromDate,
+          LocalDate toDate,
+          Integer fromYear,
+          Integer toYear
+  );
 
 
 }
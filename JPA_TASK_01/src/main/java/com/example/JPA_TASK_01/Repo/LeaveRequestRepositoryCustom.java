@@ -0,0 +1,47 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchCursor;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface LeaveRequestRepositoryCustom {
+
+  // admin search filters; null = not filtered
+  record AdminFilter(
+          Integer empId,
+          String status,
+          String leaveType,
+          Integer year,
+          LocalDate fromDate,
+          LocalDate toDate) {
+
+    public static final AdminFilter NONE = new AdminFilter(null, null, null, null, null, null);
+  }
+
+  // admin listings are ordered by the (applied_at, leave_id) index or not at all
+  enum AdminOrder {
+    NONE,
+    APPLIED_ASC,
+    APPLIED_DESC
+  }
+
+  // admin listings through one cached JPQL string per filter shape (see
+  // LeaveAdminQueryShapes); leaveIds null = any leave, after = keyset cursor
+  // (needs an order; rows without applied_at sort last ascending, first
+  // descending); limit <= 0 means no limit
+  List<LeaveResponse> findAdminResponses(
+          AdminFilter filter,
+          Collection<Integer> leaveIds,
+          LeaveSearchCursor after,
+          AdminOrder order,
+          int limit);
+
+  // the same rows through a forward-only cursor, fetchSize rows per round
+  // trip, for exports; must be consumed and closed inside the caller's
+  // transaction
+  Stream<LeaveResponse> streamAdminResponses(AdminFilter filter, AdminOrder order, int fetchSize);
+}
@@ -0,0 +1,90 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+class LeaveRequestRepositoryCustomImpl implements LeaveRequestRepositoryCustom {
+
+  private final EntityManager entityManager;
+
+  LeaveRequestRepositoryCustomImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<LeaveResponse> findAdminResponses(
+          AdminFilter filter,
+          Collection<Integer> leaveIds,
+          LeaveSearchCursor after,
+          AdminOrder order,
+          int limit) {
+
+    List<LeaveResponse> rows = adminList(filter, leaveIds, after, null, order, limit);
+    if (after == null) {
+      return rows;
+    }
+
+    // rows without applied_at come after the dated ones ascending and
+    // before them descending; a page that runs past its cursor's group
+    // continues with a second seek into the other, rather than an OR the
+    // (applied_at, leave_id) index could not serve
+    boolean undated = after.getAppliedAt() == null;
+    boolean crossesOver = (order == AdminOrder.APPLIED_DESC) == undated;
+    if (!crossesOver || (limit > 0 && rows.size() >= limit)) {
+      return rows;
+    }
+
+    List<LeaveResponse> page = new ArrayList<>(rows);
+    page.addAll(adminList(filter, leaveIds, null, undated, order, limit > 0 ? limit - rows.size() : 0));
+    return page;
+  }
+
+  @Override
+  public Stream<LeaveResponse> streamAdminResponses(AdminFilter filter, AdminOrder order, int fetchSize) {
+
+    // DTO rows never enter the persistence context, so nothing accumulates
+    // while the cursor advances
+    return adminQuery(filter, null, null, null, order)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+  }
+
+  private List<LeaveResponse> adminList(
+          AdminFilter filter,
+          Collection<Integer> leaveIds,
+          LeaveSearchCursor after,
+          Boolean dated,
+          AdminOrder order,
+          int limit) {
+
+    TypedQuery<LeaveResponse> typed = adminQuery(filter, leaveIds, after, dated, order);
+    if (limit > 0) {
+      typed.setMaxResults(limit);
+    }
+    return typed.getResultList();
+  }
+
+  private TypedQuery<LeaveResponse> adminQuery(
+          AdminFilter filter,
+          Collection<Integer> leaveIds,
+          LeaveSearchCursor after,
+          Boolean dated,
+          AdminOrder order) {
+
+    int shape = LeaveAdminQueryShapes.shape(filter, leaveIds, after, dated, order);
+
+    TypedQuery<LeaveResponse> typed =
+            entityManager.createQuery(LeaveAdminQueryShapes.jpql(shape), LeaveResponse.class);
+    LeaveAdminQueryShapes.bind(typed, shape, filter, leaveIds, after);
+    return typed;
+  }
+}
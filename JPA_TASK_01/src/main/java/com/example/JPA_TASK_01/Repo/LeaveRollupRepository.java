@@ -0,0 +1,197 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.config.DatabasePlatform;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+// leave_rollup cells: (year, dept, type, start month, status) -> count, days.
+// Deltas are applied as relative increments, so concurrent transactions
+// touching the same cell only serialize on that row.
+@Repository
+public class LeaveRollupRepository {
+
+  private static final int BATCH_SIZE = 500;
+
+  private static final String INSERT_COLUMNS =
+          "INSERT INTO leave_rollup "
+                  + "(year, dept_id, leave_type, month, status, leave_count, total_days, updated_at) ";
+
+  private static final String UPDATE_CELL =
+          "UPDATE leave_rollup SET leave_count = leave_count + ?, total_days = total_days + ?, "
+                  + "updated_at = CURRENT_TIMESTAMP "
+                  + "WHERE year = ? AND dept_id = ? AND leave_type = ? AND month = ? AND status = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DatabasePlatform databasePlatform;
+
+  public LeaveRollupRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.databasePlatform = databasePlatform;
+  }
+
+  public record Cell(Integer year, Integer deptId, String leaveType, Integer month, String status)
+          implements Comparable<Cell> {
+
+    // one global order, so two transactions never lock cells crosswise
+    @Override
+    public int compareTo(Cell other) {
+      int c = Integer.compare(year, other.year);
+      if (c == 0) c = Integer.compare(deptId, other.deptId);
+      if (c == 0) c = leaveType.compareTo(other.leaveType);
+      if (c == 0) c = Integer.compare(month, other.month);
+      if (c == 0) c = status.compareTo(other.status);
+      return c;
+    }
+  }
+
+  public record RollupDelta(Cell cell, int countDelta, int daysDelta) {}
+
+  public record RollupRow(Cell cell, int leaveCount, int totalDays) {}
+
+  // ===============================
+  // INCREMENTAL (deltas sorted by cell)
+  // ===============================
+  public void applyDeltas(List<RollupDelta> deltas) {
+
+    if (deltas.isEmpty()) {
+      return;
+    }
+
+    if (databasePlatform.isPostgres()) {
+      jdbcTemplate.batchUpdate(
+              INSERT_COLUMNS
+                      + "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) "
+                      + "ON CONFLICT (year, dept_id, leave_type, month, status) DO UPDATE SET "
+                      + "leave_count = leave_rollup.leave_count + EXCLUDED.leave_count, "
+                      + "total_days = leave_rollup.total_days + EXCLUDED.total_days, "
+                      + "updated_at = EXCLUDED.updated_at",
+              deltas,
+              BATCH_SIZE,
+              (ps, d) -> {
+                bindCell(ps, 1, d.cell());
+                ps.setInt(6, d.countDelta());
+                ps.setInt(7, d.daysDelta());
+              });
+      return;
+    }
+
+    // portable fallback: update, then insert the cells that did not exist yet
+    int[] updated = flatten(jdbcTemplate.batchUpdate(
+            UPDATE_CELL,
+            deltas,
+            BATCH_SIZE,
+            (ps, d) -> {
+              ps.setInt(1, d.countDelta());
+              ps.setInt(2, d.daysDelta());
+              bindCell(ps, 3, d.cell());
+            }));
+
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        RollupDelta d = deltas.get(i);
+        try {
+          jdbcTemplate.update(
+                  INSERT_COLUMNS + "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                  d.cell().year(), d.cell().deptId(), d.cell().leaveType(), d.cell().month(),
+                  d.cell().status(), d.countDelta(), d.daysDelta());
+        } catch (DuplicateKeyException ex) {
+          // another transaction created the cell meanwhile
+          jdbcTemplate.update(
+                  UPDATE_CELL,
+                  d.countDelta(), d.daysDelta(), d.cell().year(), d.cell().deptId(),
+                  d.cell().leaveType(), d.cell().month(), d.cell().status());
+        }
+      }
+    }
+  }
+
+  // ===============================
+  // READ
+  // ===============================
+  public List<RollupRow> findByYear(int year) {
+    return jdbcTemplate.query(
+            "SELECT year, dept_id, leave_type, month, status, leave_count, total_days "
+                    + "FROM leave_rollup WHERE year = ? AND leave_count <> 0",
+            (rs, rowNum) -> new RollupRow(
+                    new Cell(
+                            rs.getInt("year"),
+                            rs.getInt("dept_id"),
+                            rs.getString("leave_type"),
+                            rs.getInt("month"),
+                            rs.getString("status")),
+                    rs.getInt("leave_count"),
+                    rs.getInt("total_days")),
+            year);
+  }
+
+  // one employee's leaves as cells of the given department, for moving
+  // them between departments or dropping them with the employee
+  public List<RollupRow> aggregateEmployee(int empId, int deptId) {
+    return jdbcTemplate.query(
+            "SELECT CAST(EXTRACT(YEAR FROM start_date) AS INT) AS y, leave_type, "
+                    + "CAST(EXTRACT(MONTH FROM start_date) AS INT) AS m, status, "
+                    + "COUNT(*) AS leave_count, SUM(total_days) AS total_days "
+                    + "FROM leave_request WHERE emp_id = ? "
+                    + "GROUP BY CAST(EXTRACT(YEAR FROM start_date) AS INT), leave_type, "
+                    + "CAST(EXTRACT(MONTH FROM start_date) AS INT), status",
+            (rs, rowNum) -> new RollupRow(
+                    new Cell(
+                            rs.getInt("y"),
+                            deptId,
+                            rs.getString("leave_type"),
+                            rs.getInt("m"),
+                            rs.getString("status")),
+                    rs.getInt("leave_count"),
+                    rs.getInt("total_days")),
+            empId);
+  }
+
+  public boolean isEmpty() {
+    return jdbcTemplate.queryForList("SELECT 1 FROM leave_rollup LIMIT 1").isEmpty();
+  }
+
+  // ===============================
+  // FULL REBUILD FROM leave_request
+  // ===============================
+  // years up to archivedThroughYear keep their cells: their leaves may be
+  // in the cold archive now. Returns the number of cells written
+  public int rebuild(int archivedThroughYear) {
+
+    if (databasePlatform.isPostgres()) {
+      // concurrent deltas wait until the rebuilt table is committed;
+      // reads keep working (EXCLUSIVE still admits ACCESS SHARE)
+      jdbcTemplate.execute("LOCK TABLE leave_rollup IN EXCLUSIVE MODE");
+    }
+
+    jdbcTemplate.update("DELETE FROM leave_rollup WHERE year > ?", archivedThroughYear);
+
+    return jdbcTemplate.update(
+            INSERT_COLUMNS
+                    + "SELECT CAST(EXTRACT(YEAR FROM l.start_date) AS INT), e.dept_id, l.leave_type, "
+                    + "CAST(EXTRACT(MONTH FROM l.start_date) AS INT), l.status, "
+                    + "COUNT(*), SUM(l.total_days), CURRENT_TIMESTAMP "
+                    + "FROM leave_request l JOIN employee e ON e.emp_id = l.emp_id "
+                    + "WHERE l.year > ? "
+                    + "GROUP BY CAST(EXTRACT(YEAR FROM l.start_date) AS INT), e.dept_id, l.leave_type, "
+                    + "CAST(EXTRACT(MONTH FROM l.start_date) AS INT), l.status",
+            archivedThroughYear);
+  }
+
+  private static void bindCell(PreparedStatement ps, int from, Cell cell) throws SQLException {
+    ps.setInt(from, cell.year());
+    ps.setInt(from + 1, cell.deptId());
+    ps.setString(from + 2, cell.leaveType());
+    ps.setInt(from + 3, cell.month());
+    ps.setString(from + 4, cell.status());
+  }
+
+  private static int[] flatten(int[][] counts) {
+    return Arrays.stream(counts).flatMapToInt(Arrays::stream).toArray();
+  }
+}
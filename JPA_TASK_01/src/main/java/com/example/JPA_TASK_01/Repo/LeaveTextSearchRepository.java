@@ -0,0 +1,81 @@
+package com.example.JPA_TASK_01.Repo;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// PostgreSQL full-text search over leave_request.search_vector (reason plus
+// the owner's name, kept current by triggers, GIN-indexed; see
+// db/migration/V1). Filters mirror the admin listing filters (AdminFilter).
+@Repository
+public class LeaveTextSearchRepository {
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public LeaveTextSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public record RankedLeave(Integer leaveId, double rank) {}
+
+  public List<RankedLeave> search(
+          String text,
+          Integer empId,
+          String status,
+          String leaveType,
+          Integer year,
+          LocalDate fromDate,
+          LocalDate toDate,
+          int offset,
+          int limit) {
+
+    MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("text", text)
+            .addValue("offset", offset)
+            .addValue("limit", limit);
+
+    StringBuilder sql = new StringBuilder(
+            "SELECT l.leave_id, ts_rank_cd(l.search_vector, q) AS rank "
+                    + "FROM leave_request l, websearch_to_tsquery('english', :text) q "
+                    + "WHERE l.search_vector @@ q");
+
+    if (empId != null) {
+      sql.append(" AND l.emp_id = :empId");
+      params.addValue("empId", empId);
+    }
+    if (status != null) {
+      sql.append(" AND l.status = :status");
+      params.addValue("status", status);
+    }
+    if (leaveType != null) {
+      sql.append(" AND l.leave_type = :leaveType");
+      params.addValue("leaveType", leaveType);
+    }
+    if (year != null) {
+      sql.append(" AND l.year = :year");
+      params.addValue("year", year);
+    }
+    if (fromDate != null) {
+      sql.append(" AND l.start_date >= :fromDate AND l.year >= :fromYear");
+      params.addValue("fromDate", fromDate);
+      params.addValue("fromYear", fromDate.getYear());
+    }
+    if (toDate != null) {
+      // year is the start date's year: implied by the date bound, but it is
+      // what lets PostgreSQL prune leave_request partitions
+      sql.append(" AND l.end_date <= :toDate AND l.year <= :toYear");
+      params.addValue("toDate", toDate);
+      params.addValue("toYear", toDate.getYear());
+    }
+
+    sql.append(" ORDER BY rank DESC, l.leave_id DESC LIMIT :limit OFFSET :offset");
+
+    return jdbcTemplate.query(
+            sql.toString(),
+            params,
+            (rs, rowNum) -> new RankedLeave(rs.getInt("leave_id"), rs.getDouble("rank")));
+  }
+}
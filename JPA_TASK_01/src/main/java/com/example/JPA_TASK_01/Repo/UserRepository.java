@@ -21,5 +21,14 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
   List<User> findByStatus(String status);
 
+  long countByStatus(String status);
+
   List<User> findAll();
+
+  @EntityGraph("User.adminDetail")
+  Optional<User> findAdminDetailByUserId(Integer userId);
+
+  @EntityGraph("User.adminDetail")
+  @Query("SELECT u FROM User u")
+  List<User> findAllAdminDetails();
 }
@@ -0,0 +1,18 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.Audit.AuditLogResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditLogService {
+
+    // oldest first, occurredAt in [from, to); null bounds are open
+    List<AuditLogResponse> getHistory(
+            String entityType,
+            Integer entityId,
+            LocalDateTime from,
+            LocalDateTime to,
+            Integer limit
+    );
+}
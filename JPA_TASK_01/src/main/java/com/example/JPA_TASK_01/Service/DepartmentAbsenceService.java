@@ -0,0 +1,10 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.Department.DepartmentAbsenceResponse;
+
+public interface DepartmentAbsenceService {
+
+    // who is on APPROVED leave on each day of the month; cached per
+    // (department, month) until a decision or revoke touches it
+    DepartmentAbsenceResponse getAbsences(Integer deptId, int year, int month);
+}
@@ -2,9 +2,12 @@ package com.example.JPA_TASK_01.Service.Implementation;
 
 import com.example.JPA_TASK_01.DTO.Approval.ApprovalRequest;
 import com.example.JPA_TASK_01.Entity.*;
+import com.example.JPA_TASK_01.Event.UserApprovalEvent;
 import com.example.JPA_TASK_01.Repo.*;
 import com.example.JPA_TASK_01.Service.ApprovalService;
 import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,12 +20,25 @@ public class ApprovalServiceImpl implements ApprovalService {
     private final EmployeeRepository employeeRepo;
     private final DeptRepository deptRepo;
     private final ImageRepository imageRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ApprovalServiceImpl(UserRepository userRepo, EmployeeRepository employeeRepo, DeptRepository deptRepo, ImageRepository imageRepo) {
+    public ApprovalServiceImpl(UserRepository userRepo, EmployeeRepository employeeRepo, DeptRepository deptRepo, ImageRepository imageRepo, ApplicationEventPublisher eventPublisher) {
         this.userRepo = userRepo;
         this.employeeRepo = employeeRepo;
         this.deptRepo = deptRepo;
         this.imageRepo = imageRepo;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // audit trail, written after commit
+    private void publish(UserApprovalEvent.Type type, User user, Integer deptId, String statusBefore) {
+        eventPublisher.publishEvent(new UserApprovalEvent(
+                type,
+                user.getUserId(),
+                deptId,
+                SecurityContextHolder.getContext().getAuthentication().getName(),
+                statusBefore
+        ));
     }
 
     @Override
@@ -54,6 +70,8 @@ public class ApprovalServiceImpl implements ApprovalService {
         user.setEnabled(true);
 
         userRepo.save(user);
+
+        publish(UserApprovalEvent.Type.APPROVED, user, deptId, "PENDING");
     }
 
 
@@ -63,10 +81,14 @@ public class ApprovalServiceImpl implements ApprovalService {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        String statusBefore = user.getStatus();
+
         user.setStatus("REJECTED");
         user.setEnabled(false);
 
         userRepo.save(user);
+
+        publish(UserApprovalEvent.Type.REJECTED, user, null, statusBefore);
     }
 
     @Override
@@ -84,6 +106,8 @@ public class ApprovalServiceImpl implements ApprovalService {
         user.setEnabled(false);
 
         userRepo.save(user);
+
+        publish(UserApprovalEvent.Type.REOPENED, user, null, "REJECTED");
     }
 
 }
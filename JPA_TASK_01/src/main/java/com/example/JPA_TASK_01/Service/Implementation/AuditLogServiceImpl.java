@@ -0,0 +1,68 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.Audit.AuditLogResponse;
+import com.example.JPA_TASK_01.Entity.AuditLog;
+import com.example.JPA_TASK_01.Mapper.AuditLogMapper;
+import com.example.JPA_TASK_01.Repo.AuditLogRepository;
+import com.example.JPA_TASK_01.Service.AuditLogService;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Transactional
+public class AuditLogServiceImpl implements AuditLogService {
+
+    private static final int DEFAULT_LIMIT = 200;
+    private static final int MAX_LIMIT = 1000;
+
+    private static final Set<String> ENTITY_TYPES = Set.of(AuditLog.LEAVE, AuditLog.USER);
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final AuditLogRepository auditLogRepository;
+
+    public AuditLogServiceImpl(AuditLogRepository auditLogRepository) {
+        this.auditLogRepository = auditLogRepository;
+    }
+
+    @Override
+    public List<AuditLogResponse> getHistory(
+            String entityType,
+            Integer entityId,
+            LocalDateTime from,
+            LocalDateTime to,
+            Integer limit
+    ) {
+
+        String type = entityType == null ? "" : entityType.trim().toUpperCase();
+        if (!ENTITY_TYPES.contains(type)) {
+            throw new IllegalArgumentException("Entity type must be LEAVE or USER");
+        }
+        if (entityId == null) {
+            throw new IllegalArgumentException("Entity id is required");
+        }
+
+        LocalDateTime start = from == null ? EARLIEST : from;
+        LocalDateTime end = to == null ? LATEST : to;
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        return auditLogRepository
+                .findHistory(type, entityId, start, end, PageRequest.of(0, Math.min(size, MAX_LIMIT)))
+                .stream()
+                .map(AuditLogMapper::toResponse)
+                .toList();
+    }
+}
@@ -12,6 +12,7 @@ import com.example.JPA_TASK_01.Mapper.UserMapper;
 import com.example.JPA_TASK_01.Repo.UserRepository;
 import com.example.JPA_TASK_01.Service.AuthService;
 import com.example.JPA_TASK_01.util.JWTutil;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -89,6 +90,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Timed(value = "auth.login", description = "Time to authenticate and issue a token", histogram = true)
     public LoginResponse login(LoginRequest request) {
 
         authenticationManager.authenticate(
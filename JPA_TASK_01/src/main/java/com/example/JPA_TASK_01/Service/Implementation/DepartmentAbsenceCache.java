@@ -0,0 +1,98 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.Department.DepartmentAbsenceResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Event.LeaveChangedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Absence calendars per (department, month). A committed change to an
+// APPROVED leave evicts the months it spans in the owner's department.
+// Each department carries a generation bumped on eviction: a calendar
+// computed before a concurrent commit is returned but not stored.
+@Component
+class DepartmentAbsenceCache {
+
+    private record Key(Integer deptId, YearMonth month) {}
+
+    private final ConcurrentHashMap<Key, DepartmentAbsenceResponse> calendars = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    DepartmentAbsenceResponse get(
+            Integer deptId,
+            YearMonth month,
+            Supplier<DepartmentAbsenceResponse> loader) {
+
+        Key key = new Key(deptId, month);
+        DepartmentAbsenceResponse cached = calendars.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        AtomicLong generation = generation(deptId);
+        long seen = generation.get();
+        DepartmentAbsenceResponse loaded = loader.get();
+        if (generation.get() == seen) {
+            calendars.put(key, loaded);
+            // an eviction racing the put above wins
+            if (generation.get() != seen) {
+                calendars.remove(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // ===============================
+    // EVICTION (after commit only)
+    // ===============================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLeaveChanged(LeaveChangedEvent event) {
+
+        if (event.getDeptId() == null) {
+            return;
+        }
+        if (!isApproved(event.getBefore()) && !isApproved(event.getAfter())) {
+            return; // PENDING / REJECTED changes never show on the calendar
+        }
+
+        generation(event.getDeptId()).incrementAndGet();
+        evictSpan(event.getDeptId(), event.getBefore());
+        evictSpan(event.getDeptId(), event.getAfter());
+    }
+
+    // employees moving between departments are picked up on the next load
+    @Scheduled(fixedDelayString = "${leave.absence.cache-refresh-ms:600000}")
+    public void evictAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        calendars.clear();
+    }
+
+    private void evictSpan(Integer deptId, LeaveResponse leave) {
+
+        if (leave == null || leave.getStartDate() == null || leave.getEndDate() == null) {
+            return;
+        }
+
+        YearMonth last = YearMonth.from(leave.getEndDate());
+        for (YearMonth month = YearMonth.from(leave.getStartDate());
+             !month.isAfter(last);
+             month = month.plusMonths(1)) {
+            calendars.remove(new Key(deptId, month));
+        }
+    }
+
+    private AtomicLong generation(Integer deptId) {
+        return generations.computeIfAbsent(deptId, id -> new AtomicLong());
+    }
+
+    private static boolean isApproved(LeaveResponse leave) {
+        return leave != null && "APPROVED".equals(leave.getStatus());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.Department.DepartmentAbsenceResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Repo.DeptRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.Service.DepartmentAbsenceService;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+@Service
+@Transactional
+public class DepartmentAbsenceServiceImpl implements DepartmentAbsenceService {
+
+    // absentees listed by name, then by leave for a stable order
+    private static final Comparator<LeaveResponse> BY_EMPLOYEE =
+            Comparator.comparing(LeaveResponse::getEmployeeName, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(LeaveResponse::getEmpId)
+                    .thenComparing(LeaveResponse::getLeaveId);
+
+    private final DeptRepository deptRepo;
+    private final LeaveRequestRepository leaveRepo;
+    private final WorkingCalendar workingCalendar;
+    private final DepartmentAbsenceCache cache;
+
+    public DepartmentAbsenceServiceImpl(
+            DeptRepository deptRepo,
+            LeaveRequestRepository leaveRepo,
+            WorkingCalendar workingCalendar,
+            DepartmentAbsenceCache cache) {
+        this.deptRepo = deptRepo;
+        this.leaveRepo = leaveRepo;
+        this.workingCalendar = workingCalendar;
+        this.cache = cache;
+    }
+
+    @Override
+    public DepartmentAbsenceResponse getAbsences(Integer deptId, int year, int month) {
+
+        YearMonth period;
+        try {
+            period = YearMonth.of(year, month);
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid year/month: " + year + "-" + month);
+        }
+
+        if (!deptRepo.existsById(deptId)) {
+            throw new RuntimeException("Department not found");
+        }
+
+        return cache.get(deptId, period, () -> build(deptId, period));
+    }
+
+    // ===============================
+    // SWEEP LINE
+    // ===============================
+    // each leave clipped to the month becomes an enter event on its first
+    // day and a leave event the day after its last; walking the days once
+    // with the active set yields every day's absentees in
+    // O(days + leaves log leaves) instead of days x leaves
+    private DepartmentAbsenceResponse build(Integer deptId, YearMonth period) {
+
+        LocalDate first = period.atDay(1);
+        LocalDate last = period.atEndOfMonth();
+        int length = period.lengthOfMonth();
+
+        List<List<LeaveResponse>> enters = new ArrayList<>(length + 1);
+        List<List<LeaveResponse>> exits = new ArrayList<>(length + 1);
+        for (int i = 0; i <= length; i++) {
+            enters.add(new ArrayList<>());
+            exits.add(new ArrayList<>());
+        }
+
+        // a leave never runs past the year after its start year
+        List<LeaveResponse> leaves = leaveRepo.findApprovedResponsesInDepartment(
+                deptId, first, last, first.getYear() - 1, last.getYear());
+
+        for (LeaveResponse leave : leaves) {
+            LocalDate from = leave.getStartDate().isBefore(first) ? first : leave.getStartDate();
+            LocalDate to = leave.getEndDate().isAfter(last) ? last : leave.getEndDate();
+            enters.get(from.getDayOfMonth() - 1).add(leave);
+            exits.get(to.getDayOfMonth()).add(leave);
+        }
+
+        TreeSet<LeaveResponse> active = new TreeSet<>(BY_EMPLOYEE);
+        List<DepartmentAbsenceResponse.Day> days = new ArrayList<>(length);
+
+        for (int i = 0; i < length; i++) {
+            exits.get(i).forEach(active::remove);
+            active.addAll(enters.get(i));
+
+            List<DepartmentAbsenceResponse.Absentee> absentees = new ArrayList<>(active.size());
+            for (LeaveResponse leave : active) {
+                absentees.add(new DepartmentAbsenceResponse.Absentee(
+                        leave.getEmpId(),
+                        leave.getEmployeeName(),
+                        leave.getLeaveId(),
+                        leave.getLeaveType()));
+            }
+
+            LocalDate date = first.plusDays(i);
+            days.add(new DepartmentAbsenceResponse.Day(
+                    date, workingCalendar.isWorkingDay(date), List.copyOf(absentees)));
+        }
+
+        return new DepartmentAbsenceResponse(
+                deptId, period.getYear(), period.getMonthValue(), List.copyOf(days));
+    }
+}
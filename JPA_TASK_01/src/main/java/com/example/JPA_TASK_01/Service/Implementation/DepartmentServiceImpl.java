@@ -2,15 +2,20 @@ package com.example.JPA_TASK_01.Service.Implementation;
 import com.example.JPA_TASK_01.DTO.Department.DepartmentResponse;
 import com.example.JPA_TASK_01.DTO.Employee.EmployeeResponse;
 import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.Images;
 import com.example.JPA_TASK_01.Mapper.DepartmentMapper;
 import com.example.JPA_TASK_01.Mapper.EmployeeMapper;
 import com.example.JPA_TASK_01.Repo.DeptRepository;
 import com.example.JPA_TASK_01.Repo.EmployeeRepository;
+import com.example.JPA_TASK_01.Repo.ImageRepository;
 import com.example.JPA_TASK_01.Service.DepartmentService;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -18,13 +23,16 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     private final DeptRepository deptRepo;
     private final EmployeeRepository employeeRepo;
+    private final ImageRepository imageRepo;
 
 
     public DepartmentServiceImpl(
             DeptRepository deptRepo,
-            EmployeeRepository employeeRepo) {
+            EmployeeRepository employeeRepo,
+            ImageRepository imageRepo) {
         this.deptRepo = deptRepo;
         this.employeeRepo = employeeRepo;
+        this.imageRepo = imageRepo;
     }
 
     @Override
@@ -50,9 +58,21 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     public List<EmployeeResponse> getEmployeesByDepartment(Integer deptId) {
-        return employeeRepo.findByDepartment_DeptId(deptId)
+
+        List<Employee> employees = employeeRepo.findByDepartment_DeptId(deptId);
+        if (employees.isEmpty()) {
+            return List.of();
+        }
+
+        // the roster's images in one query instead of one per employee
+        Map<Integer, List<Images>> imagesByEmployee = imageRepo
+                .findAllByEmployee_EmpIdIn(employees.stream().map(Employee::getEmpId).toList())
                 .stream()
-                .map(EmployeeMapper::toResponse)
+                .collect(Collectors.groupingBy(img -> img.getEmployee().getEmpId()));
+
+        return employees.stream()
+                .map(emp -> EmployeeMapper.toResponse(
+                        emp, imagesByEmployee.getOrDefault(emp.getEmpId(), List.of())))
                 .toList();
     }
 
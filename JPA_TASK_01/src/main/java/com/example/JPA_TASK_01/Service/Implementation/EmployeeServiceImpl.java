@@ -3,12 +3,14 @@ import com.example.JPA_TASK_01.DTO.Employee.*;
 import com.example.JPA_TASK_01.DTO.Image.ImageResponse;
 import com.example.JPA_TASK_01.Entity.Department;
 import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.Images;
 import com.example.JPA_TASK_01.Entity.User;
 import com.example.JPA_TASK_01.Repo.DeptRepository;
 import com.example.JPA_TASK_01.Repo.EmployeeRepository;
 import com.example.JPA_TASK_01.Repo.ImageRepository;
 import com.example.JPA_TASK_01.Repo.UserRepository;
 import com.example.JPA_TASK_01.Service.EmployeeService;
+import com.example.JPA_TASK_01.Service.LeaveRollupService;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,7 +19,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -27,17 +31,20 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final DeptRepository deptRepo;
     private final ImageRepository imageRepository;
     private final UserRepository userRepository;
+    private final LeaveRollupService leaveRollupService;
 
     public EmployeeServiceImpl(
             EmployeeRepository employeeRepo,
             DeptRepository deptRepo,
             ImageRepository imageRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            LeaveRollupService leaveRollupService) {
 
         this.employeeRepo = employeeRepo;
         this.deptRepo = deptRepo;
         this.imageRepository = imageRepository;
         this.userRepository = userRepository;
+        this.leaveRollupService = leaveRollupService;
     }
 
     private String getLoggedInEmail() {
@@ -60,10 +67,10 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         String email = getLoggedInEmail();
 
-        Employee emp = employeeRepo.findByUser_Email(email)
+        Employee emp = employeeRepo.findProfileByUser_Email(email)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
-        return mapToEmployeeResponse(emp);
+        return mapToEmployeeResponse(emp, emp.getUser().getImages());
     }
 
     // ===============================
@@ -76,11 +83,16 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         Page<Employee> employees =
                 (search == null || search.isBlank())
-                        ? employeeRepo.findAll(pageable)
+                        ? employeeRepo.findDirectory(pageable)
                         : employeeRepo.findByUser_NameContainingIgnoreCaseOrUser_EmailContainingIgnoreCase(
                         search, search, pageable);
 
-        return employees.map(this::mapToEmployeeResponse);
+        // the page's images in one query instead of one per employee
+        Map<Integer, List<Images>> imagesByUser = imagesByUser(
+                employees.stream().map(emp -> emp.getUser().getUserId()).toList());
+
+        return employees.map(emp -> mapToEmployeeResponse(
+                emp, imagesByUser.getOrDefault(emp.getUser().getUserId(), List.of())));
     }
 
     // ===============================
@@ -91,26 +103,22 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         String email = getLoggedInEmail();
 
-        Employee emp = employeeRepo.findByUser_Email(email)
+        Employee emp = employeeRepo.findProfileByUser_Email(email)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
         if (request.getName() != null) emp.getUser().setName(request.getName());
         if (request.getAge() != null) emp.getUser().setAge(request.getAge());
         if (request.getGender() != null) emp.getUser().setGender(request.getGender());
 
-        return mapToEmployeeResponse(emp);
+        return mapToEmployeeResponse(emp, emp.getUser().getImages());
     }
 
     // ===============================
     // CORE MAPPER (FIXED)
     // ===============================
-    private EmployeeResponse mapToEmployeeResponse(Employee emp) {
+    private EmployeeResponse mapToEmployeeResponse(Employee emp, List<Images> userImages) {
 
-        List<ImageResponse> images =
-                imageRepository.findAllByUser_UserId(emp.getUser().getUserId())
-                        .stream()
-                        .map(img -> new ImageResponse(img.getImageId(), img.getFileName()))
-                        .toList();
+        List<ImageResponse> images = toImageResponses(userImages);
 
         return new EmployeeResponse(
                 emp.getEmpId(),
@@ -132,51 +140,33 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public EmployeeResponse getEmployeeByIdResponse(Integer empId) {
 
-        Employee emp = employeeRepo.findById(empId)
+        Employee emp = employeeRepo.findProfileByEmpId(empId)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
 
         if (!isAdmin() && !"APPROVED".equals(emp.getUser().getStatus())) {
             throw new RuntimeException("Employee not approved");
         }
 
-        return mapToEmployeeResponse(emp);
+        return mapToEmployeeResponse(emp, emp.getUser().getImages());
     }
 
     // ===============================
     // ADMIN: GET ALL USERS
     // ===============================
+    // users with their images, then every user's employee row in one query
     @Override
     public List<AdminEmployeeResponse> getAllUsersForAdmin() {
 
-        return userRepository.findAll().stream().map(user -> {
-
-            AdminEmployeeResponse res = new AdminEmployeeResponse();
-            res.setUserId(user.getUserId());
-            res.setName(user.getName());
-            res.setEmail(user.getEmail());
-            res.setAge(user.getAge());
-            res.setGender(user.getGender());
-            res.setStatus(user.getStatus());
-
-            // 🔥 IMAGES ALWAYS FROM USER
-            res.setImages(
-                    imageRepository.findAllByUser_UserId(user.getUserId())
-                            .stream()
-                            .map(img -> new ImageResponse(img.getImageId(), img.getFileName()))
-                            .toList()
-            );
-
-            employeeRepo.findByUser_UserId(user.getUserId())
-                    .ifPresent(emp -> {
-                        res.setEmpId(emp.getEmpId());
-                        if (emp.getDepartment() != null) {
-                            res.setDeptId(emp.getDepartment().getDeptId());
-                            res.setDepartment(emp.getDepartment().getDeptName());
-                        }
-                    });
-
-            return res;
-        }).toList();
+        List<User> users = userRepository.findAllAdminDetails();
+
+        Map<Integer, Employee> employeesByUser = employeeRepo
+                .findWithDepartmentByUser_UserIdIn(users.stream().map(User::getUserId).toList())
+                .stream()
+                .collect(Collectors.toMap(emp -> emp.getUser().getUserId(), emp -> emp));
+
+        return users.stream()
+                .map(user -> mapToAdminResponse(user, employeesByUser.get(user.getUserId())))
+                .toList();
     }
 
     // ===============================
@@ -185,9 +175,14 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public AdminEmployeeResponse getUserForAdmin(Integer userId) {
 
-        User user = userRepository.findById(userId)
+        User user = userRepository.findAdminDetailByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        return mapToAdminResponse(user, employeeRepo.findWithDepartmentByUser_UserId(userId).orElse(null));
+    }
+
+    private AdminEmployeeResponse mapToAdminResponse(User user, Employee emp) {
+
         AdminEmployeeResponse res = new AdminEmployeeResponse();
         res.setUserId(user.getUserId());
         res.setName(user.getName());
@@ -196,26 +191,35 @@ public class EmployeeServiceImpl implements EmployeeService {
         res.setGender(user.getGender());
         res.setStatus(user.getStatus());
 
-        // 🔥 ALWAYS FETCH USER IMAGES
-        res.setImages(
-                imageRepository.findAllByUser_UserId(userId)
-                        .stream()
-                        .map(img -> new ImageResponse(img.getImageId(), img.getFileName()))
-                        .toList()
-        );
+        // 🔥 IMAGES ALWAYS FROM USER
+        res.setImages(toImageResponses(user.getImages()));
 
-        employeeRepo.findByUser_UserId(userId)
-                .ifPresent(emp -> {
-                    res.setEmpId(emp.getEmpId());
-                    if (emp.getDepartment() != null) {
-                        res.setDeptId(emp.getDepartment().getDeptId());
-                        res.setDepartment(emp.getDepartment().getDeptName());
-                    }
-                });
+        if (emp != null) {
+            res.setEmpId(emp.getEmpId());
+            if (emp.getDepartment() != null) {
+                res.setDeptId(emp.getDepartment().getDeptId());
+                res.setDepartment(emp.getDepartment().getDeptName());
+            }
+        }
 
         return res;
     }
 
+    private Map<Integer, List<Images>> imagesByUser(List<Integer> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return imageRepository.findAllByUser_UserIdIn(userIds)
+                .stream()
+                .collect(Collectors.groupingBy(img -> img.getUser().getUserId()));
+    }
+
+    private static List<ImageResponse> toImageResponses(List<Images> images) {
+        return images.stream()
+                .map(img -> new ImageResponse(img.getImageId(), img.getFileName()))
+                .toList();
+    }
+
     // ===============================
     // ADMIN: UPDATE USER
     // ===============================
@@ -254,6 +258,10 @@ public class EmployeeServiceImpl implements EmployeeService {
                             return employeeRepo.saveAndFlush(emp);
                         });
 
+                // analytics rollup follows the employee's leaves
+                leaveRollupService.moveEmployee(
+                        employee.getEmpId(), employee.getDepartment().getDeptId(), dept.getDeptId());
+
                 employee.setDepartment(dept);
                 employeeRepo.saveAndFlush(employee);
             }
@@ -266,6 +274,8 @@ public class EmployeeServiceImpl implements EmployeeService {
 
                 employeeRepo.findByUser_UserId(userId)
                         .ifPresent(emp -> {
+                            leaveRollupService.moveEmployee(
+                                    emp.getEmpId(), emp.getDepartment().getDeptId(), null);
                             employeeRepo.delete(emp);
                             employeeRepo.flush();
                         });
@@ -279,6 +289,8 @@ public class EmployeeServiceImpl implements EmployeeService {
 
                 employeeRepo.findByUser_UserId(userId)
                         .ifPresent(emp -> {
+                            leaveRollupService.moveEmployee(
+                                    emp.getEmpId(), emp.getDepartment().getDeptId(), null);
                             employeeRepo.delete(emp);
                             employeeRepo.flush();
                         });
@@ -294,6 +306,8 @@ public class EmployeeServiceImpl implements EmployeeService {
     // ===============================
     @Override
     public void deleteEmployee(Integer empId) {
+        employeeRepo.findById(empId).ifPresent(emp ->
+                leaveRollupService.moveEmployee(empId, emp.getDepartment().getDeptId(), null));
         employeeRepo.deleteById(empId);
     }
 }
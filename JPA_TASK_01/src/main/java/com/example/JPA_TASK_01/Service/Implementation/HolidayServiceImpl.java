@@ -8,6 +8,8 @@ import com.example.JPA_TASK_01.Repo.HolidayRepository;
 import com.example.JPA_TASK_01.Service.HolidayService;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,9 +19,11 @@ import java.util.List;
 public class HolidayServiceImpl implements HolidayService {
 
     private final HolidayRepository holidayRepo;
+    private final WorkingCalendar workingCalendar;
 
-    public HolidayServiceImpl(HolidayRepository holidayRepo) {
+    public HolidayServiceImpl(HolidayRepository holidayRepo, WorkingCalendar workingCalendar) {
         this.holidayRepo = holidayRepo;
+        this.workingCalendar = workingCalendar;
     }
 
     @Override
@@ -39,6 +43,7 @@ public class HolidayServiceImpl implements HolidayService {
         holiday.setDescription(request.getDescription());
 
         holidayRepo.save(holiday);
+        updateCalendarAfterCommit(holiday.getHolidayDate(), !holiday.getOptional());
         return mapToResponse(holiday);
     }
 
@@ -53,12 +58,28 @@ public class HolidayServiceImpl implements HolidayService {
         holiday.setOptional(request.getOptional());
         holiday.setDescription(request.getDescription());
 
+        updateCalendarAfterCommit(
+                holiday.getHolidayDate(),
+                !Boolean.TRUE.equals(holiday.getOptional()));
         return mapToResponse(holiday);
     }
 
     @Override
     public void deleteHoliday(Integer holidayId) {
-        holidayRepo.deleteById(holidayId);
+        holidayRepo.findById(holidayId).ifPresent(holiday -> {
+            holidayRepo.delete(holiday);
+            updateCalendarAfterCommit(holiday.getHolidayDate(), false);
+        });
+    }
+
+    // patch the compiled working-day calendar once the change is visible
+    private void updateCalendarAfterCommit(LocalDate date, boolean dayOff) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                workingCalendar.applyHolidayChange(date, dayOff);
+            }
+        });
     }
 
     @Override
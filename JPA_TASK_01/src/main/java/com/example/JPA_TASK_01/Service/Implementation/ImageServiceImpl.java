@@ -8,6 +8,7 @@ import com.example.JPA_TASK_01.Repo.EmployeeRepository;
 import com.example.JPA_TASK_01.Repo.ImageRepository;
 import com.example.JPA_TASK_01.Repo.UserRepository;
 import com.example.JPA_TASK_01.Service.ImageService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -59,6 +60,7 @@ public class ImageServiceImpl implements ImageService {
     // UPLOAD IMAGES (EMP ENDPOINT – USER OWNERSHIP)
     // ===============================
     @Override
+    @Timed(value = "image.upload", description = "Time to store uploaded images", histogram = true)
     public List<ImageResponse> uploadImages(Integer empId, List<MultipartFile> images) {
 
         if (images == null || images.isEmpty()) {
@@ -70,26 +72,14 @@ public class ImageServiceImpl implements ImageService {
 
         User user = employee.getUser(); // 🔑 KEY FIX
 
-        List<ImageResponse> responses = new ArrayList<>();
-
-        for (MultipartFile file : images) {
-            if (file.isEmpty()) continue;
-
-            Images image = storageService.storeUserImage(file, user);
-            imageRepo.save(image);
-
-            responses.add(
-                    new ImageResponse(image.getImageId(), image.getFileName())
-            );
-        }
-
-        return responses;
+        return saveAll(user, images);
     }
 
     // ===============================
     // UPLOAD SINGLE USER IMAGE
     // ===============================
     @Override
+    @Timed(value = "image.upload", description = "Time to store uploaded images", histogram = true)
     public ImageResponse uploadUserImage(Integer userId, MultipartFile file) {
 
         User user = userRepo.findById(userId)
@@ -105,6 +95,7 @@ public class ImageServiceImpl implements ImageService {
     // UPLOAD SINGLE EMPLOYEE IMAGE (STORED AS USER IMAGE)
     // ===============================
     @Override
+    @Timed(value = "image.upload", description = "Time to store uploaded images", histogram = true)
     public ImageResponse uploadEmployeeImage(Integer empId, MultipartFile file) {
 
         Employee employee = employeeRepo.findById(empId)
@@ -122,6 +113,7 @@ public class ImageServiceImpl implements ImageService {
     // FETCH IMAGE
     // ===============================
     @Override
+    @Timed(value = "image.download", description = "Time to locate an image for download", histogram = true)
     public Resource getImageById(Long imageId) {
 
         Images image = imageRepo.findById(imageId)
@@ -131,6 +123,7 @@ public class ImageServiceImpl implements ImageService {
     }
 
     @Override
+    @Timed(value = "image.download", description = "Time to locate an image for download", histogram = true)
     public Resource getImageByFileName(String fileName) {
 
         Images image = imageRepo.findByFileName(fileName)
@@ -170,6 +163,7 @@ public class ImageServiceImpl implements ImageService {
     // UPLOAD MULTIPLE USER IMAGES
     // ===============================
     @Override
+    @Timed(value = "image.upload", description = "Time to store uploaded images", histogram = true)
     public List<ImageResponse> uploadUserImages(
             Integer userId,
             List<MultipartFile> images) {
@@ -181,19 +175,21 @@ public class ImageServiceImpl implements ImageService {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        List<ImageResponse> responses = new ArrayList<>();
-
-        for (MultipartFile file : images) {
-            if (file.isEmpty()) continue;
+        return saveAll(user, images);
+    }
 
-            Images image = storageService.storeUserImage(file, user);
-            imageRepo.save(image);
+    // ids come from the pooled sequence, so the rows are inserted together
+    // in one JDBC batch when the transaction flushes
+    private List<ImageResponse> saveAll(User user, List<MultipartFile> files) {
 
-            responses.add(
-                    new ImageResponse(image.getImageId(), image.getFileName())
-            );
+        List<Images> stored = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (file.isEmpty()) continue;
+            stored.add(storageService.storeUserImage(file, user));
         }
 
-        return responses;
+        return imageRepo.saveAll(stored).stream()
+                .map(image -> new ImageResponse(image.getImageId(), image.getFileName()))
+                .toList();
     }
 }
@@ -0,0 +1,50 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+// Monthly accrual for accruing leave types: 1/12 of the yearly limit for every
+// month of service in the year up to and including asOf. Joining after the
+// 15th starts accrual the following month. The result is cumulative, so
+// recomputing it is idempotent (the batch job and lazy ledger reads agree).
+final class LeaveAccrualCalculator {
+
+    private static final int MID_MONTH = 15;
+
+    private LeaveAccrualCalculator() {}
+
+    static int accruedDays(int yearlyLimit, LocalDate joiningDate, int year, YearMonth asOf) {
+
+        if (asOf.getYear() < year) {
+            return 0;
+        }
+        int throughMonth = asOf.getYear() > year ? 12 : asOf.getMonthValue();
+
+        int firstMonth = 1;
+        if (joiningDate != null) {
+            if (joiningDate.getYear() > year) {
+                return 0;
+            }
+            if (joiningDate.getYear() == year) {
+                firstMonth = joiningDate.getMonthValue()
+                        + (joiningDate.getDayOfMonth() > MID_MONTH ? 1 : 0);
+            }
+        }
+
+        int months = throughMonth - firstMonth + 1;
+        if (months <= 0) {
+            return 0;
+        }
+        return yearlyLimit * months / 12;
+    }
+
+    // what a leave starting on leaveStart can be paid from: the accrual of
+    // its year as of the month it starts, or as of asOf if that is later.
+    // Sizing by asOf alone would leave a December apply for January unpaid.
+    static int projectedDays(int yearlyLimit, LocalDate joiningDate, LocalDate leaveStart, YearMonth asOf) {
+
+        YearMonth leaveMonth = YearMonth.from(leaveStart);
+        return accruedDays(yearlyLimit, joiningDate, leaveStart.getYear(),
+                leaveMonth.isAfter(asOf) ? leaveMonth : asOf);
+    }
+}
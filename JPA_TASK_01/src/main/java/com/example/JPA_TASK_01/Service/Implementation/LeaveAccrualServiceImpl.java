@@ -0,0 +1,129 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveJob.LeaveJobRunResponse;
+import com.example.JPA_TASK_01.Entity.LeaveJobRun;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Mapper.LeaveJobRunMapper;
+import com.example.JPA_TASK_01.Repo.LeaveBatchRepository;
+import com.example.JPA_TASK_01.Repo.LeaveJobRunRepository;
+import com.example.JPA_TASK_01.Service.LeaveAccrualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Walks employees in emp_id order, one short transaction per chunk: ledger
+// credits and the run's progress commit together, so a crash loses at most
+// the chunk in flight and the next run resumes after lastEmpId.
+// Deliberately not @Transactional at class level.
+@Service
+public class LeaveAccrualServiceImpl implements LeaveAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveAccrualServiceImpl.class);
+
+    static final String JOB_NAME = "MONTHLY_ACCRUAL";
+
+    private static final List<LeaveType> ACCRUING_TYPES =
+            Arrays.stream(LeaveType.values()).filter(LeaveType::isAccruing).toList();
+
+    private final LeaveBatchRepository batchRepo;
+    private final LeaveJobRunRepository runRepo;
+    private final LeavePolicyRegistry policyRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public LeaveAccrualServiceImpl(
+            LeaveBatchRepository batchRepo,
+            LeaveJobRunRepository runRepo,
+            LeavePolicyRegistry policyRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${leave.accrual.chunk-size:1000}") int chunkSize) {
+        this.batchRepo = batchRepo;
+        this.runRepo = runRepo;
+        this.policyRegistry = policyRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    // start of every month; a missed month is caught up by the next run
+    // because accrual is cumulative
+    @Scheduled(cron = "${leave.accrual.cron:0 30 1 1 * *}")
+    public void scheduledAccrual() {
+        runAccrual(YearMonth.now());
+    }
+
+    @Override
+    public synchronized LeaveJobRunResponse runAccrual(YearMonth period) {
+
+        LeaveJobRun run = transactionTemplate.execute(status ->
+                runRepo.findByJobNameAndRunKey(JOB_NAME, period.toString())
+                        .orElseGet(() -> runRepo.save(new LeaveJobRun(JOB_NAME, period.toString()))));
+
+        if (LeaveJobRun.COMPLETED.equals(run.getStatus())) {
+            return LeaveJobRunMapper.toResponse(run);
+        }
+
+        if (run.getLastEmpId() > 0) {
+            log.info("Resuming accrual {} after emp_id {}", period, run.getLastEmpId());
+        }
+
+        Integer runId = run.getRunId();
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> accrueChunk(runId, period)));
+        }
+
+        LeaveJobRun finished = transactionTemplate.execute(status -> {
+            LeaveJobRun current = runRepo.findById(runId).orElseThrow();
+            current.setStatus(LeaveJobRun.COMPLETED);
+            current.setFinishedAt(LocalDateTime.now());
+            return current;
+        });
+
+        log.info("Accrual {} completed for {} employees", period, finished.getProcessed());
+        return LeaveJobRunMapper.toResponse(finished);
+    }
+
+    // one chunk = one keyset read, one batched upsert, one progress update
+    private boolean accrueChunk(Integer runId, YearMonth period) {
+
+        LeaveJobRun run = runRepo.findById(runId).orElseThrow();
+
+        List<LeaveBatchRepository.EmployeeRow> employees =
+                batchRepo.findEmployeesAfter(run.getLastEmpId(), chunkSize);
+
+        if (employees.isEmpty()) {
+            return false;
+        }
+
+        int year = period.getYear();
+        List<LeaveBatchRepository.Entitlement> credits = new ArrayList<>();
+
+        for (LeaveBatchRepository.EmployeeRow employee : employees) {
+            for (LeaveType type : ACCRUING_TYPES) {
+                int limit = policyRegistry.yearlyLimit(type, employee.deptId(), year);
+                credits.add(new LeaveBatchRepository.Entitlement(
+                        employee.empId(),
+                        type.name(),
+                        year,
+                        LeaveAccrualCalculator.accruedDays(limit, employee.joiningDate(), year, period)));
+            }
+        }
+
+        batchRepo.upsertEntitlements(credits, LocalDateTime.now());
+
+        run.setLastEmpId(employees.get(employees.size() - 1).empId());
+        run.setProcessed(run.getProcessed() + employees.size());
+
+        return employees.size() == chunkSize;
+    }
+}
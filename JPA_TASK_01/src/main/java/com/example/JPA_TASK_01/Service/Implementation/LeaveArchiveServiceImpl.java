@@ -0,0 +1,232 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveArchive.LeaveArchiveSegmentResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Mapper.LeaveArchiveMapper;
+import com.example.JPA_TASK_01.Repo.LeaveArchiveRepository;
+import com.example.JPA_TASK_01.Repo.LeaveArchiveRepository.ArchivedLeave;
+import com.example.JPA_TASK_01.Repo.LeaveArchiveRepository.Block;
+import com.example.JPA_TASK_01.Repo.LeaveArchiveRepository.Segment;
+import com.example.JPA_TASK_01.Repo.LeavePartitionRepository;
+import com.example.JPA_TASK_01.Service.LeaveArchiveService;
+import com.example.JPA_TASK_01.config.DatabasePlatform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cold archive of closed leaves (REJECTED, REVOKED, or APPROVED and over)
+// from years past the retention window. Each year is moved in chunks of
+// segment-rows leaves in (emp_id, leave_id) order; a chunk becomes one
+// segment file plus its catalogue rows, and its leave_request rows are
+// deleted in the same transaction, only if unchanged since they were read.
+// The file is on disk before the delete commits and removed if it rolls
+// back, so a leave is always in exactly one place. On PostgreSQL a year's
+// partition is dropped once it is empty, so the hot table only holds the
+// retention window plus what is still open.
+// Deliberately not @Transactional at class level.
+@Service
+public class LeaveArchiveServiceImpl implements LeaveArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveArchiveServiceImpl.class);
+
+    private final LeaveArchiveRepository archiveRepo;
+    private final LeavePartitionRepository partitionRepo;
+    private final LeaveArchiveStore store;
+    private final DatabasePlatform databasePlatform;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionYears;
+    private final int segmentRows;
+    private final int blockRows;
+
+    public LeaveArchiveServiceImpl(
+            LeaveArchiveRepository archiveRepo,
+            LeavePartitionRepository partitionRepo,
+            LeaveArchiveStore store,
+            DatabasePlatform databasePlatform,
+            PlatformTransactionManager transactionManager,
+            @Value("${leave.archive.retention-years:3}") int retentionYears,
+            @Value("${leave.archive.segment-rows:50000}") int segmentRows,
+            @Value("${leave.archive.block-rows:256}") int blockRows) {
+        this.archiveRepo = archiveRepo;
+        this.partitionRepo = partitionRepo;
+        this.store = store;
+        this.databasePlatform = databasePlatform;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionYears = retentionYears;
+        this.segmentRows = segmentRows;
+        this.blockRows = blockRows;
+    }
+
+    @Scheduled(cron = "${leave.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        archive();
+    }
+
+    // ===============================
+    // ARCHIVE
+    // ===============================
+    @Override
+    public synchronized List<LeaveArchiveSegmentResponse> archive() {
+
+        LocalDate today = LocalDate.now();
+        int throughYear = today.getYear() - retentionYears;
+
+        List<LeaveArchiveSegmentResponse> written = new ArrayList<>();
+
+        for (int year : archiveRepo.findArchivableYears(throughYear, today)) {
+
+            int afterEmpId = 0;
+            int afterLeaveId = 0;
+            int archived = 0;
+
+            while (true) {
+                List<ArchivedLeave> chunk = archiveRepo.findArchivable(
+                        year, today, afterEmpId, afterLeaveId, segmentRows);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                try {
+                    Segment segment = transactionTemplate.execute(status -> writeSegment(chunk));
+                    written.add(LeaveArchiveMapper.toResponse(segment));
+                    archived += chunk.size();
+                } catch (IllegalStateException ex) {
+                    // someone touched one of them meanwhile: they stay hot until the next run
+                    log.warn("Skipped a chunk of {} leaves of {}: {}", chunk.size(), year, ex.getMessage());
+                }
+
+                LeaveResponse last = chunk.get(chunk.size() - 1).leave();
+                afterEmpId = last.getEmpId();
+                afterLeaveId = last.getLeaveId();
+
+                if (chunk.size() < segmentRows) {
+                    break;
+                }
+            }
+
+            log.info("Archived {} leaves of {}", archived, year);
+
+            if (databasePlatform.isPostgres()) {
+                dropPartitionIfEmpty(year);
+            }
+        }
+
+        return written;
+    }
+
+    private Segment writeSegment(List<ArchivedLeave> chunk) {
+
+        int year = chunk.get(0).leave().getYear();
+        LeaveArchiveStore.SegmentWriter writer = store.create(year);
+
+        try {
+            List<Block> blocks = new ArrayList<>();
+            for (int from = 0; from < chunk.size(); from += blockRows) {
+                blocks.add(writer.append(chunk.subList(from, Math.min(from + blockRows, chunk.size()))
+                        .stream()
+                        .map(ArchivedLeave::leave)
+                        .toList()));
+            }
+
+            if (!archiveRepo.deleteUnchanged(chunk)) {
+                throw new IllegalStateException("a leave changed while being archived");
+            }
+
+            long byteSize = writer.publish();
+
+            Segment segment = archiveRepo.insertSegment(year, writer.fileName(), chunk.size(), byteSize);
+            archiveRepo.insertBlocks(segment.segmentId(), blocks);
+
+            // the commit itself can still fail
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        store.delete(writer.fileName());
+                    }
+                }
+            });
+
+            return segment;
+
+        } catch (RuntimeException ex) {
+            writer.discard();
+            throw ex;
+        }
+    }
+
+    private void dropPartitionIfEmpty(int year) {
+        try {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(
+                    status -> partitionRepo.dropYearIfEmpty(year)))) {
+                log.info("Dropped the emptied leave_request partition for {}", year);
+            }
+        } catch (RuntimeException ex) {
+            // busy table (lock timeout): retried on the next run
+            log.warn("Could not drop the leave_request partition for {}", year, ex);
+        }
+    }
+
+    @Override
+    public List<LeaveArchiveSegmentResponse> getSegments() {
+        return archiveRepo.findSegments().stream()
+                .map(LeaveArchiveMapper::toResponse)
+                .toList();
+    }
+
+    // ===============================
+    // READ PATH
+    // ===============================
+    // the sparse index narrows the read to the blocks whose year and emp_id
+    // range can match; the rest of the filter runs on the decoded rows
+    @Override
+    public List<LeaveResponse> findArchived(
+            Integer empId,
+            String status,
+            String leaveType,
+            Integer year,
+            LocalDate fromDate,
+            LocalDate toDate,
+            int limit
+    ) {
+
+        Integer fromYear = year;
+        Integer toYear = year;
+        if (fromDate != null && (fromYear == null || fromYear < fromDate.getYear())) {
+            fromYear = fromDate.getYear();
+        }
+        if (toDate != null && (toYear == null || toYear > toDate.getYear())) {
+            toYear = toDate.getYear();
+        }
+        if (fromYear != null && toYear != null && fromYear > toYear) {
+            return List.of();
+        }
+
+        List<LeaveResponse> leaves = new ArrayList<>();
+        for (Block block : archiveRepo.findBlocks(empId, fromYear, toYear)) {
+            for (LeaveResponse leave : store.read(block)) {
+                if ((empId == null || empId.equals(leave.getEmpId()))
+                        && (status == null || status.equals(leave.getStatus()))
+                        && (leaveType == null || leaveType.equals(leave.getLeaveType()))
+                        && (fromDate == null || !leave.getStartDate().isBefore(fromDate))
+                        && (toDate == null || !leave.getEndDate().isAfter(toDate))) {
+                    leaves.add(leave);
+                    if (leaves.size() == limit) {
+                        return leaves;
+                    }
+                }
+            }
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Repo.LeaveArchiveRepository.Block;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Segment files of archived leaves under leave.archive.dir. A segment is a
+// run of independent gzip members ("blocks"), so one block can be read
+// without inflating the rest and the whole file still unpacks with zcat.
+// Files are written under a temporary name, forced to disk and renamed, and
+// never modified afterwards.
+@Component
+class LeaveArchiveStore {
+
+    private static final byte FORMAT = 1;
+
+    private final Path dir;
+
+    LeaveArchiveStore(@Value("${leave.archive.dir}") String dir) {
+        this.dir = Paths.get(dir);
+    }
+
+    // ===============================
+    // WRITE
+    // ===============================
+    SegmentWriter create(int year) {
+        try {
+            Files.createDirectories(dir);
+            String fileName = "leave-" + year + "-" + UUID.randomUUID() + ".seg.gz";
+            Path temp = dir.resolve(fileName + ".tmp");
+            return new SegmentWriter(year, fileName, temp, FileChannel.open(
+                    temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create archive segment", e);
+        }
+    }
+
+    final class SegmentWriter {
+
+        private final int year;
+        private final String fileName;
+        private final Path temp;
+        private final FileChannel channel;
+        private long size;
+        private boolean published;
+
+        private SegmentWriter(int year, String fileName, Path temp, FileChannel channel) {
+            this.year = year;
+            this.fileName = fileName;
+            this.temp = temp;
+            this.channel = channel;
+        }
+
+        String fileName() {
+            return fileName;
+        }
+
+        // rows sorted by emp_id; the block's catalogue entry (no segment id yet)
+        Block append(List<LeaveResponse> rows) {
+            try {
+                byte[] block = encode(rows);
+                ByteBuffer buffer = ByteBuffer.wrap(block);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                long offset = size;
+                size += block.length;
+                return new Block(
+                        null,
+                        year,
+                        fileName,
+                        rows.get(0).getEmpId(),
+                        rows.get(rows.size() - 1).getEmpId(),
+                        offset,
+                        block.length,
+                        rows.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write archive segment " + fileName, e);
+            }
+        }
+
+        // durable under its final name; returns the file size
+        long publish() {
+            try {
+                channel.force(true);
+                channel.close();
+                Files.move(temp, dir.resolve(fileName), StandardCopyOption.ATOMIC_MOVE);
+                published = true;
+                return size;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to publish archive segment " + fileName, e);
+            }
+        }
+
+        // drops the file, whether published or not
+        void discard() {
+            try {
+                channel.close();
+                Files.deleteIfExists(temp);
+                if (published) {
+                    delete(fileName);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to discard archive segment " + fileName, e);
+            }
+        }
+    }
+
+    void delete(String fileName) {
+        try {
+            Files.deleteIfExists(dir.resolve(fileName));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete archive segment " + fileName, e);
+        }
+    }
+
+    // ===============================
+    // READ
+    // ===============================
+    List<LeaveResponse> read(Block block) {
+
+        ByteBuffer buffer = ByteBuffer.allocate(block.byteLength());
+
+        try (FileChannel channel = FileChannel.open(dir.resolve(block.fileName()), StandardOpenOption.READ)) {
+            long position = block.byteOffset();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Segment ends inside a block");
+                }
+                position += read;
+            }
+            return decode(buffer.array(), block.rowCount());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive segment " + block.fileName(), e);
+        }
+    }
+
+    // ===============================
+    // RECORD FORMAT
+    // ===============================
+    // per block: format byte, then each leave's fields in constructor order;
+    // nullable fields are prefixed with a presence flag
+    private static byte[] encode(List<LeaveResponse> rows) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(FORMAT);
+            for (LeaveResponse leave : rows) {
+                out.writeInt(leave.getLeaveId());
+                out.writeInt(leave.getEmpId());
+                writeString(out, leave.getEmployeeName());
+                writeString(out, leave.getLeaveType());
+                out.writeLong(leave.getStartDate().toEpochDay());
+                out.writeLong(leave.getEndDate().toEpochDay());
+                out.writeInt(leave.getTotalDays());
+                out.writeInt(leave.getPaidDays());
+                out.writeInt(leave.getUnpaidDays());
+                out.writeInt(leave.getYear());
+                writeString(out, leave.getStatus());
+                writeString(out, leave.getReason());
+                writeDateTime(out, leave.getAppliedAt());
+                writeDateTime(out, leave.getApprovedAt());
+                writeString(out, leave.getApprovedBy());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<LeaveResponse> decode(byte[] block, int rowCount) throws IOException {
+
+        List<LeaveResponse> rows = new ArrayList<>(rowCount);
+        try (DataInputStream in = new DataInputStream(
+                new GZIPInputStream(new ByteArrayInputStream(block)))) {
+            byte format = in.readByte();
+            if (format != FORMAT) {
+                throw new IOException("Unknown archive block format " + format);
+            }
+            for (int i = 0; i < rowCount; i++) {
+                rows.add(new LeaveResponse(
+                        in.readInt(),
+                        in.readInt(),
+                        readString(in),
+                        readString(in),
+                        LocalDate.ofEpochDay(in.readLong()),
+                        LocalDate.ofEpochDay(in.readLong()),
+                        in.readInt(),
+                        in.readInt(),
+                        in.readInt(),
+                        in.readInt(),
+                        readString(in),
+                        readString(in),
+                        readDateTime(in),
+                        readDateTime(in),
+                        readString(in)));
+            }
+        }
+        return rows;
+    }
+
+    // length-prefixed UTF-8 (writeUTF stops at 64 KB); -1 for null
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveBalance;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Repo.EmployeeRepository;
+import com.example.JPA_TASK_01.Repo.LeaveArchiveRepository;
+import com.example.JPA_TASK_01.Repo.LeaveBalanceRepository;
+import com.example.JPA_TASK_01.Service.LeaveBalanceService;
+import com.example.JPA_TASK_01.util.EmployeeYearLock;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class LeaveBalanceServiceImpl implements LeaveBalanceService {
+
+    private final LeaveBalanceRepository balanceRepo;
+    private final EmployeeRepository employeeRepo;
+    private final LeavePolicyRegistry policyRegistry;
+    private final LeaveArchiveRepository archiveRepo;
+    private final EmployeeYearLock employeeYearLock;
+
+    public LeaveBalanceServiceImpl(
+            LeaveBalanceRepository balanceRepo,
+            EmployeeRepository employeeRepo,
+            LeavePolicyRegistry policyRegistry,
+            LeaveArchiveRepository archiveRepo,
+            EmployeeYearLock employeeYearLock) {
+        this.balanceRepo = balanceRepo;
+        this.employeeRepo = employeeRepo;
+        this.policyRegistry = policyRegistry;
+        this.archiveRepo = archiveRepo;
+        this.employeeYearLock = employeeYearLock;
+    }
+
+    // ===============================
+    // YEARLY LIMITS (IN-MEMORY POLICY TABLE)
+    // ===============================
+    private int entitledDays(Employee employee, LeaveType leaveType, int year) {
+        return entitledDays(deptId(employee), employee.getJoiningDate(), leaveType, year);
+    }
+
+    // accruing types only hold what has been earned so far this year
+    @Override
+    public int entitledDays(Integer deptId, LocalDate joiningDate, LeaveType leaveType, int year) {
+        int limit = policyRegistry.yearlyLimit(leaveType, deptId, year);
+        return leaveType.isAccruing()
+                ? LeaveAccrualCalculator.accruedDays(limit, joiningDate, year, YearMonth.now())
+                : limit;
+    }
+
+    // the ledger row keeps what has accrued so far; only sizing looks ahead
+    @Override
+    public int entitledDaysFor(Integer deptId, LocalDate joiningDate, LeaveType leaveType, LocalDate startDate) {
+        int limit = policyRegistry.yearlyLimit(leaveType, deptId, startDate.getYear());
+        return leaveType.isAccruing()
+                ? LeaveAccrualCalculator.projectedDays(limit, joiningDate, startDate, YearMonth.now())
+                : limit;
+    }
+
+    @Override
+    public int remainingDaysFor(LeaveBalance balance, LocalDate startDate) {
+        Employee employee = balance.getEmployee();
+        int entitled = entitledDaysFor(
+                deptId(employee), employee.getJoiningDate(), LeaveType.from(balance.getLeaveType()), startDate);
+        return Math.max(0, entitled + balance.getCarriedForwardDays()
+                - balance.getUsedDays() - balance.getPendingDays());
+    }
+
+    private static Integer deptId(Employee employee) {
+        return employee.getDepartment() != null
+                ? employee.getDepartment().getDeptId()
+                : null;
+    }
+
+    // ===============================
+    // READ / CREATE LEDGER ROW
+    // ===============================
+    @Override
+    public LeaveBalance getOrCreate(Employee employee, LeaveType leaveType, int year) {
+
+        int entitled = entitledDays(employee, leaveType, year);
+
+        LeaveBalance balance = balanceRepo
+                .findByEmployee_EmpIdAndLeaveTypeAndYear(employee.getEmpId(), leaveType.name(), year)
+                .orElseGet(() -> create(employee, leaveType, year, entitled));
+
+        // policy edited (or another month accrued) since the row was written
+        if (balance.getEntitledDays() != entitled) {
+            balance.setEntitledDays(entitled);
+        }
+
+        return balance;
+    }
+
+    // first touch for this key: seed from existing leaves once. Applies and
+    // edits already hold the (employee, year) lock here; decisions, revokes
+    // and deletes take it now, so whoever comes second re-reads the row the
+    // first one inserted instead of failing on uq_leave_balance_emp_type_year
+    private LeaveBalance create(Employee employee, LeaveType leaveType, int year, int entitled) {
+
+        employeeYearLock.lock(employee.getEmpId(), year);
+
+        return balanceRepo
+                .findByEmployee_EmpIdAndLeaveTypeAndYear(employee.getEmpId(), leaveType.name(), year)
+                .orElseGet(() -> {
+                    LeaveBalance created = new LeaveBalance(employee, leaveType.name(), year, entitled);
+                    for (Object[] row : balanceRepo.aggregatePaidDaysFromLeaves(
+                            employee.getEmpId(), leaveType.name(), year)) {
+                        created.setUsedDays(((Number) row[0]).intValue());
+                        created.setPendingDays(((Number) row[1]).intValue());
+                    }
+                    return balanceRepo.save(created);
+                });
+    }
+
+    // ===============================
+    // COUNTER TRANSITIONS
+    // ===============================
+    @Override
+    public void reservePending(LeaveRequest leave) {
+        adjust(leave, 0, leave.getPaidDays());
+    }
+
+    @Override
+    public void releasePending(LeaveRequest leave) {
+        adjust(leave, 0, -leave.getPaidDays());
+    }
+
+    @Override
+    public void commitApproved(LeaveRequest leave) {
+        adjust(leave, leave.getPaidDays(), -leave.getPaidDays());
+    }
+
+    @Override
+    public void releaseApproved(LeaveRequest leave) {
+        adjust(leave, -leave.getPaidDays(), 0);
+    }
+
+    private void adjust(LeaveRequest leave, int usedDelta, int pendingDelta) {
+
+        if (usedDelta == 0 && pendingDelta == 0) {
+            return;
+        }
+
+        Integer empId = leave.getEmployee().getEmpId();
+
+        int updated = balanceRepo.adjust(
+                empId, leave.getLeaveType(), leave.getYear(), usedDelta, pendingDelta);
+
+        if (updated == 0) {
+            // no row yet: create it and apply the delta to the managed
+            // instance, not with a second bulk UPDATE that would leave it
+            // stale for a getOrCreate later in this transaction
+            LeaveBalance balance = getOrCreate(
+                    leave.getEmployee(), LeaveType.from(leave.getLeaveType()), leave.getYear());
+            balance.setUsedDays(Math.max(0, balance.getUsedDays() + usedDelta));
+            balance.setPendingDays(Math.max(0, balance.getPendingDays() + pendingDelta));
+            balance.setUpdatedAt(LocalDateTime.now());
+        }
+    }
+
+    // ===============================
+    // REBUILD / RECONCILE
+    // ===============================
+    @Override
+    public int rebuildFromLeaves() {
+
+        int archivedThroughYear = archiveRepo.findArchivedThroughYear();
+
+        balanceRepo.resetCounters(archivedThroughYear);
+
+        Map<String, LeaveBalance> existing = new HashMap<>();
+        for (LeaveBalance balance : balanceRepo.findAll()) {
+            existing.put(
+                    key(balance.getEmployee().getEmpId(), balance.getLeaveType(), balance.getYear()),
+                    balance);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> totals = balanceRepo.aggregatePaidDaysFromLeaves(archivedThroughYear);
+
+        for (Object[] row : totals) {
+            Integer empId = (Integer) row[0];
+            String leaveType = (String) row[1];
+            Integer year = (Integer) row[2];
+
+            LeaveBalance balance = existing.get(key(empId, leaveType, year));
+            if (balance == null) {
+                Employee employee = employeeRepo.getReferenceById(empId);
+                balance = new LeaveBalance(
+                        employee,
+                        leaveType,
+                        year,
+                        entitledDays(employee, LeaveType.from(leaveType), year));
+                balanceRepo.save(balance);
+            }
+
+            balance.setUsedDays(((Number) row[3]).intValue());
+            balance.setPendingDays(((Number) row[4]).intValue());
+            balance.setUpdatedAt(now);
+        }
+
+        return totals.size();
+    }
+
+    private String key(Integer empId, String leaveType, Integer year) {
+        return empId + ":" + leaveType + ":" + year;
+    }
+}
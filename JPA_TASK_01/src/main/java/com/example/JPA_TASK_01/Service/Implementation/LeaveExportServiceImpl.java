@@ -0,0 +1,174 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminFilter;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminOrder;
+import com.example.JPA_TASK_01.Service.LeaveExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Streams admin search results straight from a JDBC cursor into the
+// response: one row is in memory at a time, whatever the export size.
+// The transaction keeps the cursor open (PostgreSQL only honours the
+// fetch size with autocommit off) until the last row is written.
+@Service
+@Transactional
+public class LeaveExportServiceImpl implements LeaveExportService {
+
+    private static final String CSV_HEADER =
+            "leave_id,emp_id,employee_name,leave_type,start_date,end_date,total_days,paid_days,"
+                    + "unpaid_days,year,status,reason,applied_at,approved_at,approved_by";
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public LeaveExportServiceImpl(
+            LeaveRequestRepository leaveRequestRepository,
+            ObjectMapper objectMapper,
+            @Value("${leave.export.fetch-size:1000}") int fetchSize) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public long exportLeavesForAdmin(
+            Integer empId,
+            String status,
+            String leaveType,
+            Integer year,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Format format,
+            OutputStream out
+    ) throws IOException {
+
+        AdminFilter filter = new AdminFilter(empId, status, leaveType, year, fromDate, toDate);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        // (applied_at, leave_id) is indexed, so rows come out in index order
+        try (Stream<LeaveResponse> rows =
+                     leaveRequestRepository.streamAdminResponses(filter, AdminOrder.APPLIED_ASC, fetchSize)) {
+            long count = format == Format.NDJSON
+                    ? writeNdjson(rows.iterator(), writer)
+                    : writeCsv(rows.iterator(), writer);
+            writer.flush();
+            return count;
+        }
+    }
+
+    // ===============================
+    // NDJSON: one LeaveResponse object per line
+    // ===============================
+    private long writeNdjson(Iterator<LeaveResponse> rows, Writer writer) throws IOException {
+
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+        // no flush per row: let the buffers fill before hitting the socket
+        ObjectWriter rowWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        while (rows.hasNext()) {
+            rowWriter.writeValue(generator, rows.next());
+            count++;
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return count;
+    }
+
+    // ===============================
+    // CSV (RFC 4180 quoting)
+    // ===============================
+    private long writeCsv(Iterator<LeaveResponse> rows, Writer writer) throws IOException {
+
+        long count = 0;
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+
+        while (rows.hasNext()) {
+            LeaveResponse r = rows.next();
+            writer.write(String.valueOf(r.getLeaveId()));
+            writer.write(',');
+            writer.write(String.valueOf(r.getEmpId()));
+            writer.write(',');
+            writeField(writer, r.getEmployeeName());
+            writer.write(',');
+            writeField(writer, r.getLeaveType());
+            writer.write(',');
+            writeField(writer, r.getStartDate());
+            writer.write(',');
+            writeField(writer, r.getEndDate());
+            writer.write(',');
+            writeField(writer, r.getTotalDays());
+            writer.write(',');
+            writeField(writer, r.getPaidDays());
+            writer.write(',');
+            writeField(writer, r.getUnpaidDays());
+            writer.write(',');
+            writeField(writer, r.getYear());
+            writer.write(',');
+            writeField(writer, r.getStatus());
+            writer.write(',');
+            writeField(writer, r.getReason());
+            writer.write(',');
+            writeField(writer, r.getAppliedAt());
+            writer.write(',');
+            writeField(writer, r.getApprovedAt());
+            writer.write(',');
+            writeField(writer, r.getApprovedBy());
+            writer.write("\r\n");
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeField(Writer writer, Object value) throws IOException {
+
+        if (value == null) {
+            return;
+        }
+
+        String text = value.toString();
+
+        // spreadsheet formula injection: free text starting with = + - @
+        // is prefixed so it opens as text
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0
+                && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Repo.LeavePartitionRepository;
+import com.example.JPA_TASK_01.config.DatabasePlatform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Keeps a leave_request partition ready for this year and the next
+// years-ahead years, so leaves are never routed to the DEFAULT partition in
+// normal use (rows there are scanned by every query that cannot rule the
+// default out). Runs at startup and monthly; creating an existing
+// partition is a no-op. Only PostgreSQL partitions; H2 has nothing to do.
+@Component
+class LeavePartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(LeavePartitionMaintainer.class);
+
+    private final LeavePartitionRepository partitionRepo;
+    private final DatabasePlatform databasePlatform;
+    private final int yearsAhead;
+
+    LeavePartitionMaintainer(
+            LeavePartitionRepository partitionRepo,
+            DatabasePlatform databasePlatform,
+            @Value("${leave.partitions.years-ahead:1}") int yearsAhead) {
+        this.partitionRepo = partitionRepo;
+        this.databasePlatform = databasePlatform;
+        this.yearsAhead = yearsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${leave.partitions.cron:0 0 3 1 * *}")
+    public void ensurePartitions() {
+
+        if (!databasePlatform.isPostgres()) {
+            return;
+        }
+
+        int year = LocalDate.now().getYear();
+        for (int y = year; y <= year + yearsAhead; y++) {
+            try {
+                if (partitionRepo.ensureYear(y)) {
+                    log.info("Created leave_request partition for {}", y);
+                }
+            } catch (RuntimeException ex) {
+                // leaves of that year still land in the DEFAULT partition; retried next run
+                log.error("Could not create leave_request partition for {}", y, ex);
+            }
+        }
+    }
+}
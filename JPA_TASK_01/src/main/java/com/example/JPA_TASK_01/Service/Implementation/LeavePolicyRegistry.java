@@ -0,0 +1,55 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Repo.LeavePolicyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Holds the current LeavePolicyTable. Readers never lock: an edit builds a new
+// table and swaps the reference (copy-on-write). Every node polls a cheap
+// change stamp, so an edit on one node reaches the others without a restart.
+@Service
+public class LeavePolicyRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(LeavePolicyRegistry.class);
+
+    private final LeavePolicyRepository policyRepo;
+
+    private volatile LeavePolicyTable table = LeavePolicyTable.defaults();
+    private volatile String loadedStamp;
+
+    public LeavePolicyRegistry(LeavePolicyRepository policyRepo) {
+        this.policyRepo = policyRepo;
+    }
+
+    public int yearlyLimit(LeaveType type, Integer deptId, int year) {
+        return table.yearlyLimit(type, deptId, year);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        String stamp = currentStamp();
+        table = LeavePolicyTable.build(policyRepo.findAllRules());
+        loadedStamp = stamp;
+    }
+
+    @Scheduled(fixedDelayString = "${leave.policy.refresh-interval-ms:30000}")
+    public void refreshIfChanged() {
+        if (!Objects.equals(loadedStamp, currentStamp())) {
+            log.info("Leave policy change detected, reloading policy table");
+            reload();
+        }
+    }
+
+    private String currentStamp() {
+        LocalDateTime lastUpdated = policyRepo.findLastUpdatedAt();
+        return policyRepo.count() + "|" + lastUpdated;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeavePolicy.LeavePolicyRequest;
+import com.example.JPA_TASK_01.DTO.LeavePolicy.LeavePolicyResponse;
+import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Entity.LeavePolicy;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Mapper.LeavePolicyMapper;
+import com.example.JPA_TASK_01.Repo.DeptRepository;
+import com.example.JPA_TASK_01.Repo.LeavePolicyRepository;
+import com.example.JPA_TASK_01.Service.LeavePolicyService;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Transactional
+public class LeavePolicyServiceImpl implements LeavePolicyService {
+
+    private final LeavePolicyRepository policyRepo;
+    private final DeptRepository deptRepo;
+    private final LeavePolicyRegistry policyRegistry;
+
+    public LeavePolicyServiceImpl(
+            LeavePolicyRepository policyRepo,
+            DeptRepository deptRepo,
+            LeavePolicyRegistry policyRegistry) {
+        this.policyRepo = policyRepo;
+        this.deptRepo = deptRepo;
+        this.policyRegistry = policyRegistry;
+    }
+
+    @Override
+    public List<LeavePolicyResponse> getAllPolicies() {
+        return policyRepo.findAll()
+                .stream()
+                .map(LeavePolicyMapper::toResponse)
+                .toList();
+    }
+
+    // ===============================
+    // CREATE OR UPDATE (UPSERT BY SCOPE)
+    // ===============================
+    @Override
+    public LeavePolicyResponse savePolicy(LeavePolicyRequest request) {
+
+        LeaveType leaveType = LeaveType.from(request.getLeaveType());
+
+        if (request.getYearlyLimit() == null || request.getYearlyLimit() < 0) {
+            throw new IllegalArgumentException("Yearly limit must be zero or more");
+        }
+
+        LeavePolicy policy = policyRepo
+                .findByScope(leaveType, request.getDeptId(), request.getYear())
+                .orElseGet(LeavePolicy::new);
+
+        Department dept = null;
+        if (request.getDeptId() != null) {
+            dept = deptRepo.findById(request.getDeptId())
+                    .orElseThrow(() -> new RuntimeException("Department not found"));
+        }
+
+        policy.setLeaveType(leaveType);
+        policy.setDepartment(dept);
+        policy.setYear(request.getYear());
+        policy.setYearlyLimit(request.getYearlyLimit());
+        policy.setUpdatedAt(LocalDateTime.now());
+
+        LeavePolicy saved = policyRepo.save(policy);
+        reloadAfterCommit();
+
+        return LeavePolicyMapper.toResponse(saved);
+    }
+
+    @Override
+    public void deletePolicy(Integer policyId) {
+
+        LeavePolicy policy = policyRepo.findById(policyId)
+                .orElseThrow(() -> new RuntimeException("Leave policy not found"));
+
+        policyRepo.delete(policy);
+        reloadAfterCommit();
+    }
+
+    // swap the in-memory table on this node as soon as the edit is visible
+    private void reloadAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                policyRegistry.reload();
+            }
+        });
+    }
+}
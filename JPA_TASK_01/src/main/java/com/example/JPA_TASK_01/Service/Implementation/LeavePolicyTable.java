@@ -0,0 +1,100 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Entity.LeaveType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable snapshot of every leave_policy row, indexed by LeaveType ordinal.
+// A slot holding UNSET falls through to the next, less specific scope:
+// dept + year -> dept -> year -> global -> LeaveType default.
+final class LeavePolicyTable {
+
+    private static final int UNSET = -1;
+    private static final int TYPES = LeaveType.values().length;
+
+    private final int[] global;
+    private final Map<Integer, int[]> byYear;
+    private final Map<Integer, int[]> byDept;
+    private final Map<Long, int[]> byDeptAndYear;
+
+    private LeavePolicyTable(
+            int[] global,
+            Map<Integer, int[]> byYear,
+            Map<Integer, int[]> byDept,
+            Map<Long, int[]> byDeptAndYear) {
+        this.global = global;
+        this.byYear = byYear;
+        this.byDept = byDept;
+        this.byDeptAndYear = byDeptAndYear;
+    }
+
+    static LeavePolicyTable defaults() {
+        return build(List.of());
+    }
+
+    // rows: [LeaveType, deptId, year, yearlyLimit]
+    static LeavePolicyTable build(List<Object[]> rows) {
+
+        int[] global = new int[TYPES];
+        for (LeaveType type : LeaveType.values()) {
+            global[type.ordinal()] = type.getDefaultYearlyLimit();
+        }
+
+        Map<Integer, int[]> byYear = new HashMap<>();
+        Map<Integer, int[]> byDept = new HashMap<>();
+        Map<Long, int[]> byDeptAndYear = new HashMap<>();
+
+        for (Object[] row : rows) {
+            LeaveType type = (LeaveType) row[0];
+            Integer deptId = (Integer) row[1];
+            Integer year = (Integer) row[2];
+            int limit = (Integer) row[3];
+
+            int[] slots;
+            if (deptId == null && year == null) slots = global;
+            else if (deptId == null) slots = byYear.computeIfAbsent(year, k -> unsetSlots());
+            else if (year == null) slots = byDept.computeIfAbsent(deptId, k -> unsetSlots());
+            else slots = byDeptAndYear.computeIfAbsent(key(deptId, year), k -> unsetSlots());
+
+            slots[type.ordinal()] = limit;
+        }
+
+        return new LeavePolicyTable(global, Map.copyOf(byYear), Map.copyOf(byDept), Map.copyOf(byDeptAndYear));
+    }
+
+    int yearlyLimit(LeaveType type, Integer deptId, int year) {
+
+        int i = type.ordinal();
+        int limit;
+
+        if (deptId != null) {
+            limit = slot(byDeptAndYear.get(key(deptId, year)), i);
+            if (limit != UNSET) return limit;
+
+            limit = slot(byDept.get(deptId), i);
+            if (limit != UNSET) return limit;
+        }
+
+        limit = slot(byYear.get(year), i);
+        if (limit != UNSET) return limit;
+
+        return global[i];
+    }
+
+    private static int slot(int[] slots, int i) {
+        return slots == null ? UNSET : slots[i];
+    }
+
+    private static int[] unsetSlots() {
+        int[] slots = new int[TYPES];
+        Arrays.fill(slots, UNSET);
+        return slots;
+    }
+
+    private static long key(int deptId, int year) {
+        return ((long) deptId << 32) | (year & 0xffffffffL);
+    }
+}
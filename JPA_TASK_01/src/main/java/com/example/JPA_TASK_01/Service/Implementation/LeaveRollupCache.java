@@ -0,0 +1,75 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Repo.LeaveRollupRepository.RollupRow;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// In-memory copy of leave_rollup, one immutable snapshot per year indexed
+// by department, so dashboard slices never reach the database once warm.
+// Same stale-put guard as DepartmentAbsenceCache: a year loaded while a
+// change commits is served once but not kept.
+@Component
+class LeaveRollupCache {
+
+    static final class YearRollup {
+
+        private final List<RollupRow> rows;
+        private final Map<Integer, List<RollupRow>> byDept;
+
+        YearRollup(List<RollupRow> rows) {
+            this.rows = List.copyOf(rows);
+            Map<Integer, List<RollupRow>> grouped = new HashMap<>();
+            for (RollupRow row : this.rows) {
+                grouped.computeIfAbsent(row.cell().deptId(), d -> new ArrayList<>()).add(row);
+            }
+            grouped.replaceAll((dept, list) -> List.copyOf(list));
+            this.byDept = Map.copyOf(grouped);
+        }
+
+        List<RollupRow> rows(Integer deptId) {
+            return deptId == null ? rows : byDept.getOrDefault(deptId, List.of());
+        }
+    }
+
+    private final ConcurrentHashMap<Integer, YearRollup> years = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    YearRollup get(int year, Supplier<List<RollupRow>> loader) {
+
+        YearRollup cached = years.get(year);
+        if (cached != null) {
+            return cached;
+        }
+
+        long seen = generation.get();
+        YearRollup loaded = new YearRollup(loader.get());
+        if (generation.get() == seen) {
+            years.put(year, loaded);
+            if (generation.get() != seen) {
+                years.remove(year, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    void evictYears(Collection<Integer> changed) {
+        generation.incrementAndGet();
+        changed.forEach(years::remove);
+    }
+
+    // rebuilds and other nodes' changes are picked up on the next load
+    @Scheduled(fixedDelayString = "${leave.rollup.cache-refresh-ms:60000}")
+    public void evictAll() {
+        generation.incrementAndGet();
+        years.clear();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Event.LeaveChangedEvent;
+import com.example.JPA_TASK_01.Repo.LeaveRollupRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRollupRepository.Cell;
+import com.example.JPA_TASK_01.Repo.LeaveRollupRepository.RollupDelta;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Keeps leave_rollup in step with leave_request. Every LeaveChangedEvent
+// removes the "before" snapshot from its cell and adds the "after" one.
+// Deltas are collected per transaction and written once, sorted by cell,
+// just before commit: a bulk decision costs one batch, the rollup commits
+// or rolls back with the leave, and concurrent writers lock cells in the
+// same order. The read cache drops the touched years after commit.
+@Component
+class LeaveRollupRecorder {
+
+    private final LeaveRollupRepository rollupRepo;
+    private final LeaveRollupCache cache;
+
+    LeaveRollupRecorder(LeaveRollupRepository rollupRepo, LeaveRollupCache cache) {
+        this.rollupRepo = rollupRepo;
+        this.cache = cache;
+    }
+
+    // synchronous: runs inside the publishing transaction
+    @EventListener
+    public void onLeaveChanged(LeaveChangedEvent event) {
+
+        if (event.getDeptId() == null) {
+            return;
+        }
+
+        Map<Cell, int[]> deltas = new TreeMap<>();
+        add(deltas, event.getDeptId(), event.getBefore(), -1);
+        add(deltas, event.getDeptId(), event.getAfter(), 1);
+        record(deltas);
+    }
+
+    // ===============================
+    // TRANSACTION-BOUND ACCUMULATION
+    // ===============================
+    void record(Map<Cell, int[]> deltas) {
+
+        deltas.values().removeIf(d -> d[0] == 0 && d[1] == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            rollupRepo.applyDeltas(toList(deltas));
+            cache.evictYears(years(deltas));
+            return;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.merge(deltas);
+    }
+
+    static void add(Map<Cell, int[]> deltas, Integer deptId, LeaveResponse leave, int sign) {
+
+        if (leave == null || leave.getStartDate() == null || leave.getStatus() == null) {
+            return;
+        }
+
+        Cell cell = new Cell(
+                leave.getStartDate().getYear(),
+                deptId,
+                leave.getLeaveType(),
+                leave.getStartDate().getMonthValue(),
+                leave.getStatus());
+        int days = leave.getTotalDays() == null ? 0 : leave.getTotalDays();
+
+        int[] delta = deltas.computeIfAbsent(cell, c -> new int[2]);
+        delta[0] += sign;
+        delta[1] += sign * days;
+    }
+
+    private static List<RollupDelta> toList(Map<Cell, int[]> deltas) {
+        List<RollupDelta> list = new ArrayList<>(deltas.size());
+        deltas.forEach((cell, d) -> list.add(new RollupDelta(cell, d[0], d[1])));
+        return list;
+    }
+
+    private static Set<Integer> years(Map<Cell, int[]> deltas) {
+        Set<Integer> years = new TreeSet<>();
+        deltas.keySet().forEach(cell -> years.add(cell.year()));
+        return years;
+    }
+
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<Cell, int[]> deltas = new TreeMap<>();
+        private final Set<Integer> years = new TreeSet<>();
+
+        void merge(Map<Cell, int[]> more) {
+            more.forEach((cell, d) -> {
+                int[] total = deltas.computeIfAbsent(cell, c -> new int[2]);
+                total[0] += d[0];
+                total[1] += d[1];
+            });
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            deltas.values().removeIf(d -> d[0] == 0 && d[1] == 0);
+            years.addAll(LeaveRollupRecorder.years(deltas));
+            rollupRepo.applyDeltas(toList(deltas));
+        }
+
+        @Override
+        public void afterCommit() {
+            cache.evictYears(years);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(LeaveRollupRecorder.this);
+        }
+    }
+}
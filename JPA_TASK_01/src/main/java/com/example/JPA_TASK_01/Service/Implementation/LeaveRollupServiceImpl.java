@@ -0,0 +1,138 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveAnalytics.LeaveRollupResponse;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Repo.LeaveArchiveRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRollupRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRollupRepository.Cell;
+import com.example.JPA_TASK_01.Repo.LeaveRollupRepository.RollupRow;
+import com.example.JPA_TASK_01.Service.LeaveRollupService;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@Transactional
+public class LeaveRollupServiceImpl implements LeaveRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveRollupServiceImpl.class);
+
+    private final LeaveRollupRepository rollupRepo;
+    private final LeaveRequestRepository leaveRepo;
+    private final LeaveRollupRecorder recorder;
+    private final LeaveRollupCache cache;
+    private final LeaveArchiveRepository archiveRepo;
+
+    public LeaveRollupServiceImpl(
+            LeaveRollupRepository rollupRepo,
+            LeaveRequestRepository leaveRepo,
+            LeaveRollupRecorder recorder,
+            LeaveRollupCache cache,
+            LeaveArchiveRepository archiveRepo) {
+        this.rollupRepo = rollupRepo;
+        this.leaveRepo = leaveRepo;
+        this.recorder = recorder;
+        this.cache = cache;
+        this.archiveRepo = archiveRepo;
+    }
+
+    // ===============================
+    // READ (served from the in-memory year snapshot)
+    // ===============================
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public LeaveRollupResponse getRollup(int year, Integer deptId, String leaveType, Integer month, String status) {
+
+        String type = leaveType == null || leaveType.isBlank() ? null : LeaveType.from(leaveType).name();
+        String state = status == null || status.isBlank() ? null : status.trim().toUpperCase();
+        if (month != null && (month < 1 || month > 12)) {
+            throw new IllegalArgumentException("Invalid month");
+        }
+
+        LeaveRollupCache.YearRollup snapshot = cache.get(year, () -> rollupRepo.findByYear(year));
+
+        List<LeaveRollupResponse.Cell> cells = new ArrayList<>();
+        Map<String, int[]> byStatus = new TreeMap<>();
+
+        for (RollupRow row : snapshot.rows(deptId)) {
+            Cell cell = row.cell();
+            if ((type != null && !type.equals(cell.leaveType()))
+                    || (month != null && !month.equals(cell.month()))
+                    || (state != null && !state.equals(cell.status()))) {
+                continue;
+            }
+
+            cells.add(new LeaveRollupResponse.Cell(
+                    cell.deptId(), cell.leaveType(), cell.month(), cell.status(),
+                    row.leaveCount(), row.totalDays()));
+
+            int[] totals = byStatus.computeIfAbsent(cell.status(), s -> new int[2]);
+            totals[0] += row.leaveCount();
+            totals[1] += row.totalDays();
+        }
+
+        Map<String, LeaveRollupResponse.Totals> totals = new TreeMap<>();
+        byStatus.forEach((s, t) -> totals.put(s, new LeaveRollupResponse.Totals(t[0], t[1])));
+
+        return new LeaveRollupResponse(year, cells, totals);
+    }
+
+    // ===============================
+    // FULL REBUILD
+    // ===============================
+    @Override
+    public int rebuild() {
+
+        int cells = rollupRepo.rebuild(archiveRepo.findArchivedThroughYear());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evictAll();
+            }
+        });
+
+        return cells;
+    }
+
+    // first start on an existing database: seed the table once
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rollupRepo.isEmpty() && leaveRepo.count() > 0) {
+            log.info("leave_rollup is empty, rebuilt {} cells", rebuild());
+        }
+    }
+
+    // ===============================
+    // DEPARTMENT MOVES / EMPLOYEE DELETES
+    // ===============================
+    @Override
+    public void moveEmployee(Integer empId, Integer fromDeptId, Integer toDeptId) {
+
+        if (empId == null || fromDeptId == null || fromDeptId.equals(toDeptId)) {
+            return;
+        }
+
+        Map<Cell, int[]> deltas = new TreeMap<>();
+        for (RollupRow row : rollupRepo.aggregateEmployee(empId, fromDeptId)) {
+            Cell from = row.cell();
+            deltas.put(from, new int[]{-row.leaveCount(), -row.totalDays()});
+            if (toDeptId != null) {
+                Cell to = new Cell(from.year(), toDeptId, from.leaveType(), from.month(), from.status());
+                deltas.put(to, new int[]{row.leaveCount(), row.totalDays()});
+            }
+        }
+        recorder.record(deltas);
+    }
+}
@@ -1,53 +1,157 @@
 package com.example.JPA_TASK_01.Service.Implementation;
 
 import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionResult;
 import com.example.JPA_TASK_01.DTO.LeaveRequest.EditLeaveRequest;
 import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchCursor;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchPage;
 import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveBalance;
 import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Entity.LeaveType;
 import com.example.JPA_TASK_01.Entity.User;
+import com.example.JPA_TASK_01.Event.LeaveChangedEvent;
+import com.example.JPA_TASK_01.Exception.LeaveOverlapException;
 import com.example.JPA_TASK_01.Mapper.LeaveMapper;
 import com.example.JPA_TASK_01.Repo.EmployeeRepository;
+import com.example.JPA_TASK_01.Repo.LeaveApplyRepository;
+import com.example.JPA_TASK_01.Repo.LeaveApplyRepository.ApplyContext;
+import com.example.JPA_TASK_01.Repo.LeaveBatchRepository;
 import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminFilter;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminOrder;
 import com.example.JPA_TASK_01.Repo.UserRepository;
+import com.example.JPA_TASK_01.Service.LeaveArchiveService;
+import com.example.JPA_TASK_01.Service.LeaveBalanceService;
 import com.example.JPA_TASK_01.Service.LeaveService;
-import com.example.JPA_TASK_01.Specification.LeaveRequestSpecification;
-import org.springframework.data.jpa.domain.Specification;
+import com.example.JPA_TASK_01.config.DatabasePlatform;
+import com.example.JPA_TASK_01.util.EmployeeYearLock;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
+@Transactional
 public class LeaveServiceImpl implements LeaveService {
 
   private final LeaveRequestRepository leaveRequestRepository;
   private final EmployeeRepository employeeRepository;
   private final UserRepository userRepository;
+  private final LeaveBalanceService leaveBalanceService;
+  private final WorkingCalendar workingCalendar;
+  private final LeaveBatchRepository leaveBatchRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final EmployeeYearLock employeeYearLock;
+  private final LeaveArchiveService leaveArchiveService;
+  private final LeaveApplyRepository leaveApplyRepository;
+  private final boolean resolveInDatabase;
+  private final int adminSearchMaxRows;
+
+  private static final int DEFAULT_PAGE_SIZE = 20;
+  private static final int MAX_PAGE_SIZE = 100;
 
   public LeaveServiceImpl(
           LeaveRequestRepository leaveRequestRepository,
           EmployeeRepository employeeRepository,
-          UserRepository userRepository) {
+          UserRepository userRepository,
+          LeaveBalanceService leaveBalanceService,
+          WorkingCalendar workingCalendar,
+          LeaveBatchRepository leaveBatchRepository,
+          ApplicationEventPublisher eventPublisher,
+          EmployeeYearLock employeeYearLock,
+          LeaveArchiveService leaveArchiveService,
+          LeaveApplyRepository leaveApplyRepository,
+          DatabasePlatform databasePlatform,
+          @Value("${leave.apply.resolve-in-database:true}") boolean resolveInDatabase,
+          @Value("${leave.admin-search.max-rows:1000}") int adminSearchMaxRows) {
     this.leaveRequestRepository = leaveRequestRepository;
     this.employeeRepository = employeeRepository;
     this.userRepository = userRepository;
+    this.leaveBalanceService = leaveBalanceService;
+    this.workingCalendar = workingCalendar;
+    this.leaveBatchRepository = leaveBatchRepository;
+    this.eventPublisher = eventPublisher;
+    this.employeeYearLock = employeeYearLock;
+    this.leaveArchiveService = leaveArchiveService;
+    this.leaveApplyRepository = leaveApplyRepository;
+    // PostgreSQL only: the V5 function does the lookup, lock and reads
+    this.resolveInDatabase = resolveInDatabase && databasePlatform.isPostgres();
+    this.adminSearchMaxRows = adminSearchMaxRows;
+  }
+
+  // delivered to listeners after commit (SSE stream) or before it (read models)
+  private void publish(LeaveChangedEvent.Type type, LeaveRequest leave, LeaveResponse before, LeaveResponse after) {
+    publish(type, leave.getLeaveId(), leave.getEmployee().getDepartment().getDeptId(), before, after);
+  }
+
+  private void publish(LeaveChangedEvent.Type type, Integer leaveId, Integer deptId, LeaveResponse before, LeaveResponse after) {
+    eventPublisher.publishEvent(new LeaveChangedEvent(
+            type,
+            leaveId,
+            deptId,
+            SecurityContextHolder.getContext().getAuthentication().getName(),
+            before,
+            after
+    ));
+  }
+
+  // weekends and holidays are not charged as leave
+  private int workingDays(LocalDate startDate, LocalDate endDate) {
+
+    int days = workingCalendar.countWorkingDays(startDate, endDate);
+
+    if (days == 0) {
+      throw new IllegalArgumentException("Selected dates contain no working days");
+    }
+
+    return days;
+  }
+
+  // no leave runs past the year after it starts, so an overlapping one
+  // starts between last year and endDate's year: only those partitions are probed
+  private void rejectLongSpan(LocalDate startDate, LocalDate endDate) {
+    if (endDate.getYear() > startDate.getYear() + 1) {
+      throw new IllegalArgumentException("A leave can't run past the end of the following year");
+    }
+  }
+
+  // single indexed probe on (emp_id, end_date); the database constraint
+  // excl_leave_request_no_overlap backs this up against concurrent applies
+  // within a year partition (not across New Year, see the V3 migration)
+  private void rejectOverlap(Integer empId, LocalDate startDate, LocalDate endDate, int excludeLeaveId) {
+
+    rejectLongSpan(startDate, endDate);
+
+    if (leaveRequestRepository.existsOverlapping(
+            empId, startDate, endDate, startDate.getYear() - 1, endDate.getYear(), excludeLeaveId)) {
+      throw new LeaveOverlapException("Leave overlaps an existing pending or approved leave");
+    }
   }
 
   // ===============================
   // APPLY LEAVE
   // ===============================
   @Override
+  @Timed(value = "leave.apply", description = "Time to apply for leave", histogram = true)
   public LeaveResponse applyLeave(ApplyLeaveRequest request) {
 
     String email = SecurityContextHolder.getContext().getAuthentication().getName();
-    User user = userRepository.findByEmail(email).orElseThrow();
-    Employee employee = employeeRepository
-            .findByUser_UserId(user.getUserId())
-            .orElseThrow(() -> new RuntimeException("Employee not Found"));
 
     LocalDate startDate = request.getStartDate();
     LocalDate endDate = request.getEndDate();
@@ -60,41 +164,52 @@ public class LeaveServiceImpl implements LeaveService {
       throw new RuntimeException("End date can't be before start date");
     }
 
-    int totalDays = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    LeaveType leaveType = LeaveType.from(request.getLeaveType());
+
+    if (resolveInDatabase) {
+      rejectLongSpan(startDate, endDate);
+
+      int totalDays = workingDays(startDate, endDate);
+
+      ApplyContext context = leaveApplyRepository
+              .resolve(email, leaveType.name(), startDate, endDate)
+              .orElseThrow(() -> new RuntimeException("Employee not Found"));
+
+      if (context.overlapping()) {
+        throw new LeaveOverlapException("Leave overlaps an existing pending or approved leave");
+      }
+
+      if (context.balanceId() != null) {
+        return applyResolved(context, leaveType, startDate, endDate, totalDays, request.getReason());
+      }
+      // first leave of this type and year: the ledger row is seeded below
+    }
+
+    User user = userRepository.findByEmail(email).orElseThrow();
+    Employee employee = employeeRepository
+            .findByUser_UserId(user.getUserId())
+            .orElseThrow(() -> new RuntimeException("Employee not Found"));
+
+    // held until commit: concurrent applies of this employee size their
+    // paid days one after another from the committed balance
+    employeeYearLock.lock(employee.getEmpId(), startDate.getYear());
 
-    int yearlyLimit;
-    String leaveType = request.getLeaveType();
+    rejectOverlap(employee.getEmpId(), startDate, endDate, 0);
 
-    if (leaveType.equalsIgnoreCase("SICK")) yearlyLimit = 8;
-    else if (leaveType.equalsIgnoreCase("CASUAL")) yearlyLimit = 6;
-    else if (leaveType.equalsIgnoreCase("EARNED")) yearlyLimit = 12;
-    else if (leaveType.equalsIgnoreCase("OPTIONAL")) yearlyLimit = 3;
-    else if (leaveType.equalsIgnoreCase("UNPAID")) yearlyLimit = 0;
-    else throw new RuntimeException("Invalid leave type");
+    int totalDays = workingDays(startDate, endDate);
 
-    int usedPaidDays = leaveRequestRepository.getUsedPaidDays(
-            employee.getEmpId(),
+    LeaveBalance balance = leaveBalanceService.getOrCreate(
+            employee,
             leaveType,
             startDate.getYear()
     );
 
-    int remainingPaidDays = Math.max(0, yearlyLimit - usedPaidDays);
-
-    int paidDays = 0;
-    int unpaidDays = 0;
-
-    if (remainingPaidDays <= 0) {
-      unpaidDays = totalDays;
-    } else if (remainingPaidDays >= totalDays) {
-      paidDays = totalDays;
-    } else {
-      paidDays = remainingPaidDays;
-      unpaidDays = totalDays - paidDays;
-    }
+    int paidDays = paidDays(leaveBalanceService.remainingDaysFor(balance, startDate), totalDays);
+    int unpaidDays = totalDays - paidDays;
 
     LeaveRequest leaveRequest = new LeaveRequest();
     leaveRequest.setEmployee(employee);
-    leaveRequest.setLeaveType(leaveType);
+    leaveRequest.setLeaveType(leaveType.name());
     leaveRequest.setStartDate(startDate);
     leaveRequest.setEndDate(endDate);
     leaveRequest.setTotalDays(totalDays);
@@ -105,34 +220,104 @@ public class LeaveServiceImpl implements LeaveService {
     leaveRequest.setAppliedAt(LocalDateTime.now());
     leaveRequest.setReason(request.getReason());
 
-    return LeaveMapper.toResponse(
+    leaveBalanceService.reservePending(leaveRequest);
+
+    LeaveResponse response = LeaveMapper.toResponse(
             leaveRequestRepository.save(leaveRequest)
     );
+
+    publish(LeaveChangedEvent.Type.CREATED, leaveRequest, null, response);
+
+    return response;
+  }
+
+  // the rest of the PostgreSQL path: the context already holds the lock,
+  // the overlap answer and the ledger row, so one more statement reserves
+  // the paid days and inserts the leave
+  private LeaveResponse applyResolved(
+          ApplyContext context,
+          LeaveType leaveType,
+          LocalDate startDate,
+          LocalDate endDate,
+          int totalDays,
+          String reason) {
+
+    int year = startDate.getYear();
+
+    // as getOrCreate does: policy edits and accrual since the row was written
+    int entitledDays = leaveBalanceService.entitledDays(
+            context.deptId(), context.joiningDate(), leaveType, year);
+
+    // sized by what will have accrued by the leave's month (remainingDaysFor)
+    int remainingDays = Math.max(0, leaveBalanceService.entitledDaysFor(
+                    context.deptId(), context.joiningDate(), leaveType, startDate)
+            + context.carriedForwardDays() - context.usedDays() - context.pendingDays());
+
+    int paidDays = paidDays(remainingDays, totalDays);
+    int unpaidDays = totalDays - paidDays;
+    LocalDateTime appliedAt = LocalDateTime.now();
+
+    int leaveId = leaveApplyRepository.reserveAndInsert(
+            context.balanceId(), entitledDays, context.empId(), leaveType.name(),
+            startDate, endDate, totalDays, paidDays, unpaidDays, reason, appliedAt);
+
+    LeaveResponse response = new LeaveResponse(
+            leaveId,
+            context.empId(),
+            context.employeeName(),
+            leaveType.name(),
+            startDate,
+            endDate,
+            totalDays,
+            paidDays,
+            unpaidDays,
+            year,
+            "PENDING",
+            reason,
+            appliedAt,
+            null,
+            null
+    );
+
+    publish(LeaveChangedEvent.Type.CREATED, leaveId, context.deptId(), null, response);
+
+    return response;
+  }
+
+  // what is left of the paid balance is used first, the rest is unpaid
+  private static int paidDays(int remainingPaidDays, int totalDays) {
+    return Math.max(0, Math.min(remainingPaidDays, totalDays));
   }
 
   // ===============================
   // EMPLOYEE: VIEW OWN LEAVES
   // ===============================
   @Override
-  public List<LeaveResponse> getMyLeaves() {
+  public List<LeaveResponse> getMyLeaves(boolean includeArchived) {
 
     String email = SecurityContextHolder.getContext().getAuthentication().getName();
-    User user = userRepository.findByEmail(email).orElseThrow();
-    Employee emp = employeeRepository.findByUser_UserId(user.getUserId()).orElseThrow();
 
-    return leaveRequestRepository.findByEmployee_EmpId(emp.getEmpId())
-            .stream()
-            .map(LeaveMapper::toResponse)
-            .toList();
+    List<LeaveResponse> leaves = leaveRequestRepository.findResponsesByUserEmail(email);
+
+    if (includeArchived) {
+      Employee employee = employeeRepository.findByUser_Email(email)
+              .orElseThrow(() -> new RuntimeException("Employee not found"));
+      leaves = new ArrayList<>(leaves);
+      leaves.addAll(leaveArchiveService.findArchived(
+              employee.getEmpId(), null, null, null, null, null, 0));
+    }
+
+    return leaves;
   }
 
   // ===============================
   // ADMIN: DECIDE LEAVE
   // ===============================
   @Override
+  @Timed(value = "leave.decide", description = "Time to approve or reject one leave", histogram = true)
   public LeaveResponse decideLeave(Integer leaveId, String decision) {
 
-    LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveId)
+    LeaveRequest leaveRequest = leaveRequestRepository.findWithEmployeeByLeaveId(leaveId)
             .orElseThrow(() -> new RuntimeException("Leave not found"));
 
     if (!leaveRequest.getStatus().equalsIgnoreCase("PENDING")) {
@@ -148,13 +333,129 @@ public class LeaveServiceImpl implements LeaveService {
     User admin = userRepository.findByEmail(email)
             .orElseThrow(() -> new RuntimeException("Admin not found"));
 
+    LeaveResponse before = LeaveMapper.toResponse(leaveRequest);
+
+    if (decision.equalsIgnoreCase("APPROVED")) {
+      leaveBalanceService.commitApproved(leaveRequest);
+    } else {
+      leaveBalanceService.releasePending(leaveRequest);
+    }
+
     leaveRequest.setStatus(decision.toUpperCase());
     leaveRequest.setApprovedAt(LocalDateTime.now());
     leaveRequest.setApprovedBy(admin);
 
-    return LeaveMapper.toResponse(
+    LeaveResponse response = LeaveMapper.toResponse(
             leaveRequestRepository.save(leaveRequest)
     );
+
+    publish(LeaveChangedEvent.Type.DECIDED, leaveRequest, before, response);
+
+    return response;
+  }
+
+  // ===============================
+  // ADMIN: BULK DECIDE LEAVES
+  // ===============================
+  @Override
+  @Timed(value = "leave.decide.bulk", description = "Time to decide a batch of leaves", histogram = true)
+  public List<BulkLeaveDecisionResult> decideLeaves(List<BulkLeaveDecisionRequest.Item> decisions) {
+
+    if (decisions == null || decisions.isEmpty()) {
+      throw new IllegalArgumentException("No decisions provided");
+    }
+
+    String email = SecurityContextHolder.getContext().getAuthentication().getName();
+    User admin = userRepository.findByEmail(email)
+            .orElseThrow(() -> new RuntimeException("Admin not found"));
+
+    // one query for every row (owner fetched along for the change events)
+    Map<Integer, LeaveRequest> leavesById = new HashMap<>();
+    for (LeaveRequest leave : leaveRequestRepository.findAllWithEmployeeByIdIn(
+            decisions.stream().map(BulkLeaveDecisionRequest.Item::getLeaveId)
+                    .filter(Objects::nonNull).distinct().toList())) {
+      leavesById.put(leave.getLeaveId(), leave);
+    }
+
+    // validate in memory; results keep request order
+    BulkLeaveDecisionResult[] results = new BulkLeaveDecisionResult[decisions.size()];
+    List<Integer> accepted = new ArrayList<>();
+    List<LeaveBatchRepository.Decision> batch = new ArrayList<>();
+    Set<Integer> seen = new HashSet<>();
+
+    for (int i = 0; i < decisions.size(); i++) {
+      BulkLeaveDecisionRequest.Item item = decisions.get(i);
+      Integer leaveId = item.getLeaveId();
+      LeaveRequest leave = leavesById.get(leaveId);
+      String decision = item.getDecision() == null ? "" : item.getDecision().toUpperCase();
+
+      if (leave == null) {
+        results[i] = BulkLeaveDecisionResult.failed(leaveId, "Leave not found");
+      } else if (!seen.add(leaveId)) {
+        results[i] = BulkLeaveDecisionResult.failed(leaveId, "Duplicate leave in request");
+      } else if (!"PENDING".equalsIgnoreCase(leave.getStatus())) {
+        results[i] = BulkLeaveDecisionResult.failed(leaveId, "Leave already processed");
+      } else if (!decision.equals("APPROVED") && !decision.equals("REJECTED")) {
+        results[i] = BulkLeaveDecisionResult.failed(leaveId, "Invalid decision");
+      } else {
+        accepted.add(i);
+        batch.add(new LeaveBatchRepository.Decision(leaveId, decision));
+      }
+    }
+
+    if (batch.isEmpty()) {
+      return List.of(results);
+    }
+
+    // status updates as JDBC batches
+    LocalDateTime decidedAt = LocalDateTime.now();
+    int[] updated = leaveBatchRepository.applyDecisions(batch, admin.getUserId(), decidedAt);
+
+    // one ledger delta per (employee, type, year)
+    Map<String, LeaveBatchRepository.BalanceDelta> deltas = new LinkedHashMap<>();
+    for (int j = 0; j < batch.size(); j++) {
+      LeaveBatchRepository.Decision d = batch.get(j);
+      int i = accepted.get(j);
+
+      if (updated[j] == 0) {
+        results[i] = BulkLeaveDecisionResult.failed(d.leaveId(), "Leave already processed");
+        continue;
+      }
+      results[i] = BulkLeaveDecisionResult.ok(d.leaveId(), d.status());
+
+      LeaveRequest leave = leavesById.get(d.leaveId());
+
+      // rows were updated over JDBC; the entity still holds the pending state
+      LeaveResponse before = LeaveMapper.toResponse(leave);
+      publish(LeaveChangedEvent.Type.DECIDED, leave, before,
+              LeaveMapper.withDecision(before, d.status(), decidedAt, admin.getName()));
+
+      int paid = leave.getPaidDays();
+      int usedDelta = d.status().equals("APPROVED") ? paid : 0;
+      deltas.merge(
+              leave.getEmployee().getEmpId() + ":" + leave.getLeaveType() + ":" + leave.getYear(),
+              new LeaveBatchRepository.BalanceDelta(
+                      leave.getEmployee().getEmpId(), leave.getLeaveType(), leave.getYear(), usedDelta, -paid),
+              (a, b) -> new LeaveBatchRepository.BalanceDelta(
+                      a.empId(), a.leaveType(), a.year(),
+                      a.usedDelta() + b.usedDelta(), a.pendingDelta() + b.pendingDelta()));
+    }
+
+    List<LeaveBatchRepository.BalanceDelta> deltaList = new ArrayList<>(deltas.values());
+    int[] adjusted = leaveBatchRepository.adjustBalances(deltaList);
+
+    // legacy rows without a ledger entry: seeding now reads the updated statuses
+    for (int k = 0; k < deltaList.size(); k++) {
+      if (adjusted[k] == 0) {
+        LeaveBatchRepository.BalanceDelta d = deltaList.get(k);
+        leaveBalanceService.getOrCreate(
+                employeeRepository.getReferenceById(d.empId()),
+                LeaveType.from(d.leaveType()),
+                d.year());
+      }
+    }
+
+    return List.of(results);
   }
 
   // ===============================
@@ -162,23 +463,21 @@ public class LeaveServiceImpl implements LeaveService {
   // ===============================
   @Override
   public List<LeaveResponse> getPendingLeaves() {
-    return leaveRequestRepository.findByStatus("PENDING")
-            .stream()
-            .map(LeaveMapper::toResponse)
-            .toList();
+    return leaveRequestRepository.findResponsesByStatus("PENDING");
   }
 
   // ===============================
   // EMPLOYEE: EDIT PENDING LEAVE
   // ===============================
   @Override
+  @Timed(value = "leave.edit", description = "Time to edit a pending leave", histogram = true)
   public LeaveResponse editLeave(int leaveId, EditLeaveRequest editLeaveRequest) {
 
     String email = SecurityContextHolder.getContext().getAuthentication().getName();
     User user = userRepository.findByEmail(email).orElseThrow();
     Employee emp = employeeRepository.findByUser_UserId(user.getUserId()).orElseThrow();
 
-    LeaveRequest leaveRequest = leaveRequestRepository.findById(leaveId)
+    LeaveRequest leaveRequest = leaveRequestRepository.findWithEmployeeByLeaveId(leaveId)
             .orElseThrow(() -> new RuntimeException("Leave not found"));
 
     if (!leaveRequest.getEmployee().getEmpId().equals(emp.getEmpId())) {
@@ -202,43 +501,32 @@ public class LeaveServiceImpl implements LeaveService {
       throw new RuntimeException("End date cannot be before start date");
     }
 
-    int totalDays = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    employeeYearLock.lock(emp.getEmpId(), startDate.getYear());
 
-    String leaveType = editLeaveRequest.getLeaveType() != null
-            ? editLeaveRequest.getLeaveType()
-            : leaveRequest.getLeaveType();
+    rejectOverlap(emp.getEmpId(), startDate, endDate, leaveId);
 
-    int yearlyLimit;
-    if (leaveType.equalsIgnoreCase("SICK")) yearlyLimit = 8;
-    else if (leaveType.equalsIgnoreCase("CASUAL")) yearlyLimit = 6;
-    else if (leaveType.equalsIgnoreCase("EARNED")) yearlyLimit = 12;
-    else if (leaveType.equalsIgnoreCase("OPTIONAL")) yearlyLimit = 3;
-    else if (leaveType.equalsIgnoreCase("UNPAID")) yearlyLimit = 0;
-    else throw new RuntimeException("Invalid leave type");
+    int totalDays = workingDays(startDate, endDate);
 
-    int usedPaidDays = leaveRequestRepository.getUsedPaidDays(
-            emp.getEmpId(),
-            leaveType,
-            startDate.getYear()
-    ) - leaveRequest.getPaidDays();
+    LeaveType leaveType = LeaveType.from(
+            editLeaveRequest.getLeaveType() != null
+                    ? editLeaveRequest.getLeaveType()
+                    : leaveRequest.getLeaveType());
 
-    if (usedPaidDays < 0) {
-      usedPaidDays = 0;
-    }
+    LeaveResponse before = LeaveMapper.toResponse(leaveRequest);
 
-    int remainingPaidDays = Math.max(0, yearlyLimit - usedPaidDays);
+    // give back the old reservation before sizing the new one
+    leaveBalanceService.releasePending(leaveRequest);
 
-    int paidDays = 0;
-    int unpaidDays = 0;
+    LeaveBalance balance = leaveBalanceService.getOrCreate(
+            emp,
+            leaveType,
+            startDate.getYear()
+    );
 
-    if (remainingPaidDays <= 0) unpaidDays = totalDays;
-    else if (remainingPaidDays >= totalDays) paidDays = totalDays;
-    else {
-      paidDays = remainingPaidDays;
-      unpaidDays = totalDays - paidDays;
-    }
+    int paidDays = paidDays(leaveBalanceService.remainingDaysFor(balance, startDate), totalDays);
+    int unpaidDays = totalDays - paidDays;
 
-    leaveRequest.setLeaveType(leaveType);
+    leaveRequest.setLeaveType(leaveType.name());
     leaveRequest.setStartDate(startDate);
     leaveRequest.setEndDate(endDate);
     leaveRequest.setTotalDays(totalDays);
@@ -247,15 +535,21 @@ public class LeaveServiceImpl implements LeaveService {
     leaveRequest.setYear(startDate.getYear());
     leaveRequest.setReason(editLeaveRequest.getReason());
 
-    return LeaveMapper.toResponse(
+    leaveBalanceService.reservePending(leaveRequest);
+
+    LeaveResponse response = LeaveMapper.toResponse(
             leaveRequestRepository.save(leaveRequest)
     );
+
+    publish(LeaveChangedEvent.Type.EDITED, leaveRequest, before, response);
+
+    return response;
   }
 
   @Override
   public LeaveResponse revokeLeave(int leaveId) {
 
-      LeaveRequest leaveRequest=leaveRequestRepository.findById(leaveId).orElseThrow(()-> new RuntimeException("Leave not found"));
+      LeaveRequest leaveRequest=leaveRequestRepository.findWithEmployeeByLeaveId(leaveId).orElseThrow(()-> new RuntimeException("Leave not found"));
       if (!"APPROVED".equalsIgnoreCase(leaveRequest.getStatus())
       )
       {
@@ -270,11 +564,19 @@ public class LeaveServiceImpl implements LeaveService {
       String email=SecurityContextHolder.getContext().getAuthentication().getName();
       User admin=userRepository.findByEmail(email).orElseThrow(()-> new RuntimeException("Admin not found!"));
 
+      LeaveResponse before = LeaveMapper.toResponse(leaveRequest);
+
+      leaveBalanceService.releaseApproved(leaveRequest);
+
       leaveRequest.setStatus("REVOKED");
       leaveRequest.setApprovedAt(LocalDateTime.now());
       leaveRequest.setApprovedBy(admin);
 
-      return LeaveMapper.toResponse(leaveRequestRepository.save(leaveRequest));
+      LeaveResponse response = LeaveMapper.toResponse(leaveRequestRepository.save(leaveRequest));
+
+      publish(LeaveChangedEvent.Type.REVOKED, leaveRequest, before, response);
+
+      return response;
   }
 
   @Override
@@ -283,7 +585,7 @@ public class LeaveServiceImpl implements LeaveService {
     User user = userRepository.findByEmail(email).orElseThrow();
     Employee emp = employeeRepository.findByUser_UserId(user.getUserId()).orElseThrow();
 
-    LeaveRequest leave = leaveRequestRepository.findById(leaveId)
+    LeaveRequest leave = leaveRequestRepository.findWithEmployeeByLeaveId(leaveId)
             .orElseThrow(() -> new RuntimeException("Leave not found"));
 
     if (!leave.getEmployee().getEmpId().equals(emp.getEmpId())) {
@@ -294,10 +596,18 @@ public class LeaveServiceImpl implements LeaveService {
       throw new RuntimeException("Only PENDING leaves can be deleted");
     }
 
+    LeaveResponse before = LeaveMapper.toResponse(leave);
+
+    leaveBalanceService.releasePending(leave);
+
     leaveRequestRepository.delete(leave);
+
+    publish(LeaveChangedEvent.Type.DELETED, leave, before, null);
   }
 
 
+  // bounded: a filter matching more than leave.admin-search.max-rows is
+  // refused instead of loaded whole; the keyset pages below serve any size
   @Override
   public List<LeaveResponse> filterLeavesForAdmin(
           Integer empId,
@@ -305,22 +615,92 @@ public class LeaveServiceImpl implements LeaveService {
           String leaveType,
           Integer year,
           LocalDate fromDate,
-          LocalDate toDate
+          LocalDate toDate,
+          boolean includeArchived
   ) {
 
-    Specification<LeaveRequest> spec =
-            Specification
-                    .allOf(LeaveRequestSpecification.hasEmpId(empId))
-                    .and(LeaveRequestSpecification.hasStatus(status))
-                    .and(LeaveRequestSpecification.hasLeaveType(leaveType))
-                    .and(LeaveRequestSpecification.hasYear(year))
-                    .and(LeaveRequestSpecification.startDateFrom(fromDate))
-                    .and(LeaveRequestSpecification.endDateTo(toDate));
-
-    return leaveRequestRepository.findAll(spec)
-            .stream()
-            .map(LeaveMapper::toResponse)
-            .toList();
+    // one row past the cap is enough to know it is exceeded
+    int limit = adminSearchMaxRows + 1;
+
+    // one cached JPQL string per filter shape instead of a fresh Criteria tree
+    List<LeaveResponse> leaves = leaveRequestRepository.findAdminResponses(
+            new AdminFilter(empId, status, leaveType, year, fromDate, toDate),
+            null, null, AdminOrder.NONE, limit);
+
+    if (includeArchived && leaves.size() < limit) {
+      leaves = new ArrayList<>(leaves);
+      leaves.addAll(leaveArchiveService.findArchived(
+              empId, status, leaveType, year, fromDate, toDate, limit - leaves.size()));
+    }
+
+    if (leaves.size() > adminSearchMaxRows) {
+      throw new IllegalArgumentException("More than " + adminSearchMaxRows
+              + " leaves match; narrow the filters or page through /api/leaves/admin/search/page");
+    }
+
+    return leaves;
+  }
+
+  // ===============================
+  // ADMIN SEARCH (KEYSET PAGES)
+  // ===============================
+  // seeks past the cursor on (applied_at, leave_id) instead of OFFSET,
+  // so page N costs the same as page 1; one extra row tells if more exist
+  @Override
+  public LeaveSearchPage searchLeavesForAdmin(
+          Integer empId,
+          String status,
+          String leaveType,
+          Integer year,
+          LocalDate fromDate,
+          LocalDate toDate,
+          String cursor,
+          Integer size,
+          String sort
+  ) {
+
+    boolean descending;
+    if ("DESC".equalsIgnoreCase(sort)) {
+      descending = true;
+    } else if ("ASC".equalsIgnoreCase(sort)) {
+      descending = false;
+    } else {
+      throw new IllegalArgumentException("Sort must be ASC or DESC");
+    }
+
+    int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Page size must be positive");
+    }
+    pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+
+    LeaveSearchCursor position = cursor == null || cursor.isBlank()
+            ? null
+            : LeaveSearchCursor.decode(cursor);
+
+    List<LeaveResponse> rows = leaveRequestRepository.findAdminResponses(
+            new AdminFilter(empId, status, leaveType, year, fromDate, toDate),
+            null,
+            position,
+            descending ? AdminOrder.APPLIED_DESC : AdminOrder.APPLIED_ASC,
+            pageSize + 1);
+
+    boolean hasMore = rows.size() > pageSize;
+    if (hasMore) {
+      rows = rows.subList(0, pageSize);
+    }
+
+    String nextCursor = null;
+    if (hasMore) {
+      LeaveResponse last = rows.get(rows.size() - 1);
+      nextCursor = new LeaveSearchCursor(last.getAppliedAt(), last.getLeaveId()).encode();
+    }
+
+    return new LeaveSearchPage(
+            rows,
+            nextCursor,
+            hasMore
+    );
   }
 
 }
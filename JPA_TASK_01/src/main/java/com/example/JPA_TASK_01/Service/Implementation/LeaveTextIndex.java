@@ -0,0 +1,237 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchCursor;
+import com.example.JPA_TASK_01.Event.LeaveChangedEvent;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminFilter;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminOrder;
+import com.example.JPA_TASK_01.config.DatabasePlatform;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over leave reasons and employee names, standing in
+// for the PostgreSQL tsvector search where that is not available (H2).
+// term -> (leaveId -> term frequency); a query matches leaves containing
+// every term and is scored by tf-idf. Kept current from committed leave
+// events and rebuilt periodically to pick up renamed employees.
+@Component
+class LeaveTextIndex {
+
+    // the common words PostgreSQL's english configuration drops as well
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in",
+            "is", "it", "of", "on", "or", "the", "to", "was", "with");
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final boolean enabled;
+    private final int pageSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private Map<Integer, Set<String>> documents = new HashMap<>();
+    private List<Change> replay; // changes seen while a rebuild loads
+
+    private record Change(Integer leaveId, LeaveResponse after) {}
+
+    LeaveTextIndex(
+            LeaveRequestRepository leaveRequestRepository,
+            DatabasePlatform platform,
+            @Value("${leave.search.index-page-size:1000}") int pageSize) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.enabled = !platform.isPostgres();
+        this.pageSize = pageSize;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    // ===============================
+    // QUERY
+    // ===============================
+    // leaveId -> score for leaves containing every query term, best first
+    Map<Integer, Double> search(String text) {
+
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(text)));
+        if (terms.isEmpty()) {
+            return Map.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = Math.max(documents.size(), 1);
+            Map<Integer, Double> scores = null;
+
+            for (String term : terms) {
+                Map<Integer, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    return Map.of();
+                }
+                double idf = Math.log(1.0 + (double) documentCount / posting.size());
+
+                Map<Integer, Double> next = new HashMap<>();
+                if (scores == null) {
+                    posting.forEach((leaveId, tf) -> next.put(leaveId, tf * idf));
+                } else {
+                    for (Map.Entry<Integer, Double> scored : scores.entrySet()) {
+                        Integer tf = posting.get(scored.getKey());
+                        if (tf != null) {
+                            next.put(scored.getKey(), scored.getValue() + tf * idf);
+                        }
+                    }
+                }
+                scores = next;
+                if (scores.isEmpty()) {
+                    return Map.of();
+                }
+            }
+
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Integer, Double>comparingByKey().reversed()));
+
+            Map<Integer, Double> result = new LinkedHashMap<>();
+            ranked.forEach(e -> result.put(e.getKey(), e.getValue()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===============================
+    // MAINTENANCE
+    // ===============================
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${leave.search.index-refresh-ms:600000}")
+    public synchronized void rebuild() {
+
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            replay = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<String, Map<Integer, Integer>> freshPostings = new HashMap<>();
+        Map<Integer, Set<String>> freshDocuments = new HashMap<>();
+        // keyset pages over (applied_at, leave_id): one page of rows in
+        // memory at a time and no cursor held open for the whole load
+        LeaveSearchCursor after = null;
+        List<LeaveResponse> page;
+        do {
+            page = leaveRequestRepository.findAdminResponses(
+                    AdminFilter.NONE, null, after, AdminOrder.APPLIED_ASC, pageSize);
+            for (LeaveResponse leave : page) {
+                add(freshPostings, freshDocuments, leave);
+            }
+            if (!page.isEmpty()) {
+                LeaveResponse last = page.get(page.size() - 1);
+                after = new LeaveSearchCursor(last.getAppliedAt(), last.getLeaveId());
+            }
+        } while (page.size() == pageSize);
+
+        lock.writeLock().lock();
+        try {
+            postings = freshPostings;
+            documents = freshDocuments;
+            // re-applying a change the load already saw is harmless
+            replay.forEach(this::apply);
+            replay = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLeaveChanged(LeaveChangedEvent event) {
+
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Change change = new Change(event.getLeaveId(), event.getAfter());
+            apply(change);
+            if (replay != null) {
+                replay.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Change change) {
+        remove(change.leaveId());
+        if (change.after() != null) {
+            add(postings, documents, change.after());
+        }
+    }
+
+    private void remove(Integer leaveId) {
+        Set<String> terms = documents.remove(leaveId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(leaveId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void add(
+            Map<String, Map<Integer, Integer>> postings,
+            Map<Integer, Set<String>> documents,
+            LeaveResponse leave) {
+
+        List<String> tokens = tokenize(leave.getEmployeeName());
+        tokens.addAll(tokenize(leave.getReason()));
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> new HashMap<>())
+                    .merge(leave.getLeaveId(), 1, Integer::sum);
+        }
+        documents.put(leave.getLeaveId(), Set.copyOf(tokens));
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
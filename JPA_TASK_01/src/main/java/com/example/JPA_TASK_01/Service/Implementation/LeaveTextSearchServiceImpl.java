@@ -0,0 +1,156 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveTextSearchPage;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminFilter;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminOrder;
+import com.example.JPA_TASK_01.Repo.LeaveTextSearchRepository;
+import com.example.JPA_TASK_01.Repo.LeaveTextSearchRepository.RankedLeave;
+import com.example.JPA_TASK_01.Service.LeaveTextSearchService;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// PostgreSQL: one ranked tsvector query with the filters and LIMIT/OFFSET
+// applied in the database. Elsewhere: the in-memory LeaveTextIndex ranks,
+// and the admin filter query narrows the hits.
+// Either way the page's rows are then loaded in one projection query.
+@Service
+@Transactional
+public class LeaveTextSearchServiceImpl implements LeaveTextSearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveTextSearchRepository leaveTextSearchRepository;
+    private final LeaveTextIndex leaveTextIndex;
+
+    public LeaveTextSearchServiceImpl(
+            LeaveRequestRepository leaveRequestRepository,
+            LeaveTextSearchRepository leaveTextSearchRepository,
+            LeaveTextIndex leaveTextIndex) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.leaveTextSearchRepository = leaveTextSearchRepository;
+        this.leaveTextIndex = leaveTextIndex;
+    }
+
+    @Override
+    public LeaveTextSearchPage searchLeaves(
+            String text,
+            Integer empId,
+            String status,
+            String leaveType,
+            Integer year,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Integer page,
+            Integer size
+    ) {
+
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        if (text.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search text is too long");
+        }
+
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+
+        int offset = pageNumber * pageSize;
+
+        // one extra row tells if another page exists
+        List<RankedLeave> ranked = leaveTextIndex.isEnabled()
+                ? rankInMemory(text, empId, status, leaveType, year, fromDate, toDate, offset, pageSize + 1)
+                : leaveTextSearchRepository.search(
+                        text.trim(), empId, status, leaveType, year, fromDate, toDate, offset, pageSize + 1);
+
+        boolean hasMore = ranked.size() > pageSize;
+        if (hasMore) {
+            ranked = ranked.subList(0, pageSize);
+        }
+
+        Map<Integer, LeaveResponse> rows = load(ranked);
+
+        List<LeaveTextSearchPage.Hit> hits = new ArrayList<>(ranked.size());
+        for (RankedLeave hit : ranked) {
+            LeaveResponse leave = rows.get(hit.leaveId());
+            if (leave != null) { // deleted between the two queries
+                hits.add(new LeaveTextSearchPage.Hit(leave, hit.rank()));
+            }
+        }
+
+        return new LeaveTextSearchPage(hits, pageNumber, pageSize, hasMore);
+    }
+
+    private List<RankedLeave> rankInMemory(
+            String text,
+            Integer empId,
+            String status,
+            String leaveType,
+            Integer year,
+            LocalDate fromDate,
+            LocalDate toDate,
+            int offset,
+            int limit) {
+
+        Map<Integer, Double> scores = leaveTextIndex.search(text);
+        if (scores.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, LeaveResponse> allowed = new HashMap<>();
+        leaveRequestRepository.findAdminResponses(
+                        new AdminFilter(empId, status, leaveType, year, fromDate, toDate),
+                        scores.keySet(),
+                        null,
+                        AdminOrder.NONE,
+                        0)
+                .forEach(leave -> allowed.put(leave.getLeaveId(), leave));
+
+        List<RankedLeave> ranked = new ArrayList<>(limit);
+        int skipped = 0;
+        for (Map.Entry<Integer, Double> scored : scores.entrySet()) {
+            if (!allowed.containsKey(scored.getKey())) {
+                continue;
+            }
+            if (skipped++ < offset) {
+                continue;
+            }
+            ranked.add(new RankedLeave(scored.getKey(), scored.getValue()));
+            if (ranked.size() == limit) {
+                break;
+            }
+        }
+        return ranked;
+    }
+
+    private Map<Integer, LeaveResponse> load(List<RankedLeave> ranked) {
+
+        if (ranked.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Integer> ids = ranked.stream().map(RankedLeave::leaveId).toList();
+
+        Map<Integer, LeaveResponse> rows = new HashMap<>();
+        leaveRequestRepository.findAdminResponses(AdminFilter.NONE, ids, null, AdminOrder.NONE, 0)
+                .forEach(leave -> rows.put(leave.getLeaveId(), leave));
+        return rows;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Event.LeaveChangedEvent;
+import com.example.JPA_TASK_01.Event.UserApprovalEvent;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.Repo.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Business metrics for the leave and registration workflows. Method
+// latencies come from @Timed on the services; this class adds what a
+// method timer cannot see:
+//   leave.applied / leave.decisions   counters by leave type and decision
+//   leave.time.to.decision            appliedAt -> approvedAt, for approval SLOs
+//   leave.pending / users.pending     backlog gauges
+// Counters are driven by committed LeaveChangedEvents, so rolled-back work
+// and bulk decisions (which bypass decideLeave) are counted correctly.
+@Component
+class LeaveWorkflowMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveWorkflowMetrics.class);
+
+    // decisions take minutes to days; the timer default tops out at 30s
+    private static final Duration MIN_DECISION = Duration.ofMinutes(1);
+    private static final Duration MAX_DECISION = Duration.ofDays(30);
+    private static final Duration[] DECISION_SLOS = {
+            Duration.ofHours(4), Duration.ofDays(1), Duration.ofDays(2), Duration.ofDays(5)
+    };
+
+    private final MeterRegistry registry;
+    private final LeaveRequestRepository leaveRepo;
+    private final UserRepository userRepo;
+
+    // gauges read these; the database is queried on a schedule, not per scrape
+    private final AtomicLong pendingLeaves = new AtomicLong();
+    private final AtomicLong pendingUsers = new AtomicLong();
+
+    LeaveWorkflowMetrics(MeterRegistry registry, LeaveRequestRepository leaveRepo, UserRepository userRepo) {
+        this.registry = registry;
+        this.leaveRepo = leaveRepo;
+        this.userRepo = userRepo;
+
+        Gauge.builder("leave.pending", pendingLeaves, AtomicLong::get)
+                .description("Leave requests waiting for a decision")
+                .register(registry);
+        Gauge.builder("users.pending", pendingUsers, AtomicLong::get)
+                .description("Registrations waiting for admin approval")
+                .register(registry);
+    }
+
+    // ===============================
+    // LEAVE EVENTS
+    // ===============================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLeaveChanged(LeaveChangedEvent event) {
+
+        LeaveResponse after = event.getAfter();
+        if (after == null) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case CREATED -> Counter.builder("leave.applied")
+                    .description("Leave requests submitted")
+                    .tag("type", tag(after.getLeaveType()))
+                    .register(registry)
+                    .increment();
+
+            case DECIDED -> {
+                Counter.builder("leave.decisions")
+                        .description("Leave requests approved or rejected")
+                        .tag("type", tag(after.getLeaveType()))
+                        .tag("decision", tag(after.getStatus()))
+                        .register(registry)
+                        .increment();
+
+                if (after.getAppliedAt() != null && after.getApprovedAt() != null) {
+                    Duration waited = Duration.between(after.getAppliedAt(), after.getApprovedAt());
+                    decisionTimer(after).record(waited.isNegative() ? Duration.ZERO : waited);
+                }
+            }
+
+            default -> {
+            }
+        }
+    }
+
+    private Timer decisionTimer(LeaveResponse leave) {
+        return Timer.builder("leave.time.to.decision")
+                .description("Time from applying for leave to the admin decision")
+                .tag("type", tag(leave.getLeaveType()))
+                .tag("decision", tag(leave.getStatus()))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_DECISION)
+                .maximumExpectedValue(MAX_DECISION)
+                .serviceLevelObjectives(DECISION_SLOS)
+                .register(registry);
+    }
+
+    // ===============================
+    // REGISTRATION EVENTS
+    // ===============================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserApproval(UserApprovalEvent event) {
+        Counter.builder("users.decisions")
+                .description("Registrations approved, rejected or reopened")
+                .tag("decision", event.getType().name())
+                .register(registry)
+                .increment();
+    }
+
+    // ===============================
+    // BACKLOG GAUGES
+    // ===============================
+    @Scheduled(fixedDelayString = "${leave.metrics.gauge-refresh-ms:30000}")
+    public void refreshGauges() {
+        try {
+            pendingLeaves.set(leaveRepo.countByStatus("PENDING"));
+            pendingUsers.set(userRepo.countByStatus("PENDING"));
+        } catch (RuntimeException e) {
+            // keep the last values; the next run retries
+            log.warn("Could not refresh pending gauges: {}", e.getMessage());
+        }
+    }
+
+    private static String tag(String value) {
+        return value == null ? "UNKNOWN" : value.toUpperCase();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveJob.LeaveJobRunResponse;
+import com.example.JPA_TASK_01.Entity.LeaveJobRun;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Mapper.LeaveJobRunMapper;
+import com.example.JPA_TASK_01.Repo.LeaveBatchRepository;
+import com.example.JPA_TASK_01.Repo.LeaveJobRunRepository;
+import com.example.JPA_TASK_01.Service.LeaveYearEndService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Year-end close, split into fixed emp_id ranges ("partitions") that run in
+// parallel on a bounded pool. Each partition is one transaction that reads
+// its leave totals with a single grouped query and writes the ledger in JDBC
+// batches; its run record commits with it, so a rerun skips it.
+// Deliberately not @Transactional at class level.
+@Service
+public class LeaveYearEndServiceImpl implements LeaveYearEndService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveYearEndServiceImpl.class);
+
+    static final String JOB_NAME = "YEAR_END";
+
+    private final LeaveBatchRepository batchRepo;
+    private final LeaveJobRunRepository runRepo;
+    private final LeavePolicyRegistry policyRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionSize;
+    private final int threads;
+    private final int carryForwardCap;
+
+    public LeaveYearEndServiceImpl(
+            LeaveBatchRepository batchRepo,
+            LeaveJobRunRepository runRepo,
+            LeavePolicyRegistry policyRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${leave.year-end.partition-size:5000}") int partitionSize,
+            @Value("${leave.year-end.threads:4}") int threads,
+            @Value("${leave.year-end.carry-forward-cap:10}") int carryForwardCap) {
+        this.batchRepo = batchRepo;
+        this.runRepo = runRepo;
+        this.policyRegistry = policyRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionSize = partitionSize;
+        this.threads = threads;
+        this.carryForwardCap = carryForwardCap;
+    }
+
+    // closes the year that just ended
+    @Scheduled(cron = "${leave.year-end.cron:0 0 2 1 1 *}")
+    public void scheduledClose() {
+        closeYear(LocalDate.now().getYear() - 1);
+    }
+
+    @Override
+    public synchronized List<LeaveJobRunResponse> closeYear(int year) {
+
+        if (year >= LocalDate.now().getYear()) {
+            throw new IllegalArgumentException("Only a finished year can be closed");
+        }
+
+        int partitions = (batchRepo.findMaxEmpId() + partitionSize - 1) / partitionSize;
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, partitions)));
+        List<Future<LeaveJobRun>> futures = new ArrayList<>();
+        try {
+            for (int p = 0; p < partitions; p++) {
+                int partition = p;
+                futures.add(pool.submit(() ->
+                        transactionTemplate.execute(status -> closePartition(year, partition))));
+            }
+
+            List<LeaveJobRunResponse> runs = new ArrayList<>();
+            int failed = 0;
+            for (Future<LeaveJobRun> future : futures) {
+                try {
+                    runs.add(LeaveJobRunMapper.toResponse(future.get()));
+                } catch (ExecutionException ex) {
+                    failed++;
+                    log.error("Year-end {} partition failed", year, ex.getCause());
+                }
+            }
+
+            if (failed > 0) {
+                throw new IllegalStateException(
+                        "Year-end " + year + " failed for " + failed + " partition(s); run it again to resume");
+            }
+
+            log.info("Year-end {} closed in {} partitions", year, partitions);
+            return runs;
+
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Year-end interrupted", ex);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private LeaveJobRun closePartition(int year, int partition) {
+
+        String runKey = year + "#" + partition;
+        LeaveJobRun run = runRepo.findByJobNameAndRunKey(JOB_NAME, runKey)
+                .orElseGet(() -> new LeaveJobRun(JOB_NAME, runKey));
+
+        if (LeaveJobRun.COMPLETED.equals(run.getStatus())) {
+            return run;
+        }
+
+        int fromEmpId = partition * partitionSize + 1;
+        int toEmpId = fromEmpId + partitionSize - 1;
+
+        Map<String, LeaveBatchRepository.PaidTotals> totals = new HashMap<>();
+        for (LeaveBatchRepository.PaidTotals row : batchRepo.aggregatePaidDays(fromEmpId, toEmpId, year)) {
+            totals.put(row.empId() + ":" + row.leaveType(), row);
+        }
+        Map<Integer, Integer> carriedIn =
+                batchRepo.findCarriedForward(fromEmpId, toEmpId, LeaveType.EARNED.name(), year);
+
+        List<LeaveBatchRepository.BalanceRow> closing = new ArrayList<>();
+        List<LeaveBatchRepository.BalanceRow> opening = new ArrayList<>();
+        List<LeaveBatchRepository.EmployeeRow> employees = batchRepo.findEmployeesBetween(fromEmpId, toEmpId);
+
+        for (LeaveBatchRepository.EmployeeRow employee : employees) {
+
+            // joined after the closed year: nothing to close
+            if (employee.joiningDate() != null && employee.joiningDate().getYear() > year) {
+                continue;
+            }
+
+            for (LeaveType type : LeaveType.values()) {
+
+                int limit = policyRegistry.yearlyLimit(type, employee.deptId(), year);
+                if (limit <= 0) {
+                    continue;
+                }
+
+                int entitled = type.isAccruing()
+                        ? LeaveAccrualCalculator.accruedDays(limit, employee.joiningDate(), year, YearMonth.of(year, 12))
+                        : limit;
+                int carried = type.isAccruing() ? carriedIn.getOrDefault(employee.empId(), 0) : 0;
+
+                LeaveBatchRepository.PaidTotals spent = totals.get(employee.empId() + ":" + type.name());
+                int used = spent == null ? 0 : spent.approvedDays() + spent.pendingDays();
+                int unused = Math.max(0, entitled + carried - used);
+
+                int carryForward = type == LeaveType.EARNED ? Math.min(carryForwardCap, unused) : 0;
+
+                closing.add(new LeaveBatchRepository.BalanceRow(
+                        employee.empId(), type.name(), year, entitled, carried, unused - carryForward));
+
+                if (type == LeaveType.EARNED) {
+                    int nextLimit = policyRegistry.yearlyLimit(type, employee.deptId(), year + 1);
+                    opening.add(new LeaveBatchRepository.BalanceRow(
+                            employee.empId(), type.name(), year + 1,
+                            LeaveAccrualCalculator.accruedDays(
+                                    nextLimit, employee.joiningDate(), year + 1, YearMonth.now()),
+                            carryForward, 0));
+                }
+            }
+        }
+
+        batchRepo.applyYearEnd(closing, opening, LocalDateTime.now());
+
+        run.setLastEmpId(toEmpId);
+        run.setProcessed(employees.size());
+        run.setStatus(LeaveJobRun.COMPLETED);
+        run.setFinishedAt(LocalDateTime.now());
+        return runRepo.save(run);
+    }
+}
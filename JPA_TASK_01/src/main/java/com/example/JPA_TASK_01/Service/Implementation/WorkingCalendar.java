@@ -0,0 +1,150 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Entity.Holiday;
+import com.example.JPA_TASK_01.Repo.HolidayRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-year bitset of working days (weekends and non-optional holidays cleared)
+// with prefix sums, so counting working days between two dates is O(1)
+// and never touches the database once the year is compiled.
+@Component
+public class WorkingCalendar {
+
+  private final HolidayRepository holidayRepo;
+  private final Set<DayOfWeek> weekendDays;
+
+  private final ConcurrentHashMap<Integer, YearCalendar> years = new ConcurrentHashMap<>();
+
+  public WorkingCalendar(
+          HolidayRepository holidayRepo,
+          @Value("${leave.calendar.weekend-days:SATURDAY,SUNDAY}") Set<DayOfWeek> weekendDays) {
+    this.holidayRepo = holidayRepo;
+    this.weekendDays = Set.copyOf(weekendDays);
+  }
+
+  // ===============================
+  // QUERIES
+  // ===============================
+
+  // inclusive on both ends
+  public int countWorkingDays(LocalDate start, LocalDate end) {
+
+    if (start.isAfter(end)) {
+      return 0;
+    }
+
+    int total = 0;
+    for (int year = start.getYear(); year <= end.getYear(); year++) {
+      YearCalendar calendar = yearCalendar(year);
+      int from = year == start.getYear() ? start.getDayOfYear() - 1 : 0;
+      int to = year == end.getYear() ? end.getDayOfYear() - 1 : calendar.length() - 1;
+      total += calendar.count(from, to);
+    }
+    return total;
+  }
+
+  public boolean isWorkingDay(LocalDate date) {
+    return yearCalendar(date.getYear()).isWorking(date.getDayOfYear() - 1);
+  }
+
+  // ===============================
+  // INCREMENTAL UPDATES (HolidayServiceImpl)
+  // ===============================
+  public void applyHolidayChange(LocalDate date, boolean dayOff) {
+
+    boolean working = !dayOff && !weekendDays.contains(date.getDayOfWeek());
+
+    // only years already compiled need patching; others load fresh on demand
+    years.computeIfPresent(
+            date.getYear(),
+            (year, calendar) -> calendar.withDay(date.getDayOfYear() - 1, working));
+  }
+
+  // other nodes' holiday edits are picked up on the next compile
+  @Scheduled(fixedDelayString = "${leave.calendar.refresh-interval-ms:3600000}")
+  public void evictAll() {
+    years.clear();
+  }
+
+  private YearCalendar yearCalendar(int year) {
+    return years.computeIfAbsent(year, this::compile);
+  }
+
+  private YearCalendar compile(int year) {
+
+    LocalDate first = LocalDate.of(year, 1, 1);
+    int length = first.lengthOfYear();
+
+    BitSet working = new BitSet(length);
+    for (int i = 0; i < length; i++) {
+      if (!weekendDays.contains(first.plusDays(i).getDayOfWeek())) {
+        working.set(i);
+      }
+    }
+
+    for (Holiday holiday : holidayRepo.findByHolidayDateBetween(first, LocalDate.of(year, 12, 31))) {
+      if (!Boolean.TRUE.equals(holiday.getOptional())) {
+        working.clear(holiday.getHolidayDate().getDayOfYear() - 1);
+      }
+    }
+
+    return new YearCalendar(working, length);
+  }
+
+  // ===============================
+  // IMMUTABLE YEAR SNAPSHOT
+  // ===============================
+  private static final class YearCalendar {
+
+    private final BitSet working;
+    private final int[] prefix; // prefix[i] = working days in [0, i)
+
+    YearCalendar(BitSet working, int length) {
+      this.working = working;
+      this.prefix = new int[length + 1];
+      recompute(0);
+    }
+
+    private YearCalendar(BitSet working, int[] prefix, int fromIndex) {
+      this.working = working;
+      this.prefix = prefix;
+      recompute(fromIndex);
+    }
+
+    int length() {
+      return prefix.length - 1;
+    }
+
+    boolean isWorking(int index) {
+      return working.get(index);
+    }
+
+    int count(int from, int to) {
+      return prefix[to + 1] - prefix[from];
+    }
+
+    // copy-on-write: only the prefix sums after the changed day are recomputed
+    YearCalendar withDay(int index, boolean isWorking) {
+      if (working.get(index) == isWorking) {
+        return this;
+      }
+      BitSet copy = (BitSet) working.clone();
+      copy.set(index, isWorking);
+      return new YearCalendar(copy, prefix.clone(), index);
+    }
+
+    private void recompute(int fromIndex) {
+      for (int i = fromIndex; i < length(); i++) {
+        prefix[i + 1] = prefix[i] + (working.get(i) ? 1 : 0);
+      }
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveJob.LeaveJobRunResponse;
+
+import java.time.YearMonth;
+
+public interface LeaveAccrualService {
+
+    // credits accruing leave types for every employee up to the given month;
+    // re-running a finished period is a no-op, an interrupted one resumes
+    LeaveJobRunResponse runAccrual(YearMonth period);
+}
@@ -0,0 +1,28 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveArchive.LeaveArchiveSegmentResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LeaveArchiveService {
+
+    // moves closed leaves of years past the retention window out of
+    // leave_request into segment files; returns the segments written
+    List<LeaveArchiveSegmentResponse> archive();
+
+    List<LeaveArchiveSegmentResponse> getSegments();
+
+    // archived leaves matching the admin filter (null = any), reading no
+    // further than limit matches; limit <= 0 means no limit
+    List<LeaveResponse> findArchived(
+            Integer empId,
+            String status,
+            String leaveType,
+            Integer year,
+            LocalDate fromDate,
+            LocalDate toDate,
+            int limit
+    );
+}
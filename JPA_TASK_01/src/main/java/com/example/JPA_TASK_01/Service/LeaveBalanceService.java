@@ -0,0 +1,37 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveBalance;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+
+import java.time.LocalDate;
+
+// Ledger updates must be called BEFORE the leave itself is saved / changed,
+// so a lazily created ledger row is seeded from the previous state.
+public interface LeaveBalanceService {
+
+    LeaveBalance getOrCreate(Employee employee, LeaveType leaveType, int year);
+
+    // what a ledger row for the key is entitled to today (policy limit,
+    // accrued so far for accruing types)
+    int entitledDays(Integer deptId, LocalDate joiningDate, LeaveType leaveType, int year);
+
+    // what a leave starting on startDate can be paid from: entitledDays,
+    // except that accruing types count what they will have earned by the
+    // month the leave starts
+    int entitledDaysFor(Integer deptId, LocalDate joiningDate, LeaveType leaveType, LocalDate startDate);
+
+    // the row's remaining days, sized by entitledDaysFor
+    int remainingDaysFor(LeaveBalance balance, LocalDate startDate);
+
+    void reservePending(LeaveRequest leave);
+
+    void releasePending(LeaveRequest leave);
+
+    void commitApproved(LeaveRequest leave);
+
+    void releaseApproved(LeaveRequest leave);
+
+    int rebuildFromLeaves();
+}
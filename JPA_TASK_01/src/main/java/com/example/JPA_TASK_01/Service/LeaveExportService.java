@@ -0,0 +1,53 @@
+package com.example.JPA_TASK_01.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface LeaveExportService {
+
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return Format.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Format must be CSV or NDJSON");
+            }
+        }
+    }
+
+    // writes every leave matching the admin search filters to out, row by
+    // row from a database cursor; returns the number of rows written
+    long exportLeavesForAdmin(
+            Integer empId,
+            String status,
+            String leaveType,
+            Integer year,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Format format,
+            OutputStream out
+    ) throws IOException;
+}
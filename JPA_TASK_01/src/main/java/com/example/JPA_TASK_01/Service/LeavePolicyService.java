@@ -0,0 +1,15 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeavePolicy.LeavePolicyRequest;
+import com.example.JPA_TASK_01.DTO.LeavePolicy.LeavePolicyResponse;
+
+import java.util.List;
+
+public interface LeavePolicyService {
+
+    List<LeavePolicyResponse> getAllPolicies();
+
+    LeavePolicyResponse savePolicy(LeavePolicyRequest request);
+
+    void deletePolicy(Integer policyId);
+}
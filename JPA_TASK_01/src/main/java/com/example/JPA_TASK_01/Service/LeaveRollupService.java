@@ -0,0 +1,16 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveAnalytics.LeaveRollupResponse;
+
+public interface LeaveRollupService {
+
+    // any slice of one year; null filters match everything
+    LeaveRollupResponse getRollup(int year, Integer deptId, String leaveType, Integer month, String status);
+
+    // recomputes every cell from leave_request; returns the number of cells
+    int rebuild();
+
+    // shifts the employee's leaves to another department's cells
+    // (toDeptId null: the employee and their leaves are being deleted)
+    void moveEmployee(Integer empId, Integer fromDeptId, Integer toDeptId);
+}
@@ -1,7 +1,10 @@
 package com.example.JPA_TASK_01.Service;
 
 import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionResult;
 import com.example.JPA_TASK_01.DTO.LeaveRequest.EditLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchPage;
 import com.example.JPA_TASK_01.Entity.LeaveRequest;
 
 import java.time.LocalDate;
@@ -14,10 +17,13 @@ public interface LeaveService {
 
     LeaveResponse applyLeave(ApplyLeaveRequest request);
 
-    List<LeaveResponse> getMyLeaves();
+    // includeArchived: also the leaves moved to the cold archive
+    List<LeaveResponse> getMyLeaves(boolean includeArchived);
 
     LeaveResponse decideLeave(Integer leaveId, String decision);
 
+    List<BulkLeaveDecisionResult> decideLeaves(List<BulkLeaveDecisionRequest.Item> decisions);
+
     List<LeaveResponse> getPendingLeaves();
 
     LeaveResponse editLeave(int leaveId, EditLeaveRequest editLeaveRequest);
@@ -32,7 +38,20 @@ public interface LeaveService {
             String leaveType,
             Integer year,
             LocalDate fromDate,
-            LocalDate toDate
+            LocalDate toDate,
+            boolean includeArchived
+    );
+
+    LeaveSearchPage searchLeavesForAdmin(
+            Integer empId,
+            String status,
+            String leaveType,
+            Integer year,
+            LocalDate fromDate,
+            LocalDate toDate,
+            String cursor,
+            Integer size,
+            String sort
     );
 
 }
@@ -0,0 +1,22 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveTextSearchPage;
+
+import java.time.LocalDate;
+
+public interface LeaveTextSearchService {
+
+    // free text over leave reasons and employee names, combined with the
+    // admin search filters; ranked best first, page is 0-based
+    LeaveTextSearchPage searchLeaves(
+            String text,
+            Integer empId,
+            String status,
+            String leaveType,
+            Integer year,
+            LocalDate fromDate,
+            LocalDate toDate,
+            Integer page,
+            Integer size
+    );
+}
@@ -0,0 +1,12 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveJob.LeaveJobRunResponse;
+
+import java.util.List;
+
+public interface LeaveYearEndService {
+
+    // carries capped unused EARNED days into the next year and records
+    // lapsed days for every type; finished partitions are skipped on rerun
+    List<LeaveJobRunResponse> closeYear(int year);
+}
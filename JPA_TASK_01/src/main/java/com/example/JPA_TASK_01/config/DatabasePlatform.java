@@ -0,0 +1,35 @@
+package com.example.JPA_TASK_01.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// Which database we run on, for the few paths that use vendor features
+// (advisory locks, ...) and need a portable fallback elsewhere (H2 in tests).
+@Component
+public class DatabasePlatform {
+
+  private static final Logger log = LoggerFactory.getLogger(DatabasePlatform.class);
+
+  private final boolean postgres;
+
+  public DatabasePlatform(DataSource dataSource) {
+    String product;
+    try {
+      product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+    } catch (MetaDataAccessException ex) {
+      log.warn("Could not detect database product, using portable fallbacks", ex);
+      product = "unknown";
+    }
+    this.postgres = "PostgreSQL".equalsIgnoreCase(product);
+  }
+
+  public boolean isPostgres() {
+    return postgres;
+  }
+}
@@ -4,6 +4,9 @@ import com.example.JPA_TASK_01.Filter.JwtAuthenticationFilter;
 import com.example.JPA_TASK_01.Security.EmployeeUserDetailsService;
 import com.example.JPA_TASK_01.Security.JwtAccessDeniedHandler;
 import com.example.JPA_TASK_01.Security.JwtAuthEntryPoint;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -34,16 +37,21 @@ public class SecurityConfig {
 
   private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
 
+  // actuator's own port, reachable by the scraper but not published
+  private final int managementPort;
+
   public SecurityConfig(
       JwtAuthenticationFilter jwtAuthenticationFilter,
       EmployeeUserDetailsService userDetailsService,
       JwtAuthEntryPoint jwtAuthEntryPoint,
-      JwtAccessDeniedHandler jwtAccessDeniedHandler) {
+      JwtAccessDeniedHandler jwtAccessDeniedHandler,
+      @Value("${management.server.port:-1}") int managementPort) {
 
     this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     this.userDetailsService = userDetailsService;
     this.jwtAuthEntryPoint = jwtAuthEntryPoint;
     this.jwtAccessDeniedHandler = jwtAccessDeniedHandler;
+    this.managementPort = managementPort;
   }
 
   // ===============================
@@ -108,6 +116,15 @@ public class SecurityConfig {
                     .requestMatchers("/api/auth/**", "/api/images/**")
                     .permitAll()
 
+                    // 🔓 MONITORING: Prometheus scrapes without a JWT, on the
+                    // management port only (the public port serves no actuator)
+                    .requestMatchers(this::isMonitoringScrape)
+                    .permitAll()
+
+                    // async re-dispatch of an already authorized request (SSE)
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+
                     // 🔐 ADMIN APIs
                     .requestMatchers("/api/admin/**")
                     .hasRole("ADMIN")
@@ -128,6 +145,10 @@ public class SecurityConfig {
                     .requestMatchers(HttpMethod.DELETE, "/api/employees/**")
                     .hasRole("ADMIN")
 
+                    // 🔐 ADMIN: department absence calendar
+                    .requestMatchers(HttpMethod.GET, "/api/departments/*/absences")
+                    .hasRole("ADMIN")
+
                     // 🔓 HOLIDAYS: visible to logged-in users
                     .requestMatchers(HttpMethod.GET, "/api/holidays/**")
                     .hasAnyRole("ADMIN", "EMPLOYEE")
@@ -145,7 +166,7 @@ public class SecurityConfig {
                     .hasRole("EMPLOYEE")
 
                     // ADMIN leave actions
-                    .requestMatchers("/api/leaves/pending")
+                    .requestMatchers("/api/leaves/pending", "/api/leaves/pending/**")
                     .hasRole("ADMIN")
                     .requestMatchers(HttpMethod.PUT, "/api/leaves/*/decision")
                     .hasRole("ADMIN")
@@ -159,4 +180,10 @@ public class SecurityConfig {
 
     return http.build();
   }
+
+  private boolean isMonitoringScrape(HttpServletRequest request) {
+    return request.getLocalPort() == managementPort
+        && HttpMethod.GET.matches(request.getMethod())
+        && List.of("/actuator/health", "/actuator/prometheus").contains(request.getRequestURI());
+  }
 }
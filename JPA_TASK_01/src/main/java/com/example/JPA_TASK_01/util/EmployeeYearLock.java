@@ -0,0 +1,80 @@
+package com.example.JPA_TASK_01.util;
+
+import com.example.JPA_TASK_01.config.DatabasePlatform;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Serializes balance-consuming work per (employee, year) for the rest of the
+// current transaction, so two applies for the same employee cannot both size
+// their paid days from the same remaining balance. Other employees and years
+// are not blocked.
+//
+// PostgreSQL: pg_advisory_xact_lock(empId, year), released by commit/rollback
+// and shared by every node. Elsewhere (H2): a fixed set of striped in-process
+// locks, released after completion.
+@Component
+public class EmployeeYearLock {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean advisory;
+  private final long timeoutMs;
+  private final ReentrantLock[] stripes;
+
+  public EmployeeYearLock(
+          JdbcTemplate jdbcTemplate,
+          DatabasePlatform platform,
+          @Value("${leave.lock.stripes:256}") int stripeCount,
+          @Value("${leave.lock.timeout-ms:10000}") long timeoutMs) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.advisory = platform.isPostgres();
+    this.timeoutMs = timeoutMs;
+    this.stripes = new ReentrantLock[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new ReentrantLock();
+    }
+  }
+
+  public void lock(Integer empId, int year) {
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("EmployeeYearLock requires an active transaction");
+    }
+
+    if (advisory) {
+      // blocks until the holder commits; lock_timeout bounds the wait if set
+      jdbcTemplate.query(
+              "SELECT pg_advisory_xact_lock(?, ?)",
+              (ResultSetExtractor<Void>) rs -> null,
+              empId, year);
+      return;
+    }
+
+    ReentrantLock stripe = stripes[Math.floorMod(31 * empId + year, stripes.length)];
+    boolean acquired;
+    try {
+      acquired = stripe.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CannotAcquireLockException("Interrupted while waiting for leave lock", ex);
+    }
+    if (!acquired) {
+      throw new CannotAcquireLockException("Another leave request for this employee is in progress");
+    }
+
+    // afterCompletion runs on this thread, as ReentrantLock requires
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        stripe.unlock();
+      }
+    });
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.JPA_TASK_01.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+// Re-runs an idempotent operation when it loses an optimistic-lock race.
+// Every attempt gets its own transaction (and so a fresh read of the row);
+// after the last attempt the conflict propagates and is answered with 409.
+// Only for operations whose outcome does not depend on what the caller last
+// saw, e.g. recomputing a value from the current rows. Never wrap a client's
+// edit (adminUpdateUser) or a state check (decide/revoke): a retry would
+// apply it over the other writer's change, so that conflict must reach the
+// client as 409.
+@Component
+public class OptimisticRetryExecutor {
+
+  private static final Logger log = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+  private final TransactionTemplate transactionTemplate;
+  private final int maxAttempts;
+  private final long backoffMs;
+
+  public OptimisticRetryExecutor(
+          PlatformTransactionManager transactionManager,
+          @Value("${leave.optimistic.max-attempts:3}") int maxAttempts,
+          @Value("${leave.optimistic.backoff-ms:25}") long backoffMs) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.backoffMs = backoffMs;
+  }
+
+  public <T> T execute(Supplier<T> operation) {
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(status -> operation.get());
+      } catch (OptimisticLockingFailureException ex) {
+        if (attempt >= maxAttempts) {
+          throw ex;
+        }
+        log.debug("Optimistic lock conflict, retrying (attempt {} of {})", attempt + 1, maxAttempts);
+        pause(attempt);
+      }
+    }
+  }
+
+  // linear backoff so competing writers spread out
+  private void pause(int attempt) {
+    try {
+      Thread.sleep(backoffMs * attempt);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while retrying", ex);
+    }
+  }
+}
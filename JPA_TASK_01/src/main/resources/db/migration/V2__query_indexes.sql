@@ -0,0 +1,24 @@
+-- Secondary indexes matched to the repository queries. CONCURRENTLY keeps
+-- leave_request and images writable while they build (Flyway runs this
+-- script outside a transaction).
+
+-- getUsedPaidDays / balance reconciliation:
+--   WHERE emp_id = ? AND leave_type = ? AND year = ? AND status = ?
+-- paid_days is carried in the index so SUM(paid_days) is index-only
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_leave_request_used_paid
+    ON leave_request (emp_id, leave_type, year, status)
+    INCLUDE (paid_days);
+
+-- pending queue and backlog gauge: WHERE status = ? (oldest first)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_leave_request_status_applied
+    ON leave_request (status, applied_at);
+
+-- an employee's gallery: WHERE user_id = ?
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_images_user
+    ON images (user_id);
+
+-- image download by name: WHERE file_name = ?
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_images_file_name
+    ON images (file_name);
+
+-- employee(dept_id) already exists as idx_employee_dept (V1)
@@ -0,0 +1,176 @@
+-- leave_request becomes range-partitioned by year (the start date's year):
+-- one partition per year plus a DEFAULT catch-all. Balance, listing and
+-- report queries all filter on a year or a date window, so PostgreSQL only
+-- scans the partitions that can match. Flyway runs this script in one
+-- transaction: the existing rows are copied over or nothing changes.
+--
+-- What partitioning costs:
+--   * the primary key must contain the partition key: (leave_id, year).
+--     leave_id still comes from one sequence, so it stays unique; lookups
+--     by leave_id alone probe each partition's key index.
+--   * exclusion constraints cannot span partitions, so the overlap
+--     constraint is per partition (excl_leave_request_no_overlap_y<year>).
+--     A leave crossing New Year is only checked against leaves starting in
+--     the other year by the application (LeaveServiceImpl.rejectOverlap).
+
+ALTER TABLE leave_request RENAME TO leave_request_unpartitioned;
+
+CREATE TABLE leave_request (
+    leave_id INT NOT NULL,
+
+    emp_id INT NOT NULL,
+
+    leave_type VARCHAR(20) NOT NULL
+        CHECK (leave_type IN (
+            'SICK',
+            'CASUAL',
+            'EARNED',
+            'OPTIONAL',
+            'UNPAID'
+        )),
+
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+
+    total_days INT NOT NULL,
+
+    paid_days INT NOT NULL DEFAULT 0,
+    unpaid_days INT NOT NULL DEFAULT 0,
+
+    reason TEXT,
+
+    status VARCHAR(20) NOT NULL
+        CHECK (status IN ('PENDING','APPROVED','REJECTED','REVOKED')),
+
+    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    approved_at TIMESTAMP,
+    approved_by INT,
+
+    year INT NOT NULL,
+
+    version BIGINT NOT NULL DEFAULT 0,
+
+    search_vector tsvector,
+
+    CONSTRAINT fk_leave_employee
+        FOREIGN KEY (emp_id)
+        REFERENCES employee(emp_id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_leave_admin
+        FOREIGN KEY (approved_by)
+        REFERENCES users(user_id)
+        ON DELETE SET NULL,
+
+    CONSTRAINT chk_leave_dates
+        CHECK (end_date >= start_date),
+
+    CONSTRAINT chk_days_match
+        CHECK (paid_days + unpaid_days = total_days)
+) PARTITION BY RANGE (year);
+
+-- years nobody has created a partition for yet (leave applied far ahead);
+-- leave_request_ensure_partition moves them out when their year is created
+CREATE TABLE leave_request_default PARTITION OF leave_request DEFAULT;
+
+ALTER TABLE leave_request_default
+    ADD CONSTRAINT excl_leave_request_no_overlap_default
+    EXCLUDE USING gist (
+        emp_id WITH =,
+        daterange(start_date, end_date, '[]') WITH &&
+    )
+    WHERE (status IN ('PENDING', 'APPROVED'));
+
+-- Creates the partition for p_year unless it exists; false if it did.
+-- Rows of that year already in the DEFAULT partition are moved into it.
+-- Called by the application on startup and on a schedule for the current
+-- and the next year (LeavePartitionMaintainer).
+CREATE OR REPLACE FUNCTION leave_request_ensure_partition(p_year INT) RETURNS BOOLEAN AS $$
+DECLARE
+    part TEXT := 'leave_request_y' || p_year;
+BEGIN
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- several application nodes run the job; the loser finds the table
+    PERFORM pg_advisory_xact_lock(hashtext('leave_request_ensure_partition'));
+    IF to_regclass(part) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format(
+        'CREATE TABLE %I (LIKE leave_request INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', part);
+
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM leave_request_default WHERE year = %s RETURNING *) '
+            || 'INSERT INTO %I SELECT * FROM moved', p_year, part);
+
+    PERFORM leave_request_assert_no_overlap(part::regclass);
+
+    EXECUTE format(
+        'ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist ('
+            || 'emp_id WITH =, daterange(start_date, end_date, ''[]'') WITH &&) '
+            || 'WHERE (status IN (''PENDING'', ''APPROVED''))',
+        part, 'excl_leave_request_no_overlap_y' || p_year);
+
+    -- ATTACH only takes SHARE UPDATE EXCLUSIVE on leave_request, so reads
+    -- and writes carry on; indexes, keys and triggers are cloned onto it
+    EXECUTE format(
+        'ALTER TABLE leave_request ATTACH PARTITION %I FOR VALUES FROM (%s) TO (%s)',
+        part, p_year, p_year + 1);
+
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- a partition for every year with leaves, and for this year and the next
+SELECT leave_request_ensure_partition(y)
+  FROM (SELECT DISTINCT year AS y FROM leave_request_unpartitioned
+        UNION
+        SELECT CAST(EXTRACT(YEAR FROM CURRENT_DATE) AS INT) + n FROM generate_series(0, 1) n) years
+ ORDER BY y;
+
+-- rows are routed to their partition; search_vector is copied as is
+-- (the trigger is created afterwards)
+INSERT INTO leave_request (leave_id, emp_id, leave_type, start_date, end_date, total_days,
+                           paid_days, unpaid_days, reason, status, applied_at, approved_at,
+                           approved_by, year, version, search_vector)
+SELECT leave_id, emp_id, leave_type, start_date, end_date, total_days,
+       paid_days, unpaid_days, reason, status, applied_at, approved_at,
+       approved_by, year, version, search_vector
+  FROM leave_request_unpartitioned;
+
+-- takes its indexes, constraints, trigger and id sequence with it
+DROP TABLE leave_request_unpartitioned;
+
+CREATE SEQUENCE leave_request_leave_id_seq OWNED BY leave_request.leave_id;
+SELECT setval('leave_request_leave_id_seq', COALESCE(MAX(leave_id), 0) + 1, false) FROM leave_request;
+ALTER TABLE leave_request ALTER COLUMN leave_id SET DEFAULT nextval('leave_request_leave_id_seq');
+
+-- Indexes and keys are declared on the parent and cascade to every
+-- partition, present and future. Same set as V1/V2; each partition's copy
+-- is a fraction of the old size.
+ALTER TABLE leave_request ADD CONSTRAINT leave_request_pkey PRIMARY KEY (leave_id, year);
+
+CREATE INDEX idx_leave_request_emp_end
+    ON leave_request (emp_id, end_date);
+
+CREATE INDEX idx_leave_request_applied
+    ON leave_request (applied_at, leave_id);
+
+CREATE INDEX idx_leave_request_used_paid
+    ON leave_request (emp_id, leave_type, year, status)
+    INCLUDE (paid_days);
+
+CREATE INDEX idx_leave_request_status_applied
+    ON leave_request (status, applied_at);
+
+CREATE INDEX idx_leave_request_search
+    ON leave_request USING gin (search_vector);
+
+CREATE TRIGGER trg_leave_request_search_vector
+    BEFORE INSERT OR UPDATE OF reason, emp_id ON leave_request
+    FOR EACH ROW EXECUTE FUNCTION leave_request_search_vector_trg();
+
+ANALYZE leave_request;
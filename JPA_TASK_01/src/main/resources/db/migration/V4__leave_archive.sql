@@ -0,0 +1,43 @@
+-- Cold archive of closed leaves (LeaveArchiveServiceImpl). The rows live in
+-- gzip segment files under leave.archive.dir; these two tables are the
+-- catalogue and a sparse index into it, a few rows per thousand leaves.
+
+-- one file per archived chunk (up to leave.archive.segment-rows leaves of one year)
+CREATE TABLE IF NOT EXISTS leave_archive_segment (
+    segment_id SERIAL PRIMARY KEY,
+
+    year INT NOT NULL,
+
+    file_name VARCHAR(255) NOT NULL UNIQUE,
+
+    row_count INT NOT NULL DEFAULT 0,
+    byte_size BIGINT NOT NULL DEFAULT 0,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- one entry per gzip block of a segment: the emp_id range it covers and
+-- where it sits in the file. A lookup by employee reads only its blocks.
+CREATE TABLE IF NOT EXISTS leave_archive_block (
+    block_id SERIAL PRIMARY KEY,
+
+    segment_id INT NOT NULL,
+
+    year INT NOT NULL,
+
+    first_emp_id INT NOT NULL,
+    last_emp_id INT NOT NULL,
+
+    byte_offset BIGINT NOT NULL,
+    byte_length INT NOT NULL,
+
+    row_count INT NOT NULL,
+
+    CONSTRAINT fk_archive_block_segment
+        FOREIGN KEY (segment_id)
+        REFERENCES leave_archive_segment(segment_id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_leave_archive_block_emp
+    ON leave_archive_block (year, first_emp_id, last_emp_id);
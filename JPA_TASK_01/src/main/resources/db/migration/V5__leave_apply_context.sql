@@ -0,0 +1,69 @@
+-- Everything applyLeave needs before it can size a leave, in one round trip
+-- (LeaveApplyRepository.resolve): the caller's employee row, the
+-- (employee, start year) advisory lock EmployeeYearLock would take, and -
+-- read after that lock is granted - the overlap probe and the ledger row.
+--
+-- A plain SELECT cannot do this: its snapshot is taken before it waits for
+-- the lock, so it could miss the leave the previous holder just committed.
+-- Each query in a VOLATILE function gets a fresh snapshot under READ
+-- COMMITTED, so the reads below see everything committed before the lock.
+--
+-- No row when the email has no employee. balance_id is NULL when the
+-- ledger row does not exist yet (the caller creates it the slow way).
+CREATE OR REPLACE FUNCTION leave_apply_context(
+    p_email TEXT,
+    p_leave_type TEXT,
+    p_start DATE,
+    p_end DATE)
+RETURNS TABLE (
+    emp_id INT,
+    dept_id INT,
+    joining_date DATE,
+    employee_name TEXT,
+    overlapping BOOLEAN,
+    balance_id INT,
+    entitled_days INT,
+    carried_forward_days INT,
+    used_days INT,
+    pending_days INT)
+LANGUAGE plpgsql VOLATILE AS $$
+#variable_conflict use_column
+DECLARE
+    v_year INT := EXTRACT(YEAR FROM p_start);
+    v_emp_id INT;
+    v_dept_id INT;
+    v_joining_date DATE;
+    v_name TEXT;
+BEGIN
+    SELECT e.emp_id, e.dept_id, e.joining_date, u.name
+      INTO v_emp_id, v_dept_id, v_joining_date, v_name
+      FROM users u
+      JOIN employee e ON e.user_id = u.user_id
+     WHERE u.email = p_email;
+
+    IF NOT FOUND THEN
+        RETURN;
+    END IF;
+
+    PERFORM pg_advisory_xact_lock(v_emp_id, v_year);
+
+    -- same probe as LeaveRequestRepository.existsOverlapping: no leave runs
+    -- past the year after it starts, so only two year partitions qualify
+    RETURN QUERY
+    SELECT v_emp_id, v_dept_id, v_joining_date, v_name,
+           EXISTS (
+               SELECT 1
+                 FROM leave_request l
+                WHERE l.emp_id = v_emp_id
+                  AND l.end_date >= p_start
+                  AND l.start_date <= p_end
+                  AND l.year BETWEEN v_year - 1 AND CAST(EXTRACT(YEAR FROM p_end) AS INT)
+                  AND l.status IN ('PENDING', 'APPROVED')),
+           b.balance_id, b.entitled_days, b.carried_forward_days, b.used_days, b.pending_days
+      FROM (SELECT 1) AS one
+      LEFT JOIN leave_balance b
+             ON b.emp_id = v_emp_id
+            AND b.leave_type = p_leave_type
+            AND b.year = v_year;
+END;
+$$;
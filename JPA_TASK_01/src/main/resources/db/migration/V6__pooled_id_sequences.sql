@@ -0,0 +1,42 @@
+-- Ids of the entities Hibernate inserts in bulk come from their sequences
+-- in blocks of 50 (pooled optimizer, allocationSize = 50): one nextval
+-- returns the top of a block and Hibernate hands out the 49 ids below it
+-- itself. IDENTITY needed the row inserted to learn its id, which ruled
+-- out JDBC batching; with a known id the INSERTs wait for the flush and go
+-- out together (hibernate.jdbc.batch_size).
+--
+-- The columns keep their nextval DEFAULT, so a plain SQL insert still gets
+-- a free id (the top of a block nobody else was given), but it uses up the
+-- whole block of 50 for one row. That is fine for the odd manual insert
+-- and not for application code: on leave_request (an INT id) it would
+-- bring overflow about 50 times closer. Application code that inserts
+-- with SQL passes an id from the entity's own pooled generator instead
+-- (LeaveApplyRepository.reserveAndInsert).
+--
+-- Each sequence is moved past its table's largest id first. Hibernate
+-- uses the 49 ids below whatever nextval returns, and those must all be
+-- free.
+DO $$
+DECLARE
+    t RECORD;
+    v_max BIGINT;
+BEGIN
+    FOR t IN
+        SELECT * FROM (VALUES
+            ('users', 'user_id', 'users_user_id_seq'),
+            ('employee', 'emp_id', 'employee_emp_id_seq'),
+            ('images', 'image_id', 'images_image_id_seq'),
+            ('holiday', 'holiday_id', 'holiday_holiday_id_seq'),
+            ('email_log', 'email_id', 'email_log_email_id_seq'),
+            ('leave_request', 'leave_id', 'leave_request_leave_id_seq')
+        ) AS s (table_name, column_name, sequence_name)
+    LOOP
+        EXECUTE format('SELECT GREATEST(COALESCE(MAX(%I), 0), (SELECT last_value FROM %I)) FROM %I',
+                       t.column_name, t.sequence_name, t.table_name)
+           INTO v_max;
+
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t.sequence_name);
+        PERFORM setval(t.sequence_name::regclass, v_max, true);
+    END LOOP;
+END;
+$$;
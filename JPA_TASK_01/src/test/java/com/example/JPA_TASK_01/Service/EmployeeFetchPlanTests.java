@@ -0,0 +1,169 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.Images;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Entity.User;
+import com.example.JPA_TASK_01.Repo.ImageRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Every association is LAZY; each employee/user endpoint loads what it
+// maps through its named entity graph, so it costs the same statements
+// for one row as for many and never falls back to a lazy load.
+@SpringBootTest
+@ActiveProfiles("test")
+class EmployeeFetchPlanTests {
+
+  private static final String EMAIL = "fetch.employee0@test";
+
+  @Autowired private EmployeeService employeeService;
+  @Autowired private DepartmentService departmentService;
+  @Autowired private LeaveService leaveService;
+  @Autowired private ImageRepository imageRepository;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private Department department;
+  private Employee employee;
+  private int seeded;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    department = fixtures.department("FETCH");
+    employee = seedEmployees(1).get(0);
+
+    TestFixtures.signIn(EMAIL, "ADMIN");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  // ===============================
+  // DIRECTORY LISTING: page + the page's images
+  // ===============================
+  @Test
+  void directoryIsTwoStatements() {
+    assertFixedStatements(2, () -> employeeService.getAllEmployees(0, 50, null).getContent());
+  }
+
+  @Test
+  void directorySearchIsTwoStatements() {
+    assertFixedStatements(2, () -> employeeService.getAllEmployees(0, 50, "fetch.employee").getContent());
+  }
+
+  @Test
+  void departmentRosterIsTwoStatements() {
+    assertFixedStatements(2, () -> departmentService.getEmployeesByDepartment(department.getDeptId()));
+  }
+
+  // ===============================
+  // PROFILE: employee, user, department and images in one join
+  // ===============================
+  @Test
+  void profileIsOneStatement() {
+    seedEmployees(9);
+    assertStatements(1, () -> employeeService.getMyProfile());
+    assertStatements(1, () -> employeeService.getEmployeeByIdResponse(employee.getEmpId()));
+  }
+
+  // ===============================
+  // ADMIN DETAIL: users with images, then their employee rows
+  // ===============================
+  @Test
+  void adminUserIsTwoStatements() {
+    seedEmployees(9);
+    assertStatements(2, () -> employeeService.getUserForAdmin(employee.getUser().getUserId()));
+  }
+
+  @Test
+  void adminUserListIsTwoStatements() {
+    assertFixedStatements(2, () -> employeeService.getAllUsersForAdmin());
+  }
+
+  // ===============================
+  // LEAVE MAPPING: owner and approver come with the leave
+  // ===============================
+  @Test
+  void decidingLeaveNeedsNoLazyLoads() {
+
+    Employee owner = seedEmployees(1).get(0);
+    LocalDate day = LocalDate.of(2030, 3, 4);
+    LeaveRequest leave = leaveRequestRepository.save(new LeaveRequest(
+            owner, "SICK", day, day, 1, 1, 0, 2030, "PENDING",
+            LocalDateTime.now(), null, null, "fetch plan"));
+
+    statistics.clear();
+    assertEquals("APPROVED", leaveService.decideLeave(leave.getLeaveId(), "APPROVED").getStatus());
+    assertEquals(0, statistics.getEntityFetchCount());
+  }
+
+  private void assertFixedStatements(long expected, Supplier<Collection<?>> listing) {
+
+    assertStatements(expected, listing);
+    assertEquals(seeded, listing.get().size());
+
+    seedEmployees(9);
+    assertStatements(expected, listing);
+    assertEquals(seeded, listing.get().size());
+  }
+
+  private <T> T assertStatements(long expected, Supplier<T> call) {
+
+    statistics.clear();
+    T result = call.get();
+
+    assertEquals(expected, statistics.getPrepareStatementCount());
+    assertEquals(0, statistics.getEntityFetchCount());
+    assertEquals(0, statistics.getCollectionFetchCount());
+    return result;
+  }
+
+  // employees of one department, each with an image (images belong to the
+  // user: chk_image_owner allows one owner per row)
+  private List<Employee> seedEmployees(int count) {
+
+    List<Employee> created = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String email = "fetch.employee" + seeded++ + "@test";
+
+      Employee emp = fixtures.employee(department, email);
+      imageRepository.save(image(emp.getUser(), email + ".png"));
+      created.add(emp);
+    }
+    return created;
+  }
+
+  private static Images image(User user, String fileName) {
+    Images image = new Images();
+    image.setUser(user);
+    image.setFileName(fileName);
+    image.setFilePath("/tmp/" + fileName);
+    return image;
+  }
+}
@@ -0,0 +1,73 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.Image.ImageResponse;
+import com.example.JPA_TASK_01.Entity.User;
+import com.example.JPA_TASK_01.Repo.ImageRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A multi-image upload inserts its rows in one JDBC batch: pooled sequence
+// ids and hibernate.jdbc.batch_size, instead of one INSERT per image.
+@SpringBootTest
+@ActiveProfiles("test")
+class ImageUploadBatchTests {
+
+  @Autowired private ImageService imageService;
+  @Autowired private ImageRepository imageRepository;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    user = fixtures.user("upload.batch@test", "EMPLOYEE");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  @Test
+  void uploadIsOneBatchedInsert() {
+
+    // user lookup, at most one nextval (a block of 50 ids), one batched INSERT
+    assertTrue(countStatements(1) <= 3);
+    assertTrue(countStatements(20) <= 3);
+    assertEquals(21, imageRepository.count());
+  }
+
+  private long countStatements(int images) {
+
+    List<MultipartFile> files = IntStream.range(0, images)
+            .mapToObj(i -> (MultipartFile) new MockMultipartFile(
+                    "images", "photo" + i + ".png", "image/png", new byte[] {1, 2, 3}))
+            .toList();
+
+    statistics.clear();
+    List<ImageResponse> saved = imageService.uploadUserImages(user.getUserId(), files);
+
+    assertEquals(images, saved.size());
+    assertEquals(images, statistics.getEntityInsertCount());
+    return statistics.getPrepareStatementCount();
+  }
+}
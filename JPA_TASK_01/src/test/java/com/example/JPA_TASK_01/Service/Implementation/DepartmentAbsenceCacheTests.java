@@ -0,0 +1,169 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.Department.DepartmentAbsenceResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Event.LeaveChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+// A calendar is loaded once and served until a committed change to an
+// APPROVED leave touches its department and month: approving, editing or
+// revoking evicts every month the leave spans, in that department only;
+// pending and rejected changes evict nothing, and a load that raced an
+// eviction is answered but not kept.
+class DepartmentAbsenceCacheTests {
+
+  private static final int DEPT = 3;
+  private static final int OTHER_DEPT = 4;
+  private static final YearMonth JANUARY = YearMonth.of(2036, 1);
+  private static final YearMonth FEBRUARY = YearMonth.of(2036, 2);
+  private static final YearMonth MARCH = YearMonth.of(2036, 3);
+
+  private final DepartmentAbsenceCache cache = new DepartmentAbsenceCache();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  void calendarIsLoadedOnce() {
+
+    DepartmentAbsenceResponse first = get(DEPT, JANUARY);
+
+    assertSame(first, get(DEPT, JANUARY));
+    assertEquals(1, loads.get());
+  }
+
+  // ===============================
+  // APPROVE / REVOKE
+  // ===============================
+  @Test
+  void approvalEvictsEveryMonthTheLeaveSpans() {
+
+    warm(DEPT, JANUARY, FEBRUARY, MARCH);
+    warm(OTHER_DEPT, JANUARY);
+
+    LeaveResponse pending = leave("PENDING", "2036-01-30", "2036-02-02");
+    cache.onLeaveChanged(change(LeaveChangedEvent.Type.DECIDED, DEPT, pending, withStatus(pending, "APPROVED")));
+
+    assertEquals(List.of(true, true, false), reloaded(DEPT, JANUARY, FEBRUARY, MARCH));
+    assertEquals(List.of(false), reloaded(OTHER_DEPT, JANUARY));
+  }
+
+  @Test
+  void revokeEvictsEveryMonthTheLeaveSpans() {
+
+    warm(DEPT, JANUARY, FEBRUARY, MARCH);
+
+    LeaveResponse approved = leave("APPROVED", "2036-02-27", "2036-03-03");
+    cache.onLeaveChanged(change(LeaveChangedEvent.Type.REVOKED, DEPT, approved, withStatus(approved, "REVOKED")));
+
+    assertEquals(List.of(false, true, true), reloaded(DEPT, JANUARY, FEBRUARY, MARCH));
+  }
+
+  @Test
+  void movingAnApprovedLeaveEvictsOldAndNewMonths() {
+
+    warm(DEPT, JANUARY, FEBRUARY, MARCH);
+
+    LeaveResponse before = leave("APPROVED", "2036-01-05", "2036-01-06");
+    LeaveResponse after = leave("APPROVED", "2036-03-05", "2036-03-06");
+    cache.onLeaveChanged(change(LeaveChangedEvent.Type.EDITED, DEPT, before, after));
+
+    assertEquals(List.of(true, false, true), reloaded(DEPT, JANUARY, FEBRUARY, MARCH));
+  }
+
+  // ===============================
+  // CHANGES THAT NEVER SHOW
+  // ===============================
+  @Test
+  void pendingAndRejectedChangesEvictNothing() {
+
+    warm(DEPT, JANUARY);
+
+    LeaveResponse pending = leave("PENDING", "2036-01-05", "2036-01-06");
+    cache.onLeaveChanged(change(LeaveChangedEvent.Type.CREATED, DEPT, null, pending));
+    cache.onLeaveChanged(change(LeaveChangedEvent.Type.DECIDED, DEPT, pending, withStatus(pending, "REJECTED")));
+    cache.onLeaveChanged(change(LeaveChangedEvent.Type.DECIDED, null,
+            pending, withStatus(pending, "APPROVED")));
+
+    assertEquals(List.of(false), reloaded(DEPT, JANUARY));
+  }
+
+  // ===============================
+  // LOAD RACING AN EVICTION
+  // ===============================
+  @Test
+  void loadThatRacedAnEvictionIsNotKept() {
+
+    LeaveResponse approved = leave("APPROVED", "2036-01-05", "2036-01-06");
+
+    // the change commits while January is being built from the old rows
+    DepartmentAbsenceResponse stale = cache.get(DEPT, JANUARY, () -> {
+      cache.onLeaveChanged(change(LeaveChangedEvent.Type.REVOKED, DEPT, approved, withStatus(approved, "REVOKED")));
+      return calendar(DEPT, JANUARY);
+    });
+
+    DepartmentAbsenceResponse next = get(DEPT, JANUARY);
+    assertNotSame(stale, next);
+    assertSame(next, get(DEPT, JANUARY));
+  }
+
+  @Test
+  void evictAllDropsEveryCalendar() {
+
+    warm(DEPT, JANUARY, FEBRUARY);
+    warm(OTHER_DEPT, MARCH);
+
+    cache.evictAll();
+
+    assertEquals(List.of(true, true), reloaded(DEPT, JANUARY, FEBRUARY));
+    assertEquals(List.of(true), reloaded(OTHER_DEPT, MARCH));
+  }
+
+  private DepartmentAbsenceResponse get(int deptId, YearMonth month) {
+    return cache.get(deptId, month, () -> {
+      loads.incrementAndGet();
+      return calendar(deptId, month);
+    });
+  }
+
+  private void warm(int deptId, YearMonth... months) {
+    for (YearMonth month : months) {
+      get(deptId, month);
+    }
+  }
+
+  // per month: whether it had to be loaded again
+  private List<Boolean> reloaded(int deptId, YearMonth... months) {
+    return Arrays.stream(months).map(month -> {
+      int before = loads.get();
+      get(deptId, month);
+      return loads.get() > before;
+    }).toList();
+  }
+
+  private static DepartmentAbsenceResponse calendar(int deptId, YearMonth month) {
+    return new DepartmentAbsenceResponse(deptId, month.getYear(), month.getMonthValue(), List.of());
+  }
+
+  private static LeaveResponse leave(String status, String start, String end) {
+    return new LeaveResponse(1, 10, "Ann", "CASUAL", LocalDate.parse(start), LocalDate.parse(end),
+            1, 1, 0, 2036, status, "absence", null, null, null);
+  }
+
+  private static LeaveResponse withStatus(LeaveResponse leave, String status) {
+    return leave(status, leave.getStartDate().toString(), leave.getEndDate().toString());
+  }
+
+  private static LeaveChangedEvent change(
+          LeaveChangedEvent.Type type, Integer deptId, LeaveResponse before, LeaveResponse after) {
+    return new LeaveChangedEvent(type, 1, deptId, "admin@test", before, after);
+  }
+}
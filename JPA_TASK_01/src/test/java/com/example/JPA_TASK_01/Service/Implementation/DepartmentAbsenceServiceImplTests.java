@@ -0,0 +1,182 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.Department.DepartmentAbsenceResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Repo.DeptRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The month calendar is built by one sweep over enter/exit events: every
+// approved leave shows on exactly the days it shares with the month, also
+// when it starts in an earlier month or year, ends in a later one, or is a
+// single day on the month's last day (whose exit lands in the extra slot).
+class DepartmentAbsenceServiceImplTests {
+
+  private static final int DEPT = 3;
+
+  private final DeptRepository deptRepository = mock(DeptRepository.class);
+  private final LeaveRequestRepository leaveRequestRepository = mock(LeaveRequestRepository.class);
+  private final WorkingCalendar workingCalendar = mock(WorkingCalendar.class);
+  private final List<LeaveResponse> approved = new ArrayList<>();
+
+  private DepartmentAbsenceServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    when(deptRepository.existsById(DEPT)).thenReturn(true);
+    // served as the range query would: the leaves touching [from, to]
+    when(leaveRequestRepository.findApprovedResponsesInDepartment(
+            eq(DEPT), any(), any(), anyInt(), anyInt())).thenAnswer(call -> {
+      LocalDate from = call.getArgument(1);
+      LocalDate to = call.getArgument(2);
+      return approved.stream()
+              .filter(l -> !l.getEndDate().isBefore(from) && !l.getStartDate().isAfter(to))
+              .toList();
+    });
+    when(workingCalendar.isWorkingDay(any())).thenAnswer(call -> {
+      DayOfWeek day = call.<LocalDate>getArgument(0).getDayOfWeek();
+      return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+    });
+    service = new DepartmentAbsenceServiceImpl(
+            deptRepository, leaveRequestRepository, workingCalendar, new DepartmentAbsenceCache());
+  }
+
+  // ===============================
+  // CLIPPING TO THE MONTH
+  // ===============================
+  @Test
+  void leaveAcrossNewYearShowsInBothMonths() {
+
+    approved.add(leave(1, 10, "Ann", "2035-12-29", "2036-01-02"));
+
+    assertEquals(days(29, 30, 31), daysOf(1, service.getAbsences(DEPT, 2035, 12)));
+    assertEquals(days(1, 2), daysOf(1, service.getAbsences(DEPT, 2036, 1)));
+
+    // January also looks in the previous year's leaves
+    verify(leaveRequestRepository).findApprovedResponsesInDepartment(
+            DEPT, LocalDate.of(2036, 1, 1), LocalDate.of(2036, 1, 31), 2035, 2036);
+  }
+
+  @Test
+  void leaveAcrossMonthEndIsClippedOnBothSides() {
+
+    approved.add(leave(1, 10, "Ann", "2036-01-30", "2036-02-02"));
+    // starts before and ends after the whole of February
+    approved.add(leave(2, 11, "Bob", "2036-01-15", "2036-03-10"));
+
+    DepartmentAbsenceResponse february = service.getAbsences(DEPT, 2036, 2);
+
+    assertEquals(days(1, 2), daysOf(1, february));
+    assertEquals(29, daysOf(2, february).size());
+    assertEquals(days(30, 31), daysOf(1, service.getAbsences(DEPT, 2036, 1)));
+  }
+
+  // ===============================
+  // LAST DAY OF THE MONTH
+  // ===============================
+  @Test
+  void singleDayLeaveOnTheLastDayOfTheMonth() {
+
+    approved.add(leave(1, 10, "Ann", "2036-01-31", "2036-01-31"));
+    // February 2036 has 29 days
+    approved.add(leave(2, 11, "Bob", "2036-02-29", "2036-02-29"));
+    approved.add(leave(3, 12, "Cid", "2036-04-30", "2036-04-30"));
+
+    assertEquals(days(31), daysOf(1, service.getAbsences(DEPT, 2036, 1)));
+    assertEquals(days(29), daysOf(2, service.getAbsences(DEPT, 2036, 2)));
+    assertEquals(days(30), daysOf(3, service.getAbsences(DEPT, 2036, 4)));
+  }
+
+  @Test
+  void singleDayLeaveOnTheFirstDayAndBackToBackLeaves() {
+
+    approved.add(leave(1, 10, "Ann", "2036-03-01", "2036-03-01"));
+    approved.add(leave(2, 10, "Ann", "2036-03-09", "2036-03-10"));
+    approved.add(leave(3, 10, "Ann", "2036-03-11", "2036-03-11"));
+
+    DepartmentAbsenceResponse march = service.getAbsences(DEPT, 2036, 3);
+
+    assertEquals(days(1), daysOf(1, march));
+    assertEquals(days(9, 10), daysOf(2, march));
+    assertEquals(days(11), daysOf(3, march));
+    // one absentee per day, never the ending and the starting leave together
+    assertTrue(march.getDays().stream().allMatch(day -> day.getCount() <= 1));
+  }
+
+  // ===============================
+  // DAY CONTENTS
+  // ===============================
+  @Test
+  void absenteesAreOrderedByNameThenEmployeeThenLeave() {
+
+    approved.add(leave(4, 12, "Cid", "2036-05-05", "2036-05-05"));
+    approved.add(leave(3, 11, "Ann", "2036-05-05", "2036-05-05"));
+    approved.add(leave(2, 10, "Ann", "2036-05-05", "2036-05-05"));
+    approved.add(leave(1, 10, "Ann", "2036-05-04", "2036-05-06"));
+
+    DepartmentAbsenceResponse.Day day = service.getAbsences(DEPT, 2036, 5).getDays().get(4);
+
+    assertEquals(LocalDate.of(2036, 5, 5), day.getDate());
+    assertEquals(List.of(1, 2, 3, 4),
+            day.getAbsentees().stream().map(DepartmentAbsenceResponse.Absentee::getLeaveId).toList());
+  }
+
+  @Test
+  void everyDayOfTheMonthIsListedWithItsWorkingFlag() {
+
+    DepartmentAbsenceResponse june = service.getAbsences(DEPT, 2036, 6);
+
+    assertEquals(30, june.getDays().size());
+    assertEquals(LocalDate.of(2036, 6, 1), june.getDays().get(0).getDate());
+    // 2036-06-01 is a Sunday, 2036-06-02 a Monday
+    assertFalse(june.getDays().get(0).isWorkingDay());
+    assertTrue(june.getDays().get(1).isWorkingDay());
+    assertTrue(june.getDays().stream().allMatch(day -> day.getCount() == 0));
+  }
+
+  // ===============================
+  // INPUT
+  // ===============================
+  @Test
+  void invalidMonthAndUnknownDepartmentAreRefused() {
+
+    assertThrows(IllegalArgumentException.class, () -> service.getAbsences(DEPT, 2036, 13));
+    RuntimeException missing = assertThrows(RuntimeException.class, () -> service.getAbsences(99, 2036, 1));
+    assertEquals("Department not found", missing.getMessage());
+  }
+
+  private static LeaveResponse leave(int leaveId, int empId, String name, String start, String end) {
+    LocalDate startDate = LocalDate.parse(start);
+    return new LeaveResponse(leaveId, empId, name, "CASUAL", startDate, LocalDate.parse(end),
+            1, 1, 0, startDate.getYear(), "APPROVED", "absence", null, null, null);
+  }
+
+  // the days of the month on which leaveId is listed
+  private static List<Integer> daysOf(int leaveId, DepartmentAbsenceResponse calendar) {
+    return calendar.getDays().stream()
+            .filter(day -> day.getAbsentees().stream().anyMatch(a -> a.getLeaveId() == leaveId))
+            .map(day -> day.getDate().getDayOfMonth())
+            .toList();
+  }
+
+  private static List<Integer> days(Integer... days) {
+    return List.of(days);
+  }
+}
@@ -0,0 +1,97 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 12 days a year is one day per month of service, so most expectations
+// read as a month count.
+class LeaveAccrualCalculatorTests {
+
+  private static final int LIMIT = 12;
+
+  // ===============================
+  // JOINING DATE
+  // ===============================
+  @Test
+  void priorYearJoinerAccruesFromJanuary() {
+    LocalDate joined = LocalDate.of(2029, 8, 20);
+
+    assertEquals(3, LeaveAccrualCalculator.accruedDays(LIMIT, joined, 2031, YearMonth.of(2031, 3)));
+    assertEquals(12, LeaveAccrualCalculator.accruedDays(LIMIT, joined, 2031, YearMonth.of(2031, 12)));
+  }
+
+  @Test
+  void noJoiningDateAccruesFromJanuary() {
+    assertEquals(5, LeaveAccrualCalculator.accruedDays(LIMIT, null, 2031, YearMonth.of(2031, 5)));
+  }
+
+  @Test
+  void joiningUpToTheFifteenthCountsThatMonth() {
+    assertEquals(3, LeaveAccrualCalculator.accruedDays(
+            LIMIT, LocalDate.of(2031, 4, 15), 2031, YearMonth.of(2031, 6)));
+  }
+
+  @Test
+  void joiningAfterTheFifteenthStartsNextMonth() {
+    assertEquals(2, LeaveAccrualCalculator.accruedDays(
+            LIMIT, LocalDate.of(2031, 4, 16), 2031, YearMonth.of(2031, 6)));
+    assertEquals(0, LeaveAccrualCalculator.accruedDays(
+            LIMIT, LocalDate.of(2031, 6, 20), 2031, YearMonth.of(2031, 6)));
+  }
+
+  @Test
+  void joiningAfterTheYearAccruesNothing() {
+    assertEquals(0, LeaveAccrualCalculator.accruedDays(
+            LIMIT, LocalDate.of(2032, 1, 1), 2031, YearMonth.of(2032, 3)));
+  }
+
+  // ===============================
+  // PAST / FUTURE YEARS
+  // ===============================
+  @Test
+  void pastYearIsFullyAccrued() {
+    assertEquals(12, LeaveAccrualCalculator.accruedDays(LIMIT, null, 2030, YearMonth.of(2031, 2)));
+  }
+
+  @Test
+  void futureYearHasAccruedNothingYet() {
+    assertEquals(0, LeaveAccrualCalculator.accruedDays(LIMIT, null, 2031, YearMonth.of(2030, 12)));
+  }
+
+  @Test
+  void partialDaysRoundDown() {
+    // 15 * 5 / 12 = 6.25
+    assertEquals(6, LeaveAccrualCalculator.accruedDays(15, null, 2031, YearMonth.of(2031, 5)));
+  }
+
+  // ===============================
+  // PROJECTION TO THE LEAVE'S MONTH
+  // ===============================
+  @Test
+  void decemberApplyForJanuaryHoldsJanuaryAccrual() {
+    assertEquals(1, LeaveAccrualCalculator.projectedDays(
+            LIMIT, null, LocalDate.of(2031, 1, 6), YearMonth.of(2030, 12)));
+  }
+
+  @Test
+  void laterLeaveInTheYearHoldsItsMonthsAccrual() {
+    assertEquals(9, LeaveAccrualCalculator.projectedDays(
+            LIMIT, null, LocalDate.of(2031, 9, 1), YearMonth.of(2031, 2)));
+  }
+
+  @Test
+  void projectionStillHonoursTheJoiningDate() {
+    assertEquals(2, LeaveAccrualCalculator.projectedDays(
+            LIMIT, LocalDate.of(2031, 3, 20), LocalDate.of(2031, 5, 4), YearMonth.of(2030, 12)));
+  }
+
+  @Test
+  void backdatedLeaveUsesTodaysAccrual() {
+    assertEquals(5, LeaveAccrualCalculator.projectedDays(
+            LIMIT, null, LocalDate.of(2031, 1, 6), YearMonth.of(2031, 5)));
+  }
+}
@@ -0,0 +1,175 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Repo.LeavePolicyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.JPA_TASK_01.Service.Implementation.LeavePolicyTableTests.rule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The registry serves lookups from the table it last built and swaps in a
+// new one only when the leave_policy stamp, count|max(updated_at), moves.
+// Readers are never blocked by a reload and see the old table until the
+// swap; an edit committed while a reload reads the rules is picked up by
+// the next poll, because the stamp is read before the rules.
+class LeavePolicyRegistryTests {
+
+  private static final int DEPT = 7;
+  private static final int YEAR = 2036;
+  private static final LocalDateTime T1 = LocalDateTime.of(2036, 1, 1, 9, 0);
+  private static final LocalDateTime T2 = LocalDateTime.of(2036, 1, 1, 9, 5);
+
+  private final LeavePolicyRepository policyRepository = mock(LeavePolicyRepository.class);
+  private final List<Object[]> rules = new ArrayList<>();
+  private long count;
+  private LocalDateTime lastUpdated;
+
+  private LeavePolicyRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    when(policyRepository.findAllRules()).thenAnswer(call -> List.copyOf(rules));
+    when(policyRepository.count()).thenAnswer(call -> count);
+    when(policyRepository.findLastUpdatedAt()).thenAnswer(call -> lastUpdated);
+    registry = new LeavePolicyRegistry(policyRepository);
+  }
+
+  @Test
+  void servesDefaultsUntilTheFirstLoad() {
+
+    rules.add(rule(LeaveType.SICK, null, null, 3));
+
+    assertEquals(LeaveType.SICK.getDefaultYearlyLimit(), registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+
+    registry.reload();
+    assertEquals(3, registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+  }
+
+  // ===============================
+  // CHANGE STAMP
+  // ===============================
+  @Test
+  void unchangedStampDoesNotReload() {
+
+    rules.add(rule(LeaveType.SICK, null, null, 3));
+    stamp(1, T1);
+    registry.reload();
+
+    registry.refreshIfChanged();
+    registry.refreshIfChanged();
+
+    verify(policyRepository, times(1)).findAllRules();
+  }
+
+  @Test
+  void newerUpdatedAtReloads() {
+
+    rules.add(rule(LeaveType.SICK, null, null, 3));
+    stamp(1, T1);
+    registry.reload();
+
+    // edited in place on another node: same count, later updated_at
+    rules.set(0, rule(LeaveType.SICK, null, null, 4));
+    stamp(1, T2);
+    registry.refreshIfChanged();
+
+    assertEquals(4, registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+  }
+
+  @Test
+  void deletedRuleReloadsThoughMaxUpdatedAtIsUnchanged() {
+
+    rules.add(rule(LeaveType.SICK, null, null, 3));
+    rules.add(rule(LeaveType.SICK, DEPT, null, 5));
+    stamp(2, T2);
+    registry.reload();
+    assertEquals(5, registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+
+    // the older row is deleted: max(updated_at) stays T2, only the count moves
+    rules.remove(1);
+    stamp(1, T2);
+    registry.refreshIfChanged();
+
+    assertEquals(3, registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+  }
+
+  @Test
+  void lastRuleDeletedFallsBackToDefaults() {
+
+    rules.add(rule(LeaveType.SICK, null, null, 3));
+    stamp(1, T1);
+    registry.reload();
+
+    rules.clear();
+    stamp(0, null);
+    registry.refreshIfChanged();
+
+    assertEquals(LeaveType.SICK.getDefaultYearlyLimit(), registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+  }
+
+  // ===============================
+  // COPY-ON-WRITE
+  // ===============================
+  @Test
+  void readersKeepTheOldTableWhileAReloadBuildsTheNewOne() {
+
+    rules.add(rule(LeaveType.SICK, null, null, 3));
+    stamp(1, T1);
+    registry.reload();
+
+    rules.set(0, rule(LeaveType.SICK, null, null, 4));
+    stamp(1, T2);
+
+    // a lookup on another thread while the reload holds its lock
+    List<Integer> seenDuringReload = new ArrayList<>();
+    doAnswer(call -> {
+      seenDuringReload.add(CompletableFuture
+              .supplyAsync(() -> registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR))
+              .get(5, TimeUnit.SECONDS));
+      return List.copyOf(rules);
+    }).when(policyRepository).findAllRules();
+    registry.refreshIfChanged();
+
+    assertEquals(List.of(3), seenDuringReload);
+    assertEquals(4, registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+  }
+
+  @Test
+  void editCommittedDuringAReloadIsPickedUpByTheNextPoll() {
+
+    rules.add(rule(LeaveType.SICK, null, null, 3));
+    stamp(1, T1);
+
+    // the stamp is taken (T1), then the edit commits before the rules are read
+    doAnswer(call -> {
+      List<Object[]> before = List.copyOf(rules);
+      rules.set(0, rule(LeaveType.SICK, null, null, 4));
+      stamp(1, T2);
+      return before;
+    }).when(policyRepository).findAllRules();
+    registry.reload();
+    assertEquals(3, registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+
+    doAnswer(call -> List.copyOf(rules)).when(policyRepository).findAllRules();
+    registry.refreshIfChanged();
+
+    assertEquals(4, registry.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+  }
+
+  private void stamp(long count, LocalDateTime lastUpdated) {
+    this.count = count;
+    this.lastUpdated = lastUpdated;
+  }
+}
@@ -0,0 +1,112 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A lookup takes the most specific rule that sets the type: department and
+// year, then department, then year, then company-wide, then the LeaveType
+// default. A rule for one type never shadows another type, and a built
+// table is a snapshot the rows it came from can no longer change.
+class LeavePolicyTableTests {
+
+  private static final int DEPT = 7;
+  private static final int OTHER_DEPT = 8;
+  private static final int YEAR = 2036;
+
+  @Test
+  void withoutRulesEveryTypeHasItsDefault() {
+
+    LeavePolicyTable table = LeavePolicyTable.defaults();
+
+    for (LeaveType type : LeaveType.values()) {
+      assertEquals(type.getDefaultYearlyLimit(), table.yearlyLimit(type, DEPT, YEAR), type.name());
+      assertEquals(type.getDefaultYearlyLimit(), table.yearlyLimit(type, null, YEAR), type.name());
+    }
+  }
+
+  // ===============================
+  // FALLBACK ORDER
+  // ===============================
+  @Test
+  void mostSpecificScopeWins() {
+
+    LeavePolicyTable table = LeavePolicyTable.build(List.of(
+            rule(LeaveType.SICK, null, null, 10),
+            rule(LeaveType.SICK, null, YEAR, 11),
+            rule(LeaveType.SICK, DEPT, null, 12),
+            rule(LeaveType.SICK, DEPT, YEAR, 13)));
+
+    assertEquals(13, table.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+    assertEquals(12, table.yearlyLimit(LeaveType.SICK, DEPT, YEAR + 1));
+    assertEquals(11, table.yearlyLimit(LeaveType.SICK, OTHER_DEPT, YEAR));
+    assertEquals(10, table.yearlyLimit(LeaveType.SICK, OTHER_DEPT, YEAR + 1));
+
+    // no department: the department scopes are skipped
+    assertEquals(11, table.yearlyLimit(LeaveType.SICK, null, YEAR));
+    assertEquals(10, table.yearlyLimit(LeaveType.SICK, null, YEAR + 1));
+  }
+
+  @Test
+  void ruleForOneTypeDoesNotShadowAnother() {
+
+    LeavePolicyTable table = LeavePolicyTable.build(List.of(
+            rule(LeaveType.CASUAL, null, null, 9),
+            rule(LeaveType.SICK, DEPT, YEAR, 2)));
+
+    // DEPT/YEAR has a slot array now, but CASUAL is unset in it
+    assertEquals(9, table.yearlyLimit(LeaveType.CASUAL, DEPT, YEAR));
+    assertEquals(LeaveType.EARNED.getDefaultYearlyLimit(), table.yearlyLimit(LeaveType.EARNED, DEPT, YEAR));
+    assertEquals(2, table.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+  }
+
+  @Test
+  void zeroIsALimitNotAFallThrough() {
+
+    LeavePolicyTable table = LeavePolicyTable.build(List.of(
+            rule(LeaveType.OPTIONAL, null, null, 5),
+            rule(LeaveType.OPTIONAL, DEPT, null, 0)));
+
+    assertEquals(0, table.yearlyLimit(LeaveType.OPTIONAL, DEPT, YEAR));
+    assertEquals(5, table.yearlyLimit(LeaveType.OPTIONAL, OTHER_DEPT, YEAR));
+  }
+
+  @Test
+  void departmentAndYearKeysDoNotCollide() {
+
+    LeavePolicyTable table = LeavePolicyTable.build(List.of(
+            rule(LeaveType.SICK, 1, 2, 21),
+            rule(LeaveType.SICK, 2, 1, 12)));
+
+    assertEquals(21, table.yearlyLimit(LeaveType.SICK, 1, 2));
+    assertEquals(12, table.yearlyLimit(LeaveType.SICK, 2, 1));
+    assertEquals(LeaveType.SICK.getDefaultYearlyLimit(), table.yearlyLimit(LeaveType.SICK, 1, 1));
+  }
+
+  // ===============================
+  // SNAPSHOT
+  // ===============================
+  @Test
+  void builtTableIsASnapshotOfItsRows() {
+
+    List<Object[]> rows = new ArrayList<>();
+    Object[] sick = rule(LeaveType.SICK, DEPT, null, 4);
+    rows.add(sick);
+    LeavePolicyTable table = LeavePolicyTable.build(rows);
+
+    sick[3] = 40;
+    rows.add(rule(LeaveType.CASUAL, null, null, 1));
+
+    assertEquals(4, table.yearlyLimit(LeaveType.SICK, DEPT, YEAR));
+    assertEquals(LeaveType.CASUAL.getDefaultYearlyLimit(), table.yearlyLimit(LeaveType.CASUAL, DEPT, YEAR));
+  }
+
+  // the shape of LeavePolicyRepository.findAllRules
+  static Object[] rule(LeaveType type, Integer deptId, Integer year, int limit) {
+    return new Object[] {type, deptId, year, limit};
+  }
+}
@@ -0,0 +1,182 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchCursor;
+import com.example.JPA_TASK_01.Event.LeaveChangedEvent;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepositoryCustom.AdminOrder;
+import com.example.JPA_TASK_01.config.DatabasePlatform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The H2 stand-in for full-text search: what a query term is, which leaves
+// match, in what order, and that the paged rebuild neither loses nor
+// resurrects changes committed while it loads.
+class LeaveTextIndexTests {
+
+  private static final int PAGE_SIZE = 2;
+  private static final LocalDateTime APPLIED = LocalDateTime.of(2033, 1, 1, 9, 0);
+
+  private final LeaveRequestRepository leaveRequestRepository = mock(LeaveRequestRepository.class);
+  private final List<LeaveResponse> rows = new ArrayList<>();
+  private final List<LeaveSearchCursor> cursors = new ArrayList<>();
+  private Runnable duringLoad = () -> {};
+
+  private LeaveTextIndex index;
+
+  @BeforeEach
+  void setUp() {
+    // serves `rows` in pages as the keyset query would, after each
+    // page running whatever the test has committed meanwhile
+    when(leaveRequestRepository.findAdminResponses(
+            any(), any(), any(), eq(AdminOrder.APPLIED_ASC), anyInt())).thenAnswer(call -> {
+      LeaveSearchCursor after = call.getArgument(2);
+      int limit = call.getArgument(4);
+      cursors.add(after);
+      List<LeaveResponse> page = rows.stream()
+              .filter(row -> after == null || row.getLeaveId() > after.getLeaveId())
+              .limit(limit)
+              .toList();
+      duringLoad.run();
+      return page;
+    });
+    index = new LeaveTextIndex(leaveRequestRepository, mock(DatabasePlatform.class), PAGE_SIZE);
+  }
+
+  // ===============================
+  // TOKENS
+  // ===============================
+  @Test
+  void tokensAreLowercaseWordsAndNumbers() {
+    assertEquals(List.of("flu", "fever", "rest", "day", "2"),
+            LeaveTextIndex.tokenize("Flu, FEVER & rest-day 2"));
+    assertEquals(List.of("café", "über"), LeaveTextIndex.tokenize("Café/Über"));
+    assertEquals(List.of(), LeaveTextIndex.tokenize(null));
+  }
+
+  @Test
+  void stopWordsAreDropped() {
+    assertEquals(List.of("flu", "cold"), LeaveTextIndex.tokenize("The flu and a cold"));
+
+    rows.add(leave(1, "Ann", "the flu"));
+    index.rebuild();
+
+    assertTrue(index.search("the").isEmpty());
+    assertEquals(List.of(1), ids(index.search("the flu")));
+  }
+
+  // ===============================
+  // MATCHING AND RANKING
+  // ===============================
+  @Test
+  void everyTermMustMatch() {
+    rows.add(leave(1, "Ann", "flu fever"));
+    rows.add(leave(2, "Bob", "flu"));
+    rows.add(leave(3, "Cid", "fever"));
+    index.rebuild();
+
+    assertEquals(List.of(1), ids(index.search("fever flu")));
+    assertTrue(index.search("flu surgery").isEmpty());
+    // the employee name is searchable along with the reason
+    assertEquals(List.of(2), ids(index.search("bob flu")));
+  }
+
+  @Test
+  void rarerAndRepeatedTermsRankFirst() {
+    rows.add(leave(1, "Ann", "flu"));
+    rows.add(leave(2, "Bob", "flu flu"));
+    rows.add(leave(3, "Cid", "flu"));
+    rows.add(leave(4, "Dee", "cold"));
+    index.rebuild();
+
+    // two occurrences beat one; equal scores list the newer leave first
+    assertEquals(List.of(2, 3, 1), ids(index.search("flu")));
+
+    double rare = index.search("cold").get(4);
+    double common = index.search("flu").get(3);
+    assertTrue(rare > common);
+  }
+
+  // ===============================
+  // REBUILD
+  // ===============================
+  @Test
+  void rebuildWalksKeysetPages() {
+    for (int id = 1; id <= 5; id++) {
+      rows.add(leave(id, "Ann", "flu"));
+    }
+    index.rebuild();
+
+    assertEquals(5, index.search("flu").size());
+    // a short last page ends the walk; each page starts after the last row served
+    assertEquals(3, cursors.size());
+    assertNull(cursors.get(0));
+    assertEquals(2, cursors.get(1).getLeaveId());
+    assertEquals(4, cursors.get(2).getLeaveId());
+  }
+
+  @Test
+  void changesCommittedDuringRebuildAreReplayed() {
+    rows.add(leave(1, "Ann", "flu"));
+    rows.add(leave(2, "Bob", "flu"));
+    rows.add(leave(3, "Cid", "flu"));
+    index.rebuild();
+
+    // while the first page loads: 1 (already read) is edited, 2 (already
+    // read) is deleted and 4 is created; the load never sees any of it
+    duringLoad = () -> {
+      duringLoad = () -> {};
+      index.onLeaveChanged(change(LeaveChangedEvent.Type.EDITED, leave(1, "Ann", "broken arm")));
+      index.onLeaveChanged(change(LeaveChangedEvent.Type.DELETED, 2, null));
+      index.onLeaveChanged(change(LeaveChangedEvent.Type.CREATED, leave(4, "Dee", "flu")));
+    };
+    index.rebuild();
+
+    assertEquals(List.of(4, 3), ids(index.search("flu")));
+    assertEquals(List.of(1), ids(index.search("arm")));
+  }
+
+  @Test
+  void disabledOnPostgres() {
+    DatabasePlatform postgres = mock(DatabasePlatform.class);
+    when(postgres.isPostgres()).thenReturn(true);
+    LeaveTextIndex unused = new LeaveTextIndex(leaveRequestRepository, postgres, PAGE_SIZE);
+
+    rows.add(leave(1, "Ann", "flu"));
+    unused.rebuild();
+
+    assertTrue(cursors.isEmpty());
+    assertTrue(unused.search("flu").isEmpty());
+  }
+
+  private static LeaveResponse leave(int leaveId, String employeeName, String reason) {
+    return new LeaveResponse(leaveId, 1, employeeName, "SICK", null, null, 1, 1, 0, 2033,
+            "PENDING", reason, APPLIED, null, null);
+  }
+
+  private static LeaveChangedEvent change(LeaveChangedEvent.Type type, LeaveResponse after) {
+    return change(type, after.getLeaveId(), after);
+  }
+
+  private static LeaveChangedEvent change(LeaveChangedEvent.Type type, int leaveId, LeaveResponse after) {
+    return new LeaveChangedEvent(type, leaveId, null, "admin@test", null, after);
+  }
+
+  private static List<Integer> ids(Map<Integer, Double> ranked) {
+    return List.copyOf(ranked.keySet());
+  }
+}
@@ -0,0 +1,157 @@
+package com.example.JPA_TASK_01.Service.Implementation;
+
+import com.example.JPA_TASK_01.Entity.Holiday;
+import com.example.JPA_TASK_01.Repo.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Counts are checked against a day-by-day walk over the same holidays.
+class WorkingCalendarTests {
+
+  private final HolidayRepository holidayRepo = mock(HolidayRepository.class);
+  private final List<Holiday> holidays = new ArrayList<>();
+
+  private WorkingCalendar calendar;
+
+  @BeforeEach
+  void setUp() {
+    when(holidayRepo.findByHolidayDateBetween(any(), any())).thenAnswer(call -> {
+      LocalDate from = call.getArgument(0);
+      LocalDate to = call.getArgument(1);
+      return holidays.stream()
+              .filter(h -> !h.getHolidayDate().isBefore(from) && !h.getHolidayDate().isAfter(to))
+              .toList();
+    });
+    calendar = new WorkingCalendar(holidayRepo, Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+  }
+
+  // ===============================
+  // CROSS-YEAR RANGES
+  // ===============================
+  @Test
+  void rangeAcrossNewYearCountsBothYears() {
+    holiday(LocalDate.of(2032, 1, 1), false);
+
+    // Mon 29 .. Wed 31 December, Thu 1 (holiday) and Fri 2 January
+    assertEquals(4, calendar.countWorkingDays(LocalDate.of(2031, 12, 29), LocalDate.of(2032, 1, 2)));
+  }
+
+  @Test
+  void rangeOverSeveralYearsMatchesADayByDayCount() {
+    holiday(LocalDate.of(2030, 12, 25), false);
+    holiday(LocalDate.of(2031, 7, 4), false);
+    holiday(LocalDate.of(2032, 2, 29), false); // a Sunday: no effect
+    holiday(LocalDate.of(2032, 3, 1), true);
+
+    LocalDate start = LocalDate.of(2030, 6, 17);
+    LocalDate end = LocalDate.of(2032, 6, 30);
+    assertEquals(walk(start, end), calendar.countWorkingDays(start, end));
+  }
+
+  @Test
+  void reversedRangeIsEmpty() {
+    assertEquals(0, calendar.countWorkingDays(LocalDate.of(2031, 3, 5), LocalDate.of(2031, 3, 4)));
+  }
+
+  // ===============================
+  // OPTIONAL VS NON-OPTIONAL HOLIDAYS
+  // ===============================
+  @Test
+  void onlyNonOptionalHolidaysAreDaysOff() {
+    holiday(LocalDate.of(2031, 3, 3), false);
+    holiday(LocalDate.of(2031, 3, 4), true);
+
+    assertFalse(calendar.isWorkingDay(LocalDate.of(2031, 3, 3)));
+    assertTrue(calendar.isWorkingDay(LocalDate.of(2031, 3, 4)));
+    assertEquals(4, calendar.countWorkingDays(LocalDate.of(2031, 3, 3), LocalDate.of(2031, 3, 9)));
+  }
+
+  // ===============================
+  // INCREMENTAL UPDATES (withDay)
+  // ===============================
+  @Test
+  void holidayChangeRecomputesOnlyLaterPrefixSums() {
+    LocalDate day = LocalDate.of(2031, 6, 10);
+    LocalDate first = LocalDate.of(2031, 1, 1);
+    LocalDate last = LocalDate.of(2031, 12, 31);
+
+    int before = calendar.countWorkingDays(first, day.minusDays(1));
+    int after = calendar.countWorkingDays(day, last);
+
+    calendar.applyHolidayChange(day, true);
+    holiday(day, false);
+
+    assertFalse(calendar.isWorkingDay(day));
+    assertEquals(before, calendar.countWorkingDays(first, day.minusDays(1)));
+    assertEquals(after - 1, calendar.countWorkingDays(day, last));
+    assertEquals(walk(LocalDate.of(2031, 5, 1), LocalDate.of(2031, 7, 31)),
+            calendar.countWorkingDays(LocalDate.of(2031, 5, 1), LocalDate.of(2031, 7, 31)));
+
+    calendar.applyHolidayChange(day, false);
+    holidays.clear();
+
+    assertTrue(calendar.isWorkingDay(day));
+    assertEquals(after, calendar.countWorkingDays(day, last));
+
+    // patched in place: the year was compiled from the repository once
+    verify(holidayRepo, times(1)).findByHolidayDateBetween(any(), any());
+  }
+
+  @Test
+  void removingAHolidayOnAWeekendKeepsItOff() {
+    LocalDate saturday = LocalDate.of(2031, 6, 14);
+    calendar.isWorkingDay(saturday);
+
+    calendar.applyHolidayChange(saturday, false);
+
+    assertFalse(calendar.isWorkingDay(saturday));
+  }
+
+  @Test
+  void changeToAnUncompiledYearIsLeftToTheNextCompile() {
+    calendar.applyHolidayChange(LocalDate.of(2033, 5, 2), true);
+    verify(holidayRepo, never()).findByHolidayDateBetween(any(), any());
+
+    holiday(LocalDate.of(2033, 5, 2), false);
+    assertFalse(calendar.isWorkingDay(LocalDate.of(2033, 5, 2)));
+  }
+
+  private void holiday(LocalDate date, boolean optional) {
+    Holiday holiday = new Holiday();
+    holiday.setHolidayName("holiday " + date);
+    holiday.setHolidayDate(date);
+    holiday.setHolidayType("COMPANY");
+    holiday.setOptional(optional);
+    holidays.add(holiday);
+  }
+
+  private int walk(LocalDate start, LocalDate end) {
+    int count = 0;
+    for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+      LocalDate current = day;
+      boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+      boolean dayOff = holidays.stream()
+              .anyMatch(h -> h.getHolidayDate().equals(current) && !h.getOptional());
+      if (!weekend && !dayOff) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
@@ -0,0 +1,229 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchPage;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Keyset pages of the admin search walk (applied_at, leave_id) in either
+// direction: every row once, ties broken by id, undated legacy rows last
+// ascending and first descending, and a cursor that does not move when
+// rows are inserted between two pages. The unpaged search is capped.
+@SpringBootTest(properties = "leave.admin-search.max-rows=5")
+@ActiveProfiles("test")
+class LeaveAdminSearchTests {
+
+  private static final int YEAR = 2034;
+  private static final LocalDateTime T1 = LocalDateTime.of(2033, 11, 1, 9, 0);
+  private static final LocalDateTime T2 = LocalDateTime.of(2033, 11, 2, 9, 0);
+  private static final LocalDateTime T3 = LocalDateTime.of(2033, 11, 3, 9, 0);
+
+  @Autowired private LeaveService leaveService;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestFixtures fixtures;
+
+  private Employee employee;
+  private int seeded;
+
+  @BeforeEach
+  void setUp() {
+    employee = fixtures.employee(fixtures.department("ADMIN SEARCH"), "admin.search.employee@test");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  // ===============================
+  // ORDER AND TIES
+  // ===============================
+  @Test
+  void ascendingPagesBreakTiesById() {
+    int a = leave(T2);
+    int b = leave(T1);
+    int c = leave(T2);
+    int d = leave(T1);
+    int e = leave(T2);
+
+    assertEquals(List.of(b, d, a, c, e), walk("ASC", 2));
+  }
+
+  @Test
+  void descendingPagesBreakTiesById() {
+    int a = leave(T2);
+    int b = leave(T1);
+    int c = leave(T2);
+    int d = leave(T1);
+    int e = leave(T2);
+
+    assertEquals(List.of(e, c, a, d, b), walk("DESC", 2));
+  }
+
+  @Test
+  void lastPageHasNoCursor() {
+    leave(T1);
+    leave(T2);
+
+    LeaveSearchPage page = page(null, 2, "ASC");
+
+    assertEquals(2, page.getItems().size());
+    assertFalse(page.isHasMore());
+    assertNull(page.getNextCursor());
+  }
+
+  // ===============================
+  // INSERTS BETWEEN PAGES
+  // ===============================
+  @Test
+  void nextPageIsStableWhileRowsAreInserted() {
+    int a = leave(T1);
+    int b = leave(T2);
+    int c = leave(T2);
+    int d = leave(T3);
+
+    LeaveSearchPage first = page(null, 2, "ASC");
+    assertEquals(List.of(a, b), ids(first));
+
+    // before the cursor: never served; at the cursor's time but a later
+    // id, and after it: served in their place
+    leave(T1);
+    int tied = leave(T2);
+    int later = leave(T3);
+
+    LeaveSearchPage second = page(first.getNextCursor(), 2, "ASC");
+    assertEquals(List.of(c, tied), ids(second));
+
+    LeaveSearchPage third = page(second.getNextCursor(), 2, "ASC");
+    assertEquals(List.of(d, later), ids(third));
+    assertFalse(third.isHasMore());
+  }
+
+  @Test
+  void newestFirstIsNotShiftedByNewerRows() {
+    leave(T1);
+    int b = leave(T2);
+    int c = leave(T3);
+
+    LeaveSearchPage first = page(null, 1, "DESC");
+    assertEquals(List.of(c), ids(first));
+
+    // an offset would now serve c again
+    leave(T3);
+
+    assertEquals(List.of(b), ids(page(first.getNextCursor(), 1, "DESC")));
+  }
+
+  // ===============================
+  // UNDATED LEGACY ROWS
+  // ===============================
+  @Test
+  void undatedRowsComeLastAscendingAndFirstDescending() {
+    boolean notNull = appliedAtNotNull();
+    // H2 builds the column from the entity (NOT NULL); V1 leaves it nullable
+    jdbcTemplate.execute("ALTER TABLE leave_request ALTER COLUMN applied_at DROP NOT NULL");
+    try {
+      int a = leave(T1);
+      int b = leave(T2);
+      int c = leave(T3);
+      int x = undated();
+      int y = undated();
+      int z = undated();
+
+      // page size 2 over three of each: the middle page crosses over
+      assertEquals(List.of(a, b, c, x, y, z), walk("ASC", 2));
+      assertEquals(List.of(z, y, x, c, b, a), walk("DESC", 2));
+
+      // and a cursor on an undated row
+      assertEquals(List.of(a, b, c, x, y, z), walk("ASC", 4));
+      assertEquals(List.of(z, y, x, c, b, a), walk("DESC", 1));
+    } finally {
+      fixtures.cleanUp();
+      if (notNull) {
+        jdbcTemplate.execute("ALTER TABLE leave_request ALTER COLUMN applied_at SET NOT NULL");
+      }
+    }
+  }
+
+  // ===============================
+  // UNPAGED SEARCH IS CAPPED
+  // ===============================
+  @Test
+  void unpagedSearchRefusesMoreThanMaxRows() {
+    for (int i = 0; i < 5; i++) {
+      leave(T1);
+    }
+    assertEquals(5, leaveService.filterLeavesForAdmin(null, null, null, YEAR, null, null, true).size());
+
+    leave(T2);
+    IllegalArgumentException refused = assertThrows(IllegalArgumentException.class,
+            () -> leaveService.filterLeavesForAdmin(null, null, null, YEAR, null, null, false));
+    assertTrue(refused.getMessage().contains("/api/leaves/admin/search/page"));
+
+    // a narrower filter still answers
+    assertEquals(1, leaveService.filterLeavesForAdmin(
+            null, null, null, YEAR, null, LocalDate.of(YEAR, 1, 1), false).size());
+  }
+
+  private List<Integer> walk(String sort, int size) {
+    List<Integer> ids = new ArrayList<>();
+    String cursor = null;
+    do {
+      LeaveSearchPage page = page(cursor, size, sort);
+      ids.addAll(ids(page));
+      assertEquals(page.isHasMore(), page.getNextCursor() != null);
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+    return ids;
+  }
+
+  private LeaveSearchPage page(String cursor, int size, String sort) {
+    return leaveService.searchLeavesForAdmin(null, null, null, YEAR, null, null, cursor, size, sort);
+  }
+
+  private static List<Integer> ids(LeaveSearchPage page) {
+    return page.getItems().stream().map(LeaveResponse::getLeaveId).toList();
+  }
+
+  // one day each, so the leaves never overlap
+  private int leave(LocalDateTime appliedAt) {
+    LocalDate day = LocalDate.of(YEAR, 1, 1).plusDays(seeded++);
+    return leaveRequestRepository.save(new LeaveRequest(
+            employee, "SICK", day, day, 1, 1, 0, YEAR, "PENDING",
+            appliedAt, null, null, "admin search")).getLeaveId();
+  }
+
+  private int undated() {
+    int leaveId = leave(T1);
+    jdbcTemplate.update("UPDATE leave_request SET applied_at = NULL WHERE leave_id = ?", leaveId);
+    return leaveId;
+  }
+
+  private boolean appliedAtNotNull() {
+    return "NO".equals(jdbcTemplate.queryForObject(
+            "SELECT is_nullable FROM information_schema.columns "
+                    + "WHERE table_name = 'leave_request' AND column_name = 'applied_at'",
+            String.class));
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveBalance;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Repo.LeaveBalanceRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Hundreds of parallel applies for one employee must never hand out more
+// paid days than the yearly limit.
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveApplyConcurrencyTests {
+
+  private static final int YEAR = 2031;
+  private static final int APPLIES = 200;
+  private static final int THREADS = 16;
+
+  @Autowired private LeaveService leaveService;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+  @Autowired private TestFixtures fixtures;
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  @Test
+  void parallelAppliesNeverExceedYearlyLimit() throws Exception {
+
+    String email = "concurrent.employee@test";
+    Employee employee = fixtures.employee(fixtures.department("CONCURRENCY"), email);
+
+    // one working day per request, all distinct so none overlap
+    List<LocalDate> days = new ArrayList<>();
+    for (LocalDate day = LocalDate.of(YEAR, 1, 1); days.size() < APPLIES; day = day.plusDays(1)) {
+      if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        days.add(day);
+      }
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<LeaveResponse>> results = new ArrayList<>();
+
+    for (LocalDate day : days) {
+      results.add(pool.submit(() -> {
+        TestFixtures.signIn(email, "EMPLOYEE");
+        try {
+          start.await();
+          ApplyLeaveRequest request = new ApplyLeaveRequest();
+          request.setLeaveType("SICK");
+          request.setStartDate(day);
+          request.setEndDate(day);
+          request.setReason("stress");
+          return leaveService.applyLeave(request);
+        } finally {
+          SecurityContextHolder.clearContext();
+        }
+      }));
+    }
+
+    start.countDown();
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES));
+
+    int granted = 0;
+    for (Future<LeaveResponse> result : results) {
+      granted += result.get().getPaidDays();
+    }
+
+    int limit = LeaveType.SICK.getDefaultYearlyLimit();
+    assertEquals(limit, granted);
+
+    int persisted = leaveRequestRepository.findAll().stream()
+            .filter(leave -> leave.getEmployee().getEmpId().equals(employee.getEmpId()))
+            .mapToInt(LeaveRequest::getPaidDays)
+            .sum();
+    assertEquals(limit, persisted);
+
+    // ids come from the pooled generator on every path, not one nextval
+    // (a skipped block of 50) per apply
+    IntSummaryStatistics ids = leaveRequestRepository.findAll().stream()
+            .mapToInt(LeaveRequest::getLeaveId)
+            .summaryStatistics();
+    assertTrue(ids.getMax() - ids.getMin() < APPLIES + 50);
+
+    LeaveBalance balance = leaveBalanceRepository
+            .findByEmployee_EmpIdAndLeaveTypeAndYear(employee.getEmpId(), "SICK", YEAR)
+            .orElseThrow();
+    assertEquals(limit, balance.getPendingDays());
+    assertEquals(0, balance.getRemainingDays());
+  }
+}
@@ -0,0 +1,132 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveArchive.LeaveArchiveSegmentResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Closed leaves past the retention window leave leave_request for segment
+// files and come back, unchanged, when a listing asks for archived years.
+// Two rows per segment and one per block, so chunking and block lookups
+// are exercised with a handful of leaves.
+@SpringBootTest(properties = {
+        "leave.archive.segment-rows=2",
+        "leave.archive.block-rows=1"
+})
+@ActiveProfiles("test")
+class LeaveArchiveTests {
+
+  private static final String EMPLOYEE_EMAIL = "archive.employee@test";
+
+  @Autowired private LeaveService leaveService;
+  @Autowired private LeaveArchiveService leaveArchiveService;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private TestFixtures fixtures;
+
+  @Value("${leave.archive.dir}")
+  private String archiveDir;
+
+  private Employee employee;
+  private Employee colleague;
+
+  @BeforeEach
+  void setUp() {
+    Department department = fixtures.department("ARCHIVE");
+    employee = fixtures.employee(department, EMPLOYEE_EMAIL);
+    colleague = fixtures.employee(department, "archive.colleague@test");
+
+    TestFixtures.signIn(EMPLOYEE_EMAIL, "EMPLOYEE");
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    fixtures.cleanUp();
+
+    Path dir = Paths.get(archiveDir);
+    if (Files.exists(dir)) {
+      try (Stream<Path> files = Files.walk(dir)) {
+        files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+      }
+    }
+  }
+
+  @Test
+  void closedOldLeavesMoveToSegmentsAndReadBack() {
+
+    int recent = LocalDate.now().getYear();
+
+    leave(employee, 2019, 3, "APPROVED");
+    leave(employee, 2019, 4, "REJECTED");
+    leave(employee, 2019, 5, "PENDING");   // still open: stays
+    leave(colleague, 2019, 6, "APPROVED");
+    leave(colleague, 2020, 7, "REVOKED");
+    leave(employee, recent, 1, "APPROVED"); // inside the retention window
+
+    List<LeaveResponse> before = leaveService.filterLeavesForAdmin(null, null, null, null, null, null, false);
+
+    List<LeaveArchiveSegmentResponse> segments = leaveArchiveService.archive();
+
+    // 2019: three closed leaves in segments of two; 2020: one
+    assertEquals(List.of(2, 1, 1), segments.stream().map(LeaveArchiveSegmentResponse::getRowCount).toList());
+    assertEquals(2, leaveRequestRepository.count());
+    segments.forEach(s -> assertTrue(Files.exists(Paths.get(archiveDir, s.getFileName()))));
+
+    assertEquals(2, leaveService.getMyLeaves(false).size());
+    assertEquals(4, leaveService.getMyLeaves(true).size());
+
+    // every field survives the round trip
+    List<LeaveResponse> after = leaveService.filterLeavesForAdmin(null, null, null, null, null, null, true);
+    assertEquals(fields(before), fields(after));
+
+    assertEquals(1, leaveService.filterLeavesForAdmin(
+            colleague.getEmpId(), "REVOKED", null, null, null, null, true).size());
+    assertEquals(4, leaveService.filterLeavesForAdmin(
+            null, null, null, 2019, null, LocalDate.of(2019, 12, 31), true).size());
+    assertEquals(0, leaveService.filterLeavesForAdmin(
+            null, null, null, null, LocalDate.of(2021, 1, 1), null, true).stream()
+            .filter(l -> l.getYear() < 2021).count());
+
+    // nothing left to move
+    assertEquals(List.of(), leaveArchiveService.archive());
+    assertEquals(3, leaveArchiveService.getSegments().size());
+  }
+
+  private static List<String> fields(List<LeaveResponse> leaves) {
+    return leaves.stream()
+            .sorted(Comparator.comparing(LeaveResponse::getLeaveId))
+            .map(l -> List.of(
+                    l.getLeaveId(), l.getEmpId(), l.getEmployeeName(), l.getLeaveType(),
+                    l.getStartDate(), l.getEndDate(), l.getTotalDays(), l.getPaidDays(),
+                    l.getUnpaidDays(), l.getYear(), l.getStatus(), l.getReason(),
+                    l.getAppliedAt()).toString())
+            .toList();
+  }
+
+  private void leave(Employee owner, int year, int month, String status) {
+    LocalDate day = LocalDate.of(year, month, 2);
+    leaveRequestRepository.save(new LeaveRequest(
+            owner, "SICK", day, day, 1, 1, 0, year, status,
+            day.minusDays(7).atTime(9, 30), null, null, "archive test " + month));
+  }
+}
@@ -0,0 +1,233 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.EditLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveBalance;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Repo.LeaveBalanceRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.JPA_TASK_01.TestFixtures.workingDaysFrom;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The leave_balance ledger follows every leave transition, including the
+// first touch of a key whose leaves predate the ledger, and can be rebuilt
+// from leave_request.
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveBalanceLedgerTests {
+
+  private static final int YEAR = 2032;
+  private static final String EMAIL = "ledger.employee@test";
+
+  @Autowired private LeaveService leaveService;
+  @Autowired private LeaveBalanceService leaveBalanceService;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private TestFixtures fixtures;
+
+  private Employee employee;
+
+  @BeforeEach
+  void setUp() {
+    employee = fixtures.employee(fixtures.department("LEDGER"), EMAIL);
+
+    // applies and edits as the employee, decisions as an admin
+    TestFixtures.signIn(EMAIL, "EMPLOYEE", "ADMIN");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  // ===============================
+  // FIRST TOUCH: LEAVES WITHOUT A LEDGER ROW
+  // ===============================
+  @Test
+  void editWithoutLedgerRowSizesFromTheReleasedBalance() {
+
+    int limit = LeaveType.SICK.getDefaultYearlyLimit();
+    LocalDate start = LocalDate.of(YEAR, 3, 1);
+
+    // written before the ledger existed: no leave_balance row for it
+    LeaveRequest legacy = leaveRequestRepository.save(new LeaveRequest(
+            employee, "SICK", start, workingDaysFrom(start, 3), 3, 3, 0, YEAR, "PENDING",
+            LocalDateTime.now(), null, null, "legacy"));
+    assertTrue(balance(LeaveType.SICK).isEmpty());
+
+    // its 3 days are given back first, so the whole limit is available
+    EditLeaveRequest edit = new EditLeaveRequest();
+    edit.setStartDate(start);
+    edit.setEndDate(workingDaysFrom(start, limit));
+    edit.setReason("longer");
+
+    LeaveResponse edited = leaveService.editLeave(legacy.getLeaveId(), edit);
+
+    assertEquals(limit, edited.getPaidDays());
+    assertEquals(0, edited.getUnpaidDays());
+    assertCounters(LeaveType.SICK, 0, limit);
+  }
+
+  @Test
+  void decisionRacingAnotherFirstTouchReadsItsRow() throws Exception {
+
+    LocalDate start = LocalDate.of(YEAR, 3, 1);
+    LeaveRequest legacy = leaveRequestRepository.save(new LeaveRequest(
+            employee, "SICK", start, workingDaysFrom(start, 2), 2, 2, 0, YEAR, "PENDING",
+            LocalDateTime.now(), null, null, "legacy"));
+
+    // another transaction creates the row and holds it uncommitted
+    CountDownLatch created = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+      leaveBalanceService.getOrCreate(employee, LeaveType.SICK, YEAR);
+      created.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+    }));
+    assertTrue(created.await(10, TimeUnit.SECONDS));
+
+    // the decision cannot see that row yet: it waits for it instead of
+    // inserting a second one
+    CompletableFuture<LeaveResponse> decided = CompletableFuture.supplyAsync(() -> {
+      TestFixtures.signIn(EMAIL, "ADMIN");
+      return leaveService.decideLeave(legacy.getLeaveId(), "APPROVED");
+    });
+    Thread.sleep(300);
+    assertFalse(decided.isDone());
+
+    release.countDown();
+    first.get(10, TimeUnit.SECONDS);
+    assertEquals("APPROVED", decided.get(10, TimeUnit.SECONDS).getStatus());
+
+    // seeded with the pending 2 days, then moved to used
+    assertCounters(LeaveType.SICK, 2, 0);
+  }
+
+  // ===============================
+  // TRANSITIONS
+  // ===============================
+  @Test
+  void transitionsMoveDaysBetweenCounters() {
+
+    LeaveResponse approved = apply("SICK", LocalDate.of(YEAR, 4, 5), 2);
+    assertCounters(LeaveType.SICK, 0, 2);
+
+    leaveService.decideLeave(approved.getLeaveId(), "APPROVED");
+    assertCounters(LeaveType.SICK, 2, 0);
+
+    LeaveResponse rejected = apply("SICK", LocalDate.of(YEAR, 5, 3), 3);
+    assertCounters(LeaveType.SICK, 2, 3);
+
+    leaveService.decideLeave(rejected.getLeaveId(), "REJECTED");
+    assertCounters(LeaveType.SICK, 2, 0);
+
+    leaveService.revokeLeave(approved.getLeaveId());
+    assertCounters(LeaveType.SICK, 0, 0);
+
+    LeaveResponse deleted = apply("SICK", LocalDate.of(YEAR, 6, 7), 1);
+    assertCounters(LeaveType.SICK, 0, 1);
+
+    leaveService.deletePendingLeave(deleted.getLeaveId());
+    assertCounters(LeaveType.SICK, 0, 0);
+  }
+
+  // ===============================
+  // ACCRUING TYPES: SIZED BY THE LEAVE'S MONTH
+  // ===============================
+  @Test
+  void earnedLeaveNextJanuaryIsPaidFromJanuaryAccrual() {
+
+    // nothing of next year has accrued today; by January one month has
+    LocalDate start = LocalDate.of(LocalDate.now().getYear() + 1, 1, 1);
+    while (start.getDayOfWeek() != DayOfWeek.MONDAY) {
+      start = start.plusDays(1);
+    }
+
+    ApplyLeaveRequest request = new ApplyLeaveRequest();
+    request.setLeaveType("EARNED");
+    request.setStartDate(start);
+    request.setEndDate(workingDaysFrom(start, 2));
+    request.setReason("new year");
+
+    LeaveResponse response = leaveService.applyLeave(request);
+
+    assertEquals(LeaveType.EARNED.getDefaultYearlyLimit() / 12, response.getPaidDays());
+    assertEquals(2 - response.getPaidDays(), response.getUnpaidDays());
+  }
+
+  // ===============================
+  // REBUILD
+  // ===============================
+  @Test
+  void rebuildRecountsEveryKeyFromLeaves() {
+
+    LeaveResponse approved = apply("SICK", LocalDate.of(YEAR, 4, 5), 2);
+    leaveService.decideLeave(approved.getLeaveId(), "APPROVED");
+    apply("SICK", LocalDate.of(YEAR, 5, 3), 3);
+    apply("CASUAL", LocalDate.of(YEAR, 6, 7), 1);
+
+    // counters drifted, and one row went missing altogether
+    jdbcTemplate.update("UPDATE leave_balance SET used_days = 7, pending_days = 7");
+    jdbcTemplate.update("DELETE FROM leave_balance WHERE leave_type = 'CASUAL'");
+
+    assertEquals(2, leaveBalanceService.rebuildFromLeaves());
+
+    assertCounters(LeaveType.SICK, 2, 3);
+    assertCounters(LeaveType.CASUAL, 0, 1);
+    assertEquals(LeaveType.CASUAL.getDefaultYearlyLimit(),
+            balance(LeaveType.CASUAL).orElseThrow().getEntitledDays());
+  }
+
+  private LeaveResponse apply(String leaveType, LocalDate start, int workingDays) {
+
+    ApplyLeaveRequest request = new ApplyLeaveRequest();
+    request.setLeaveType(leaveType);
+    request.setStartDate(start);
+    request.setEndDate(workingDaysFrom(start, workingDays));
+    request.setReason("ledger");
+
+    LeaveResponse response = leaveService.applyLeave(request);
+    assertEquals(workingDays, response.getPaidDays());
+    return response;
+  }
+
+  private void assertCounters(LeaveType leaveType, int used, int pending) {
+    LeaveBalance balance = balance(leaveType).orElseThrow();
+    assertEquals(used, balance.getUsedDays());
+    assertEquals(pending, balance.getPendingDays());
+  }
+
+  private Optional<LeaveBalance> balance(LeaveType leaveType) {
+    return leaveBalanceRepository.findByEmployee_EmpIdAndLeaveTypeAndYear(
+            employee.getEmpId(), leaveType.name(), YEAR);
+  }
+}
@@ -0,0 +1,296 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionResult;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveBalance;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Entity.LeaveType;
+import com.example.JPA_TASK_01.Entity.User;
+import com.example.JPA_TASK_01.Repo.LeaveBalanceRepository;
+import com.example.JPA_TASK_01.Repo.LeaveBatchRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.JPA_TASK_01.TestFixtures.workingDaysFrom;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A bulk decision answers every item in request order, updates only rows
+// that are still PENDING when the batch reaches them, and moves the decided
+// days in the ledger once per (employee, type, year), seeding legacy keys
+// that have no ledger row from the updated statuses.
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveBulkDecisionTests {
+
+  private static final int YEAR = 2035;
+  private static final String EMAIL = "bulk.employee@test";
+  private static final String ADMIN_EMAIL = "bulk.admin@test";
+  private static final String OTHER_ADMIN_EMAIL = "bulk.other.admin@test";
+
+  @Autowired private LeaveService leaveService;
+  @Autowired private LeaveBatchRepository leaveBatchRepository;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private EntityManager entityManager;
+  @Autowired private TestFixtures fixtures;
+
+  private Employee employee;
+  private User admin;
+
+  @BeforeEach
+  void setUp() {
+    employee = fixtures.employee(fixtures.department("BULK"), EMAIL);
+    admin = fixtures.user(ADMIN_EMAIL, "ADMIN");
+    fixtures.user(OTHER_ADMIN_EMAIL, "ADMIN");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  // ===============================
+  // MIXED BATCH
+  // ===============================
+  @Test
+  void mixedBatchAnswersEveryItemInRequestOrder() {
+
+    int approve = apply("SICK", LocalDate.of(YEAR, 3, 5), 2);
+    int reject = apply("SICK", LocalDate.of(YEAR, 3, 12), 3);
+    int decided = apply("SICK", LocalDate.of(YEAR, 3, 19), 1);
+    int invalid = apply("SICK", LocalDate.of(YEAR, 3, 26), 1);
+    int casual = apply("CASUAL", LocalDate.of(YEAR, 4, 2), 2);
+
+    TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+    leaveService.decideLeave(decided, "APPROVED");
+    assertCounters(LeaveType.SICK, 1, 6);
+    assertCounters(LeaveType.CASUAL, 0, 2);
+    long versionBefore = version(approve);
+
+    List<BulkLeaveDecisionResult> results = leaveService.decideLeaves(List.of(
+            item(approve, "approved"),
+            item(Integer.MAX_VALUE, "APPROVED"),
+            item(reject, "REJECTED"),
+            item(decided, "REJECTED"),
+            item(invalid, "MAYBE"),
+            item(approve, "REJECTED"),
+            item(casual, "APPROVED"),
+            item(null, "APPROVED")));
+
+    assertResult(results.get(0), approve, "APPROVED", null);
+    assertResult(results.get(1), Integer.MAX_VALUE, null, "Leave not found");
+    assertResult(results.get(2), reject, "REJECTED", null);
+    assertResult(results.get(3), decided, null, "Leave already processed");
+    assertResult(results.get(4), invalid, null, "Invalid decision");
+    assertResult(results.get(5), approve, null, "Duplicate leave in request");
+    assertResult(results.get(6), casual, "APPROVED", null);
+    assertResult(results.get(7), null, null, "Leave not found");
+
+    assertDecided(approve, "APPROVED");
+    assertDecided(reject, "REJECTED");
+    assertDecided(casual, "APPROVED");
+    assertEquals(versionBefore + 1, version(approve));
+    assertEquals("APPROVED", status(decided));
+    assertEquals("PENDING", status(invalid));
+
+    // SICK: +2 used, -5 pending in one delta; the invalid item's day stays pending
+    assertCounters(LeaveType.SICK, 3, 1);
+    assertCounters(LeaveType.CASUAL, 2, 0);
+  }
+
+  // ===============================
+  // DECIDED BY ANOTHER ADMIN MID-BATCH
+  // ===============================
+  @Test
+  void rowDecidedAfterValidationIsReportedAndCountedOnce() throws Exception {
+
+    int raced = apply("SICK", LocalDate.of(YEAR, 5, 7), 2);
+    int other = apply("SICK", LocalDate.of(YEAR, 5, 14), 1);
+    assertCounters(LeaveType.SICK, 0, 3);
+
+    // another admin rejects `raced` and holds the row lock uncommitted
+    CountDownLatch decided = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> otherAdmin = CompletableFuture.runAsync(() -> {
+      TestFixtures.signIn(OTHER_ADMIN_EMAIL, "ADMIN");
+      transactionTemplate.executeWithoutResult(tx -> {
+        leaveService.decideLeave(raced, "REJECTED");
+        entityManager.flush();
+        decided.countDown();
+        await(release);
+      });
+    });
+    assertTrue(decided.await(10, TimeUnit.SECONDS));
+
+    // the batch still reads `raced` as PENDING and waits on its row in the
+    // UPDATE; once the rejection commits, status = 'PENDING' no longer holds
+    CompletableFuture<List<BulkLeaveDecisionResult>> batch = CompletableFuture.supplyAsync(() -> {
+      TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+      return leaveService.decideLeaves(List.of(item(raced, "APPROVED"), item(other, "APPROVED")));
+    });
+    Thread.sleep(300);
+    assertFalse(batch.isDone());
+
+    release.countDown();
+    otherAdmin.get(10, TimeUnit.SECONDS);
+    List<BulkLeaveDecisionResult> results = batch.get(10, TimeUnit.SECONDS);
+
+    assertResult(results.get(0), raced, null, "Leave already processed");
+    assertResult(results.get(1), other, "APPROVED", null);
+    assertEquals("REJECTED", status(raced));
+
+    // the rejection released its 2 days; the batch moved only `other`
+    assertCounters(LeaveType.SICK, 1, 0);
+  }
+
+  // ===============================
+  // LEGACY KEYS WITHOUT A LEDGER ROW
+  // ===============================
+  @Test
+  void keyWithoutLedgerRowIsSeededFromTheUpdatedStatuses() {
+
+    int approve = legacy(LocalDate.of(YEAR, 6, 4), 2);
+    int reject = legacy(LocalDate.of(YEAR, 6, 11), 3);
+    legacy(LocalDate.of(YEAR, 6, 18), 1);
+    assertTrue(balance(LeaveType.SICK).isEmpty());
+
+    TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+    List<BulkLeaveDecisionResult> results = leaveService.decideLeaves(List.of(
+            item(approve, "APPROVED"), item(reject, "REJECTED")));
+
+    assertTrue(results.stream().allMatch(BulkLeaveDecisionResult::isSuccess));
+
+    // counted from leave_request after the UPDATE, without the delta on top
+    assertCounters(LeaveType.SICK, 2, 1);
+    assertEquals(LeaveType.SICK.getDefaultYearlyLimit(),
+            balance(LeaveType.SICK).orElseThrow().getEntitledDays());
+  }
+
+  // ===============================
+  // JDBC BATCH
+  // ===============================
+  @Test
+  void applyDecisionsCountsOnlyRowsStillPending() {
+
+    int pending = legacy(LocalDate.of(YEAR, 7, 2), 1);
+    int approved = legacy(LocalDate.of(YEAR, 7, 9), 1);
+    jdbcTemplate.update("UPDATE leave_request SET status = 'APPROVED' WHERE leave_id = ?", approved);
+    LocalDateTime at = LocalDateTime.of(YEAR, 7, 1, 10, 30);
+
+    int[] updated = leaveBatchRepository.applyDecisions(List.of(
+            new LeaveBatchRepository.Decision(pending, "REJECTED"),
+            new LeaveBatchRepository.Decision(approved, "REJECTED"),
+            new LeaveBatchRepository.Decision(Integer.MAX_VALUE, "REJECTED")), admin.getUserId(), at);
+
+    assertArrayEquals(new int[] {1, 0, 0}, updated);
+
+    Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT status, approved_at, approved_by, version FROM leave_request WHERE leave_id = ?", pending);
+    assertEquals("REJECTED", row.get("status"));
+    assertEquals(at, ((Timestamp) row.get("approved_at")).toLocalDateTime());
+    assertEquals(admin.getUserId(), ((Number) row.get("approved_by")).intValue());
+    assertEquals(1, ((Number) row.get("version")).intValue());
+    assertEquals("APPROVED", status(approved));
+  }
+
+  // ===============================
+  // HELPERS
+  // ===============================
+  private int apply(String leaveType, LocalDate start, int workingDays) {
+
+    TestFixtures.signIn(EMAIL, "EMPLOYEE");
+
+    ApplyLeaveRequest request = new ApplyLeaveRequest();
+    request.setLeaveType(leaveType);
+    request.setStartDate(start);
+    request.setEndDate(workingDaysFrom(start, workingDays));
+    request.setReason("bulk");
+
+    return leaveService.applyLeave(request).getLeaveId();
+  }
+
+  // written before the ledger existed: no leave_balance row for it
+  private int legacy(LocalDate start, int workingDays) {
+    return leaveRequestRepository.save(new LeaveRequest(
+            employee, "SICK", start, workingDaysFrom(start, workingDays), workingDays, workingDays, 0,
+            YEAR, "PENDING", LocalDateTime.now(), null, null, "legacy")).getLeaveId();
+  }
+
+  private static BulkLeaveDecisionRequest.Item item(Integer leaveId, String decision) {
+    BulkLeaveDecisionRequest.Item item = new BulkLeaveDecisionRequest.Item();
+    item.setLeaveId(leaveId);
+    item.setDecision(decision);
+    return item;
+  }
+
+  private static void assertResult(BulkLeaveDecisionResult result, Integer leaveId, String status, String message) {
+    assertEquals(leaveId, result.getLeaveId());
+    assertEquals(status != null, result.isSuccess());
+    assertEquals(status, result.getStatus());
+    assertEquals(message, result.getMessage());
+  }
+
+  private void assertDecided(int leaveId, String status) {
+    Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT status, approved_at, approved_by FROM leave_request WHERE leave_id = ?", leaveId);
+    assertEquals(status, row.get("status"));
+    assertEquals(admin.getUserId(), ((Number) row.get("approved_by")).intValue());
+    assertNotNull(row.get("approved_at"));
+  }
+
+  private String status(int leaveId) {
+    return jdbcTemplate.queryForObject(
+            "SELECT status FROM leave_request WHERE leave_id = ?", String.class, leaveId);
+  }
+
+  private long version(int leaveId) {
+    return jdbcTemplate.queryForObject(
+            "SELECT version FROM leave_request WHERE leave_id = ?", Long.class, leaveId);
+  }
+
+  private void assertCounters(LeaveType leaveType, int used, int pending) {
+    LeaveBalance balance = balance(leaveType).orElseThrow();
+    assertEquals(used, balance.getUsedDays(), leaveType + " used");
+    assertEquals(pending, balance.getPendingDays(), leaveType + " pending");
+  }
+
+  private Optional<LeaveBalance> balance(LeaveType leaveType) {
+    return leaveBalanceRepository.findByEmployee_EmpIdAndLeaveTypeAndYear(
+            employee.getEmpId(), leaveType.name(), YEAR);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveResponse;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.LeaveSearchPage;
+import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Entity.User;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Every leave listing must cost the same number of statements whether it
+// returns one row or many (no per-row lazy loads of employee/user/approver).
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveListingQueryCountTests {
+
+  private static final String EMPLOYEE_EMAIL = "listing.employee@test";
+
+  @Autowired private LeaveService leaveService;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private TestFixtures fixtures;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private Department department;
+  private Employee employee;
+  private boolean ownLeavesOnly;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    department = fixtures.department("LISTING");
+    employee = fixtures.employee(department, EMPLOYEE_EMAIL);
+
+    TestFixtures.signIn(EMPLOYEE_EMAIL, "EMPLOYEE");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  @Test
+  void myLeavesIsOneStatement() {
+    ownLeavesOnly = true;
+    assertFixedStatements(1, () -> leaveService.getMyLeaves(false));
+  }
+
+  @Test
+  void pendingLeavesIsOneStatement() {
+    assertFixedStatements(1, leaveService::getPendingLeaves);
+  }
+
+  @Test
+  void adminSearchIsOneStatement() {
+    assertFixedStatements(1, () ->
+            leaveService.filterLeavesForAdmin(null, null, null, 2030, null, null, false));
+  }
+
+  @Test
+  void adminSearchPageIsOneStatement() {
+    assertFixedStatements(1, () -> {
+      LeaveSearchPage page =
+              leaveService.searchLeavesForAdmin(null, null, null, 2030, null, null, null, 100, "ASC");
+      return page.getItems();
+    });
+  }
+
+  // each filter shape is one JPQL string, so Hibernate plans it once
+  @Test
+  void adminSearchShapeIsPlannedOnce() {
+    seedLeaves(3);
+    leaveService.filterLeavesForAdmin(null, "PENDING", null, 2030, null, null, false);
+
+    statistics.clear();
+    assertEquals(3, leaveService.filterLeavesForAdmin(null, "PENDING", null, 2030, null, null, false).size());
+    assertEquals(0, leaveService.filterLeavesForAdmin(null, "APPROVED", null, 2031, null, null, false).size());
+
+    assertEquals(0, statistics.getQueryPlanCacheMissCount());
+    assertTrue(statistics.getQueryPlanCacheHitCount() > 0);
+  }
+
+  private void assertFixedStatements(long expected, Supplier<List<LeaveResponse>> listing) {
+
+    seedLeaves(1);
+    assertEquals(expected, countStatements(listing, 1));
+
+    seedLeaves(9);
+    assertEquals(expected, countStatements(listing, 10));
+  }
+
+  private long countStatements(Supplier<List<LeaveResponse>> listing, int expectedRows) {
+
+    statistics.clear();
+    List<LeaveResponse> rows = listing.get();
+    long statements = statistics.getPrepareStatementCount();
+
+    assertEquals(expectedRows, rows.size());
+    rows.forEach(row -> {
+      assertNotNull(row.getEmployeeName());
+      assertNotNull(row.getEmpId());
+    });
+
+    return statements;
+  }
+
+  // pending leaves with distinct employees (except for "my leaves") and
+  // distinct approvers on every other row, so lazy loads could not be
+  // served from the persistence context
+  private void seedLeaves(int count) {
+
+    long existing = leaveRequestRepository.count();
+    for (int i = 0; i < count; i++) {
+      long n = existing + i;
+      LocalDate day = LocalDate.of(2030, 1, 1).plusDays(n);
+
+      Employee owner = ownLeavesOnly ? employee : fixtures.employee(department, "listing.owner" + n + "@test");
+      User approver = n % 2 == 0 ? fixtures.user("listing.admin" + n + "@test", "ADMIN") : null;
+
+      leaveRequestRepository.save(new LeaveRequest(
+              owner, "SICK", day, day, 1, 1, 0, 2030, "PENDING",
+              LocalDateTime.now(), null, approver, "test"));
+    }
+  }
+}
@@ -0,0 +1,148 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import com.example.JPA_TASK_01.util.JWTutil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// An apply or edit whose dates overlap one of the employee's PENDING or
+// APPROVED leaves is refused with 409 and changes nothing.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LeaveOverlapTests {
+
+  private static final String EMAIL = "overlap.employee@test";
+  private static final String ADMIN_EMAIL = "overlap.admin@test";
+  private static final String OVERLAP = "Leave overlaps an existing pending or approved leave";
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private JWTutil jwtUtil;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private TestFixtures fixtures;
+
+  @BeforeEach
+  void setUp() {
+    fixtures.employee(fixtures.department("OVERLAP"), EMAIL);
+    fixtures.user(ADMIN_EMAIL, "ADMIN");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  // ===============================
+  // APPLY
+  // ===============================
+  @Test
+  void overlappingApplyIsRejected() throws Exception {
+
+    apply("2033-03-07", "2033-03-09").andExpect(status().isOk());
+
+    apply("2033-03-09", "2033-03-11")
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(OVERLAP));
+    apply("2033-03-08", "2033-03-08").andExpect(status().isConflict());
+    apply("2033-03-01", "2033-03-14").andExpect(status().isConflict());
+
+    assertEquals(1, leaveRequestRepository.count());
+
+    // the day after is free
+    apply("2033-03-10", "2033-03-11").andExpect(status().isOk());
+  }
+
+  @Test
+  void overlapAcrossNewYearIsRejected() throws Exception {
+
+    // starts in 2032, so it sits in the other year's partition on PostgreSQL
+    apply("2032-12-29", "2033-01-04").andExpect(status().isOk());
+
+    apply("2033-01-03", "2033-01-05").andExpect(status().isConflict());
+  }
+
+  @Test
+  void rejectedLeaveDoesNotBlock() throws Exception {
+
+    int leaveId = leaveId(apply("2033-03-07", "2033-03-09").andExpect(status().isOk()));
+
+    mockMvc.perform(put("/api/leaves/{leaveId}/decision", leaveId)
+                    .header(HttpHeaders.AUTHORIZATION, bearer(ADMIN_EMAIL, "ADMIN"))
+                    .param("decision", "REJECTED"))
+            .andExpect(status().isOk());
+
+    apply("2033-03-07", "2033-03-09").andExpect(status().isOk());
+  }
+
+  // ===============================
+  // EDIT
+  // ===============================
+  @Test
+  void editIntoAnotherLeaveIsRejected() throws Exception {
+
+    apply("2033-03-07", "2033-03-08").andExpect(status().isOk());
+    int second = leaveId(apply("2033-03-10", "2033-03-11").andExpect(status().isOk()));
+
+    edit(second, "2033-03-08", "2033-03-11")
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(OVERLAP));
+
+    // the leave never overlaps itself
+    edit(second, "2033-03-09", "2033-03-11").andExpect(status().isOk());
+  }
+
+  private ResultActions apply(String startDate, String endDate) throws Exception {
+    Map<String, String> body = dates(startDate, endDate);
+    body.put("leaveType", "CASUAL");
+    return mockMvc.perform(post("/api/leaves")
+            .header(HttpHeaders.AUTHORIZATION, bearer(EMAIL, "EMPLOYEE"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(body)));
+  }
+
+  private ResultActions edit(int leaveId, String startDate, String endDate) throws Exception {
+    return mockMvc.perform(patch("/api/leaves/{leaveId}", leaveId)
+            .header(HttpHeaders.AUTHORIZATION, bearer(EMAIL, "EMPLOYEE"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(dates(startDate, endDate))));
+  }
+
+  private static Map<String, String> dates(String startDate, String endDate) {
+    Map<String, String> body = new LinkedHashMap<>();
+    body.put("startDate", startDate);
+    body.put("endDate", endDate);
+    body.put("reason", "overlap");
+    return body;
+  }
+
+  private int leaveId(ResultActions result) throws Exception {
+    return objectMapper.readTree(result.andReturn().getResponse().getContentAsString())
+            .get("leaveId").asInt();
+  }
+
+  private String bearer(String email, String role) {
+    return "Bearer " + jwtUtil.generateToken(email, role);
+  }
+}
@@ -0,0 +1,222 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.DTO.Employee.AdminEmployeeUpdateRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.ApplyLeaveRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.BulkLeaveDecisionRequest;
+import com.example.JPA_TASK_01.DTO.LeaveRequest.EditLeaveRequest;
+import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.example.JPA_TASK_01.TestFixtures.workingDaysFrom;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// leave_rollup is maintained from the change events of each transaction.
+// After every kind of change the incrementally kept cells must equal what a
+// full rebuild from leave_request computes, and a transaction that rolls
+// back must leave the table exactly as it was.
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveRollupTests {
+
+  private static final int YEAR = 2038;
+  private static final String EMAIL = "rollup.employee@test";
+  private static final String ADMIN_EMAIL = "rollup.admin@test";
+
+  @Autowired private LeaveService leaveService;
+  @Autowired private LeaveRollupService leaveRollupService;
+  @Autowired private EmployeeService employeeService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+  @Autowired private TestFixtures fixtures;
+
+  private Department department;
+  private Employee employee;
+
+  @BeforeEach
+  void setUp() {
+    department = fixtures.department("ROLLUP");
+    employee = fixtures.employee(department, EMAIL);
+    fixtures.user(ADMIN_EMAIL, "ADMIN");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  // ===============================
+  // INCREMENTAL == REBUILD
+  // ===============================
+  @Test
+  void everyTransitionMatchesAFullRebuild() {
+
+    int approved = apply("CASUAL", LocalDate.of(YEAR, 3, 1), 2);
+    assertEquals(Map.of(cell("CASUAL", 3, "PENDING"), List.of(1, 2)), cells());
+    assertMatchesRebuild();
+
+    // moves the leave from the March to the April cell and changes its days
+    int edited = apply("CASUAL", LocalDate.of(YEAR, 3, 29), 1);
+    edit(edited, LocalDate.of(YEAR, 4, 5), 3);
+    assertEquals(List.of(1, 3), cells().get(cell("CASUAL", 4, "PENDING")));
+    assertMatchesRebuild();
+
+    decide(approved, "APPROVED");
+    assertEquals(List.of(1, 2), cells().get(cell("CASUAL", 3, "APPROVED")));
+    assertMatchesRebuild();
+
+    decide(edited, "REJECTED");
+    assertMatchesRebuild();
+
+    revoke(approved);
+    assertEquals(List.of(1, 2), cells().get(cell("CASUAL", 3, "REVOKED")));
+    assertMatchesRebuild();
+
+    int deleted = apply("SICK", LocalDate.of(YEAR, 5, 3), 1);
+    TestFixtures.signIn(EMAIL, "EMPLOYEE");
+    leaveService.deletePendingLeave(deleted);
+    assertMatchesRebuild();
+  }
+
+  @Test
+  void bulkDecisionAndDepartmentMoveMatchARebuild() {
+
+    int first = apply("SICK", LocalDate.of(YEAR, 3, 8), 1);
+    int second = apply("SICK", LocalDate.of(YEAR, 3, 15), 2);
+    apply("SICK", LocalDate.of(YEAR, 4, 12), 1);
+
+    // one transaction, several events merged into one batch of deltas
+    TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+    leaveService.decideLeaves(List.of(item(first, "APPROVED"), item(second, "APPROVED")));
+    assertEquals(List.of(2, 3), cells().get(cell("SICK", 3, "APPROVED")));
+    assertMatchesRebuild();
+
+    // every cell of the employee moves to the other department
+    Department other = fixtures.department("ROLLUP OTHER");
+    AdminEmployeeUpdateRequest move = new AdminEmployeeUpdateRequest();
+    move.setStatus("APPROVED");
+    move.setDeptId(other.getDeptId());
+    employeeService.adminUpdateUser(employee.getUser().getUserId(), move);
+
+    department = other;
+    assertEquals(List.of(2, 3), cells().get(cell("SICK", 3, "APPROVED")));
+    assertMatchesRebuild();
+  }
+
+  // ===============================
+  // ROLLBACK
+  // ===============================
+  @Test
+  void rolledBackChangesLeaveTheRollupUntouched() {
+
+    int pending = apply("CASUAL", LocalDate.of(YEAR, 6, 7), 2);
+    Map<List<Object>, List<Integer>> before = cells();
+
+    TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+    transactionTemplate.executeWithoutResult(tx -> {
+      leaveService.decideLeave(pending, "APPROVED");
+      tx.setRollbackOnly();
+    });
+    assertEquals(before, cells());
+
+    // a service call that fails after publishing rolls back its events too
+    assertThrows(RuntimeException.class, () -> transactionTemplate.executeWithoutResult(tx -> {
+      leaveService.decideLeave(pending, "REJECTED");
+      throw new IllegalStateException("failed after the decision");
+    }));
+    assertEquals(before, cells());
+    assertMatchesRebuild();
+  }
+
+  // ===============================
+  // HELPERS
+  // ===============================
+  private int apply(String leaveType, LocalDate start, int workingDays) {
+
+    TestFixtures.signIn(EMAIL, "EMPLOYEE");
+
+    ApplyLeaveRequest request = new ApplyLeaveRequest();
+    request.setLeaveType(leaveType);
+    request.setStartDate(start);
+    request.setEndDate(workingDaysFrom(start, workingDays));
+    request.setReason("rollup");
+
+    return leaveService.applyLeave(request).getLeaveId();
+  }
+
+  private void edit(int leaveId, LocalDate start, int workingDays) {
+
+    TestFixtures.signIn(EMAIL, "EMPLOYEE");
+
+    EditLeaveRequest request = new EditLeaveRequest();
+    request.setStartDate(start);
+    request.setEndDate(workingDaysFrom(start, workingDays));
+    request.setReason("moved");
+
+    leaveService.editLeave(leaveId, request);
+  }
+
+  private void decide(int leaveId, String decision) {
+    TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+    leaveService.decideLeave(leaveId, decision);
+  }
+
+  private void revoke(int leaveId) {
+    TestFixtures.signIn(ADMIN_EMAIL, "ADMIN");
+    leaveService.revokeLeave(leaveId);
+  }
+
+  private static BulkLeaveDecisionRequest.Item item(int leaveId, String decision) {
+    BulkLeaveDecisionRequest.Item item = new BulkLeaveDecisionRequest.Item();
+    item.setLeaveId(leaveId);
+    item.setDecision(decision);
+    return item;
+  }
+
+  // what the recorder kept must be what a rebuild computes; the rebuild
+  // runs in a transaction that is rolled back, so the kept cells stay
+  private void assertMatchesRebuild() {
+    Map<List<Object>, List<Integer>> incremental = cells();
+    Map<List<Object>, List<Integer>> rebuilt = transactionTemplate.execute(tx -> {
+      leaveRollupService.rebuild();
+      tx.setRollbackOnly();
+      return cells();
+    });
+    assertEquals(rebuilt, incremental);
+    assertEquals(incremental, cells());
+  }
+
+  // (year, dept, type, month, status) -> [leave_count, total_days]; cells
+  // emptied by deltas stay with a zero count, a rebuild drops them
+  private Map<List<Object>, List<Integer>> cells() {
+    Map<List<Object>, List<Integer>> cells = new TreeMap<>((a, b) -> a.toString().compareTo(b.toString()));
+    jdbcTemplate.query(
+            "SELECT year, dept_id, leave_type, month, status, leave_count, total_days "
+                    + "FROM leave_rollup WHERE leave_count <> 0",
+            rs -> {
+              cells.put(
+                      List.of(rs.getInt("year"), rs.getInt("dept_id"), rs.getString("leave_type"),
+                              rs.getInt("month"), rs.getString("status")),
+                      List.of(rs.getInt("leave_count"), rs.getInt("total_days")));
+            });
+    return cells;
+  }
+
+  private List<Object> cell(String leaveType, int month, String status) {
+    return List.of(YEAR, department.getDeptId(), leaveType, month, status);
+  }
+}
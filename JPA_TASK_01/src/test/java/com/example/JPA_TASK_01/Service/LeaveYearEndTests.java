@@ -0,0 +1,139 @@
+package com.example.JPA_TASK_01.Service;
+
+import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.LeaveBalance;
+import com.example.JPA_TASK_01.Entity.LeaveRequest;
+import com.example.JPA_TASK_01.Repo.LeaveBalanceRepository;
+import com.example.JPA_TASK_01.Repo.LeaveRequestRepository;
+import com.example.JPA_TASK_01.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Closing a year records the lapsed days of every type and carries capped
+// unused EARNED days into the next year; a second close changes nothing.
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveYearEndTests {
+
+  private static final int YEAR = 2024;
+
+  @Autowired private LeaveYearEndService leaveYearEndService;
+  @Autowired private LeaveRequestRepository leaveRequestRepository;
+  @Autowired private LeaveBalanceRepository leaveBalanceRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestFixtures fixtures;
+
+  private Department department;
+  private Employee employee;
+
+  @BeforeEach
+  void setUp() {
+
+    department = fixtures.department("YEAR END");
+
+    // with the company since before the closed year: a full year accrued
+    employee = fixtures.employee(department, "year.end.employee@test");
+    fixtures.joined(employee, LocalDate.of(2020, 1, 6));
+
+    // EARNED: 12 accrued + 5 carried in, 1 approved + 2 pending
+    LeaveBalance earned = new LeaveBalance(employee, "EARNED", YEAR, 12);
+    earned.setCarriedForwardDays(5);
+    earned.setUsedDays(1);
+    earned.setPendingDays(2);
+    leaveBalanceRepository.save(earned);
+
+    leave("EARNED", LocalDate.of(YEAR, 3, 4), 1, "APPROVED");
+    leave("EARNED", LocalDate.of(YEAR, 12, 2), 2, "PENDING");
+
+    // SICK: no ledger row yet, 3 approved
+    leave("SICK", LocalDate.of(YEAR, 5, 6), 3, "APPROVED");
+  }
+
+  @AfterEach
+  void tearDown() {
+    fixtures.cleanUp();
+  }
+
+  @Test
+  void closesEveryTypeAndOpensNextYear() {
+
+    // joined after the closed year: nothing of it is touched
+    Employee newcomer = fixtures.employee(department, "year.end.newcomer@test");
+
+    leaveYearEndService.closeYear(YEAR);
+
+    // 12 + 5 - (1 approved + 2 pending) = 14 unused: 10 carried (the default
+    // leave.year-end.carry-forward-cap), 4 lapse
+    assertBalance("EARNED", YEAR, 5, 4);
+    assertBalance("EARNED", YEAR + 1, 10, 0);
+
+    // non-accruing types lapse whatever was not taken
+    assertBalance("SICK", YEAR, 0, 5);
+    assertBalance("CASUAL", YEAR, 0, 6);
+    assertBalance("OPTIONAL", YEAR, 0, 3);
+
+    assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM leave_balance WHERE emp_id = ?", Integer.class, newcomer.getEmpId()));
+
+    List<Map<String, Object>> runs = runs();
+    assertFalse(runs.isEmpty());
+    runs.forEach(run -> assertEquals("COMPLETED", run.get("status")));
+  }
+
+  @Test
+  void closingTwiceChangesNothing() {
+
+    leaveYearEndService.closeYear(YEAR);
+    List<Map<String, Object>> balances = balances();
+    List<Map<String, Object>> runs = runs();
+
+    // a late leave of the closed year would change the numbers if it ran again
+    leave("CASUAL", LocalDate.of(YEAR, 8, 5), 2, "APPROVED");
+
+    leaveYearEndService.closeYear(YEAR);
+
+    assertEquals(balances, balances());
+    assertEquals(runs, runs());
+  }
+
+  private void assertBalance(String leaveType, int year, int carriedForward, int lapsed) {
+    LeaveBalance balance = leaveBalanceRepository
+            .findByEmployee_EmpIdAndLeaveTypeAndYear(employee.getEmpId(), leaveType, year)
+            .orElseThrow();
+    assertEquals(carriedForward, balance.getCarriedForwardDays());
+    assertEquals(lapsed, balance.getLapsedDays());
+  }
+
+  private List<Map<String, Object>> balances() {
+    return jdbcTemplate.queryForList(
+            "SELECT emp_id, leave_type, year, entitled_days, used_days, pending_days, "
+                    + "carried_forward_days, lapsed_days, updated_at "
+                    + "FROM leave_balance ORDER BY emp_id, leave_type, year");
+  }
+
+  private List<Map<String, Object>> runs() {
+    return jdbcTemplate.queryForList(
+            "SELECT run_key, status, last_emp_id, processed, started_at, finished_at "
+                    + "FROM leave_job_run WHERE job_name = 'YEAR_END' ORDER BY run_key");
+  }
+
+  private void leave(String leaveType, LocalDate start, int days, String status) {
+    leaveRequestRepository.save(new LeaveRequest(
+            employee, leaveType, start, start.plusDays(days - 1), days, days, 0, YEAR, status,
+            LocalDateTime.of(YEAR, 1, 2, 9, 0), null, null, "year end"));
+  }
+}
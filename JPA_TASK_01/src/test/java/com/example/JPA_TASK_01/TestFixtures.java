@@ -0,0 +1,121 @@
+package com.example.JPA_TASK_01;
+
+import com.example.JPA_TASK_01.Entity.Department;
+import com.example.JPA_TASK_01.Entity.Employee;
+import com.example.JPA_TASK_01.Entity.User;
+import com.example.JPA_TASK_01.Repo.DeptRepository;
+import com.example.JPA_TASK_01.Repo.EmployeeRepository;
+import com.example.JPA_TASK_01.Repo.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// Rows and sign-ins the @SpringBootTest classes set up, and the clean-up
+// that puts the database back for the next class sharing the context.
+@Component
+public class TestFixtures {
+
+  // children before parents; leave_policy keeps the company-wide defaults
+  private static final String[] CLEAN_UP = {
+          "DELETE FROM leave_rollup",
+          "DELETE FROM leave_job_run",
+          "DELETE FROM leave_archive_block",
+          "DELETE FROM leave_archive_segment",
+          "DELETE FROM leave_request",
+          "DELETE FROM leave_balance",
+          "DELETE FROM leave_policy WHERE dept_id IS NOT NULL",
+          "DELETE FROM images",
+          "DELETE FROM email_log",
+          "DELETE FROM employee",
+          "DELETE FROM users",
+          "DELETE FROM dept"
+  };
+
+  private final UserRepository userRepository;
+  private final EmployeeRepository employeeRepository;
+  private final DeptRepository deptRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  public TestFixtures(UserRepository userRepository,
+                      EmployeeRepository employeeRepository,
+                      DeptRepository deptRepository,
+                      JdbcTemplate jdbcTemplate) {
+    this.userRepository = userRepository;
+    this.employeeRepository = employeeRepository;
+    this.deptRepository = deptRepository;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  // ===============================
+  // ROWS
+  // ===============================
+  public Department department(String name) {
+    Department department = new Department();
+    department.setDeptName(name);
+    return deptRepository.save(department);
+  }
+
+  // an approved, enabled account; the email doubles as the name
+  public User user(String email, String role) {
+    User user = new User();
+    user.setName(email);
+    user.setEmail(email);
+    user.setPassword("x");
+    user.setRole(role);
+    user.setStatus("APPROVED");
+    user.setEnabled(true);
+    return userRepository.save(user);
+  }
+
+  public Employee employee(Department department, String email) {
+    Employee employee = new Employee();
+    employee.setUser(user(email, "EMPLOYEE"));
+    employee.setDepartment(department);
+    return employeeRepository.save(employee);
+  }
+
+  // the entity has no setter: joining_date defaults to the insert time
+  public void joined(Employee employee, LocalDate joiningDate) {
+    jdbcTemplate.update("UPDATE employee SET joining_date = ? WHERE emp_id = ?",
+            joiningDate, employee.getEmpId());
+  }
+
+  public void cleanUp() {
+    SecurityContextHolder.clearContext();
+    for (String statement : CLEAN_UP) {
+      jdbcTemplate.update(statement);
+    }
+  }
+
+  // ===============================
+  // SIGN-IN
+  // ===============================
+  // on the calling thread only, as the JWT filter would leave it
+  public static void signIn(String email, String... roles) {
+    SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(email, null, Arrays.stream(roles)
+                    .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                    .toList()));
+  }
+
+  // ===============================
+  // CALENDAR
+  // ===============================
+  // the last of `count` weekdays starting at start (a weekday; no holidays are seeded)
+  public static LocalDate workingDaysFrom(LocalDate start, int count) {
+    LocalDate day = start;
+    for (int seen = 1; seen < count; ) {
+      day = day.plusDays(1);
+      if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        seen++;
+      }
+    }
+    return day;
+  }
+}
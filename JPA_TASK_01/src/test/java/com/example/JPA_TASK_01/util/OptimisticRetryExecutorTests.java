@@ -0,0 +1,151 @@
+package com.example.JPA_TASK_01.util;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Each attempt runs in a transaction of its own (REQUIRES_NEW): a losing
+// attempt's writes roll back, a winning one commits even if the caller's
+// transaction does not, and attempts are spaced by a growing pause.
+class OptimisticRetryExecutorTests {
+
+  private static final long BACKOFF_MS = 60;
+
+  private DataSourceTransactionManager transactionManager;
+  private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    JdbcDataSource dataSource = new JdbcDataSource();
+    dataSource.setURL("jdbc:h2:mem:optimistic_retry;DB_CLOSE_DELAY=-1");
+    transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE attempt (n INT)");
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.execute("DROP TABLE attempt");
+  }
+
+  // ===============================
+  // RETRY AND BACKOFF
+  // ===============================
+  @Test
+  void conflictIsRetriedInAFreshTransactionAfterALinearPause() {
+
+    OptimisticRetryExecutor retry = new OptimisticRetryExecutor(transactionManager, 3, BACKOFF_MS);
+    AtomicInteger attempts = new AtomicInteger();
+    List<Long> startedAt = new ArrayList<>();
+
+    String result = retry.execute(() -> {
+      startedAt.add(System.nanoTime());
+      int attempt = attempts.incrementAndGet();
+      jdbcTemplate.update("INSERT INTO attempt (n) VALUES (?)", attempt);
+      if (attempt < 3) {
+        throw new OptimisticLockingFailureException("lost attempt " + attempt);
+      }
+      return "saved";
+    });
+
+    assertEquals("saved", result);
+    // the two losing attempts' writes were rolled back with their transactions
+    assertEquals(List.of(3), attempts());
+
+    // backoff * 1 after the first conflict, backoff * 2 after the second
+    assertTrue(millisBetween(startedAt.get(0), startedAt.get(1)) >= BACKOFF_MS);
+    assertTrue(millisBetween(startedAt.get(1), startedAt.get(2)) >= 2 * BACKOFF_MS);
+  }
+
+  @Test
+  void lastConflictPropagatesAfterMaxAttempts() {
+
+    OptimisticRetryExecutor retry = new OptimisticRetryExecutor(transactionManager, 3, 1);
+    AtomicInteger attempts = new AtomicInteger();
+    OptimisticLockingFailureException last = new OptimisticLockingFailureException("lost");
+
+    OptimisticLockingFailureException thrown = assertThrows(OptimisticLockingFailureException.class,
+            () -> retry.execute(() -> {
+              attempts.incrementAndGet();
+              throw last;
+            }));
+
+    assertSame(last, thrown);
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  void otherFailuresAreNotRetried() {
+
+    OptimisticRetryExecutor retry = new OptimisticRetryExecutor(transactionManager, 3, 1);
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThrows(IllegalStateException.class, () -> retry.execute(() -> {
+      attempts.incrementAndGet();
+      jdbcTemplate.update("INSERT INTO attempt (n) VALUES (1)");
+      throw new IllegalStateException("Leave already decided");
+    }));
+
+    assertEquals(1, attempts.get());
+    assertEquals(List.of(), attempts());
+  }
+
+  @Test
+  void atLeastOneAttemptIsMade() {
+
+    OptimisticRetryExecutor retry = new OptimisticRetryExecutor(transactionManager, 0, 1);
+
+    assertEquals("once", retry.execute(() -> "once"));
+  }
+
+  // ===============================
+  // REQUIRES_NEW
+  // ===============================
+  @Test
+  void attemptCommitsIndependentlyOfTheCallersTransaction() {
+
+    OptimisticRetryExecutor retry = new OptimisticRetryExecutor(transactionManager, 2, 1);
+    AtomicInteger attempts = new AtomicInteger();
+
+    new TransactionTemplate(transactionManager).executeWithoutResult(outer -> {
+      jdbcTemplate.update("INSERT INTO attempt (n) VALUES (0)");
+
+      retry.execute(() -> {
+        int attempt = attempts.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO attempt (n) VALUES (?)", attempt);
+        if (attempt == 1) {
+          // marks only the attempt's transaction rollback-only, not the caller's
+          throw new OptimisticLockingFailureException("lost attempt 1");
+        }
+        return null;
+      });
+
+      outer.setRollbackOnly();
+    });
+
+    // the caller's row is gone, the losing attempt's too; the winner committed
+    assertEquals(List.of(2), attempts());
+  }
+
+  private List<Integer> attempts() {
+    return jdbcTemplate.queryForList("SELECT n FROM attempt ORDER BY n", Integer.class);
+  }
+
+  private static long millisBetween(long fromNanos, long toNanos) {
+    return (toNanos - fromNanos) / 1_000_000;
+  }
+}